@@ -31,7 +31,8 @@ public class AuditAspect {
     @Around("(execution(public * com.donatodev.bcm_backend.service.*Service.create*(..)) || " +
             "execution(public * com.donatodev.bcm_backend.service.*Service.update*(..)) || " +
             "execution(public * com.donatodev.bcm_backend.service.*Service.delete*(..))) && " +
-            "!target(com.donatodev.bcm_backend.service.LocalStorageService)")
+            "!target(com.donatodev.bcm_backend.service.LocalStorageService) && " +
+            "!target(com.donatodev.bcm_backend.service.ContractBulkService)")
     public Object auditServiceMethod(ProceedingJoinPoint joinPoint) throws Throwable {
         Object result = joinPoint.proceed();
 
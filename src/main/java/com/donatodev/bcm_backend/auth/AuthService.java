@@ -1,5 +1,6 @@
 package com.donatodev.bcm_backend.auth;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.List;
@@ -15,6 +16,8 @@ import com.donatodev.bcm_backend.exception.AccountNotVerifiedException;
 import com.donatodev.bcm_backend.exception.AmbiguousUsernameException;
 import com.donatodev.bcm_backend.jwt.JwtUtils;
 import com.donatodev.bcm_backend.repository.UsersRepository;
+import com.donatodev.bcm_backend.service.AuditLogService;
+import com.donatodev.bcm_backend.service.PrincipalCache;
 import com.donatodev.bcm_backend.service.RefreshTokenService;
 
 /**
@@ -32,18 +35,29 @@ public class AuthService {
      */
     private static final int MAX_FAILED_ATTEMPTS = 5;
     private static final long LOCKOUT_MINUTES = 15;
+    private static final Duration LOCKOUT = Duration.ofMinutes(LOCKOUT_MINUTES);
+    private static final String LOCKED_MESSAGE =
+            "Account temporaneamente bloccato per troppi tentativi falliti. Riprova più tardi.";
 
     private final JwtUtils jwtUtils;
     private final UsersRepository usersRepository;
     private final PasswordEncoder passwordEncoder;
     private final RefreshTokenService refreshTokenService;
+    private final PrincipalCache principalCache;
+    private final LoginAttemptStore loginAttemptStore;
+    private final AuditLogService auditLogService;
 
     public AuthService(JwtUtils jwtUtils, UsersRepository usersRepository,
-                       PasswordEncoder passwordEncoder, RefreshTokenService refreshTokenService) {
+                       PasswordEncoder passwordEncoder, RefreshTokenService refreshTokenService,
+                       PrincipalCache principalCache, LoginAttemptStore loginAttemptStore,
+                       AuditLogService auditLogService) {
         this.jwtUtils = jwtUtils;
         this.usersRepository = usersRepository;
         this.passwordEncoder = passwordEncoder;
         this.refreshTokenService = refreshTokenService;
+        this.principalCache = principalCache;
+        this.loginAttemptStore = loginAttemptStore;
+        this.auditLogService = auditLogService;
     }
 
     /**
@@ -90,24 +104,24 @@ public class AuthService {
         Users user = findUser(username, organizationSlug);
 
         LocalDateTime now = LocalDateTime.now(ZoneId.systemDefault());
-        if (user.getLockedUntil() != null) {
-            if (user.getLockedUntil().isAfter(now)) {
-                throw new LockedException(
-                        "Account temporaneamente bloccato per troppi tentativi falliti. Riprova più tardi.");
-            }
-            // Lock expired naturally - start the attempt count fresh.
-            user.setLockedUntil(null);
-            user.setFailedLoginAttempts(0);
+        String attemptKey = attemptKey(user);
+        if ((user.getLockedUntil() != null && user.getLockedUntil().isAfter(now))
+                || loginAttemptStore.isLocked(attemptKey)) {
+            throw new LockedException(LOCKED_MESSAGE);
         }
 
         if (!passwordEncoder.matches(password, user.getPasswordHash())) {
-            registerFailedAttempt(user, now);
+            registerFailedAttempt(user, attemptKey, now);
             throw new BadCredentialsException("Nome utente o password non validi");
         }
 
-        if (user.getFailedLoginAttempts() > 0) {
+        loginAttemptStore.reset(attemptKey);
+        if (user.getLockedUntil() != null || user.getFailedLoginAttempts() > 0) {
+            // First login after an (expired) lock: clear the audit trail left on the row.
+            user.setLockedUntil(null);
             user.setFailedLoginAttempts(0);
             usersRepository.save(user);
+            principalCache.evict(user);
         }
 
         if (!user.isVerified()) {
@@ -124,16 +138,29 @@ public class AuthService {
     }
 
     /**
-     * Records one failed login attempt and locks the account for
-     * {@link #LOCKOUT_MINUTES} once {@link #MAX_FAILED_ATTEMPTS} is reached.
+     * Records one failed login attempt in the {@link LoginAttemptStore} and locks the
+     * account for {@link #LOCKOUT_MINUTES} once {@link #MAX_FAILED_ATTEMPTS} is reached
+     * within that window. Only the lock itself touches the database: it is written to the
+     * {@code users} row and the audit log, so failed attempts under attack cause no row
+     * writes until the threshold is crossed.
      */
-    private void registerFailedAttempt(Users user, LocalDateTime now) {
-        int attempts = user.getFailedLoginAttempts() + 1;
-        user.setFailedLoginAttempts(attempts);
-        if (attempts >= MAX_FAILED_ATTEMPTS) {
-            user.setLockedUntil(now.plusMinutes(LOCKOUT_MINUTES));
+    private void registerFailedAttempt(Users user, String attemptKey, LocalDateTime now) {
+        int attempts = loginAttemptStore.recordFailure(attemptKey, LOCKOUT);
+        if (attempts < MAX_FAILED_ATTEMPTS) {
+            return;
         }
+        loginAttemptStore.lock(attemptKey, LOCKOUT);
+        user.setFailedLoginAttempts(attempts);
+        user.setLockedUntil(now.plusMinutes(LOCKOUT_MINUTES));
         usersRepository.save(user);
+        principalCache.evict(user);
+        Long orgId = user.getOrganization() != null ? user.getOrganization().getId() : null;
+        auditLogService.save("LOCK", "Users", user.getId(), user.getUsername(), orgId,
+                "Account bloccato per " + LOCKOUT_MINUTES + " minuti dopo " + attempts + " tentativi falliti");
+    }
+
+    private static String attemptKey(Users user) {
+        return "user:" + user.getId();
     }
 
     /**
@@ -0,0 +1,94 @@
+package com.donatodev.bcm_backend.auth;
+
+import java.time.Duration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+/**
+ * Per-instance {@link LoginAttemptStore}, also the fallback {@link RedisLoginAttemptStore}
+ * switches to while Redis is unreachable. Counters and locks live in size-bounded Caffeine
+ * caches whose entries expire at their own deadline, so usernames sprayed by an attacker
+ * cannot grow the heap without limit.
+ */
+public class InMemoryLoginAttemptStore implements LoginAttemptStore {
+
+    public static final long DEFAULT_MAX_ENTRIES = 100_000;
+
+    private final Ticker ticker;
+    private final Cache<String, Window> failures;
+    private final Cache<String, Window> locks;
+
+    public InMemoryLoginAttemptStore() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    public InMemoryLoginAttemptStore(long maxEntries) {
+        this(maxEntries, Ticker.systemTicker());
+    }
+
+    /** Test hook: deterministic time. */
+    InMemoryLoginAttemptStore(long maxEntries, Ticker ticker) {
+        this.ticker = ticker;
+        this.failures = newCache(maxEntries, ticker);
+        this.locks = newCache(maxEntries, ticker);
+    }
+
+    @Override
+    public int recordFailure(String key, Duration window) {
+        long now = ticker.read();
+        // compute() treats an expired-but-not-yet-evicted entry as absent.
+        return failures.asMap()
+                .compute(key, (k, current) -> current == null
+                        ? new Window(1, now + window.toNanos())
+                        : new Window(current.count() + 1, current.expiresAtNanos()))
+                .count();
+    }
+
+    @Override
+    public void lock(String key, Duration duration) {
+        locks.put(key, new Window(1, ticker.read() + duration.toNanos()));
+        failures.invalidate(key);
+    }
+
+    @Override
+    public boolean isLocked(String key) {
+        return locks.getIfPresent(key) != null;
+    }
+
+    @Override
+    public void reset(String key) {
+        failures.invalidate(key);
+    }
+
+    private static Cache<String, Window> newCache(long maxEntries, Ticker ticker) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .ticker(ticker)
+                .expireAfter(new Expiry<String, Window>() {
+                    @Override
+                    public long expireAfterCreate(String key, Window value, long currentTime) {
+                        return value.expiresAtNanos() - currentTime;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Window value, long currentTime,
+                                                  long currentDuration) {
+                        return value.expiresAtNanos() - currentTime;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Window value, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /** A count with a fixed deadline, so later failures do not extend the window. */
+    private record Window(int count, long expiresAtNanos) {
+    }
+}
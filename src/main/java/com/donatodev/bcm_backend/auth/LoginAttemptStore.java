@@ -0,0 +1,32 @@
+package com.donatodev.bcm_backend.auth;
+
+import java.time.Duration;
+
+/**
+ * Where {@link AuthService} keeps per-account failed-login counters and temporary locks,
+ * instead of writing them to the {@code users} row on every attempt. Implementations:
+ * {@link RedisLoginAttemptStore} (dev/prod, shared across backend instances) and
+ * {@link InMemoryLoginAttemptStore} (test profile and single-node deployments), wired next
+ * to the rate-limit bucket source for the same {@code rate-limit.store}.
+ * <p>
+ * Every entry carries a TTL, so an abandoned counter or an expired lock disappears on its
+ * own and never needs a cleanup write.
+ */
+public interface LoginAttemptStore {
+
+    /**
+     * Atomically counts one failed attempt for {@code key}. The counter starts with the
+     * first failure and expires {@code window} later.
+     *
+     * @return the number of failures in the current window, including this one
+     */
+    int recordFailure(String key, Duration window);
+
+    /** Locks {@code key} for {@code duration} and clears its failure counter. */
+    void lock(String key, Duration duration);
+
+    boolean isLocked(String key);
+
+    /** Clears the failure counter after a successful login. */
+    void reset(String key);
+}
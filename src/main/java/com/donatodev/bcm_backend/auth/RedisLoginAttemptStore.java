@@ -0,0 +1,103 @@
+package com.donatodev.bcm_backend.auth;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.sync.RedisCommands;
+
+/**
+ * Redis-backed {@link LoginAttemptStore}: counters and locks are shared across backend
+ * instances, so the lockout threshold holds no matter which node an attacker's attempts
+ * land on, and it does not depend on how concurrent {@code users} updates are ordered.
+ * The increment and its expiry run as one Lua script, so a counter can never be left
+ * without a TTL.
+ * <p>
+ * Degrades to the per-instance fallback on any Redis error, the same posture as
+ * {@code RedisRateLimitBucketSource}: a Redis blip must not turn into a login outage.
+ */
+public class RedisLoginAttemptStore implements LoginAttemptStore {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisLoginAttemptStore.class);
+    private static final String CRLF_REGEX = "[\r\n]";
+    private static final String FAILURES_PREFIX = "login-failures:";
+    private static final String LOCK_PREFIX = "login-lock:";
+    private static final byte[] LOCKED = "1".getBytes(StandardCharsets.UTF_8);
+
+    /** INCR, and set the window on the first failure only, so it is not extended. */
+    private static final String RECORD_FAILURE_SCRIPT = """
+            local count = redis.call('INCR', KEYS[1])
+            if count == 1 then
+                redis.call('PEXPIRE', KEYS[1], ARGV[1])
+            end
+            return count
+            """;
+
+    private final StatefulRedisConnection<String, byte[]> connection;
+    private final LoginAttemptStore fallback;
+
+    public RedisLoginAttemptStore(StatefulRedisConnection<String, byte[]> connection, LoginAttemptStore fallback) {
+        this.connection = connection;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public int recordFailure(String key, Duration window) {
+        try {
+            Long count = commands().eval(RECORD_FAILURE_SCRIPT, ScriptOutputType.INTEGER,
+                    new String[] {FAILURES_PREFIX + key},
+                    Long.toString(window.toMillis()).getBytes(StandardCharsets.UTF_8));
+            return count.intValue();
+        } catch (Exception ex) {
+            warnUnavailable(ex);
+            return fallback.recordFailure(key, window);
+        }
+    }
+
+    @Override
+    public void lock(String key, Duration duration) {
+        try {
+            RedisCommands<String, byte[]> commands = commands();
+            commands.set(LOCK_PREFIX + key, LOCKED, SetArgs.Builder.px(duration.toMillis()));
+            commands.del(FAILURES_PREFIX + key);
+        } catch (Exception ex) {
+            warnUnavailable(ex);
+            fallback.lock(key, duration);
+        }
+    }
+
+    @Override
+    public boolean isLocked(String key) {
+        try {
+            return commands().exists(LOCK_PREFIX + key) > 0;
+        } catch (Exception ex) {
+            warnUnavailable(ex);
+            return fallback.isLocked(key);
+        }
+    }
+
+    @Override
+    public void reset(String key) {
+        try {
+            commands().del(FAILURES_PREFIX + key);
+        } catch (Exception ex) {
+            warnUnavailable(ex);
+            fallback.reset(key);
+        }
+    }
+
+    private RedisCommands<String, byte[]> commands() {
+        return connection.sync();
+    }
+
+    private static void warnUnavailable(Exception ex) {
+        String message = ex.getMessage();
+        log.warn("Login lockout backend (Redis) unavailable, using local fallback: {}",
+                message == null ? null : message.replaceAll(CRLF_REGEX, "_"));
+    }
+}
@@ -0,0 +1,30 @@
+package com.donatodev.bcm_backend.config;
+
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import com.donatodev.bcm_backend.service.ContractAnalyticsCache;
+
+/**
+ * {@code GET /actuator/analyticscache}: size, hit/miss counts and hit ratio of both
+ * tiers of {@link ContractAnalyticsCache}, plus how many tenant invalidations it has
+ * seen. Restricted to admins in {@code SecurityConfig}.
+ */
+@Component
+@Endpoint(id = "analyticscache")
+public class ContractAnalyticsCacheEndpoint {
+
+    private final ContractAnalyticsCache cache;
+
+    public ContractAnalyticsCacheEndpoint(ContractAnalyticsCache cache) {
+        this.cache = cache;
+    }
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return cache.stats();
+    }
+}
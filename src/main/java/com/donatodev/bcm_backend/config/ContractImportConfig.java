@@ -0,0 +1,47 @@
+package com.donatodev.bcm_backend.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ContractImportConfig {
+
+    /**
+     * Workers for background Excel imports. Bounded in threads and queue, so
+     * concurrent imports hold at most {@code workers} database connections; a
+     * submission beyond the queue is rejected rather than waiting.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ThreadPoolExecutor contractImportExecutor(
+            @Value("${contract-import.workers:2}") int workers,
+            @Value("${contract-import.queue-capacity:20}") int queueCapacity) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread thread = new Thread(r, "contract-import-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Parallel row validation for Excel imports (parsing and reference lookups,
+     * all CPU-bound), shared by the running imports. {@code threads=0} means one
+     * per available processor, which the JVM derives from the container's CPU
+     * limit.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ForkJoinPool contractImportValidationPool(
+            @Value("${contract-import.validation-threads:0}") int threads) {
+        return new ForkJoinPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+    }
+}
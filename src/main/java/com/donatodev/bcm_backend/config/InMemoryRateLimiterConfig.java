@@ -1,24 +1,42 @@
 package com.donatodev.bcm_backend.config;
 
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.Profile;
 
+import com.donatodev.bcm_backend.auth.InMemoryLoginAttemptStore;
+import com.donatodev.bcm_backend.auth.LoginAttemptStore;
 import com.donatodev.bcm_backend.jwt.InMemoryRateLimitBucketSource;
-import com.donatodev.bcm_backend.jwt.RateLimitBucketSource;
 
 /**
- * Test-profile counterpart to {@link RedisRateLimiterConfig}: the fast H2 unit suite
- * (`mvn test`, {@code @ActiveProfiles("test")}) has no Redis available, so it gets a plain
- * in-memory bucket source instead — same interface the filter depends on, zero external
- * dependency.
+ * Counterpart to {@link RedisRateLimiterConfig} for {@code rate-limit.store=in-memory}: the
+ * fast H2 unit suite (`mvn test`, {@code @ActiveProfiles("test")}) sets it because it has no
+ * Redis available, and single-node deployments can set it to run without Redis. Same
+ * interface the filter depends on, zero external dependency; the store is bounded and
+ * expiring, so it is safe to expose to untrusted traffic. The login lockout counters
+ * ({@link LoginAttemptStore}) follow the same switch.
  */
 @Configuration
-@Profile("test")
+@ConditionalOnProperty(name = "rate-limit.store", havingValue = "in-memory")
 public class InMemoryRateLimiterConfig {
 
+    @Value("${rate-limit.in-memory.max-buckets:100000}")
+    private long maxBuckets;
+
+    @Value("${rate-limit.in-memory.idle-expiry:PT2M}")
+    private Duration idleExpiry;
+
+    /** Exposes {@code bcm.rate_limit.buckets*} gauges through Boot's MeterBinder support. */
+    @Bean
+    public InMemoryRateLimitBucketSource rateLimitBucketSource() {
+        return new InMemoryRateLimitBucketSource(maxBuckets, idleExpiry, "primary");
+    }
+
     @Bean
-    public RateLimitBucketSource rateLimitBucketSource() {
-        return new InMemoryRateLimitBucketSource();
+    public LoginAttemptStore loginAttemptStore() {
+        return new InMemoryLoginAttemptStore(maxBuckets);
     }
 }
@@ -3,10 +3,16 @@ package com.donatodev.bcm_backend.config;
 import java.time.Duration;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 
+import com.donatodev.bcm_backend.auth.InMemoryLoginAttemptStore;
+import com.donatodev.bcm_backend.auth.LoginAttemptStore;
+import com.donatodev.bcm_backend.auth.RedisLoginAttemptStore;
+import com.donatodev.bcm_backend.jwt.HybridRateLimitBucketSource;
+import com.donatodev.bcm_backend.jwt.InMemoryRateLimitBucketSource;
 import com.donatodev.bcm_backend.jwt.RateLimitBucketSource;
 import com.donatodev.bcm_backend.jwt.RedisRateLimitBucketSource;
 
@@ -19,17 +25,21 @@ import io.lettuce.core.api.StatefulRedisConnection;
 import io.lettuce.core.codec.ByteArrayCodec;
 import io.lettuce.core.codec.RedisCodec;
 import io.lettuce.core.codec.StringCodec;
+import io.micrometer.core.instrument.MeterRegistry;
 
 /**
  * Wires {@link com.donatodev.bcm_backend.jwt.RateLimitingFilter} to Redis for every profile
  * except {@code test} — the fast H2 unit suite gets an in-memory bucket source instead (see
- * {@link InMemoryRateLimiterConfig}), so it has no external dependency on Redis. Redis is a
- * hard prerequisite to start the app in dev/prod, same posture as the MySQL datasource; a
- * Redis outage *after* successful startup degrades gracefully instead (see
- * {@link RedisRateLimitBucketSource}).
+ * {@link InMemoryRateLimiterConfig}), so it has no external dependency on Redis. Single-node
+ * deployments can opt out of Redis the same way with {@code rate-limit.store=in-memory}.
+ * Redis is a hard prerequisite to start the app otherwise, same posture as the MySQL
+ * datasource; a Redis outage *after* successful startup degrades to per-instance limits
+ * instead (see {@link RedisRateLimitBucketSource}). The same connection backs the login
+ * lockout counters ({@link RedisLoginAttemptStore}).
  */
 @Configuration
 @Profile("!test")
+@ConditionalOnProperty(name = "rate-limit.store", havingValue = "redis", matchIfMissing = true)
 public class RedisRateLimiterConfig {
 
     @Value("${redis.host:localhost}")
@@ -38,6 +48,21 @@ public class RedisRateLimiterConfig {
     @Value("${redis.port:6379}")
     private int redisPort;
 
+    @Value("${rate-limit.hybrid.enabled:true}")
+    private boolean hybridEnabled;
+
+    @Value("${rate-limit.hybrid.max-unsynced-tokens:2}")
+    private int maxUnsyncedTokens;
+
+    @Value("${rate-limit.hybrid.sync-interval:PT0.1S}")
+    private Duration syncInterval;
+
+    @Value("${rate-limit.in-memory.max-buckets:100000}")
+    private long maxBuckets;
+
+    @Value("${rate-limit.in-memory.idle-expiry:PT2M}")
+    private Duration idleExpiry;
+
     @Bean(destroyMethod = "shutdown")
     public RedisClient rateLimitRedisClient() {
         return RedisClient.create(RedisURI.Builder.redis(redisHost, redisPort).build());
@@ -57,8 +82,29 @@ public class RedisRateLimiterConfig {
                 .build();
     }
 
+    /**
+     * Hybrid (local pre-check, background reconciliation with Redis) unless
+     * {@code rate-limit.hybrid.enabled=false}, in which case every decision is a synchronous
+     * Redis round trip. See {@link HybridRateLimitBucketSource} for the overshoot trade-off.
+     */
+    @Bean
+    public RateLimitBucketSource rateLimitBucketSource(ProxyManager<String> rateLimitProxyManager,
+                                                       MeterRegistry meterRegistry) {
+        if (hybridEnabled) {
+            HybridRateLimitBucketSource hybrid = new HybridRateLimitBucketSource(rateLimitProxyManager,
+                    maxUnsyncedTokens, syncInterval, maxBuckets, idleExpiry);
+            hybrid.bindTo(meterRegistry);
+            return hybrid;
+        }
+        InMemoryRateLimitBucketSource fallback =
+                new InMemoryRateLimitBucketSource(maxBuckets, idleExpiry, "redis-fallback");
+        fallback.bindTo(meterRegistry);
+        return new RedisRateLimitBucketSource(rateLimitProxyManager, fallback);
+    }
+
+    /** Shares the rate limiter's Redis connection; falls back to per-instance counters. */
     @Bean
-    public RateLimitBucketSource rateLimitBucketSource(ProxyManager<String> rateLimitProxyManager) {
-        return new RedisRateLimitBucketSource(rateLimitProxyManager);
+    public LoginAttemptStore loginAttemptStore(StatefulRedisConnection<String, byte[]> rateLimitRedisConnection) {
+        return new RedisLoginAttemptStore(rateLimitRedisConnection, new InMemoryLoginAttemptStore(maxBuckets));
     }
 }
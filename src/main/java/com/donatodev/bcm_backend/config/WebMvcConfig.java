@@ -0,0 +1,26 @@
+package com.donatodev.bcm_backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.donatodev.bcm_backend.security.TenantQuotaInterceptor;
+
+/**
+ * Registers MVC interceptors. Currently only {@link TenantQuotaInterceptor}, which needs
+ * the tenant resolved by the security filter chain and so cannot be a plain servlet filter.
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final TenantQuotaInterceptor tenantQuotaInterceptor;
+
+    public WebMvcConfig(TenantQuotaInterceptor tenantQuotaInterceptor) {
+        this.tenantQuotaInterceptor = tenantQuotaInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(tenantQuotaInterceptor);
+    }
+}
@@ -1,6 +1,9 @@
 package com.donatodev.bcm_backend.controller;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.text.Normalizer;
 import java.util.List;
 import java.util.Locale;
@@ -8,6 +11,7 @@ import java.util.Locale;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -21,24 +25,43 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.donatodev.bcm_backend.dto.AssignManagerRequest;
+import com.donatodev.bcm_backend.dto.BulkAssignManagerRequest;
+import com.donatodev.bcm_backend.dto.BulkCollaboratorsRequest;
+import com.donatodev.bcm_backend.dto.BulkDeleteRequest;
+import com.donatodev.bcm_backend.dto.BulkStatusRequest;
 import com.donatodev.bcm_backend.dto.CollaboratorsRequest;
+import com.donatodev.bcm_backend.dto.ContractBulkResultDTO;
+import com.donatodev.bcm_backend.dto.ContractChangesDTO;
 import com.donatodev.bcm_backend.dto.ContractDTO;
-import com.donatodev.bcm_backend.dto.ContractImportResultDTO;
+import com.donatodev.bcm_backend.dto.CursorPage;
+import com.donatodev.bcm_backend.dto.ContractImportJobDTO;
 import com.donatodev.bcm_backend.dto.ContractStatsResponse;
 import com.donatodev.bcm_backend.dto.ContractsByAreaDTO;
 import com.donatodev.bcm_backend.dto.ContractsTimelineDTO;
 import com.donatodev.bcm_backend.dto.TopManagerDTO;
+import com.donatodev.bcm_backend.dto.VersionedContract;
 import com.donatodev.bcm_backend.entity.ContractStatus;
+import com.donatodev.bcm_backend.service.ContractBulkService;
+import com.donatodev.bcm_backend.service.ContractChangeLog;
+import com.donatodev.bcm_backend.service.ContractImportJobService;
 import com.donatodev.bcm_backend.service.ContractImportService;
 import com.donatodev.bcm_backend.service.ContractSchedulerService;
 import com.donatodev.bcm_backend.service.ContractService;
 import com.donatodev.bcm_backend.service.ExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import jakarta.servlet.http.HttpServletResponse;
 import org.openpdf.text.DocumentException;
 
 /**
@@ -54,37 +77,165 @@ public class ContractController {
 
     private static final Logger logger = LoggerFactory.getLogger(ContractController.class);
     private static final String CONTENT_DISPOSITION_ATTACHMENT = "attachment";
+    /** Streamed contracts between explicit flushes, so the client sees rows as they are read. */
+    private static final int STREAM_FLUSH_EVERY = 100;
 
     private final ContractService contractService;
     private final ExportService exportService;
     private final ContractSchedulerService contractSchedulerService;
     private final ContractImportService contractImportService;
+    private final ContractImportJobService contractImportJobService;
+    private final ContractChangeLog contractChangeLog;
+    private final ContractBulkService contractBulkService;
+    private final ObjectMapper objectMapper;
 
     public ContractController(
             ContractService contractService,
             ExportService exportService,
             ContractSchedulerService contractSchedulerService,
-            ContractImportService contractImportService) {
+            ContractImportService contractImportService,
+            ContractImportJobService contractImportJobService,
+            ContractChangeLog contractChangeLog,
+            ContractBulkService contractBulkService,
+            ObjectMapper objectMapper) {
         this.contractService = contractService;
         this.exportService = exportService;
         this.contractSchedulerService = contractSchedulerService;
         this.contractImportService = contractImportService;
+        this.contractImportJobService = contractImportJobService;
+        this.contractChangeLog = contractChangeLog;
+        this.contractBulkService = contractBulkService;
+        this.objectMapper = objectMapper;
     }
 
     /**
-     * Retrieves all contracts.
+     * Retrieves all contracts. Answers {@code 304 Not Modified} when the client's
+     * weak ETag still matches the tenant's contracts.
      *
+     * @param webRequest the current request, for the conditional GET
      * @return a list of {@link ContractDTO}
      */
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping
-    public ResponseEntity<List<ContractDTO>> getAllContracts() {
+    public ResponseEntity<List<ContractDTO>> getAllContracts(ServletWebRequest webRequest) {
+        if (listingNotModified(webRequest)) {
+            return null;
+        }
         List<ContractDTO> contracts = contractService.getAllContracts();
         return ResponseEntity.ok(contracts);
     }
 
     /**
-     * Retrieves a contract by its ID.
+     * Streams all contracts, written to the response as they are read from the
+     * database instead of being collected first, for tenants whose listing is too
+     * large for {@link #getAllContracts()}. The body is newline-delimited JSON
+     * (one contract per line) unless the client asks for {@code application/json},
+     * in which case it is a single JSON array. Either way the length is not known
+     * up front, so the response is sent chunked.
+     * <p>
+     * The body is written on the request thread rather than from a
+     * {@code StreamingResponseBody}: the tenant and the read transaction are bound
+     * to this thread, and a long download is not cut by the async request timeout.
+     *
+     * @param accept the request {@code Accept} header
+     * @param response the response the contracts are written to
+     * @throws IOException if the client goes away mid-stream
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping(value = "/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public void streamAllContracts(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                   HttpServletResponse response) throws IOException {
+        boolean array = prefersJsonArray(accept);
+        response.setContentType(array ? MediaType.APPLICATION_JSON_VALUE : MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        ObjectWriter writer = objectMapper.writerFor(ContractDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            // NDJSON lines are terminated explicitly, not separated by Jackson
+            generator.setRootValueSeparator(null);
+            if (array) {
+                generator.writeStartArray();
+            }
+            int[] written = {0};
+            contractService.streamAllContracts(contract -> {
+                try {
+                    writer.writeValue(generator, contract);
+                    if (!array) {
+                        generator.writeRaw('\n');
+                    }
+                    if (++written[0] % STREAM_FLUSH_EVERY == 0) {
+                        generator.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            if (array) {
+                generator.writeEndArray();
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Sets the weak listing ETag on the response and reports whether the client's
+     * {@code If-None-Match} still matches it, in which case Spring answers 304 and
+     * the listing is never queried. The tag comes from the tenant's listing version
+     * (see {@link ContractChangeLog#listingVersion()}), a single-row read.
+     */
+    private boolean listingNotModified(ServletWebRequest webRequest) {
+        return webRequest.checkNotModified(
+                ContractETags.weak(contractChangeLog.listingVersion(), webRequest.getRequest()));
+    }
+
+    /**
+     * True when the first concrete media type in {@code Accept} is JSON rather
+     * than NDJSON; wildcards and a missing header get NDJSON.
+     */
+    private static boolean prefersJsonArray(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return false;
+        }
+        for (MediaType type : MediaType.parseMediaTypes(accept)) {
+            if (type.isWildcardType() || type.isWildcardSubtype()) {
+                continue;
+            }
+            if (MediaType.APPLICATION_NDJSON.isCompatibleWith(type)) {
+                return false;
+            }
+            if (MediaType.APPLICATION_JSON.isCompatibleWith(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Change feed for delta sync: ids of the contracts created, updated and deleted
+     * since {@code since}, and the cursor to pass next time. A client first calls it
+     * without {@code since} to get the current cursor, then loads the full list, then
+     * follows the feed from that cursor (changes already in the list may be reported
+     * again, which is harmless). A cursor older than the retained log gets
+     * {@code 410 Gone}, after which the client reloads the full list.
+     *
+     * @param since cursor from a previous response, absent to start following now
+     * @param limit maximum number of log entries per page (at most 1000)
+     * @return the collapsed changes and the next cursor
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/changes")
+    public ResponseEntity<ContractChangesDTO> getChanges(
+            @RequestParam(required = false) Long since,
+            @RequestParam(defaultValue = "500") int limit
+    ) {
+        return ResponseEntity.ok(contractChangeLog.changesSince(since, limit));
+    }
+
+    /**
+     * Retrieves a contract by its ID, with a strong ETag; a matching
+     * {@code If-None-Match} gets {@code 304 Not Modified}.
      *
      * @param id the contract ID
      * @return the {@link ContractDTO} corresponding to the given ID
@@ -92,8 +243,10 @@ public class ContractController {
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     @GetMapping("/{id}")
     public ResponseEntity<ContractDTO> getContractById(@PathVariable Long id) {
-        ContractDTO contract = contractService.getContractById(id);
-        return ResponseEntity.ok(contract);
+        VersionedContract contract = contractService.getVersionedContractById(id);
+        return ResponseEntity.ok()
+                .eTag(ContractETags.strong(id, contract))
+                .body(contract.contract());
     }
 
     /**
@@ -105,9 +258,13 @@ public class ContractController {
      */
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     @GetMapping("/filter")
-    public ResponseEntity<List<ContractDTO>> getContractsByStatus(@RequestParam String status) {
+    public ResponseEntity<List<ContractDTO>> getContractsByStatus(@RequestParam String status,
+                                                                  ServletWebRequest webRequest) {
         try {
             ContractStatus contractStatus = ContractStatus.valueOf(Normalizer.normalize(status, Normalizer.Form.NFC).toUpperCase(Locale.ROOT));
+            if (listingNotModified(webRequest)) {
+                return null;
+            }
             List<ContractDTO> contracts = contractService.getContractsByStatus(contractStatus);
             return ResponseEntity.ok(contracts);
         } catch (IllegalArgumentException e) {
@@ -129,17 +286,24 @@ public class ContractController {
     }
 
     /**
-     * Updates an existing contract by ID.
+     * Updates an existing contract by ID. With {@code If-Match} the update only
+     * applies if the contract is still at the version of the given ETag, otherwise
+     * it is rejected with {@code 412 Precondition Failed}.
      *
      * @param id the contract ID
      * @param contractDTO the updated contract data
-     * @return the updated {@link ContractDTO}
+     * @param ifMatch optional {@code If-Match} header, a strong ETag of this contract
+     * @return the updated {@link ContractDTO}, with its new ETag
      */
     @PreAuthorize("hasRole('ADMIN')")
     @PutMapping("/{id}")
-    public ResponseEntity<ContractDTO> updateContract(@PathVariable Long id, @Valid @RequestBody ContractDTO contractDTO) {
-        ContractDTO updatedContract = contractService.updateContract(id, contractDTO);
-        return ResponseEntity.ok(updatedContract);
+    public ResponseEntity<ContractDTO> updateContract(@PathVariable Long id, @Valid @RequestBody ContractDTO contractDTO,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        VersionedContract updatedContract = contractService.updateContract(id, contractDTO,
+                ContractETags.expectedVersion(ifMatch, id));
+        return ResponseEntity.ok()
+                .eTag(ContractETags.strong(id, updatedContract))
+                .body(updatedContract.contract());
     }
 
     /**
@@ -172,30 +336,68 @@ public class ContractController {
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     @GetMapping("/expiring")
     public ResponseEntity<List<ContractDTO>> getExpiringContracts(
-            @RequestParam(defaultValue = "30") int days
+            @RequestParam(defaultValue = "30") int days,
+            ServletWebRequest webRequest
     ) {
+        if (listingNotModified(webRequest)) {
+            return null;
+        }
         List<ContractDTO> expiring = contractService.getExpiringContracts(days);
         return ResponseEntity.ok(expiring);
     }
 
+    /**
+     * Paged search over the tenant's contracts. Answers {@code 304 Not Modified}
+     * when the client's weak ETag for the same query still matches.
+     */
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     @GetMapping("/search")
     public ResponseEntity<Page<ContractDTO>> search(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String q,
-            @RequestParam(required = false) String status
+            @RequestParam(required = false) String status,
+            ServletWebRequest webRequest
     ) {
-        ContractStatus st = null;
+        if (listingNotModified(webRequest)) {
+            return null;
+        }
+        Page<ContractDTO> result = contractService.searchPaged(q, parseStatusFilter(status), page, size);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Cursor-paginated search: same filters as {@code /search}, but pages are
+     * addressed by the opaque {@code nextCursor} of the previous response
+     * instead of a page number, so deep pages stay as fast as the first. The
+     * total is only computed with {@code withTotal=true}. Conditional like
+     * {@code /search}.
+     */
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @GetMapping("/search/cursor")
+    public ResponseEntity<CursorPage<ContractDTO>> searchCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "false") boolean withTotal,
+            ServletWebRequest webRequest
+    ) {
+        if (listingNotModified(webRequest)) {
+            return null;
+        }
+        return ResponseEntity.ok(contractService.searchCursor(q, parseStatusFilter(status), cursor, size, withTotal));
+    }
+
+    private static ContractStatus parseStatusFilter(String status) {
         if (status != null && !status.isBlank() && !"ALL".equals(Normalizer.normalize(status, Normalizer.Form.NFC).toUpperCase(Locale.ROOT))) {
             try {
-                st = ContractStatus.valueOf(Normalizer.normalize(status, Normalizer.Form.NFC).toUpperCase(Locale.ROOT));
+                return ContractStatus.valueOf(Normalizer.normalize(status, Normalizer.Form.NFC).toUpperCase(Locale.ROOT));
             } catch (IllegalArgumentException ignored) {
                 // Invalid status provided; fallback to no status filter
             }
         }
-        Page<ContractDTO> result = contractService.searchPaged(q, st, page, size);
-        return ResponseEntity.ok(result);
+        return null;
     }
 
     @PreAuthorize("hasRole('ADMIN')")
@@ -224,27 +426,80 @@ public class ContractController {
     }
 
     /**
-     * Exports all contracts to Excel format (.xlsx).
+     * Sets the status of many contracts at once. See {@link ContractBulkService}.
      *
-     * @return Excel file as byte array
+     * @param body the contract ids and the new status
+     * @return the outcome per contract
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/bulk/status")
+    public ResponseEntity<ContractBulkResultDTO> bulkUpdateStatus(@RequestBody BulkStatusRequest body) {
+        return ResponseEntity.ok(contractBulkService.updateStatus(body.contractIds(), body.status()));
+    }
+
+    /**
+     * Assigns one manager to many contracts at once.
+     *
+     * @param body the contract ids and the manager id
+     * @return the outcome per contract
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/bulk/assign-manager")
+    public ResponseEntity<ContractBulkResultDTO> bulkAssignManager(@RequestBody BulkAssignManagerRequest body) {
+        return ResponseEntity.ok(contractBulkService.assignManager(body.contractIds(), body.managerId()));
+    }
+
+    /**
+     * Replaces the collaborators of many contracts at once.
+     *
+     * @param body the contract ids and the collaborating manager ids
+     * @return the outcome per contract
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/bulk/collaborators")
+    public ResponseEntity<ContractBulkResultDTO> bulkSetCollaborators(@RequestBody BulkCollaboratorsRequest body) {
+        return ResponseEntity.ok(contractBulkService.setCollaborators(body.contractIds(), body.managerIds()));
+    }
+
+    /**
+     * Deletes many contracts at once.
+     *
+     * @param body the contract ids
+     * @return the outcome per contract
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<ContractBulkResultDTO> bulkDelete(@RequestBody BulkDeleteRequest body) {
+        return ResponseEntity.ok(contractBulkService.delete(body.contractIds()));
+    }
+
+    /**
+     * Exports all contracts to Excel format (.xlsx). Contracts are read from the
+     * database cursor and the workbook is written straight to the response, so
+     * neither the contract list nor the file is held in memory.
+     * <p>
+     * Written on the request thread, like {@link #streamAllContracts}, for the same
+     * reasons. Nothing is sent before the workbook is complete, so a failure while
+     * reading the contracts still gets a 500.
+     *
+     * @param response the response the Excel file is written to
+     * @throws IOException if the client goes away mid-download
      */
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     @GetMapping("/export/excel")
-    public ResponseEntity<byte[]> exportContractsToExcel() {
+    public void exportContractsToExcel(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.formData()
+                .name(CONTENT_DISPOSITION_ATTACHMENT).filename("contracts_export.xlsx").build().toString());
         try {
-            List<ContractDTO> contracts = contractService.getAllContracts();
-            byte[] excelData = exportService.exportContractsToExcel(contracts);
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
-            headers.setContentDispositionFormData(CONTENT_DISPOSITION_ATTACHMENT,"contracts_export.xlsx");
-
-            return ResponseEntity.ok()
-                    .headers(headers)
-                    .body(excelData);
+            exportService.exportContractsToExcel(contractService::streamAllContracts, response.getOutputStream());
         } catch (IOException e) {
             logger.error("Failed to export contracts to Excel", e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            if (response.isCommitted()) {
+                throw e;
+            }
+            response.reset();
+            response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
         }
     }
 
@@ -324,19 +579,53 @@ public class ContractController {
     }
 
     /**
-     * Bulk-imports contracts from an uploaded .xlsx file. Each row is
-     * validated and saved independently; a per-row report of successes and
-     * errors is returned.
+     * Submits a bulk import of contracts from an uploaded .xlsx file. The file
+     * is imported in the background; poll the returned job for progress.
+     * Submitting the same file again returns the existing job.
      *
      * @param file the uploaded spreadsheet
-     * @return HTTP 200 with a {@link ContractImportResultDTO} report
+     * @return HTTP 202 with the {@link ContractImportJobDTO} and its location
      */
     @PreAuthorize("hasRole('ADMIN')")
     @PostMapping(value = "/import/excel", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<ContractImportResultDTO> importContractsFromExcel(
+    public ResponseEntity<ContractImportJobDTO> importContractsFromExcel(
             @RequestParam("file") MultipartFile file) throws IOException {
-        ContractImportResultDTO result = contractImportService.importFromExcel(file);
-        return ResponseEntity.ok(result);
+        ContractImportJobDTO job = contractImportJobService.submit(file);
+        return ResponseEntity.accepted()
+                .location(URI.create("/contracts/import/jobs/" + job.id()))
+                .body(job);
+    }
+
+    /**
+     * Returns the status and progress counters of an import job.
+     *
+     * @param id the job id
+     * @return HTTP 200 with the {@link ContractImportJobDTO}
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/import/jobs/{id}")
+    public ResponseEntity<ContractImportJobDTO> getImportJob(@PathVariable Long id) {
+        return ResponseEntity.ok(contractImportJobService.getJob(id));
+    }
+
+    /**
+     * Downloads the rows an import job rejected, as a CSV file.
+     *
+     * @param id the job id
+     * @return CSV report as byte array
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/import/jobs/{id}/errors")
+    public ResponseEntity<byte[]> downloadImportErrors(@PathVariable Long id) {
+        byte[] data = contractImportJobService.errorReport(id);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(new MediaType("text", "csv", StandardCharsets.UTF_8));
+        headers.setContentDispositionFormData(CONTENT_DISPOSITION_ATTACHMENT, "contract_import_errors_" + id + ".csv");
+
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(data);
     }
 
     /**
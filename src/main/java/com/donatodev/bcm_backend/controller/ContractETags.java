@@ -0,0 +1,76 @@
+package com.donatodev.bcm_backend.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+import org.springframework.util.DigestUtils;
+
+import com.donatodev.bcm_backend.dto.VersionedContract;
+import com.donatodev.bcm_backend.exception.ContractVersionConflictException;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * ETags of the contract endpoints.
+ * <p>
+ * A single contract gets a strong tag made of its id, its version and the versions of
+ * the business area and manager embedded in it; {@code If-Match} on an update only
+ * compares the contract's own version. The listings and searches get a weak tag hashed
+ * from the tenant's listing version, the caller and the request URL, so it changes with
+ * any write the response could show. Both tags include today's date, because
+ * {@code daysUntilExpiry} changes daily while the rows do not.
+ */
+final class ContractETags {
+
+    private static final String CONFLICT_MESSAGE = "Il contratto è stato modificato da un altro utente: ricaricalo e riprova";
+
+    private ContractETags() {
+    }
+
+    /** Strong ETag of one contract: {@code "<id>-<version>-<areaVersion>-<managerVersion>-<epochDay>"}. */
+    static String strong(Long id, VersionedContract contract) {
+        return "\"" + id + "-" + contract.version() + "-" + contract.areaVersion() + "-"
+                + contract.managerVersion() + "-" + today() + "\"";
+    }
+
+    /** Weak ETag of a listing or search response. */
+    static String weak(long listingVersion, HttpServletRequest request) {
+        String key = listingVersion + "|" + request.getRemoteUser() + "|" + request.getRequestURI()
+                + "?" + request.getQueryString() + "|" + today();
+        return "W/\"" + DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * The contract version an update is conditional on, read from {@code If-Match}.
+     * Returns null when there is no precondition (no header, or {@code *}).
+     *
+     * @throws ContractVersionConflictException if no listed tag is a strong tag of
+     *         this contract, since such a precondition can never hold
+     */
+    static Long expectedVersion(String ifMatch, Long id) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        for (String tag : ifMatch.split(",")) {
+            String value = tag.trim();
+            // If-Match uses the strong comparison: weak tags never match
+            if (value.length() < 2 || !value.startsWith("\"") || !value.endsWith("\"")) {
+                continue;
+            }
+            String[] parts = value.substring(1, value.length() - 1).split("-");
+            if (parts.length == 5 && parts[0].equals(String.valueOf(id))) {
+                try {
+                    return Long.valueOf(parts[1]);
+                } catch (NumberFormatException e) {
+                    // not one of ours, try the next tag
+                }
+            }
+        }
+        throw new ContractVersionConflictException(CONFLICT_MESSAGE);
+    }
+
+    private static long today() {
+        return LocalDate.now(ZoneId.systemDefault()).toEpochDay();
+    }
+}
@@ -0,0 +1,5 @@
+package com.donatodev.bcm_backend.dto;
+
+import java.util.List;
+
+public record BulkDeleteRequest(List<Long> contractIds) {}
@@ -0,0 +1,7 @@
+package com.donatodev.bcm_backend.dto;
+
+import java.util.List;
+
+import com.donatodev.bcm_backend.entity.ContractStatus;
+
+public record BulkStatusRequest(List<Long> contractIds, ContractStatus status) {}
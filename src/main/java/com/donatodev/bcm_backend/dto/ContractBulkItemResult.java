@@ -0,0 +1,11 @@
+package com.donatodev.bcm_backend.dto;
+
+/**
+ * Outcome of a bulk contract operation for a single contract.
+ *
+ * @param contractId the contract id, as given in the request
+ * @param success    whether the operation was applied (or the contract already matched it)
+ * @param message    the reason the contract was skipped, null on success
+ */
+public record ContractBulkItemResult(Long contractId, boolean success, String message) {
+}
@@ -0,0 +1,20 @@
+package com.donatodev.bcm_backend.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk contract operation. Contracts are processed in chunks, each
+ * in its own transaction: a failed chunk is rolled back and reported, and the
+ * following chunks still run.
+ *
+ * @param requested number of distinct contract ids in the request
+ * @param succeeded number of contracts the operation was applied to
+ * @param failed    number of contracts it was not applied to
+ * @param items     outcome per contract, in request order
+ */
+public record ContractBulkResultDTO(
+        int requested,
+        int succeeded,
+        int failed,
+        List<ContractBulkItemResult> items) {
+}
@@ -0,0 +1,24 @@
+package com.donatodev.bcm_backend.dto;
+
+import java.util.List;
+
+/**
+ * One page of the contract change feed ({@code GET /contracts/changes}). Changes to
+ * the same contract within the page are collapsed to their net effect: a contract
+ * created and then edited is only in {@code created}, one edited and then deleted
+ * only in {@code deleted}, and one created and deleted within the page is left out.
+ *
+ * @param created ids of contracts created since the cursor
+ * @param updated ids of existing contracts changed since the cursor
+ * @param deleted ids of contracts deleted since the cursor (tombstones)
+ * @param cursor  cursor to pass as {@code since} on the next call
+ * @param hasMore whether more changes are already available after {@code cursor}
+ */
+public record ContractChangesDTO(
+        List<Long> created,
+        List<Long> updated,
+        List<Long> deleted,
+        long cursor,
+        boolean hasMore
+        ) {
+}
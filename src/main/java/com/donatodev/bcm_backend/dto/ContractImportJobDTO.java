@@ -0,0 +1,32 @@
+package com.donatodev.bcm_backend.dto;
+
+import java.time.Instant;
+
+import com.donatodev.bcm_backend.entity.ContractImportJobStatus;
+
+/**
+ * State of a background contract import, as polled by the client.
+ *
+ * @param id             the job id
+ * @param fileName       the uploaded file name
+ * @param status         where the job is in its lifecycle
+ * @param rowsRead       non-blank data rows read so far
+ * @param rowsCreated    rows saved as contracts so far
+ * @param rowsFailed     rows rejected so far, listed in the error report
+ * @param failureMessage why the job stopped, when {@code FAILED}
+ * @param createdAt      when the file was submitted
+ * @param startedAt      when a worker picked the job up, or null while queued
+ * @param finishedAt     when the job completed or failed, or null while unfinished
+ */
+public record ContractImportJobDTO(
+        Long id,
+        String fileName,
+        ContractImportJobStatus status,
+        int rowsRead,
+        int rowsCreated,
+        int rowsFailed,
+        String failureMessage,
+        Instant createdAt,
+        Instant startedAt,
+        Instant finishedAt) {
+}
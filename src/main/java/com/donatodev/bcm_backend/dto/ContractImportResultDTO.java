@@ -1,7 +1,5 @@
 package com.donatodev.bcm_backend.dto;
 
-import java.util.List;
-
 /**
  * Outcome of a bulk contract import from an uploaded spreadsheet. Import is
  * best-effort per row: valid rows are saved even if others in the same file
@@ -10,11 +8,9 @@ import java.util.List;
  * @param totalRows     number of non-blank data rows found in the file
  * @param importedCount number of rows successfully saved as contracts
  * @param errorCount    number of rows rejected
- * @param errors        per-row rejection reasons, in file order
  */
 public record ContractImportResultDTO(
         int totalRows,
         int importedCount,
-        int errorCount,
-        List<ContractImportRowError> errors) {
+        int errorCount) {
 }
@@ -0,0 +1,36 @@
+package com.donatodev.bcm_backend.dto;
+
+import java.time.LocalDate;
+
+import com.donatodev.bcm_backend.entity.ContractStatus;
+import com.donatodev.bcm_backend.entity.WorkflowStage;
+
+/**
+ * One row of a contract listing, selected with a JPQL constructor expression
+ * (contract columns plus its business area and manager, left-joined) instead
+ * of loading {@code Contracts} entities. Rows are not managed, so a large
+ * listing neither fills the persistence context nor gets dirty-checked.
+ * Converted to {@link ContractDTO} by
+ * {@link com.donatodev.bcm_backend.mapper.ContractMapper#fromListRow}.
+ */
+public record ContractListRow(
+        Long id,
+        String customerName,
+        String contractNumber,
+        String wbsCode,
+        String projectName,
+        ContractStatus status,
+        LocalDate startDate,
+        LocalDate endDate,
+        WorkflowStage workflowStage,
+        Long areaId,
+        String areaName,
+        String areaDescription,
+        Long managerId,
+        String managerFirstName,
+        String managerLastName,
+        String managerEmail,
+        String managerPhoneNumber,
+        String managerDepartment
+        ) {
+}
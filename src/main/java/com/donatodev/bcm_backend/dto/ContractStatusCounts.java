@@ -0,0 +1,14 @@
+package com.donatodev.bcm_backend.dto;
+
+/**
+ * Dashboard KPIs computed in a single aggregation pass over the contracts table.
+ *
+ * @param expiring ACTIVE contracts ending between today and the given horizon
+ */
+public record ContractStatusCounts(long total, long active, long expiring, long expired, long draft) {
+
+    public ContractStatsResponse toResponse() {
+        return new ContractStatsResponse(Math.toIntExact(total), Math.toIntExact(active),
+                Math.toIntExact(expiring), Math.toIntExact(expired), Math.toIntExact(draft));
+    }
+}
@@ -0,0 +1,20 @@
+package com.donatodev.bcm_backend.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * One page of a cursor (keyset) listing.
+ *
+ * @param content       the page items
+ * @param nextCursor    opaque token for the next page, {@code null} on the last page
+ * @param totalElements total matching items, only when the caller asked for it
+ */
+public record CursorPage<T>(List<T> content, String nextCursor, Long totalElements) {
+
+    @JsonProperty("hasNext")
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,19 @@
+package com.donatodev.bcm_backend.dto;
+
+/**
+ * A contract together with the optimistic lock versions of the rows its
+ * representation is built from, so the controller can derive an ETag that
+ * changes whenever the response body would.
+ *
+ * @param contract       the contract as returned to clients
+ * @param version        the contract's own version, checked by {@code If-Match}
+ * @param areaVersion    version of its business area, 0 without one
+ * @param managerVersion version of its manager, 0 without one
+ */
+public record VersionedContract(
+        ContractDTO contract,
+        long version,
+        long areaVersion,
+        long managerVersion
+        ) {
+}
@@ -1,7 +1,10 @@
 package com.donatodev.bcm_backend.entity;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
 
@@ -14,4 +17,13 @@ import lombok.experimental.SuperBuilder;
 @SuperBuilder
 @NoArgsConstructor
 public class BusinessAreas extends OrgNamedEntity {
+
+    /**
+     * Optimistic lock version. The area is embedded in contract responses,
+     * so it also feeds the contract ETags.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    @Getter
+    private long version;
 }
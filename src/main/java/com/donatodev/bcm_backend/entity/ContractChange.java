@@ -0,0 +1,59 @@
+package com.donatodev.bcm_backend.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One entry of the append-only contract change log behind {@code GET /contracts/changes}.
+ * Written in the same transaction as the contract write it records (see
+ * {@code ContractChangeLog}), and numbered by a per-tenant sequence, {@link #seq},
+ * which is the cursor clients resume from.
+ * <p>
+ * {@code contractId} is deliberately not a foreign key, so tombstones outlive the
+ * contract they refer to.
+ */
+@Entity
+@Table(name = "contract_changes",
+        uniqueConstraints = @UniqueConstraint(name = "uk_contract_changes_scope_seq", columnNames = {"scope_id", "seq"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ContractChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Organization of the contract, or 0 for contracts without one. */
+    @Column(name = "scope_id", nullable = false)
+    private long scopeId;
+
+    @Column(name = "seq", nullable = false)
+    private long seq;
+
+    @Column(name = "contract_id", nullable = false)
+    private Long contractId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 16)
+    private ContractChangeType changeType;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+}
@@ -0,0 +1,43 @@
+package com.donatodev.bcm_backend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Per-tenant sequence of the contract change log. Incrementing it row-locks it until
+ * commit, so a tenant's change log entries become visible in sequence order and a
+ * reader that has seen sequence {@code n} can never later find an entry below it.
+ */
+@Entity
+@Table(name = "contract_change_sequences")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ContractChangeSequence {
+
+    /** Organization id, or 0 for contracts without one. */
+    @Id
+    @Column(name = "scope_id")
+    private Long scopeId;
+
+    /** Sequence of the latest change log entry. */
+    @Column(name = "last_seq", nullable = false)
+    private long lastSeq;
+
+    /** Entries up to this sequence have been purged; older cursors cannot resume. */
+    @Column(name = "purged_through", nullable = false)
+    private long purgedThrough;
+
+    /** Writes of the tenant's business areas and managers, which the listings embed. */
+    @Column(name = "listing_generation", nullable = false)
+    private long listingGeneration;
+}
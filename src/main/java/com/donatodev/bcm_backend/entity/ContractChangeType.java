@@ -0,0 +1,11 @@
+package com.donatodev.bcm_backend.entity;
+
+/**
+ * Kind of write recorded in the contract change log. {@code DELETED} entries are
+ * tombstones: the contract row is gone, only its id is left in the log.
+ */
+public enum ContractChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,81 @@
+package com.donatodev.bcm_backend.entity;
+
+import java.time.Instant;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A background Excel contract import (see {@code ContractImportJobService}). The row
+ * counters are updated after every chunk, so polling the job shows progress; the
+ * rejected rows are kept in {@link ContractImportJobError}.
+ */
+@Entity
+@Table(name = "contract_import_jobs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ContractImportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "org_id")
+    private Long orgId;
+
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+
+    /** Hex SHA-256 of the uploaded file. */
+    @Column(name = "file_hash", nullable = false, length = 64)
+    private String fileHash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private ContractImportJobStatus status;
+
+    @Column(name = "rows_read", nullable = false)
+    private int rowsRead;
+
+    @Column(name = "rows_created", nullable = false)
+    private int rowsCreated;
+
+    @Column(name = "rows_failed", nullable = false)
+    private int rowsFailed;
+
+    @Column(name = "failure_message", length = 500)
+    private String failureMessage;
+
+    @Column(name = "submitted_by")
+    private String submittedBy;
+
+    /** The server instance running the job ({@code contract-import.instance-id}). */
+    @Column(name = "instance_id")
+    private String instanceId;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "started_at")
+    private Instant startedAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+}
@@ -0,0 +1,41 @@
+package com.donatodev.bcm_backend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One rejected row of a {@link ContractImportJob}. Written in JDBC batches, one per
+ * import chunk, and read back in row order for the error report.
+ */
+@Entity
+@Table(name = "contract_import_job_errors")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ContractImportJobError {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    /** The 1-based Excel row number. */
+    @Column(name = "excel_row", nullable = false)
+    private int excelRow;
+
+    @Column(name = "message", nullable = false, length = 500)
+    private String message;
+}
@@ -0,0 +1,13 @@
+package com.donatodev.bcm_backend.entity;
+
+/**
+ * Lifecycle of a background Excel import. {@code COMPLETED} means the whole file
+ * was read, even if some rows were rejected; {@code FAILED} means the import
+ * stopped (unreadable file, server restart).
+ */
+public enum ContractImportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,52 @@
+package com.donatodev.bcm_backend.entity;
+
+import java.time.Instant;
+
+import org.hibernate.annotations.UpdateTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Materialized dashboard counters for one organization, kept current incrementally by
+ * the contract write paths (see {@code ContractStatsService}) so the dashboard reads a
+ * single row by primary key instead of aggregating the contracts table.
+ * <p>
+ * The "expiring" KPI depends on today's date, so it is not stored here.
+ */
+@Entity
+@Table(name = "contract_stats_counters")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ContractStatsCounter {
+
+    @Id
+    @Column(name = "organization_id")
+    private Long organizationId;
+
+    @Column(name = "total_count", nullable = false)
+    private long total;
+
+    @Column(name = "active_count", nullable = false)
+    private long active;
+
+    @Column(name = "expired_count", nullable = false)
+    private long expired;
+
+    @Column(name = "draft_count", nullable = false)
+    private long draft;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+}
@@ -124,4 +124,13 @@ public class Contracts {
     @Enumerated(EnumType.STRING)
     @Column(name = "workflow_stage")
     private WorkflowStage workflowStage;
+
+    /**
+     * Optimistic lock version, incremented by Hibernate on every update.
+     * A concurrent update of a stale copy fails instead of overwriting, and
+     * the version is part of the contract's ETag.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
 }
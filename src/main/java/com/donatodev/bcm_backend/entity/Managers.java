@@ -12,6 +12,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -86,4 +87,12 @@ public class Managers {
     @ManyToOne(fetch = FetchType.LAZY, optional = true)
     @JoinColumn(name = "organization_id")
     private Organization organization;
+
+    /**
+     * Optimistic lock version. Manager details are embedded in contract
+     * responses, so it also feeds the contract ETags.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
 }
@@ -22,6 +22,10 @@ import lombok.Setter;
 /**
  * A single-use TOTP recovery code, hashed the same way as passwords. Lets a
  * user regain access if they lose their authenticator device.
+ * <p>
+ * {@code lookupKey} is a keyed HMAC of the code that indexes the row, so verification
+ * costs one BCrypt check instead of one per unused code. Rows created before it existed
+ * have it {@code null} and are still verified by scanning until the codes are regenerated.
  */
 @Entity
 @Table(name = "totp_recovery_codes")
@@ -43,6 +47,9 @@ public class TotpRecoveryCode {
     @Column(name = "code_hash", nullable = false)
     private String codeHash;
 
+    @Column(name = "lookup_key", length = 64)
+    private String lookupKey;
+
     @Column(name = "used_at")
     private Instant usedAt;
 
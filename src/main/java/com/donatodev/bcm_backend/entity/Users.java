@@ -115,8 +115,10 @@ public class Users {
     private boolean canApproveContracts = false;
 
     /**
-     * Count of consecutive failed login attempts since the last successful
-     * login (or since the account was last unlocked). Reset to 0 on success.
+     * Failed attempts that triggered the last lockout, kept for auditing. The
+     * live counter is in {@link com.donatodev.bcm_backend.auth.LoginAttemptStore};
+     * this column is only written when an account gets locked, and reset to 0 on
+     * the next successful login.
      */
     @Builder.Default
     @Column(name = "failed_login_attempts", nullable = false)
@@ -125,7 +127,7 @@ public class Users {
     /**
      * If set and in the future, login is refused regardless of a correct
      * password (see {@link com.donatodev.bcm_backend.auth.AuthService}).
-     * Cleared automatically once it has passed.
+     * Cleared on the first successful login after it has passed.
      */
     @Column(name = "locked_until")
     private LocalDateTime lockedUntil;
@@ -0,0 +1,21 @@
+package com.donatodev.bcm_backend.exception;
+
+/**
+ * Exception thrown when a change feed cursor is older than the retained change log,
+ * so the changes since it can no longer be listed and the client must resync.
+ * <p>
+ * Mapped to {@code 410 Gone} by {@link GlobalExceptionHandler}.
+ */
+public class ContractChangeCursorExpiredException extends RuntimeException {
+
+    private static final long serialVersionUID = -2871630427519043196L;
+
+    /**
+     * Constructs a new {@code ContractChangeCursorExpiredException} with the specified detail message.
+     *
+     * @param message the detail message explaining the reason for the exception
+     */
+    public ContractChangeCursorExpiredException(String message) {
+        super(message);
+    }
+}
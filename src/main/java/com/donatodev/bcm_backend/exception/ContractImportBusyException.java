@@ -0,0 +1,14 @@
+package com.donatodev.bcm_backend.exception;
+
+/**
+ * Thrown when the background import pool and its queue are full, so a new import
+ * cannot be accepted. Mapped to 503 with {@code Retry-After}.
+ */
+public class ContractImportBusyException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ContractImportBusyException() {
+        super("Troppe importazioni in corso. Riprova tra qualche minuto");
+    }
+}
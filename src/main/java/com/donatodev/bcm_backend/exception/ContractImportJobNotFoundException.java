@@ -0,0 +1,10 @@
+package com.donatodev.bcm_backend.exception;
+
+public class ContractImportJobNotFoundException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ContractImportJobNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,21 @@
+package com.donatodev.bcm_backend.exception;
+
+/**
+ * Exception thrown when a contract update carries an {@code If-Match} precondition
+ * that no longer matches the stored version, i.e. the client edited a stale copy.
+ * <p>
+ * Mapped to {@code 412 Precondition Failed} by {@link GlobalExceptionHandler}.
+ */
+public class ContractVersionConflictException extends RuntimeException {
+
+    private static final long serialVersionUID = 4127538310926624415L;
+
+    /**
+     * Constructs a new {@code ContractVersionConflictException} with the specified detail message.
+     *
+     * @param message the detail message explaining the reason for the exception
+     */
+    public ContractVersionConflictException(String message) {
+        super(message);
+    }
+}
@@ -4,6 +4,8 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -138,11 +140,62 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(HttpStatus.FORBIDDEN, "Accesso negato: " + ex.getMessage());
     }
 
+    /**
+     * Handles a saturated password-hashing bulkhead: the client should back off briefly.
+     */
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<ApiErrorResponse> handlePasswordHashingBusy(PasswordHashingBusyException ex) {
+        ResponseEntity<ApiErrorResponse> response = buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response.getBody());
+    }
+
+    /**
+     * Handles a full background import queue: the client should retry later.
+     */
+    @ExceptionHandler(ContractImportBusyException.class)
+    public ResponseEntity<ApiErrorResponse> handleContractImportBusy(ContractImportBusyException ex) {
+        ResponseEntity<ApiErrorResponse> response = buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .body(response.getBody());
+    }
+
+    @ExceptionHandler(ContractImportJobNotFoundException.class)
+    public ResponseEntity<ApiErrorResponse> handleContractImportJobNotFound(ContractImportJobNotFoundException ex) {
+        return buildErrorResponse(HttpStatus.NOT_FOUND, ex.getMessage());
+    }
+
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ResponseEntity<ApiErrorResponse> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
         return buildErrorResponse(HttpStatus.CONFLICT, "Conflitto: esiste già un record con lo stesso valore univoco");
     }
 
+    /**
+     * Handles an update whose {@code If-Match} no longer matches the stored contract.
+     */
+    @ExceptionHandler(ContractVersionConflictException.class)
+    public ResponseEntity<ApiErrorResponse> handleContractVersionConflict(ContractVersionConflictException ex) {
+        return buildErrorResponse(HttpStatus.PRECONDITION_FAILED, ex.getMessage());
+    }
+
+    /**
+     * Handles a change feed cursor older than the retained change log.
+     */
+    @ExceptionHandler(ContractChangeCursorExpiredException.class)
+    public ResponseEntity<ApiErrorResponse> handleContractChangeCursorExpired(ContractChangeCursorExpiredException ex) {
+        return buildErrorResponse(HttpStatus.GONE, ex.getMessage());
+    }
+
+    /**
+     * Handles a concurrent update detected by the {@code @Version} check at flush time.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiErrorResponse> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        return buildErrorResponse(HttpStatus.CONFLICT, "Conflitto: il record è stato modificato da un'altra richiesta, ricaricalo e riprova");
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ApiErrorResponse> handleIllegalArgument(IllegalArgumentException ex) {
         return buildErrorResponse(HttpStatus.BAD_REQUEST, ex.getMessage());
@@ -0,0 +1,14 @@
+package com.donatodev.bcm_backend.exception;
+
+/**
+ * Thrown when the password-hashing bulkhead is saturated (queue full or wait timed out),
+ * typically during a credential-stuffing burst. Mapped to 503 with {@code Retry-After}.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PasswordHashingBusyException() {
+        super("Servizio di autenticazione momentaneamente sovraccarico. Riprova tra poco");
+    }
+}
@@ -0,0 +1,241 @@
+package com.donatodev.bcm_backend.jwt;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Two-tier bucket source: a per-instance local bucket decides most requests without
+ * touching Redis, and locally-allowed requests are reconciled against the shared Redis
+ * bucket in the background.
+ * <p>
+ * The local bucket has the same capacity as the shared one. Every request an instance
+ * allows is also charged to Redis eventually, so the local count never exceeds the global
+ * one. A local rejection is therefore always correct and costs no round trip. Under
+ * credential stuffing from a single address, everything past the first
+ * {@code requestsPerMinute} requests is rejected locally, and Redis latency no longer
+ * shows up in {@code /auth/login} latency.
+ * <p>
+ * Across instances, each key may run at most {@code maxUnsyncedTokens} requests ahead of
+ * what Redis has confirmed. Past that, the request reconciles synchronously. That is the
+ * configurable overshoot, and with {@code maxUnsyncedTokens = 0} this behaves like
+ * {@link RedisRateLimitBucketSource} plus the local pre-check. Requests already served are
+ * charged to Redis even when that overdraws the shared bucket, so an overshoot is paid back
+ * before the key is allowed again. When Redis reports the shared bucket exhausted or
+ * overdrawn, the key is blocked locally until the shared bucket refills. While Redis
+ * is unreachable the local bucket alone enforces the limit, per instance.
+ * <p>
+ * Per-key state is bounded and expires like {@link InMemoryRateLimitBucketSource}
+ * ({@code rate-limit.in-memory.max-buckets} and {@code idle-expiry}), and is reported
+ * through the same {@code bcm.rate_limit.buckets*} gauges, tagged {@code store=hybrid}.
+ */
+public class HybridRateLimitBucketSource implements RateLimitBucketSource, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(HybridRateLimitBucketSource.class);
+
+    /**
+     * Rough heap cost of one key: the key string, the cache node, the local bucket, the
+     * counters and the Redis bucket proxy. Only used for the footprint gauge.
+     */
+    static final long ESTIMATED_BYTES_PER_KEY = 1024;
+
+    private final ProxyManager<String> proxyManager;
+    private final int maxUnsyncedTokens;
+    private final long syncIntervalMillis;
+    private final ScheduledExecutorService reconciler;
+    private final Cache<String, KeyState> states;
+
+    public HybridRateLimitBucketSource(ProxyManager<String> proxyManager, int maxUnsyncedTokens,
+                                       Duration syncInterval) {
+        this(proxyManager, maxUnsyncedTokens, syncInterval, InMemoryRateLimitBucketSource.DEFAULT_MAX_BUCKETS,
+                InMemoryRateLimitBucketSource.DEFAULT_IDLE_EXPIRY);
+    }
+
+    /**
+     * @param maxKeys    most keys tracked at once; the least valuable are evicted first
+     * @param idleExpiry how long a key without requests is kept
+     */
+    public HybridRateLimitBucketSource(ProxyManager<String> proxyManager, int maxUnsyncedTokens,
+                                       Duration syncInterval, long maxKeys, Duration idleExpiry) {
+        this.proxyManager = proxyManager;
+        this.states = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idleExpiry)
+                .build();
+        this.maxUnsyncedTokens = Math.max(0, maxUnsyncedTokens);
+        this.syncIntervalMillis = syncInterval.toMillis();
+        this.reconciler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "rate-limit-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public boolean tryConsume(String key, int requestsPerMinute) {
+        return probe(key, requestsPerMinute).allowed();
+    }
+
+    /** Remaining/reset come from the local bucket; they are exact only on a single instance. */
+    @Override
+    public RateLimitProbe probe(String key, int requestsPerMinute) {
+        KeyState state = states.get(key, k -> new KeyState(requestsPerMinute));
+
+        if (state.isBlocked()) {
+            return new RateLimitProbe(false, 0, state.nanosUntilUnblocked());
+        }
+        ConsumptionProbe local = state.local.tryConsumeAndReturnRemaining(1);
+        if (!local.isConsumed()) {
+            return new RateLimitProbe(false, 0, local.getNanosToWaitForRefill());
+        }
+        RateLimitProbe allowed = new RateLimitProbe(true, local.getRemainingTokens(), local.getNanosToWaitForReset());
+        if (state.reserveUnsynced(maxUnsyncedTokens)) {
+            scheduleReconcile(key, state, requestsPerMinute);
+            return allowed;
+        }
+        // Overshoot budget used up: settle everything pending plus this request now.
+        if (reconcile(key, state, requestsPerMinute, state.drainUnsynced(), true)) {
+            return allowed;
+        }
+        return new RateLimitProbe(false, 0, state.nanosUntilUnblocked());
+    }
+
+    /** Approximate number of tracked keys (expired entries may linger until the next cleanup). */
+    public long keyCount() {
+        return states.estimatedSize();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("bcm.rate_limit.buckets", this, HybridRateLimitBucketSource::keyCount)
+                .description("Live in-memory rate-limit buckets")
+                .tag("store", "hybrid")
+                .register(registry);
+        Gauge.builder("bcm.rate_limit.buckets.memory", this, s -> s.keyCount() * ESTIMATED_BYTES_PER_KEY)
+                .description("Estimated heap held by in-memory rate-limit buckets")
+                .baseUnit("bytes")
+                .tag("store", "hybrid")
+                .register(registry);
+    }
+
+    /** Stops the background reconciler. Pending local decisions are not flushed. */
+    public void shutdown() {
+        reconciler.shutdownNow();
+    }
+
+    private void scheduleReconcile(String key, KeyState state, int requestsPerMinute) {
+        if (!state.reconcileScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        reconciler.schedule(() -> {
+            state.reconcileScheduled.set(false);
+            int served = state.drainUnsynced();
+            if (served > 0) {
+                reconcile(key, state, requestsPerMinute, served, false);
+            }
+        }, syncIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Charges the {@code served} requests already allowed locally to the shared bucket,
+     * unconditionally: they have happened, so they count even if that overdraws it. Only
+     * the {@code current} request, if any, is charged conditionally.
+     *
+     * @return false if the shared bucket is overdrawn or could not cover the current
+     *         request (the key is then blocked locally until it refills), true otherwise,
+     *         including when Redis is unreachable: the local bucket has already enforced
+     *         the per-instance limit.
+     */
+    private boolean reconcile(String key, KeyState state, int requestsPerMinute, int served, boolean current) {
+        try {
+            Bucket shared = state.remote(proxyManager, key, requestsPerMinute);
+            if (served > 0) {
+                long debtNanos = shared.consumeIgnoringRateLimits(served);
+                if (debtNanos > 0) {
+                    state.blockFor(debtNanos);
+                    return false;
+                }
+            }
+            if (!current) {
+                return true;
+            }
+            ConsumptionProbe probe = shared.tryConsumeAndReturnRemaining(1);
+            if (!probe.isConsumed()) {
+                state.blockFor(probe.getNanosToWaitForRefill());
+            }
+            return probe.isConsumed();
+        } catch (Exception ex) {
+            log.warn("Rate limiter backend (Redis) unavailable, enforcing the local limit only: {}",
+                    RedisRateLimitBucketSource.safeMessage(ex));
+            return true;
+        }
+    }
+
+    /** Local bucket, overshoot counter and shared-bucket handle for one rate-limit key. */
+    private static final class KeyState {
+
+        private final Bucket local;
+        private final AtomicInteger unsynced = new AtomicInteger();
+        private final AtomicBoolean reconcileScheduled = new AtomicBoolean();
+        private volatile long blockedUntilNanos;
+        private volatile boolean blocked;
+        private volatile Bucket remote;
+
+        KeyState(int requestsPerMinute) {
+            this.local = Bucket.builder()
+                    .addLimit(RedisRateLimitBucketSource.bandwidth(requestsPerMinute))
+                    .build();
+        }
+
+        boolean isBlocked() {
+            if (blocked && System.nanoTime() - blockedUntilNanos >= 0) {
+                blocked = false;
+            }
+            return blocked;
+        }
+
+        long nanosUntilUnblocked() {
+            return Math.max(0, blockedUntilNanos - System.nanoTime());
+        }
+
+        void blockFor(long nanos) {
+            blockedUntilNanos = System.nanoTime() + nanos;
+            blocked = true;
+        }
+
+        boolean reserveUnsynced(int max) {
+            return unsynced.getAndUpdate(n -> n < max ? n + 1 : n) < max;
+        }
+
+        int drainUnsynced() {
+            return unsynced.getAndSet(0);
+        }
+
+        /** Builds the Redis bucket proxy once per key instead of once per request. */
+        Bucket remote(ProxyManager<String> proxyManager, String key, int requestsPerMinute) {
+            Bucket bucket = remote;
+            if (bucket == null) {
+                bucket = proxyManager.builder()
+                        .build(key, () -> RedisRateLimitBucketSource.bucketConfiguration(requestsPerMinute));
+                remote = bucket;
+            }
+            return bucket;
+        }
+    }
+}
@@ -1,32 +1,101 @@
 package com.donatodev.bcm_backend.jwt;
 
 import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
-import io.github.bucket4j.Bandwidth;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
 import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 
 /**
- * Per-instance, in-memory bucket source — the original (pre-Redis) rate limiting behavior.
- * Used for the {@code test} Spring profile so the fast H2 unit suite has no external
- * dependency on Redis; {@link RedisRateLimitBucketSource} is what actually runs in dev/prod.
+ * Per-instance, in-memory bucket source. Used as the store for the {@code test} profile and
+ * for single-node deployments without Redis ({@code rate-limit.store=in-memory}), and as the
+ * fallback {@link RedisRateLimitBucketSource} switches to while Redis is unreachable.
+ * <p>
+ * Buckets live in a size-bounded Caffeine cache (concurrent, lock-striped internally) and
+ * are dropped after {@code idleExpiry} without requests. A client rotating source
+ * addresses therefore cannot grow the heap without limit. Dropping an idle bucket is safe:
+ * once the expiry exceeds the one-minute refill window, the bucket would have refilled
+ * anyway. Under size pressure the least valuable keys are evicted first, and an evicted key
+ * simply starts again with a full bucket.
  */
-public class InMemoryRateLimitBucketSource implements RateLimitBucketSource {
+public class InMemoryRateLimitBucketSource implements RateLimitBucketSource, MeterBinder {
+
+    public static final long DEFAULT_MAX_BUCKETS = 100_000;
+    public static final Duration DEFAULT_IDLE_EXPIRY = Duration.ofMinutes(2);
+
+    /**
+     * Rough heap cost of one entry: the key string, the cache node, the bucket and its
+     * single-bandwidth state. Only used for the footprint gauge.
+     */
+    static final long ESTIMATED_BYTES_PER_BUCKET = 512;
 
-    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final Cache<String, Bucket> buckets;
+    private final String store;
+
+    public InMemoryRateLimitBucketSource() {
+        this(DEFAULT_MAX_BUCKETS, DEFAULT_IDLE_EXPIRY, "primary");
+    }
+
+    /**
+     * @param store tag value distinguishing the primary store from the Redis fallback in
+     *              the {@code bcm.rate_limit.buckets*} gauges
+     */
+    public InMemoryRateLimitBucketSource(long maxBuckets, Duration idleExpiry, String store) {
+        this(Caffeine.newBuilder(), maxBuckets, idleExpiry, store);
+    }
+
+    /** Test hook: deterministic time and same-thread eviction. */
+    InMemoryRateLimitBucketSource(long maxBuckets, Duration idleExpiry, String store, Ticker ticker) {
+        this(Caffeine.newBuilder().ticker(ticker).executor(Runnable::run), maxBuckets, idleExpiry, store);
+    }
+
+    private InMemoryRateLimitBucketSource(Caffeine<Object, Object> builder, long maxBuckets, Duration idleExpiry,
+                                          String store) {
+        this.buckets = builder
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(idleExpiry)
+                .build();
+        this.store = store;
+    }
 
     @Override
     public boolean tryConsume(String key, int requestsPerMinute) {
-        Bucket bucket = buckets.computeIfAbsent(key, k -> createBucket(requestsPerMinute));
-        return bucket.tryConsume(1);
+        return probe(key, requestsPerMinute).allowed();
+    }
+
+    @Override
+    public RateLimitProbe probe(String key, int requestsPerMinute) {
+        Bucket bucket = buckets.get(key, k -> createBucket(requestsPerMinute));
+        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
+        return new RateLimitProbe(probe.isConsumed(), probe.getRemainingTokens(),
+                probe.isConsumed() ? probe.getNanosToWaitForReset() : probe.getNanosToWaitForRefill());
+    }
+
+    /** Approximate number of live buckets (expired entries may linger until the next cleanup). */
+    public long bucketCount() {
+        return buckets.estimatedSize();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("bcm.rate_limit.buckets", this, InMemoryRateLimitBucketSource::bucketCount)
+                .description("Live in-memory rate-limit buckets")
+                .tag("store", store)
+                .register(registry);
+        Gauge.builder("bcm.rate_limit.buckets.memory", this, s -> s.bucketCount() * ESTIMATED_BYTES_PER_BUCKET)
+                .description("Estimated heap held by in-memory rate-limit buckets")
+                .baseUnit("bytes")
+                .tag("store", store)
+                .register(registry);
     }
 
     private static Bucket createBucket(int requestsPerMinute) {
-        Bandwidth limit = Bandwidth.builder()
-                .capacity(requestsPerMinute)
-                .refillIntervally(requestsPerMinute, Duration.ofMinutes(1))
-                .build();
-        return Bucket.builder().addLimit(limit).build();
+        return Bucket.builder().addLimit(RedisRateLimitBucketSource.bandwidth(requestsPerMinute)).build();
     }
 }
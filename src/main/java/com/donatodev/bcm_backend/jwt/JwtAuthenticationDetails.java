@@ -0,0 +1,40 @@
+package com.donatodev.bcm_backend.jwt;
+
+import java.util.Objects;
+
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * {@link WebAuthenticationDetails} for a bearer-token authentication, extended
+ * with the {@link VerifiedJwtClaims} the filter already parsed. Anything that
+ * needs a claim (e.g. the organization id) can read it from the
+ * {@code Authentication}'s details instead of parsing the token again.
+ */
+public class JwtAuthenticationDetails extends WebAuthenticationDetails {
+
+    private static final long serialVersionUID = 1L;
+
+    private final VerifiedJwtClaims claims;
+
+    public JwtAuthenticationDetails(HttpServletRequest request, VerifiedJwtClaims claims) {
+        super(request);
+        this.claims = claims;
+    }
+
+    public VerifiedJwtClaims getClaims() {
+        return claims;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return super.equals(o) && o instanceof JwtAuthenticationDetails other
+                && Objects.equals(claims, other.claims);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), claims);
+    }
+}
@@ -7,7 +7,6 @@ import org.slf4j.MDC;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -41,33 +40,33 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         try {
             String authHeader = request.getHeader("Authorization");
-            String token = null;
-            String username = null;
+            VerifiedJwtClaims claims = null;
 
             if (authHeader != null && authHeader.startsWith("Bearer ")) {
-                token = authHeader.substring(7);
                 try {
-                    username = jwtUtils.getUsernameFromToken(token);
+                    // One signature verification per request: every claim the
+                    // filter needs comes out of this single parse.
+                    claims = jwtUtils.parseVerifiedClaims(authHeader.substring(7)).orElse(null);
                 } catch (RuntimeException e) {
-                    username = null;
+                    claims = null;
                 }
             }
 
-            if (username != null && !jwtUtils.isMfaPendingToken(token)
+            if (claims != null && claims.username() != null && !claims.mfaPending()
                     && SecurityContextHolder.getContext().getAuthentication() == null) {
                 try {
-                    Long orgId = jwtUtils.getOrganizationIdFromToken(token);
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username, orgId);
-                    if (jwtUtils.validateToken(token, userDetails)) {
+                    Long orgId = claims.organizationId();
+                    UserDetails userDetails = userDetailsService.loadUserByUsername(claims.username(), orgId);
+                    if (claims.username().equals(userDetails.getUsername())) {
                         UsernamePasswordAuthenticationToken authToken =
                                 new UsernamePasswordAuthenticationToken(
                                         userDetails,
                                         null,
                                         userDetails.getAuthorities()
                                 );
-                        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                        authToken.setDetails(new JwtAuthenticationDetails(request, claims));
                         SecurityContextHolder.getContext().setAuthentication(authToken);
-                        MDC.put("username", username);
+                        MDC.put("username", claims.username());
 
                         TenantContext.set(orgId);
                     }
@@ -2,6 +2,7 @@ package com.donatodev.bcm_backend.jwt;
 
 import java.time.Clock;
 import java.time.Instant;
+import java.util.Optional;
 import java.util.function.Function;
 
 import javax.crypto.SecretKey;
@@ -46,6 +47,13 @@ public class JwtUtils {
     private static final String CLAIM_MFA_PENDING = "mfaPending";
     private static final String CLAIM_ORG_ID = "orgId";
 
+    // Derived from jwt.secret on first use and reused afterwards: both the key
+    // and the built parser are immutable and thread-safe, and rebuilding them
+    // per call (Base64 decode + key construction) was pure overhead on every
+    // authenticated request.
+    private volatile SecretKey signingKey;
+    private volatile JwtParser jwtParser;
+
     public Clock getClock() {
         return this.clock;
     }
@@ -55,8 +63,13 @@ public class JwtUtils {
     }
 
     private SecretKey getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-        return Keys.hmacShaKeyFor(keyBytes);
+        SecretKey key = signingKey;
+        if (key == null) {
+            byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
+            key = Keys.hmacShaKeyFor(keyBytes);
+            signingKey = key;
+        }
+        return key;
     }
 
     /**
@@ -142,6 +155,33 @@ public class JwtUtils {
         }
     }
 
+    /**
+     * Parses and verifies the token exactly once and returns all the claims the
+     * authentication path needs. Empty (not an exception) for malformed,
+     * tampered or expired input, matching {@link #validateJwtToken(String)}'s
+     * style. Callers that need more than one claim from the same token should
+     * use this instead of the individual getters, each of which re-verifies
+     * the signature.
+     */
+    public Optional<VerifiedJwtClaims> parseVerifiedClaims(String token) {
+        try {
+            Claims claims = getJwtParser().parseSignedClaims(token).getPayload();
+            Instant expiration = claims.getExpiration().toInstant();
+            if (expiration.isBefore(clock.instant())) {
+                return Optional.empty();
+            }
+            Object orgId = claims.get(CLAIM_ORG_ID);
+            return Optional.of(new VerifiedJwtClaims(
+                    claims.getSubject(),
+                    orgId == null ? null : ((Number) orgId).longValue(),
+                    Boolean.TRUE.equals(claims.get(CLAIM_MFA_PENDING)),
+                    expiration));
+        } catch (ExpiredJwtException | MalformedJwtException | UnsupportedJwtException
+                 | IllegalArgumentException | SignatureException e) {
+            return Optional.empty();
+        }
+    }
+
     /**
      * Alias for getUsernameFromJwtToken, kept for backward compatibility.
      */
@@ -215,9 +255,14 @@ public class JwtUtils {
     }
 
     private JwtParser getJwtParser() {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build();
+        JwtParser parser = jwtParser;
+        if (parser == null) {
+            parser = Jwts.parser()
+                    .verifyWith(getSigningKey())
+                    .build();
+            jwtParser = parser;
+        }
+        return parser;
     }
 
     private <T> T getClaimFromToken(String token, Function<Claims, T> claimsResolver) {
@@ -1,9 +1,11 @@
 package com.donatodev.bcm_backend.jwt;
 
 /**
- * Where {@link RateLimitingFilter} gets its token buckets from. Two implementations:
- * {@link RedisRateLimitBucketSource} (dev/prod, shared across backend instances) and
- * {@link InMemoryRateLimitBucketSource} (test profile, zero external dependencies).
+ * Where {@link RateLimitingFilter} gets its token buckets from. Implementations:
+ * {@link RedisRateLimitBucketSource} (dev/prod, shared across backend instances), with
+ * {@link HybridRateLimitBucketSource} as its local pre-check, and
+ * {@link InMemoryRateLimitBucketSource} (test profile and single-node deployments, zero
+ * external dependencies).
  */
 public interface RateLimitBucketSource {
 
@@ -12,4 +14,14 @@ public interface RateLimitBucketSource {
      *         the limit for {@code key} and should be rejected.
      */
     boolean tryConsume(String key, int requestsPerMinute);
+
+    /**
+     * Same as {@link #tryConsume(String, int)}, also reporting remaining tokens and time to
+     * reset for {@code RateLimit-*} headers. Sources that cannot tell report only the decision.
+     */
+    default RateLimitProbe probe(String key, int requestsPerMinute) {
+        return tryConsume(key, requestsPerMinute)
+                ? RateLimitProbe.allowedWithoutDetails()
+                : new RateLimitProbe(false, 0, 0);
+    }
 }
@@ -0,0 +1,26 @@
+package com.donatodev.bcm_backend.jwt;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outcome of a single bucket consumption, with what a caller needs to fill the
+ * {@code RateLimit-Remaining} / {@code RateLimit-Reset} response headers.
+ *
+ * @param allowed      whether a token was consumed
+ * @param remaining    tokens left after this request, or {@code -1} if the source cannot tell
+ *                     (e.g. its backend is unreachable)
+ * @param nanosToReset time until the bucket is full again; for a rejection, at least the time
+ *                     until the next token
+ */
+public record RateLimitProbe(boolean allowed, long remaining, long nanosToReset) {
+
+    /** Allowed, with no remaining/reset information. */
+    public static RateLimitProbe allowedWithoutDetails() {
+        return new RateLimitProbe(true, -1, 0);
+    }
+
+    /** Seconds until reset, rounded up, as used by {@code RateLimit-Reset} and {@code Retry-After}. */
+    public long secondsToReset() {
+        return (nanosToReset + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+}
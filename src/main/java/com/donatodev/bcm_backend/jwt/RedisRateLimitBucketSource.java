@@ -8,6 +8,7 @@ import org.slf4j.LoggerFactory;
 import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
 import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
 import io.github.bucket4j.distributed.proxy.ProxyManager;
 
 /**
@@ -22,18 +23,30 @@ public class RedisRateLimitBucketSource implements RateLimitBucketSource {
     private static final String CRLF_REGEX = "[\r\n]";
 
     private final ProxyManager<String> proxyManager;
+    private final RateLimitBucketSource fallback;
 
+    /** Fails open (allows every request) while Redis is unreachable. */
     public RedisRateLimitBucketSource(ProxyManager<String> proxyManager) {
+        this(proxyManager, (key, requestsPerMinute) -> true);
+    }
+
+    /**
+     * @param fallback decides requests while Redis is unreachable, typically a per-instance
+     *                 {@link InMemoryRateLimitBucketSource}
+     */
+    public RedisRateLimitBucketSource(ProxyManager<String> proxyManager, RateLimitBucketSource fallback) {
         this.proxyManager = proxyManager;
+        this.fallback = fallback;
     }
 
     /**
-     * Fails open on any Redis error: a rate limiter that turns a Redis blip into a full
-     * login outage would be a worse failure mode than the rate limit briefly not being
-     * enforced. Same "degrade the feature, not the request" posture as the ML proxy and the
-     * Ollama embedding calls elsewhere in this codebase (see ADR-0004, ADR-0005). This only
-     * covers Redis going away *after* a successful startup — like the MySQL datasource,
-     * Redis is a hard prerequisite for the app to start in the first place.
+     * Degrades to the fallback on any Redis error: a rate limiter that turns a Redis blip
+     * into a full login outage would be a worse failure mode than the limit briefly being
+     * enforced per instance (or, with no fallback configured, not at all). Same "degrade the
+     * feature, not the request" posture as the ML proxy and the Ollama embedding calls
+     * elsewhere in this codebase (see ADR-0004, ADR-0005). This only covers Redis going away
+     * *after* a successful startup — like the MySQL datasource, Redis is a hard prerequisite
+     * for the app to start in the first place.
      */
     @Override
     public boolean tryConsume(String key, int requestsPerMinute) {
@@ -41,21 +54,37 @@ public class RedisRateLimitBucketSource implements RateLimitBucketSource {
             Bucket bucket = proxyManager.builder().build(key, () -> bucketConfiguration(requestsPerMinute));
             return bucket.tryConsume(1);
         } catch (Exception ex) {
-            log.warn("Rate limiter backend (Redis) unavailable, allowing request through: {}", safeMessage(ex));
-            return true;
+            log.warn("Rate limiter backend (Redis) unavailable, using local fallback: {}", safeMessage(ex));
+            return fallback.tryConsume(key, requestsPerMinute);
         }
     }
 
-    private static String safeMessage(Exception ex) {
+    @Override
+    public RateLimitProbe probe(String key, int requestsPerMinute) {
+        try {
+            Bucket bucket = proxyManager.builder().build(key, () -> bucketConfiguration(requestsPerMinute));
+            ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
+            return new RateLimitProbe(probe.isConsumed(), probe.getRemainingTokens(),
+                    probe.isConsumed() ? probe.getNanosToWaitForReset() : probe.getNanosToWaitForRefill());
+        } catch (Exception ex) {
+            log.warn("Rate limiter backend (Redis) unavailable, using local fallback: {}", safeMessage(ex));
+            return fallback.probe(key, requestsPerMinute);
+        }
+    }
+
+    static String safeMessage(Exception ex) {
         String message = ex.getMessage();
         return message == null ? null : message.replaceAll(CRLF_REGEX, "_");
     }
 
-    private static BucketConfiguration bucketConfiguration(int requestsPerMinute) {
-        Bandwidth limit = Bandwidth.builder()
+    static BucketConfiguration bucketConfiguration(int requestsPerMinute) {
+        return BucketConfiguration.builder().addLimit(bandwidth(requestsPerMinute)).build();
+    }
+
+    static Bandwidth bandwidth(int requestsPerMinute) {
+        return Bandwidth.builder()
                 .capacity(requestsPerMinute)
                 .refillIntervally(requestsPerMinute, Duration.ofMinutes(1))
                 .build();
-        return BucketConfiguration.builder().addLimit(limit).build();
     }
 }
@@ -0,0 +1,22 @@
+package com.donatodev.bcm_backend.jwt;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Claims of an access token whose signature and expiration have already been
+ * checked by {@link JwtUtils#parseVerifiedClaims(String)}. Produced once per
+ * request by {@link JwtAuthenticationFilter} and carried into the security
+ * context via {@link JwtAuthenticationDetails}, so nothing downstream has to
+ * parse (and re-verify) the same token again.
+ *
+ * @param username       the token subject
+ * @param organizationId the {@code orgId} claim, or {@code null} for tokens
+ *                       issued before multi-tenancy was introduced
+ * @param mfaPending     true for the short-lived MFA-pending token issued
+ *                       between the password step and the TOTP step
+ * @param expiration     the {@code exp} claim
+ */
+public record VerifiedJwtClaims(String username, Long organizationId, boolean mfaPending, Instant expiration)
+        implements Serializable {
+}
@@ -9,6 +9,7 @@ import org.springframework.stereotype.Component;
 import com.donatodev.bcm_backend.config.TenantContext;
 import com.donatodev.bcm_backend.dto.BusinessAreaDTO;
 import com.donatodev.bcm_backend.dto.ContractDTO;
+import com.donatodev.bcm_backend.dto.ContractListRow;
 import com.donatodev.bcm_backend.dto.ManagerDTO;
 import com.donatodev.bcm_backend.entity.BusinessAreas;
 import com.donatodev.bcm_backend.entity.ContractStatus;
@@ -71,13 +72,6 @@ public class ContractMapper {
                 )
                 : null;
 
-        // Calculate days until expiry (only for ACTIVE contracts)
-        Integer daysUntilExpiry = null;
-        if (contract.getStatus() == ContractStatus.ACTIVE && contract.getEndDate() != null) {
-            long days = ChronoUnit.DAYS.between(LocalDate.now(ZoneId.systemDefault()), contract.getEndDate());
-            daysUntilExpiry = (int) days;
-        }
-
         return new ContractDTO(
                 contract.getId(),
                 contract.getCustomerName(),
@@ -92,11 +86,67 @@ public class ContractMapper {
                 contract.getManager() != null ? contract.getManager().getFirstName() + " " + contract.getManager().getLastName() : null,
                 managerDTO,
                 areaDTO,
-                daysUntilExpiry,
+                daysUntilExpiry(contract.getStatus(), contract.getEndDate()),
                 contract.getWorkflowStage()
         );
     }
 
+    /**
+     * Converts a listing projection into a {@link ContractDTO}, with the same
+     * shape {@link #toDTO(Contracts)} produces for the equivalent entity.
+     *
+     * @param row the projected row
+     * @return the corresponding DTO with nested objects
+     */
+    public ContractDTO fromListRow(ContractListRow row) {
+        if (row == null) {
+            return null;
+        }
+
+        ManagerDTO managerDTO = row.managerId() != null
+                ? new ManagerDTO(
+                        row.managerId(),
+                        row.managerFirstName(),
+                        row.managerLastName(),
+                        row.managerEmail(),
+                        row.managerPhoneNumber(),
+                        row.managerDepartment()
+                )
+                : null;
+
+        BusinessAreaDTO areaDTO = row.areaId() != null
+                ? new BusinessAreaDTO(row.areaId(), row.areaName(), row.areaDescription())
+                : null;
+
+        return new ContractDTO(
+                row.id(),
+                row.customerName(),
+                row.contractNumber(),
+                row.wbsCode(),
+                row.projectName(),
+                row.status(),
+                row.startDate(),
+                row.endDate(),
+                row.areaId(),
+                row.managerId(),
+                row.managerId() != null ? row.managerFirstName() + " " + row.managerLastName() : null,
+                managerDTO,
+                areaDTO,
+                daysUntilExpiry(row.status(), row.endDate()),
+                row.workflowStage()
+        );
+    }
+
+    /**
+     * Days until expiry, only for ACTIVE contracts.
+     */
+    private static Integer daysUntilExpiry(ContractStatus status, LocalDate endDate) {
+        if (status != ContractStatus.ACTIVE || endDate == null) {
+            return null;
+        }
+        return (int) ChronoUnit.DAYS.between(LocalDate.now(ZoneId.systemDefault()), endDate);
+    }
+
     /**
      * Converts a {@link ContractDTO} into a {@link Contracts} entity.
      * <p>
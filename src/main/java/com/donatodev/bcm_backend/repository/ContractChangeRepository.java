@@ -0,0 +1,42 @@
+package com.donatodev.bcm_backend.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.donatodev.bcm_backend.entity.ContractChange;
+
+/**
+ * Repository for the append-only {@link ContractChange} log.
+ */
+@Repository
+public interface ContractChangeRepository extends JpaRepository<ContractChange, Long> {
+
+    /**
+     * A scope's entries after the given cursor, oldest first, read on the
+     * {@code (scope_id, seq)} unique index.
+     */
+    List<ContractChange> findByScopeIdAndSeqGreaterThanOrderBySeqAsc(long scopeId, long seq, Limit limit);
+
+    /**
+     * Highest sequence per scope among the entries older than {@code cutoff},
+     * as {@code [scopeId, maxSeq]} rows.
+     */
+    @Query("""
+        SELECT c.scopeId, MAX(c.seq)
+        FROM ContractChange c
+        WHERE c.changedAt < :cutoff
+        GROUP BY c.scopeId
+        """)
+    List<Object[]> findPurgeHorizons(@Param("cutoff") Instant cutoff);
+
+    @Modifying
+    @Query("DELETE FROM ContractChange c WHERE c.changedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") Instant cutoff);
+}
@@ -0,0 +1,98 @@
+package com.donatodev.bcm_backend.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.donatodev.bcm_backend.entity.ContractChangeSequence;
+
+/**
+ * Repository for the per-tenant {@link ContractChangeSequence} rows.
+ */
+@Repository
+public interface ContractChangeSequenceRepository extends JpaRepository<ContractChangeSequence, Long> {
+
+    /**
+     * Reserves the next {@code count} sequence numbers of a scope, row-locking it
+     * until the transaction ends.
+     *
+     * @return 1 if the scope has a sequence row, 0 if it still has to be created
+     */
+    @Modifying
+    @Query("""
+        UPDATE ContractChangeSequence s
+        SET s.lastSeq = s.lastSeq + :count
+        WHERE s.scopeId = :scopeId
+        """)
+    int increment(@Param("scopeId") long scopeId, @Param("count") long count);
+
+    /**
+     * Creates a scope's sequence row at {@code count} unless a concurrent writer
+     * already did.
+     *
+     * @return 1 if inserted, 0 if the row already existed
+     */
+    @Modifying
+    @Query(value = """
+        INSERT IGNORE INTO contract_change_sequences (scope_id, last_seq, purged_through, listing_generation)
+        VALUES (:scopeId, :count, 0, 0)
+        """, nativeQuery = true)
+    int insertIfAbsent(@Param("scopeId") long scopeId, @Param("count") long count);
+
+    /**
+     * Bumps a scope's listing generation.
+     *
+     * @return 1 if the scope has a sequence row, 0 if it still has to be created
+     */
+    @Modifying
+    @Query("""
+        UPDATE ContractChangeSequence s
+        SET s.listingGeneration = s.listingGeneration + 1
+        WHERE s.scopeId = :scopeId
+        """)
+    int incrementListingGeneration(@Param("scopeId") long scopeId);
+
+    /**
+     * Creates a scope's sequence row at listing generation 1 unless a concurrent
+     * writer already did.
+     *
+     * @return 1 if inserted, 0 if the row already existed
+     */
+    @Modifying
+    @Query(value = """
+        INSERT IGNORE INTO contract_change_sequences (scope_id, last_seq, purged_through, listing_generation)
+        VALUES (:scopeId, 0, 0, 1)
+        """, nativeQuery = true)
+    int insertListingGenerationIfAbsent(@Param("scopeId") long scopeId);
+
+    /**
+     * Sum of the change sequence and listing generation of a scope, or of every
+     * scope when {@code scopeId} is null. Both only grow, so the sum changes with
+     * every write they count.
+     */
+    @Query("""
+        SELECT COALESCE(SUM(s.lastSeq + s.listingGeneration), 0)
+        FROM ContractChangeSequence s
+        WHERE (:scopeId IS NULL OR s.scopeId = :scopeId)
+        """)
+    long sumListingVersion(@Param("scopeId") Long scopeId);
+
+    @Query("SELECT s.lastSeq FROM ContractChangeSequence s WHERE s.scopeId = :scopeId")
+    Optional<Long> findLastSeq(@Param("scopeId") long scopeId);
+
+    @Query("SELECT s.purgedThrough FROM ContractChangeSequence s WHERE s.scopeId = :scopeId")
+    Optional<Long> findPurgedThrough(@Param("scopeId") long scopeId);
+
+    /** Records that a scope's entries up to {@code seq} have been purged. */
+    @Modifying
+    @Query("""
+        UPDATE ContractChangeSequence s
+        SET s.purgedThrough = :seq
+        WHERE s.scopeId = :scopeId AND s.purgedThrough < :seq
+        """)
+    int advancePurgedThrough(@Param("scopeId") long scopeId, @Param("seq") long seq);
+}
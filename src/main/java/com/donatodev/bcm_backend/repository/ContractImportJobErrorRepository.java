@@ -0,0 +1,17 @@
+package com.donatodev.bcm_backend.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.donatodev.bcm_backend.entity.ContractImportJobError;
+
+/**
+ * Repository for the rejected rows of background contract imports.
+ */
+@Repository
+public interface ContractImportJobErrorRepository extends JpaRepository<ContractImportJobError, Long> {
+
+    List<ContractImportJobError> findByJobIdOrderByExcelRowAsc(Long jobId);
+}
@@ -0,0 +1,59 @@
+package com.donatodev.bcm_backend.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.donatodev.bcm_backend.entity.ContractImportJob;
+import com.donatodev.bcm_backend.entity.ContractImportJobStatus;
+
+/**
+ * Repository for background {@link ContractImportJob}s.
+ */
+@Repository
+public interface ContractImportJobRepository extends JpaRepository<ContractImportJob, Long> {
+
+    /**
+     * The organization's most recent jobs for a file, newest first, among the
+     * given statuses. A null {@code orgId} matches jobs without an organization.
+     */
+    @Query("""
+        SELECT j FROM ContractImportJob j
+        WHERE j.fileHash = :fileHash
+          AND j.status IN :statuses
+          AND ((:orgId IS NULL AND j.orgId IS NULL) OR j.orgId = :orgId)
+        ORDER BY j.id DESC
+        """)
+    List<ContractImportJob> findByFile(@Param("orgId") Long orgId,
+                                       @Param("fileHash") String fileHash,
+                                       @Param("statuses") Collection<ContractImportJobStatus> statuses,
+                                       Limit limit);
+
+    /**
+     * Marks the jobs of server instance {@code instanceId} still in one of
+     * {@code statuses} as failed. Jobs with no instance predate ownership
+     * tracking and are failed by any instance.
+     *
+     * @return the number of jobs updated
+     */
+    @Modifying
+    @Query("""
+        UPDATE ContractImportJob j
+        SET j.status = com.donatodev.bcm_backend.entity.ContractImportJobStatus.FAILED,
+            j.failureMessage = :message,
+            j.finishedAt = :finishedAt
+        WHERE j.status IN :statuses
+          AND (j.instanceId = :instanceId OR j.instanceId IS NULL)
+        """)
+    int failAllIn(@Param("instanceId") String instanceId,
+                  @Param("statuses") Collection<ContractImportJobStatus> statuses,
+                  @Param("message") String message,
+                  @Param("finishedAt") Instant finishedAt);
+}
@@ -3,6 +3,7 @@ package com.donatodev.bcm_backend.repository;
 import com.donatodev.bcm_backend.entity.ContractManager;
 import com.donatodev.bcm_backend.entity.ContractManagerId;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -23,13 +24,15 @@ public interface ContractManagerRepository extends JpaRepository<ContractManager
 	@Query(value = "SELECT manager_id FROM contract_manager WHERE contract_id = :contractId", nativeQuery = true)
     List<Long> findManagerIdsByContractId(Long contractId);
 
-    @Modifying 
-    @Transactional
-    @Query(value = "DELETE FROM contract_manager WHERE contract_id = :contractId", nativeQuery = true)
-    void deleteAllByContractId(Long contractId);
+    /**
+     * Collaborator links of the given contracts, as (contract id, manager id) pairs.
+     */
+    @Query("SELECT new com.donatodev.bcm_backend.entity.ContractManagerId(cm.contract.id, cm.manager.id) "
+            + "FROM ContractManager cm WHERE cm.contract.id IN :contractIds")
+    List<ContractManagerId> findLinksByContractIdIn(Collection<Long> contractIds);
 
-    @Modifying 
+    @Modifying
     @Transactional
-    @Query(value = "INSERT IGNORE INTO contract_manager (contract_id, manager_id) VALUES (:contractId, :managerId)", nativeQuery = true)
-    void insertIgnore(Long contractId, Long managerId);
+    @Query(value = "DELETE FROM contract_manager WHERE contract_id IN (:contractIds)", nativeQuery = true)
+    void deleteAllByContractIdIn(Collection<Long> contractIds);
 }
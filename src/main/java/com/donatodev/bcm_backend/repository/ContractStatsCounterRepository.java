@@ -0,0 +1,70 @@
+package com.donatodev.bcm_backend.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.donatodev.bcm_backend.entity.ContractStatsCounter;
+
+import jakarta.persistence.LockModeType;
+
+/**
+ * Repository for the per-organization {@link ContractStatsCounter} rows.
+ */
+@Repository
+public interface ContractStatsCounterRepository extends JpaRepository<ContractStatsCounter, Long> {
+
+    /**
+     * Adds the given deltas to an organization's counters in one atomic
+     * statement, so concurrent writers never lose an increment.
+     *
+     * @return 1 if the organization has a counter row, 0 if it still has to
+     *         be seeded
+     */
+    @Modifying
+    @Query("""
+        UPDATE ContractStatsCounter s
+        SET s.total = s.total + :total,
+            s.active = s.active + :active,
+            s.expired = s.expired + :expired,
+            s.draft = s.draft + :draft,
+            s.updatedAt = instant
+        WHERE s.organizationId = :orgId
+        """)
+    int applyDelta(@Param("orgId") Long orgId,
+                   @Param("total") long total,
+                   @Param("active") long active,
+                   @Param("expired") long expired,
+                   @Param("draft") long draft);
+
+    /**
+     * Creates an organization's counter row unless a concurrent writer
+     * already did.
+     *
+     * @return 1 if inserted, 0 if the row already existed
+     */
+    @Modifying
+    @Query(value = """
+        INSERT IGNORE INTO contract_stats_counters
+            (organization_id, total_count, active_count, expired_count, draft_count, updated_at)
+        VALUES (:orgId, :total, :active, :expired, :draft, CURRENT_TIMESTAMP)
+        """, nativeQuery = true)
+    int insertIfAbsent(@Param("orgId") Long orgId,
+                       @Param("total") long total,
+                       @Param("active") long active,
+                       @Param("expired") long expired,
+                       @Param("draft") long draft);
+
+    /**
+     * Locks an organization's counter row for a full recount, so deltas from
+     * concurrent writes queue behind it instead of being overwritten.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ContractStatsCounter s WHERE s.organizationId = :orgId")
+    Optional<ContractStatsCounter> findForUpdate(@Param("orgId") Long orgId);
+}
@@ -1,22 +1,32 @@
 package com.donatodev.bcm_backend.repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.donatodev.bcm_backend.dto.ContractStatusCounts;
+import com.donatodev.bcm_backend.dto.ContractListRow;
 import com.donatodev.bcm_backend.dto.ContractsByAreaDTO;
 import com.donatodev.bcm_backend.dto.TopManagerDTO;
 import com.donatodev.bcm_backend.entity.ContractStatus;
 import com.donatodev.bcm_backend.entity.Contracts;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * Repository interface for accessing {@link Contracts} entities.
  * <p>
@@ -43,6 +53,24 @@ public interface ContractsRepository extends JpaRepository<Contracts, Long> {
      */
     boolean existsByContractNumber(String contractNumber);
 
+    /**
+     * Returns which of the given contract numbers are already taken in an
+     * organization. Used by bulk import to check a whole chunk of rows with one
+     * query. Numbers are unique per organization, so other tenants' contracts
+     * are not considered.
+     *
+     * @param orgId           the organization ID, or {@code null} for contracts without one
+     * @param contractNumbers the contract numbers to check
+     * @return the subset of {@code contractNumbers} that already exist
+     */
+    @Query("""
+        SELECT c.contractNumber FROM Contracts c
+        WHERE c.contractNumber IN :contractNumbers
+          AND ((:orgId IS NULL AND c.organization.id IS NULL) OR c.organization.id = :orgId)
+    """)
+    Set<String> findExistingContractNumbers(@Param("orgId") Long orgId,
+                                            @Param("contractNumbers") Collection<String> contractNumbers);
+
     /**
      * Finds all contracts belonging to the given organization. Used to scope
      * ADMIN-wide contract listings to the authenticated tenant.
@@ -91,6 +119,30 @@ public interface ContractsRepository extends JpaRepository<Contracts, Long> {
      */
     List<Contracts> findByManagerIdAndStatus(Long managerId, ContractStatus status);
 
+    /**
+     * Every dashboard KPI in one pass over the contracts table (of one
+     * organization, or of all of them when {@code orgId} is null), instead of
+     * one COUNT query per KPI.
+     *
+     * @param expiringUntil last end date counted as "expiring"
+     */
+    @Query("""
+        SELECT new com.donatodev.bcm_backend.dto.ContractStatusCounts(
+            COUNT(c),
+            COALESCE(SUM(CASE WHEN c.status = com.donatodev.bcm_backend.entity.ContractStatus.ACTIVE
+                              THEN 1L ELSE 0L END), 0L),
+            COALESCE(SUM(CASE WHEN c.status = com.donatodev.bcm_backend.entity.ContractStatus.ACTIVE
+                               AND c.endDate BETWEEN CURRENT_DATE AND :expiringUntil
+                              THEN 1L ELSE 0L END), 0L),
+            COALESCE(SUM(CASE WHEN c.status = com.donatodev.bcm_backend.entity.ContractStatus.EXPIRED
+                              THEN 1L ELSE 0L END), 0L),
+            COALESCE(SUM(CASE WHEN c.status = com.donatodev.bcm_backend.entity.ContractStatus.DRAFT
+                              THEN 1L ELSE 0L END), 0L))
+        FROM Contracts c
+        WHERE (:orgId IS NULL OR c.organization.id = :orgId)
+        """)
+    ContractStatusCounts countByStatus(@Param("orgId") Long orgId, @Param("expiringUntil") LocalDate expiringUntil);
+
     @Query("SELECT COUNT(c) FROM Contracts c")
     int countAllContracts();
 
@@ -158,6 +210,87 @@ public interface ContractsRepository extends JpaRepository<Contracts, Long> {
             @Param("futureDate") LocalDate futureDate,
             @Param("orgId") Long orgId);
 
+    /**
+     * Contract listing as {@link ContractListRow} projections, in one query
+     * with the business area and manager left-joined. Each filter is skipped
+     * when its parameter is null.
+     *
+     * @param orgId     tenant scope, or null for every organization
+     * @param managerId assigned manager, or null for any
+     * @param status    status filter, or null for any status
+     */
+    @Query("""
+        SELECT new com.donatodev.bcm_backend.dto.ContractListRow(
+            c.id, c.customerName, c.contractNumber, c.wbsCode, c.projectName,
+            c.status, c.startDate, c.endDate, c.workflowStage,
+            a.id, a.name, a.description,
+            m.id, m.firstName, m.lastName, m.email, m.phoneNumber, m.department)
+        FROM Contracts c
+        LEFT JOIN c.businessArea a
+        LEFT JOIN c.manager m
+        WHERE (:orgId IS NULL OR c.organization.id = :orgId)
+          AND (:managerId IS NULL OR c.manager.id = :managerId)
+          AND (:status IS NULL OR c.status = :status)
+        ORDER BY c.id
+    """)
+    List<ContractListRow> findListRows(@Param("orgId") Long orgId,
+                                       @Param("managerId") Long managerId,
+                                       @Param("status") ContractStatus status);
+
+    /**
+     * Same rows as {@link #findListRows}, read forward-only from an open
+     * cursor instead of being collected into a list, so a tenant's whole
+     * listing can be serialized with bounded memory. Must be consumed, and
+     * closed, inside a transaction.
+     * <p>
+     * A fetch size of {@link Integer#MIN_VALUE} makes Connector/J stream the
+     * result row by row instead of buffering all of it. The connection cannot
+     * run other statements until the stream is closed, so the consumer must
+     * not query the database while iterating.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("""
+        SELECT new com.donatodev.bcm_backend.dto.ContractListRow(
+            c.id, c.customerName, c.contractNumber, c.wbsCode, c.projectName,
+            c.status, c.startDate, c.endDate, c.workflowStage,
+            a.id, a.name, a.description,
+            m.id, m.firstName, m.lastName, m.email, m.phoneNumber, m.department)
+        FROM Contracts c
+        LEFT JOIN c.businessArea a
+        LEFT JOIN c.manager m
+        WHERE (:orgId IS NULL OR c.organization.id = :orgId)
+          AND (:managerId IS NULL OR c.manager.id = :managerId)
+          AND (:status IS NULL OR c.status = :status)
+        ORDER BY c.id
+    """)
+    Stream<ContractListRow> streamListRows(@Param("orgId") Long orgId,
+                                           @Param("managerId") Long managerId,
+                                           @Param("status") ContractStatus status);
+
+    /**
+     * ACTIVE contracts ending between {@code today} and {@code futureDate}, as
+     * {@link ContractListRow} projections, soonest first.
+     *
+     * @param orgId tenant scope, or null for every organization
+     */
+    @Query("""
+        SELECT new com.donatodev.bcm_backend.dto.ContractListRow(
+            c.id, c.customerName, c.contractNumber, c.wbsCode, c.projectName,
+            c.status, c.startDate, c.endDate, c.workflowStage,
+            a.id, a.name, a.description,
+            m.id, m.firstName, m.lastName, m.email, m.phoneNumber, m.department)
+        FROM Contracts c
+        LEFT JOIN c.businessArea a
+        LEFT JOIN c.manager m
+        WHERE c.status = com.donatodev.bcm_backend.entity.ContractStatus.ACTIVE
+          AND c.endDate BETWEEN :today AND :futureDate
+          AND (:orgId IS NULL OR c.organization.id = :orgId)
+        ORDER BY c.endDate ASC
+    """)
+    List<ContractListRow> findExpiringListRows(@Param("today") LocalDate today,
+                                               @Param("futureDate") LocalDate futureDate,
+                                               @Param("orgId") Long orgId);
+
     @EntityGraph("contracts.withManagerAndArea")
     Page<Contracts> findAllBy(Pageable pageable);
 
@@ -180,45 +313,142 @@ public interface ContractsRepository extends JpaRepository<Contracts, Long> {
     Page<Contracts> findByStatusAndOrganization_Id(ContractStatus status, Long orgId, Pageable pageable);
 
     /**
-     * Paged search by contract number or customer name, scoped to the given
-     * organization. Used by the ADMIN "term only" search.
+     * Ranked full-text search over contract number, customer, project and WBS
+     * code through the {@code ft_contracts_search} n-gram index (V36), most
+     * relevant first. Returns ids only: the page is then loaded with
+     * {@link #findByIdIn} so manager and area come in the same round trip.
+     * MySQL only; {@link #searchRanked} is the portable fallback.
+     *
+     * @param status       status name, or null for any status
+     * @param booleanQuery MATCH ... AGAINST query in boolean mode
      */
-    @EntityGraph("contracts.withManagerAndArea")
-    @Query("""
-        SELECT c FROM Contracts c
-        WHERE c.organization.id = :orgId
-          AND (LOWER(c.contractNumber) LIKE LOWER(CONCAT('%', :term, '%'))
-               OR LOWER(c.customerName) LIKE LOWER(CONCAT('%', :term, '%')))
-        """)
-    Page<Contracts> findByOrgAndTerm(@Param("orgId") Long orgId, @Param("term") String term, Pageable pageable);
+    @Query(value = """
+        SELECT c.id FROM contracts c
+        WHERE MATCH(c.contract_number, c.customer_name, c.project_name, c.wbs_code)
+              AGAINST (:booleanQuery IN BOOLEAN MODE)
+          AND (:orgId IS NULL OR c.organization_id = :orgId)
+          AND (:managerId IS NULL OR c.manager_id = :managerId)
+          AND (:status IS NULL OR c.status = :status)
+        ORDER BY MATCH(c.contract_number, c.customer_name, c.project_name, c.wbs_code)
+                 AGAINST (:booleanQuery IN BOOLEAN MODE) DESC,
+                 c.contract_number ASC
+        """,
+        countQuery = """
+        SELECT COUNT(*) FROM contracts c
+        WHERE MATCH(c.contract_number, c.customer_name, c.project_name, c.wbs_code)
+              AGAINST (:booleanQuery IN BOOLEAN MODE)
+          AND (:orgId IS NULL OR c.organization_id = :orgId)
+          AND (:managerId IS NULL OR c.manager_id = :managerId)
+          AND (:status IS NULL OR c.status = :status)
+        """,
+        nativeQuery = true)
+    Page<Long> findIdsByFullText(
+            @Param("orgId") Long orgId,
+            @Param("managerId") Long managerId,
+            @Param("status") String status,
+            @Param("booleanQuery") String booleanQuery,
+            Pageable pageable);
+
+    /**
+     * Keyset page of {@link #findIdsByFullText} matches for the cursor search:
+     * ids of the contracts after ({@code afterNumber}, {@code afterId}) in
+     * (contract_number, id) order, at most {@code limit}. The index narrows
+     * the rows first, so only the matches are sorted. MySQL only.
+     */
+    @Query(value = """
+        SELECT c.id FROM contracts c
+        WHERE MATCH(c.contract_number, c.customer_name, c.project_name, c.wbs_code)
+              AGAINST (:booleanQuery IN BOOLEAN MODE)
+          AND (:orgId IS NULL OR c.organization_id = :orgId)
+          AND (:managerId IS NULL OR c.manager_id = :managerId)
+          AND (:status IS NULL OR c.status = :status)
+          AND (:afterNumber IS NULL
+               OR c.contract_number > :afterNumber
+               OR (c.contract_number = :afterNumber AND c.id > :afterId))
+        ORDER BY c.contract_number ASC, c.id ASC
+        LIMIT :limit
+        """,
+        nativeQuery = true)
+    List<Long> findIdsByFullTextAfter(
+            @Param("orgId") Long orgId,
+            @Param("managerId") Long managerId,
+            @Param("status") String status,
+            @Param("booleanQuery") String booleanQuery,
+            @Param("afterNumber") String afterNumber,
+            @Param("afterId") Long afterId,
+            @Param("limit") int limit);
 
     /**
-     * Paged search by status and (contract number or customer name), scoped
-     * to the given organization. Used by the ADMIN "status and term" search.
+     * Total for {@link #findIdsByFullTextAfter} with the same filters. MySQL only.
+     */
+    @Query(value = """
+        SELECT COUNT(*) FROM contracts c
+        WHERE MATCH(c.contract_number, c.customer_name, c.project_name, c.wbs_code)
+              AGAINST (:booleanQuery IN BOOLEAN MODE)
+          AND (:orgId IS NULL OR c.organization_id = :orgId)
+          AND (:managerId IS NULL OR c.manager_id = :managerId)
+          AND (:status IS NULL OR c.status = :status)
+        """,
+        nativeQuery = true)
+    long countByFullText(
+            @Param("orgId") Long orgId,
+            @Param("managerId") Long managerId,
+            @Param("status") String status,
+            @Param("booleanQuery") String booleanQuery);
+
+    /**
+     * Portable ranked search, used where the full-text index is unavailable
+     * (H2, or terms shorter than the n-gram size): substring match on the same
+     * four columns, ranking an exact contract number first, then number
+     * prefixes, then customer prefixes, then any other match.
      */
     @EntityGraph("contracts.withManagerAndArea")
-    @Query("""
+    @Query(value = """
         SELECT c FROM Contracts c
-        WHERE c.organization.id = :orgId
-          AND c.status = :status
+        WHERE (:orgId IS NULL OR c.organization.id = :orgId)
+          AND (:managerId IS NULL OR c.manager.id = :managerId)
+          AND (:status IS NULL OR c.status = :status)
+          AND (LOWER(c.contractNumber) LIKE LOWER(CONCAT('%', :term, '%'))
+               OR LOWER(c.customerName) LIKE LOWER(CONCAT('%', :term, '%'))
+               OR LOWER(c.projectName) LIKE LOWER(CONCAT('%', :term, '%'))
+               OR LOWER(c.wbsCode) LIKE LOWER(CONCAT('%', :term, '%')))
+        ORDER BY CASE
+                   WHEN LOWER(c.contractNumber) = LOWER(:term) THEN 0
+                   WHEN LOWER(c.contractNumber) LIKE LOWER(CONCAT(:term, '%')) THEN 1
+                   WHEN LOWER(c.customerName) LIKE LOWER(CONCAT(:term, '%')) THEN 2
+                   ELSE 3
+                 END,
+                 c.contractNumber ASC
+        """,
+        countQuery = """
+        SELECT COUNT(c) FROM Contracts c
+        WHERE (:orgId IS NULL OR c.organization.id = :orgId)
+          AND (:managerId IS NULL OR c.manager.id = :managerId)
+          AND (:status IS NULL OR c.status = :status)
           AND (LOWER(c.contractNumber) LIKE LOWER(CONCAT('%', :term, '%'))
-               OR LOWER(c.customerName) LIKE LOWER(CONCAT('%', :term, '%')))
+               OR LOWER(c.customerName) LIKE LOWER(CONCAT('%', :term, '%'))
+               OR LOWER(c.projectName) LIKE LOWER(CONCAT('%', :term, '%'))
+               OR LOWER(c.wbsCode) LIKE LOWER(CONCAT('%', :term, '%')))
         """)
-    Page<Contracts> findByOrgAndStatusAndTerm(
+    Page<Contracts> searchRanked(
             @Param("orgId") Long orgId,
+            @Param("managerId") Long managerId,
             @Param("status") ContractStatus status,
             @Param("term") String term,
             Pageable pageable);
 
+    /**
+     * Loads contracts by id with manager and business area fetched, in no
+     * particular order.
+     */
     @EntityGraph("contracts.withManagerAndArea")
-    Page<Contracts> findByContractNumberContainingIgnoreCaseOrCustomerNameContainingIgnoreCase(
-            String contractNumber, String customerName, Pageable pageable);
+    List<Contracts> findByIdIn(Collection<Long> ids);
 
+    /**
+     * Same as {@link #findByIdIn}, restricted to one organization.
+     */
     @EntityGraph("contracts.withManagerAndArea")
-    Page<Contracts> findByStatusAndContractNumberContainingIgnoreCaseOrStatusAndCustomerNameContainingIgnoreCase(
-            ContractStatus s1, String contractNumber,
-            ContractStatus s2, String customerName,
-            Pageable pageable);
+    List<Contracts> findByIdInAndOrganization_Id(Collection<Long> ids, Long orgId);
 
     @EntityGraph("contracts.withManagerAndArea")
     Page<Contracts> findByManagerId(Long managerId, Pageable pageable);
@@ -226,17 +456,64 @@ public interface ContractsRepository extends JpaRepository<Contracts, Long> {
     @EntityGraph("contracts.withManagerAndArea")
     Page<Contracts> findByManagerIdAndStatus(Long managerId, ContractStatus status, Pageable pageable);
 
+    /**
+     * Keyset (seek) page for the cursor search: contracts after
+     * ({@code afterNumber}, {@code afterId}) in (contractNumber, id) order, so
+     * deep pages cost the same as the first one instead of an OFFSET scan.
+     * Every filter is optional (null = not applied), covering the platform
+     * ADMIN, tenant ADMIN ({@code orgId}) and MANAGER ({@code managerId})
+     * scopes with one query. Fetch one row more than the page size to learn
+     * whether a next page exists without a COUNT.
+     * <p>
+     * The term is a substring scan, for when
+     * {@link com.donatodev.bcm_backend.service.ContractTextSearch} cannot use
+     * the full-text index ({@link #findIdsByFullTextAfter}).
+     */
     @EntityGraph("contracts.withManagerAndArea")
-    Page<Contracts> findByManagerIdAndContractNumberContainingIgnoreCaseOrManagerIdAndCustomerNameContainingIgnoreCase(
-            Long managerId1, String contractNumber,
-            Long managerId2, String customerName,
-            Pageable pageable);
+    @Query("""
+        SELECT c FROM Contracts c
+        WHERE (:orgId IS NULL OR c.organization.id = :orgId)
+          AND (:managerId IS NULL OR c.manager.id = :managerId)
+          AND (:status IS NULL OR c.status = :status)
+          AND (:term IS NULL
+               OR LOWER(c.contractNumber) LIKE LOWER(CONCAT('%', :term, '%'))
+               OR LOWER(c.customerName) LIKE LOWER(CONCAT('%', :term, '%'))
+               OR LOWER(c.projectName) LIKE LOWER(CONCAT('%', :term, '%'))
+               OR LOWER(c.wbsCode) LIKE LOWER(CONCAT('%', :term, '%')))
+          AND (:afterNumber IS NULL
+               OR c.contractNumber > :afterNumber
+               OR (c.contractNumber = :afterNumber AND c.id > :afterId))
+        ORDER BY c.contractNumber ASC, c.id ASC
+        """)
+    List<Contracts> findSearchPageAfter(
+            @Param("orgId") Long orgId,
+            @Param("managerId") Long managerId,
+            @Param("status") ContractStatus status,
+            @Param("term") String term,
+            @Param("afterNumber") String afterNumber,
+            @Param("afterId") Long afterId,
+            Limit limit);
 
-    @EntityGraph("contracts.withManagerAndArea")
-    Page<Contracts> findByManagerIdAndStatusAndContractNumberContainingIgnoreCaseOrManagerIdAndStatusAndCustomerNameContainingIgnoreCase(
-            Long managerId1, ContractStatus status1, String contractNumber,
-            Long managerId2, ContractStatus status2, String customerName,
-            Pageable pageable);
+    /**
+     * Total for {@link #findSearchPageAfter} with the same filters; only run
+     * when the caller asks for it. Same substring fallback for the term.
+     */
+    @Query("""
+        SELECT COUNT(c) FROM Contracts c
+        WHERE (:orgId IS NULL OR c.organization.id = :orgId)
+          AND (:managerId IS NULL OR c.manager.id = :managerId)
+          AND (:status IS NULL OR c.status = :status)
+          AND (:term IS NULL
+               OR LOWER(c.contractNumber) LIKE LOWER(CONCAT('%', :term, '%'))
+               OR LOWER(c.customerName) LIKE LOWER(CONCAT('%', :term, '%'))
+               OR LOWER(c.projectName) LIKE LOWER(CONCAT('%', :term, '%'))
+               OR LOWER(c.wbsCode) LIKE LOWER(CONCAT('%', :term, '%')))
+        """)
+    long countSearch(
+            @Param("orgId") Long orgId,
+            @Param("managerId") Long managerId,
+            @Param("status") ContractStatus status,
+            @Param("term") String term);
 
     /**
      * Count contracts grouped by business area.
@@ -269,37 +546,31 @@ public interface ContractsRepository extends JpaRepository<Contracts, Long> {
     List<ContractsByAreaDTO> countContractsByAreaAndOrg(@Param("orgId") Long orgId);
 
     /**
-     * Count contracts started (by start_date) per month from a given window
-     * start onward. Uses HQL with EXTRACT functions for cross-database
-     * compatibility. The caller zero-fills months with no matches.
+     * Count contracts started (by start_date) per day from a given window
+     * start onward. Grouping on the bare column, rather than on YEAR()/MONTH()
+     * of it, lets MySQL read the range and the groups in index order from
+     * idx_contracts_org_start_date. The caller folds days into months and
+     * zero-fills months with no matches.
      *
      * @param windowStart the first day of the earliest month to include
-     * @return list of Object arrays containing [year, month, count]
+     * @return list of Object arrays containing [start date, count]
      */
     @Query("""
-    SELECT
-        EXTRACT(YEAR FROM c.startDate),
-        EXTRACT(MONTH FROM c.startDate),
-        COUNT(c)
+    SELECT c.startDate, COUNT(c)
     FROM Contracts c
     WHERE c.startDate >= :windowStart
-    GROUP BY EXTRACT(YEAR FROM c.startDate), EXTRACT(MONTH FROM c.startDate)
-    ORDER BY EXTRACT(YEAR FROM c.startDate), EXTRACT(MONTH FROM c.startDate)
+    GROUP BY c.startDate
 """)
-    List<Object[]> countContractsByMonth(@Param("windowStart") LocalDate windowStart);
+    List<Object[]> countContractsByStartDate(@Param("windowStart") LocalDate windowStart);
 
     @Query("""
-    SELECT
-        EXTRACT(YEAR FROM c.startDate),
-        EXTRACT(MONTH FROM c.startDate),
-        COUNT(c)
+    SELECT c.startDate, COUNT(c)
     FROM Contracts c
     WHERE c.startDate >= :windowStart
       AND c.organization.id = :orgId
-    GROUP BY EXTRACT(YEAR FROM c.startDate), EXTRACT(MONTH FROM c.startDate)
-    ORDER BY EXTRACT(YEAR FROM c.startDate), EXTRACT(MONTH FROM c.startDate)
+    GROUP BY c.startDate
 """)
-    List<Object[]> countContractsByMonthAndOrg(
+    List<Object[]> countContractsByStartDateAndOrg(
             @Param("windowStart") LocalDate windowStart,
             @Param("orgId") Long orgId);
 
@@ -1,6 +1,8 @@
 package com.donatodev.bcm_backend.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
@@ -12,5 +14,11 @@ public interface TotpRecoveryCodeRepository extends JpaRepository<TotpRecoveryCo
 
     List<TotpRecoveryCode> findByUserIdAndUsedAtIsNull(Long userId);
 
+    Optional<TotpRecoveryCode> findFirstByUserIdAndLookupKeyInAndUsedAtIsNull(Long userId,
+                                                                            Collection<String> lookupKeys);
+
+    /** Codes issued before the lookup index existed; verified by the legacy scan. */
+    List<TotpRecoveryCode> findByUserIdAndLookupKeyIsNullAndUsedAtIsNull(Long userId);
+
     void deleteByUserId(Long userId);
 }
@@ -0,0 +1,49 @@
+package com.donatodev.bcm_backend.security;
+
+import java.util.Collection;
+import java.util.Objects;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+/**
+ * Spring Security {@link User} that also carries the ids services need to
+ * authorize a request (user, manager, organization), so they can be read
+ * from the security context via {@link CurrentPrincipal#current()} instead
+ * of being looked up again.
+ */
+public class AuthenticatedUser extends User {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long userId;
+    private final String role;
+    private final Long managerId;
+    private final Long organizationId;
+
+    public AuthenticatedUser(Long userId, String username, String password, String role,
+                             Long managerId, Long organizationId,
+                             Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, authorities);
+        this.userId = userId;
+        this.role = role;
+        this.managerId = managerId;
+        this.organizationId = organizationId;
+    }
+
+    public CurrentPrincipal toCurrentPrincipal() {
+        return new CurrentPrincipal(userId, getUsername(), role, managerId, organizationId);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return super.equals(o) && o instanceof AuthenticatedUser other
+                && Objects.equals(userId, other.userId)
+                && Objects.equals(organizationId, other.organizationId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), userId, organizationId);
+    }
+}
@@ -0,0 +1,71 @@
+package com.donatodev.bcm_backend.security;
+
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.donatodev.bcm_backend.entity.Users;
+import com.donatodev.bcm_backend.exception.UserNotFoundException;
+
+/**
+ * Identity of the caller for the current request: resolved once by
+ * {@link com.donatodev.bcm_backend.jwt.JwtAuthenticationFilter} (through the
+ * cached {@code CustomUserDetailsService} lookup) and carried in the security
+ * context as an {@link AuthenticatedUser}. Services read it instead of
+ * re-querying {@code users} by username on every call.
+ * <p>
+ * {@link #current()} is empty when the request was not authenticated through
+ * the JWT filter (e.g. {@code @WithMockUser} tests, scheduled jobs);
+ * {@link #currentOr} falls back to a lookup by username in that case.
+ *
+ * @param userId         the {@code users.id} of the caller
+ * @param username       the caller's username
+ * @param role           the role name without the {@code ROLE_} prefix, e.g. {@code ADMIN}
+ * @param managerId      the linked manager id, or {@code null} if none
+ * @param organizationId the caller's organization id, or {@code null} if none
+ */
+public record CurrentPrincipal(Long userId, String username, String role, Long managerId, Long organizationId) {
+
+    private static final String ROLE_ADMIN = "ADMIN";
+
+    public boolean isAdmin() {
+        return ROLE_ADMIN.equals(role);
+    }
+
+    /** Returns the principal the JWT filter placed in the security context, if any. */
+    public static Optional<CurrentPrincipal> current() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.isAuthenticated() && auth.getPrincipal() instanceof AuthenticatedUser user) {
+            return Optional.of(user.toCurrentPrincipal());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the principal the JWT filter placed in the security context or, when the
+     * request was authenticated some other way, the one of the user {@code findByUsername}
+     * finds for the authenticated username.
+     *
+     * @param username       supplies the authenticated username; only called on fallback
+     * @param findByUsername looks the user up, e.g. {@code UsersRepository::findByUsername}
+     * @throws UserNotFoundException if the lookup finds no user
+     */
+    public static CurrentPrincipal currentOr(Supplier<String> username,
+                                             Function<String, Optional<Users>> findByUsername) {
+        return current().orElseGet(() -> of(findByUsername.apply(username.get())
+                .orElseThrow(() -> new UserNotFoundException("Utente non trovato"))));
+    }
+
+    /** Builds the principal from a loaded entity, for callers falling back to a lookup. */
+    public static CurrentPrincipal of(Users user) {
+        return new CurrentPrincipal(
+                user.getId(),
+                user.getUsername(),
+                user.getRole() != null ? user.getRole().getRole() : null,
+                user.getManager() != null ? user.getManager().getId() : null,
+                user.getOrganization() != null ? user.getOrganization().getId() : null);
+    }
+}
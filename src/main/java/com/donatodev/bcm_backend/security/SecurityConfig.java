@@ -1,5 +1,8 @@
 package com.donatodev.bcm_backend.security;
 
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -19,6 +22,8 @@ import com.donatodev.bcm_backend.jwt.JwtAuthEntryPoint;
 import com.donatodev.bcm_backend.jwt.JwtAuthenticationFilter;
 import com.donatodev.bcm_backend.service.CustomUserDetailsService;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
@@ -71,6 +76,7 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.GET, "/calendar/**").permitAll()
                 .requestMatchers(SWAGGER_WHITELIST).permitAll()
                 .requestMatchers(HttpMethod.POST, "/users/invite").hasRole("ADMIN")
+                .requestMatchers("/actuator/analyticscache").hasRole("ADMIN")
                 .anyRequest().authenticated()
                 )
                 .exceptionHandling(ex -> ex.authenticationEntryPoint(jwtAuthEntryPoint))
@@ -85,8 +91,17 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
 
+    /**
+     * BCrypt behind a bounded executor, so a login storm saturates the bulkhead rather than
+     * every servlet thread. See {@link BulkheadPasswordEncoder}.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${security.password-hashing.threads:0}") int threads,
+            @Value("${security.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${security.password-hashing.timeout:PT5S}") Duration timeout) {
+        int workers = threads > 0 ? threads : Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+        return new BulkheadPasswordEncoder(new BCryptPasswordEncoder(), workers, queueCapacity, timeout, meterRegistry);
     }
 }
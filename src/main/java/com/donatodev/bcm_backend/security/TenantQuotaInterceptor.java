@@ -0,0 +1,95 @@
+package com.donatodev.bcm_backend.security;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.donatodev.bcm_backend.config.TenantContext;
+import com.donatodev.bcm_backend.jwt.RateLimitProbe;
+import com.donatodev.bcm_backend.service.TenantQuotaService;
+import com.donatodev.bcm_backend.service.TenantQuotaService.QuotaClass;
+import com.donatodev.bcm_backend.service.TenantQuotaService.QuotaDecision;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Applies {@link TenantQuotaService} quotas to every handler call made on behalf of an
+ * organization. Runs as an MVC interceptor rather than a servlet filter because the
+ * organization is only known once {@link com.donatodev.bcm_backend.jwt.JwtAuthenticationFilter}
+ * has populated {@link TenantContext}; requests without one (login, registration, calendar
+ * feeds) are left to {@link com.donatodev.bcm_backend.jwt.RateLimitingFilter}.
+ * <p>
+ * Every response carries {@code RateLimit-Limit}, {@code RateLimit-Remaining} and
+ * {@code RateLimit-Reset} (seconds); a rejection is a 429 with {@code Retry-After}.
+ */
+@Component
+public class TenantQuotaInterceptor implements HandlerInterceptor {
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private static final List<Map.Entry<String, QuotaClass>> PATH_CLASSES = List.of(
+            Map.entry("/contracts/export/**", QuotaClass.EXPORT),
+            Map.entry("/contracts/stream", QuotaClass.EXPORT),
+            Map.entry("/forecast", QuotaClass.ML),
+            Map.entry("/risk-scores", QuotaClass.ML),
+            Map.entry("/anomalies", QuotaClass.ML),
+            Map.entry("/contracts/search/semantic", QuotaClass.ML),
+            Map.entry("/contracts/*/documents/*/extract", QuotaClass.ML),
+            Map.entry("/contracts/*/documents/*/analyze-clause-risk", QuotaClass.ML));
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final TenantQuotaService tenantQuotaService;
+
+    public TenantQuotaInterceptor(TenantQuotaService tenantQuotaService) {
+        this.tenantQuotaService = tenantQuotaService;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws Exception {
+        Long orgId = TenantContext.get();
+        if (orgId == null || !tenantQuotaService.isEnabled()) {
+            return true;
+        }
+
+        QuotaDecision decision = tenantQuotaService.consume(orgId, classify(request));
+        RateLimitProbe probe = decision.probe();
+
+        response.setHeader("RateLimit-Limit", String.valueOf(decision.limit()));
+        if (probe.remaining() >= 0) {
+            response.setHeader("RateLimit-Remaining", String.valueOf(probe.remaining()));
+            response.setHeader("RateLimit-Reset", String.valueOf(probe.secondsToReset()));
+        }
+
+        if (!probe.allowed()) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader("Retry-After", String.valueOf(Math.max(1, probe.secondsToReset())));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write(
+                    "{\"status\":429,\"message\":\"Organization request quota exceeded. Please try again later.\"}");
+            return false;
+        }
+        return true;
+    }
+
+    QuotaClass classify(HttpServletRequest request) {
+        String path = request.getServletPath();
+        for (Map.Entry<String, QuotaClass> entry : PATH_CLASSES) {
+            if (pathMatcher.match(entry.getKey(), path)) {
+                return entry.getValue();
+            }
+        }
+        String contentType = request.getContentType();
+        if (contentType != null && contentType.startsWith(MediaType.MULTIPART_FORM_DATA_VALUE)) {
+            return QuotaClass.UPLOAD;
+        }
+        return SAFE_METHODS.contains(request.getMethod()) ? QuotaClass.READ : QuotaClass.WRITE;
+    }
+}
@@ -1,9 +1,18 @@
 package com.donatodev.bcm_backend.service;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
 import java.time.Instant;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,10 +24,17 @@ import com.donatodev.bcm_backend.repository.AuditLogRepository;
 @Service
 public class AuditLogService {
 
+    private static final String INSERT_SQL = """
+        INSERT INTO audit_logs (action, entity_type, entity_id, username, org_id, timestamp, details)
+        VALUES (?, ?, ?, ?, ?, ?, ?)
+        """;
+
     private final AuditLogRepository auditLogRepository;
+    private final JdbcTemplate jdbcTemplate;
 
-    public AuditLogService(AuditLogRepository auditLogRepository) {
+    public AuditLogService(AuditLogRepository auditLogRepository, JdbcTemplate jdbcTemplate) {
         this.auditLogRepository = auditLogRepository;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     @Transactional
@@ -35,6 +51,42 @@ public class AuditLogService {
         auditLogRepository.save(log);
     }
 
+    /**
+     * Records the same action on many entities as one JDBC batch, for bulk writes
+     * that do not go through a single-entity service method (and so
+     * {@link com.donatodev.bcm_backend.aspect.AuditAspect}). Each entity gets its own
+     * entry, with {@code details} suffixed by {@code #id} as the aspect does. Joins
+     * the caller's transaction, so the entries roll back with the writes they describe.
+     */
+    @Transactional
+    public void saveAll(String action, String entityType, List<Long> entityIds, String username, Long orgId,
+                        String details) {
+        if (entityIds.isEmpty()) {
+            return;
+        }
+        // Bound as UTC, the way Hibernate stores the entity's Instant
+        Timestamp now = Timestamp.from(Instant.now());
+        Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Long entityId = entityIds.get(i);
+                ps.setString(1, action);
+                ps.setString(2, entityType);
+                ps.setLong(3, entityId);
+                ps.setString(4, username);
+                ps.setObject(5, orgId, Types.BIGINT);
+                ps.setTimestamp(6, now, utc);
+                ps.setString(7, details + "#" + entityId);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return entityIds.size();
+            }
+        });
+    }
+
     public Page<AuditLogDTO> findAll(Pageable pageable) {
         Long orgId = TenantContext.get();
         Page<AuditLog> logs = (orgId != null)
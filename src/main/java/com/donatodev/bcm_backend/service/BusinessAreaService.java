@@ -26,10 +26,15 @@ public class BusinessAreaService {
 
 	private final BusinessAreasRepository businessAreasRepository;
     private final BusinessAreaMapper businessAreaMapper;
+    private final ContractAnalyticsCache analyticsCache;
+    private final ContractChangeLog changeLog;
 
-    public BusinessAreaService(BusinessAreasRepository businessAreasRepository, BusinessAreaMapper businessAreaMapper) {
+    public BusinessAreaService(BusinessAreasRepository businessAreasRepository, BusinessAreaMapper businessAreaMapper,
+                               ContractAnalyticsCache analyticsCache, ContractChangeLog changeLog) {
         this.businessAreasRepository = businessAreasRepository;
         this.businessAreaMapper = businessAreaMapper;
+        this.analyticsCache = analyticsCache;
+        this.changeLog = changeLog;
     }
 
     /**
@@ -103,6 +108,9 @@ public class BusinessAreaService {
         area.setDescription(dto.description());
 
         area = businessAreasRepository.save(area);
+        // The area name is part of the cached "contracts by area" view and of the listings
+        analyticsCache.invalidate(TenantContext.get());
+        changeLog.recordListingChange(area.getOrganization() != null ? area.getOrganization().getId() : null);
         return businessAreaMapper.toDTO(area);
     }
 
@@ -9,10 +9,10 @@ import org.springframework.stereotype.Component;
 
 import com.donatodev.bcm_backend.config.TenantContext;
 import com.donatodev.bcm_backend.entity.Contracts;
-import com.donatodev.bcm_backend.entity.Users;
 import com.donatodev.bcm_backend.exception.ContractNotFoundException;
 import com.donatodev.bcm_backend.repository.ContractsRepository;
 import com.donatodev.bcm_backend.repository.UsersRepository;
+import com.donatodev.bcm_backend.security.CurrentPrincipal;
 
 /**
  * Shared tenant-scoping and manager-access guard for services that operate on
@@ -57,11 +57,15 @@ public class ContractAccessGuard {
         if (orgId == null) {
             return;
         }
-        Users user = usersRepository.findByUsernameAndOrganizationId(auth.getName(), orgId).orElse(null);
-        if (user == null || !"MANAGER".equals(user.getRole().getRole())) {
+        CurrentPrincipal user = CurrentPrincipal.current()
+                .filter(p -> orgId.equals(p.organizationId()))
+                .orElseGet(() -> usersRepository.findByUsernameAndOrganizationId(auth.getName(), orgId)
+                        .map(CurrentPrincipal::of)
+                        .orElse(null));
+        if (user == null || !"MANAGER".equals(user.role())) {
             return;
         }
-        Long managerId = user.getManager() != null ? user.getManager().getId() : null;
+        Long managerId = user.managerId();
         Long contractManagerId = contract.getManager() != null ? contract.getManager().getId() : null;
         if (managerId == null || !managerId.equals(contractManagerId)) {
             throw new AccessDeniedException("non autorizzato ad accedere al contratto: " + contract.getId());
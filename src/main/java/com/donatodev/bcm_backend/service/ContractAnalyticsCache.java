@@ -0,0 +1,271 @@
+package com.donatodev.bcm_backend.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Per-tenant cache of the dashboard aggregates (contracts by area, timeline, top
+ * managers), which are polled far more often than contracts change.
+ * <p>
+ * Entries are not invalidated one by one. Each tenant has a generation number, which is
+ * part of every cache key, and {@link #invalidate} bumps it, so a write makes every
+ * older entry of that tenant unreachable at once. The platform-wide views (no tenant)
+ * have their own generation, bumped by every tenant write. The local tier is a bounded
+ * Caffeine cache whose TTL only reclaims memory from unreachable generations.
+ * <p>
+ * Whenever the Redis connection of {@code RedisRateLimiterConfig} exists
+ * ({@code rate-limit.store=redis}, i.e. a multi-instance deployment), generations and
+ * values also live in Redis, unless {@code contract-analytics.cache.shared=false}. A write
+ * on one instance then invalidates every instance, and a value computed on one instance is
+ * reused by the others. That costs one Redis round trip per read for the generation. Any
+ * Redis error degrades to the local tier, the same posture as
+ * {@code RedisLoginAttemptStore}. Without it, each instance only sees its own writes
+ * until the TTL expires, which is fine for single-node deployments.
+ * <p>
+ * Local hit/miss counts are published under {@code cache.*{cache="contract-analytics"}},
+ * shared-tier lookups under {@code bcm.analytics_cache.shared}, and both through the
+ * {@code analyticscache} actuator endpoint.
+ */
+@Component
+public class ContractAnalyticsCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ContractAnalyticsCache.class);
+    private static final String CRLF_REGEX = "[\r\n]";
+
+    static final String CACHE_NAME = "contract-analytics";
+    private static final String GENERATION_PREFIX = "contract-analytics:gen:";
+    private static final String VALUE_PREFIX = "contract-analytics:value:";
+    /** Scope of the platform-wide views, computed across every organization. */
+    private static final String ALL_ORGANIZATIONS = "all";
+
+    /**
+     * {@code generation} is prefixed with its source ({@code l} local, {@code r} Redis),
+     * so an entry cached while Redis was down is never mistaken for a Redis generation
+     * with the same number.
+     */
+    private record Key(String scope, String generation, String view) {
+    }
+
+    private final boolean enabled;
+    private final Duration ttl;
+    private final Cache<Key, List<?>> local;
+    private final ConcurrentMap<String, AtomicLong> localGenerations = new ConcurrentHashMap<>();
+    private final StatefulRedisConnection<String, byte[]> redis;
+    private final ObjectMapper objectMapper;
+
+    private final LongAdder sharedHits = new LongAdder();
+    private final LongAdder sharedMisses = new LongAdder();
+    private final LongAdder sharedErrors = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final Counter sharedHitCounter;
+    private final Counter sharedMissCounter;
+
+    public ContractAnalyticsCache(MeterRegistry meterRegistry,
+                                  ObjectMapper objectMapper,
+                                  ObjectProvider<StatefulRedisConnection<String, byte[]>> redisConnection,
+                                  @Value("${contract-analytics.cache.enabled:true}") boolean enabled,
+                                  @Value("${contract-analytics.cache.max-size:5000}") long maxSize,
+                                  @Value("${contract-analytics.cache.ttl:PT10M}") Duration ttl,
+                                  @Value("${contract-analytics.cache.shared:}") Boolean shared) {
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.objectMapper = objectMapper;
+        // Unset: shared whenever Redis is configured
+        this.redis = Boolean.FALSE.equals(shared) ? null : redisConnection.getIfAvailable();
+        if (Boolean.TRUE.equals(shared) && redis == null) {
+            log.warn("contract-analytics.cache.shared is set but no Redis connection is configured; "
+                    + "caching dashboard analytics per instance only.");
+        }
+        this.local = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, local, CACHE_NAME);
+        this.sharedHitCounter = Counter.builder("bcm.analytics_cache.shared")
+                .description("Dashboard analytics lookups in the shared (Redis) tier after a local miss")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.sharedMissCounter = Counter.builder("bcm.analytics_cache.shared")
+                .description("Dashboard analytics lookups in the shared (Redis) tier after a local miss")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached {@code view} of the given organization (null for the
+     * platform-wide view), invoking {@code loader} on a miss. Exceptions from the loader
+     * propagate and nothing is cached.
+     *
+     * @param view        names the aggregate and every parameter it depends on besides
+     *                    the tenant (e.g. the timeline's first month)
+     * @param elementType element type of the list, to read it back from the shared tier
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> get(Long orgId, String view, Class<T> elementType, Supplier<List<T>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        String scope = scopeOf(orgId);
+        String sharedGeneration = sharedGeneration(scope);
+        String generation = sharedGeneration != null ? "r" + sharedGeneration : "l" + localGeneration(scope).get();
+        Key key = new Key(scope, generation, view);
+        return (List<T>) local.get(key, k -> sharedGeneration != null
+                ? loadShared(k, sharedGeneration, elementType, loader)
+                : List.copyOf(loader.get()));
+    }
+
+    /**
+     * Makes every cached view of the organization, and every platform-wide view, stale.
+     * Called by the contract write paths. Inside a transaction the bump is repeated after
+     * commit, so a concurrent read cannot cache the pre-commit state under the new
+     * generation.
+     */
+    public void invalidate(Long orgId) {
+        if (!enabled) {
+            return;
+        }
+        Runnable bump = () -> {
+            bumpGeneration(scopeOf(orgId));
+            if (orgId != null) {
+                bumpGeneration(ALL_ORGANIZATIONS);
+            }
+        };
+        invalidations.increment();
+        bump.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump.run();
+                }
+            });
+        }
+    }
+
+    /** Hit ratios of both tiers, for the {@code analyticscache} actuator endpoint. */
+    public Map<String, Object> stats() {
+        CacheStats localStats = local.stats();
+        Map<String, Object> localView = new LinkedHashMap<>();
+        localView.put("size", local.estimatedSize());
+        localView.put("hits", localStats.hitCount());
+        localView.put("misses", localStats.missCount());
+        localView.put("hitRatio", localStats.hitRate());
+        localView.put("evictions", localStats.evictionCount());
+
+        long hits = sharedHits.sum();
+        long misses = sharedMisses.sum();
+        Map<String, Object> sharedView = new LinkedHashMap<>();
+        sharedView.put("enabled", redis != null);
+        sharedView.put("hits", hits);
+        sharedView.put("misses", misses);
+        sharedView.put("hitRatio", hits + misses == 0 ? 1.0 : (double) hits / (hits + misses));
+        sharedView.put("errors", sharedErrors.sum());
+
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("enabled", enabled);
+        view.put("invalidations", invalidations.sum());
+        view.put("local", localView);
+        view.put("shared", sharedView);
+        return view;
+    }
+
+    private <T> List<?> loadShared(Key key, String generation, Class<T> elementType, Supplier<List<T>> loader) {
+        String redisKey = VALUE_PREFIX + key.scope() + ":" + generation + ":" + key.view();
+        JavaType type = objectMapper.getTypeFactory().constructCollectionType(List.class, elementType);
+        try {
+            byte[] cached = commands().get(redisKey);
+            if (cached != null) {
+                sharedHits.increment();
+                sharedHitCounter.increment();
+                return List.copyOf(objectMapper.<List<T>>readValue(cached, type));
+            }
+        } catch (Exception ex) {
+            warnUnavailable(ex);
+        }
+        sharedMisses.increment();
+        sharedMissCounter.increment();
+
+        List<T> value = List.copyOf(loader.get());
+        try {
+            commands().set(redisKey, objectMapper.writeValueAsBytes(value), SetArgs.Builder.px(ttl.toMillis()));
+        } catch (Exception ex) {
+            warnUnavailable(ex);
+        }
+        return value;
+    }
+
+    /** Current Redis generation of the scope, or null without a shared tier or on error. */
+    private String sharedGeneration(String scope) {
+        if (redis == null) {
+            return null;
+        }
+        try {
+            byte[] generation = commands().get(GENERATION_PREFIX + scope);
+            return generation != null ? new String(generation, StandardCharsets.UTF_8) : "0";
+        } catch (Exception ex) {
+            warnUnavailable(ex);
+            return null;
+        }
+    }
+
+    private void bumpGeneration(String scope) {
+        localGeneration(scope).incrementAndGet();
+        if (redis != null) {
+            try {
+                commands().incr(GENERATION_PREFIX + scope);
+            } catch (Exception ex) {
+                warnUnavailable(ex);
+            }
+        }
+    }
+
+    private AtomicLong localGeneration(String scope) {
+        return localGenerations.computeIfAbsent(scope, s -> new AtomicLong());
+    }
+
+    private RedisCommands<String, byte[]> commands() {
+        return redis.sync();
+    }
+
+    private static String scopeOf(Long orgId) {
+        return orgId != null ? orgId.toString() : ALL_ORGANIZATIONS;
+    }
+
+    private void warnUnavailable(Exception ex) {
+        sharedErrors.increment();
+        String message = ex instanceof IOException ? "unreadable cached value" : ex.getMessage();
+        log.warn("Analytics cache shared tier (Redis) unavailable, using local tier: {}",
+                message == null ? null : message.replaceAll(CRLF_REGEX, "_"));
+    }
+}
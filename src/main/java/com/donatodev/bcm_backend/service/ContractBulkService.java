@@ -0,0 +1,316 @@
+package com.donatodev.bcm_backend.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.donatodev.bcm_backend.config.TenantContext;
+import com.donatodev.bcm_backend.dto.ContractBulkItemResult;
+import com.donatodev.bcm_backend.dto.ContractBulkResultDTO;
+import com.donatodev.bcm_backend.entity.ContractChangeType;
+import com.donatodev.bcm_backend.entity.ContractStatus;
+import com.donatodev.bcm_backend.entity.Contracts;
+import com.donatodev.bcm_backend.entity.Managers;
+import com.donatodev.bcm_backend.entity.WorkflowStage;
+import com.donatodev.bcm_backend.repository.ContractManagerRepository;
+import com.donatodev.bcm_backend.repository.ContractsRepository;
+import com.donatodev.bcm_backend.repository.UsersRepository;
+import com.donatodev.bcm_backend.security.CurrentPrincipal;
+import com.donatodev.bcm_backend.util.AuthenticatedUserUtils;
+
+/**
+ * Bulk contract operations (status change, manager reassignment, collaborators,
+ * deletion) over up to {@code contract-bulk.max-items} contracts per request.
+ * <p>
+ * Contracts are processed in chunks of {@code contract-bulk.chunk-size}, each in its
+ * own transaction: one query loads a chunk, the contract updates and deletes go out
+ * as JDBC batches at flush, and the {@code contract_history} rows are written with
+ * {@link JdbcTemplate#batchUpdate} (Hibernate cannot batch inserts of IDENTITY-keyed
+ * entities). Collaborator sets are diffed and written by
+ * {@link ContractCollaborators}. A chunk that fails is rolled back and reported
+ * per contract; the other chunks are unaffected. Stats counters, the analytics
+ * cache and the change log are kept current per chunk, as the single-contract
+ * write paths in {@link ContractService} do.
+ * <p>
+ * Status changes and deletions are left out of {@code AuditAspect}, which would
+ * log one entry per request with no contract id; instead each chunk writes one
+ * UPDATE or DELETE audit entry per contract, in one batch.
+ */
+@Service
+public class ContractBulkService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContractBulkService.class);
+
+    private static final String CRLF_REGEX = "[\r\n]";
+    private static final String MSG_CONTRACT_NOT_FOUND = "Contratto non trovato";
+    private static final String MSG_CHUNK_FAILED = "Operazione non riuscita: riprovare";
+    private static final String INSERT_HISTORY_SQL = """
+        INSERT INTO contract_history (contract_id, modified_by, modification_date, previous_status, new_status)
+        VALUES (?, ?, ?, ?, ?)
+        """;
+
+    private final ContractsRepository contractsRepository;
+    private final ContractManagerRepository contractManagerRepository;
+    private final ContractCollaborators contractCollaborators;
+    private final ManagerService managerService;
+    private final UsersRepository usersRepository;
+    private final ContractStatsService contractStatsService;
+    private final ContractAnalyticsCache analyticsCache;
+    private final ContractChangeLog changeLog;
+    private final AuditLogService auditLogService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxItems;
+    private final int chunkSize;
+
+    public ContractBulkService(ContractsRepository contractsRepository,
+                               ContractManagerRepository contractManagerRepository,
+                               ContractCollaborators contractCollaborators,
+                               ManagerService managerService,
+                               UsersRepository usersRepository,
+                               ContractStatsService contractStatsService,
+                               ContractAnalyticsCache analyticsCache,
+                               ContractChangeLog changeLog,
+                               AuditLogService auditLogService,
+                               JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${contract-bulk.max-items:5000}") int maxItems,
+                               @Value("${contract-bulk.chunk-size:500}") int chunkSize) {
+        this.contractsRepository = contractsRepository;
+        this.contractManagerRepository = contractManagerRepository;
+        this.contractCollaborators = contractCollaborators;
+        this.managerService = managerService;
+        this.usersRepository = usersRepository;
+        this.contractStatsService = contractStatsService;
+        this.analyticsCache = analyticsCache;
+        this.changeLog = changeLog;
+        this.auditLogService = auditLogService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxItems = maxItems;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Sets the status of the given contracts, recording a history entry for each one
+     * that changes. Contracts in review are skipped, as in
+     * {@link ContractService#updateContract}.
+     */
+    public ContractBulkResultDTO updateStatus(List<Long> contractIds, ContractStatus status) {
+        if (status == null) {
+            throw new IllegalArgumentException("Stato obbligatorio");
+        }
+        List<Long> ids = distinctIds(contractIds);
+        CurrentPrincipal user = CurrentPrincipal.currentOr(AuthenticatedUserUtils::getUsernameOrNull,
+                usersRepository::findByUsername);
+
+        return run(ids, (contracts, rejected) -> {
+            LocalDateTime now = LocalDateTime.now(ZoneId.systemDefault());
+            List<Contracts> changed = new ArrayList<>();
+            List<Object[]> history = new ArrayList<>();
+            // Organization id (null for none) -> previous status -> contracts
+            Map<Long, Map<ContractStatus, Integer>> transitions = new HashMap<>();
+
+            for (Contracts contract : contracts) {
+                ContractStatus previousStatus = contract.getStatus();
+                if (previousStatus == status) {
+                    continue;
+                }
+                if (contract.getWorkflowStage() == WorkflowStage.IN_REVIEW) {
+                    rejected.put(contract.getId(),
+                            "Impossibile cambiare stato mentre il contratto è in revisione; approvarlo o respingerlo");
+                    continue;
+                }
+                contract.setStatus(status);
+                // Same workflow stage derivation as a single update
+                if (status == ContractStatus.DRAFT) {
+                    contract.setWorkflowStage(WorkflowStage.DRAFT);
+                } else {
+                    contract.setWorkflowStage(null);
+                }
+                changed.add(contract);
+                history.add(new Object[] {contract.getId(), user.userId(), now, previousStatus.name(), status.name()});
+                transitions.computeIfAbsent(organizationIdOf(contract), orgId -> new EnumMap<>(ContractStatus.class))
+                        .merge(previousStatus, 1, Integer::sum);
+            }
+
+            contractsRepository.flush();
+            jdbcTemplate.batchUpdate(INSERT_HISTORY_SQL, history);
+            transitions.forEach((orgId, byPrevious) -> byPrevious.forEach((previous, count) ->
+                    contractStatsService.recordTransitions(orgId, previous, status, count)));
+            publish(changed, ContractChangeType.UPDATED);
+            audit("UPDATE", changed, user.username(), "ContractBulkService.updateStatus");
+        });
+    }
+
+    /**
+     * Assigns one manager to the given contracts.
+     *
+     * @throws com.donatodev.bcm_backend.exception.ManagerNotFoundException if the
+     *         manager does not exist in the current tenant
+     */
+    public ContractBulkResultDTO assignManager(List<Long> contractIds, Long managerId) {
+        if (managerId == null) {
+            throw new IllegalArgumentException("Manager obbligatorio");
+        }
+        List<Long> ids = distinctIds(contractIds);
+        Managers manager = managerService.getManagerEntity(managerId);
+
+        return run(ids, (contracts, rejected) -> {
+            List<Contracts> changed = new ArrayList<>();
+            for (Contracts contract : contracts) {
+                if (contract.getManager() == null || !managerId.equals(contract.getManager().getId())) {
+                    contract.setManager(manager);
+                    changed.add(contract);
+                }
+            }
+            contractsRepository.flush();
+            publish(changed, ContractChangeType.UPDATED);
+        });
+    }
+
+    /**
+     * Replaces the collaborators of the given contracts with {@code managerIds}
+     * (none if null or empty), writing only the links that change.
+     *
+     * @throws com.donatodev.bcm_backend.exception.ManagerNotFoundException if a
+     *         manager does not exist in the current tenant
+     */
+    public ContractBulkResultDTO setCollaborators(List<Long> contractIds, List<Long> managerIds) {
+        List<Long> ids = distinctIds(contractIds);
+        List<Long> collaborators = managerIds == null ? List.of()
+                : managerIds.stream().filter(Objects::nonNull).distinct().toList();
+        collaborators.forEach(managerService::getManagerEntity);
+
+        return run(ids, (contracts, rejected) ->
+                contractCollaborators.replaceAll(contracts.stream().map(Contracts::getId).toList(), collaborators));
+    }
+
+    /**
+     * Deletes the given contracts, with their collaborator links.
+     */
+    public ContractBulkResultDTO delete(List<Long> contractIds) {
+        List<Long> ids = distinctIds(contractIds);
+        String username = AuthenticatedUserUtils.getUsernameOrNull();
+
+        return run(ids, (contracts, rejected) -> {
+            Map<Long, Map<ContractStatus, Integer>> removed = new HashMap<>();
+            for (Contracts contract : contracts) {
+                removed.computeIfAbsent(organizationIdOf(contract), orgId -> new EnumMap<>(ContractStatus.class))
+                        .merge(contract.getStatus(), 1, Integer::sum);
+            }
+            contractManagerRepository.deleteAllByContractIdIn(contracts.stream().map(Contracts::getId).toList());
+            contractsRepository.deleteAll(contracts);
+            contractsRepository.flush();
+            removed.forEach((orgId, byStatus) -> byStatus.forEach((status, count) ->
+                    contractStatsService.recordTransitions(orgId, status, null, count)));
+            publish(contracts, ContractChangeType.DELETED);
+            audit("DELETE", contracts, username, "ContractBulkService.delete");
+        });
+    }
+
+    /**
+     * Applies {@code operation} chunk by chunk, each chunk in its own transaction, and
+     * collects the per-contract outcome. Ids not found in the current tenant are
+     * reported and not passed to the operation.
+     */
+    private ContractBulkResultDTO run(List<Long> ids, ChunkOperation operation) {
+        Long orgId = TenantContext.get();
+        List<ContractBulkItemResult> items = new ArrayList<>(ids.size());
+
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            Map<Long, String> rejected;
+            try {
+                rejected = transactionTemplate.execute(status -> {
+                    List<Contracts> contracts = (orgId != null)
+                            ? contractsRepository.findByIdInAndOrganization_Id(chunk, orgId)
+                            : contractsRepository.findByIdIn(chunk);
+                    Map<Long, String> chunkRejected = new HashMap<>();
+                    chunk.forEach(id -> chunkRejected.put(id, MSG_CONTRACT_NOT_FOUND));
+                    contracts.forEach(contract -> chunkRejected.remove(contract.getId()));
+                    operation.apply(contracts, chunkRejected);
+                    return chunkRejected;
+                });
+            } catch (RuntimeException e) {
+                String safeMessage = String.valueOf(e.getMessage()).replaceAll(CRLF_REGEX, "_");
+                logger.error("Bulk contract chunk of {} contracts (from {}) failed: {}", chunk.size(), chunk.get(0),
+                        safeMessage);
+                chunk.forEach(id -> items.add(new ContractBulkItemResult(id, false, MSG_CHUNK_FAILED)));
+                continue;
+            }
+            for (Long id : chunk) {
+                String reason = rejected.get(id);
+                items.add(new ContractBulkItemResult(id, reason == null, reason));
+            }
+        }
+
+        int failed = (int) items.stream().filter(item -> !item.success()).count();
+        return new ContractBulkResultDTO(ids.size(), ids.size() - failed, failed, items);
+    }
+
+    private List<Long> distinctIds(List<Long> contractIds) {
+        if (contractIds == null || contractIds.isEmpty()) {
+            throw new IllegalArgumentException("Nessun contratto indicato");
+        }
+        if (contractIds.contains(null)) {
+            throw new IllegalArgumentException("ID contratto non valido");
+        }
+        List<Long> ids = List.copyOf(new LinkedHashSet<>(contractIds));
+        if (ids.size() > maxItems) {
+            throw new IllegalArgumentException("Troppi contratti: massimo " + maxItems + " per richiesta");
+        }
+        return ids;
+    }
+
+    /** Invalidates the analytics and logs the change for each organization written. */
+    private void publish(List<Contracts> written, ContractChangeType type) {
+        idsByOrganization(written).forEach((orgId, contractIds) -> {
+            analyticsCache.invalidate(orgId);
+            changeLog.recordAll(orgId, contractIds, type);
+        });
+    }
+
+    /** Writes one audit entry per contract, under its own organization. */
+    private void audit(String action, List<Contracts> written, String username, String details) {
+        idsByOrganization(written).forEach((orgId, contractIds) ->
+                auditLogService.saveAll(action, "Contract", contractIds, username, orgId, details));
+    }
+
+    private static Map<Long, List<Long>> idsByOrganization(List<Contracts> contracts) {
+        Map<Long, List<Long>> idsByOrg = new HashMap<>();
+        for (Contracts contract : contracts) {
+            idsByOrg.computeIfAbsent(organizationIdOf(contract), orgId -> new ArrayList<>()).add(contract.getId());
+        }
+        return idsByOrg;
+    }
+
+    private static Long organizationIdOf(Contracts contract) {
+        return contract.getOrganization() != null ? contract.getOrganization().getId() : null;
+    }
+
+    /** One bulk operation, applied to the contracts of a chunk inside its transaction. */
+    @FunctionalInterface
+    private interface ChunkOperation {
+
+        /**
+         * @param contracts the chunk's contracts found in the current tenant
+         * @param rejected  contract id -> reason it was skipped; the operation adds its own
+         */
+        void apply(List<Contracts> contracts, Map<Long, String> rejected);
+    }
+}
@@ -0,0 +1,214 @@
+package com.donatodev.bcm_backend.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.donatodev.bcm_backend.config.TenantContext;
+import com.donatodev.bcm_backend.dto.ContractChangesDTO;
+import com.donatodev.bcm_backend.entity.ContractChange;
+import com.donatodev.bcm_backend.entity.ContractChangeType;
+import com.donatodev.bcm_backend.entity.Contracts;
+import com.donatodev.bcm_backend.exception.ContractChangeCursorExpiredException;
+import com.donatodev.bcm_backend.repository.ContractChangeRepository;
+import com.donatodev.bcm_backend.repository.ContractChangeSequenceRepository;
+
+/**
+ * Append-only change log of contract writes, behind {@code GET /contracts/changes}, so
+ * a client can keep a local copy of its tenant's contracts current with traffic
+ * proportional to the changes rather than to the contracts.
+ * <p>
+ * The contract write paths call {@link #record} inside their own transaction, after
+ * the contract write, so an entry commits (or rolls back) with the change it records.
+ * Entries are numbered by a per-tenant sequence whose row stays locked until commit:
+ * a tenant's writes serialize from that point, and entries become visible strictly in
+ * sequence order, so a reader resuming after sequence {@code n} never misses one that
+ * commits later with a lower number.
+ * <p>
+ * Entries older than {@code contract-changes.retention} are purged nightly; a cursor
+ * from before the purge gets {@code 410 Gone} and the client reloads the full list.
+ * <p>
+ * The same per-tenant row also versions the contract listings: the sequence moves
+ * with every contract write and {@link #recordListingChange} with every write of a
+ * business area or manager, so {@link #listingVersion} is a primary-key read.
+ */
+@Service
+public class ContractChangeLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContractChangeLog.class);
+
+    /** Scope of the contracts that belong to no organization. */
+    private static final long NO_ORGANIZATION = 0L;
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final ContractChangeRepository changeRepository;
+    private final ContractChangeSequenceRepository sequenceRepository;
+    private final Duration retention;
+
+    public ContractChangeLog(ContractChangeRepository changeRepository,
+                             ContractChangeSequenceRepository sequenceRepository,
+                             @Value("${contract-changes.retention:P30D}") Duration retention) {
+        this.changeRepository = changeRepository;
+        this.sequenceRepository = sequenceRepository;
+        this.retention = retention;
+    }
+
+    /**
+     * Records one write of a contract. The contract must have its id, i.e. be saved.
+     */
+    @Transactional
+    public void record(Contracts contract, ContractChangeType type) {
+        Long orgId = contract.getOrganization() != null ? contract.getOrganization().getId() : null;
+        recordAll(orgId, List.of(contract.getId()), type);
+    }
+
+    /**
+     * Records the same write of several contracts of one organization, reserving
+     * their sequence numbers with a single statement.
+     *
+     * @param orgId organization of the contracts, null for none
+     */
+    @Transactional
+    public void recordAll(Long orgId, Collection<Long> contractIds, ContractChangeType type) {
+        if (contractIds.isEmpty()) {
+            return;
+        }
+        long scope = scopeOf(orgId);
+        int count = contractIds.size();
+        if (sequenceRepository.increment(scope, count) == 0
+                && sequenceRepository.insertIfAbsent(scope, count) == 0) {
+            // A concurrent writer created the row first; this blocks until it commits
+            sequenceRepository.increment(scope, count);
+        }
+        long seq = sequenceRepository.findLastSeq(scope).orElseThrow() - count;
+
+        Instant now = Instant.now();
+        List<ContractChange> entries = new ArrayList<>(count);
+        for (Long contractId : contractIds) {
+            entries.add(ContractChange.builder()
+                    .scopeId(scope)
+                    .seq(++seq)
+                    .contractId(contractId)
+                    .changeType(type)
+                    .changedAt(now)
+                    .build());
+        }
+        changeRepository.saveAll(entries);
+    }
+
+    /**
+     * Records a write that changes the contract listings of an organization without
+     * writing a contract, i.e. of a business area or manager they embed.
+     *
+     * @param orgId organization of the written entity, null for none
+     */
+    @Transactional
+    public void recordListingChange(Long orgId) {
+        long scope = scopeOf(orgId);
+        if (sequenceRepository.incrementListingGeneration(scope) == 0
+                && sequenceRepository.insertListingGenerationIfAbsent(scope) == 0) {
+            sequenceRepository.incrementListingGeneration(scope);
+        }
+    }
+
+    /**
+     * Version of the current tenant's contract listings, for their weak ETags; with
+     * no tenant, of every organization's. Changes with every contract write and every
+     * {@link #recordListingChange}.
+     */
+    @Transactional(readOnly = true)
+    public long listingVersion() {
+        return sequenceRepository.sumListingVersion(TenantContext.get());
+    }
+
+    /**
+     * Changes of the current tenant's contracts after {@code since}, at most
+     * {@code limit} (up to 1000) log entries, collapsed per contract (see
+     * {@link ContractChangesDTO}). Without {@code since}, returns no changes and the current cursor, from which a
+     * client that has just loaded the full list can start following.
+     *
+     * @throws ContractChangeCursorExpiredException if entries after {@code since}
+     *         have already been purged
+     */
+    @Transactional(readOnly = true)
+    public ContractChangesDTO changesSince(Long since, int limit) {
+        long scope = scopeOf(TenantContext.get());
+        if (since == null) {
+            return new ContractChangesDTO(List.of(), List.of(), List.of(),
+                    sequenceRepository.findLastSeq(scope).orElse(0L), false);
+        }
+        if (since < 0) {
+            throw new IllegalArgumentException("Cursore non valido");
+        }
+        if (since < sequenceRepository.findPurgedThrough(scope).orElse(0L)) {
+            throw new ContractChangeCursorExpiredException(
+                    "Cursore scaduto: ricaricare l'elenco completo dei contratti");
+        }
+
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        List<ContractChange> entries =
+                changeRepository.findByScopeIdAndSeqGreaterThanOrderBySeqAsc(scope, since, Limit.of(pageSize + 1));
+        boolean hasMore = entries.size() > pageSize;
+        if (hasMore) {
+            entries = entries.subList(0, pageSize);
+        }
+        long cursor = entries.isEmpty() ? since : entries.get(entries.size() - 1).getSeq();
+        return collapse(entries, cursor, hasMore);
+    }
+
+    /**
+     * Deletes change log entries older than the retention, in one transaction. Runs after
+     * the nightly expiration job (1:00 AM), whose changes are therefore kept.
+     */
+    @Scheduled(cron = "0 45 1 * * *")
+    @Transactional
+    public void purgeExpired() {
+        Instant cutoff = Instant.now().minus(retention);
+        for (Object[] horizon : changeRepository.findPurgeHorizons(cutoff)) {
+            sequenceRepository.advancePurgedThrough((Long) horizon[0], (Long) horizon[1]);
+        }
+        int purged = changeRepository.deleteOlderThan(cutoff);
+        logger.info("Purged {} contract change log entries older than {}", purged, cutoff);
+    }
+
+    private static ContractChangesDTO collapse(List<ContractChange> entries, long cursor, boolean hasMore) {
+        // First and last change per contract, in order of first appearance
+        Map<Long, ContractChangeType[]> firstAndLast = new LinkedHashMap<>();
+        for (ContractChange entry : entries) {
+            firstAndLast.computeIfAbsent(entry.getContractId(),
+                    id -> new ContractChangeType[] {entry.getChangeType(), null})[1] = entry.getChangeType();
+        }
+        List<Long> created = new ArrayList<>();
+        List<Long> updated = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        firstAndLast.forEach((contractId, types) -> {
+            boolean createdHere = types[0] == ContractChangeType.CREATED;
+            if (types[1] == ContractChangeType.DELETED) {
+                if (!createdHere) {
+                    deleted.add(contractId);
+                }
+            } else if (createdHere) {
+                created.add(contractId);
+            } else {
+                updated.add(contractId);
+            }
+        });
+        return new ContractChangesDTO(created, updated, deleted, cursor, hasMore);
+    }
+
+    private static long scopeOf(Long orgId) {
+        return orgId != null ? orgId : NO_ORGANIZATION;
+    }
+}
@@ -0,0 +1,90 @@
+package com.donatodev.bcm_backend.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.donatodev.bcm_backend.entity.ContractManagerId;
+import com.donatodev.bcm_backend.repository.ContractManagerRepository;
+
+/**
+ * Writes contract collaborator sets ({@code contract_manager}) as a diff against the
+ * current rows: one query reads the current collaborators of all the contracts,
+ * then the removed links go out as one JDBC batch of deletes and the added ones as
+ * one batch of inserts. Links that stay are not touched, so saving an unchanged set
+ * costs a single read.
+ * <p>
+ * Callers check that the contracts are in scope and run this inside their transaction.
+ */
+@Component
+public class ContractCollaborators {
+
+    private static final String DELETE_SQL = "DELETE FROM contract_manager WHERE contract_id = ? AND manager_id = ?";
+    private static final String INSERT_SQL =
+            "INSERT IGNORE INTO contract_manager (contract_id, manager_id) VALUES (?, ?)";
+
+    private final ContractManagerRepository contractManagerRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public ContractCollaborators(ContractManagerRepository contractManagerRepository, JdbcTemplate jdbcTemplate) {
+        this.contractManagerRepository = contractManagerRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Sets the collaborators of one contract to {@code managerIds} (none if null).
+     */
+    public void replace(Long contractId, Collection<Long> managerIds) {
+        replaceAll(List.of(contractId), managerIds);
+    }
+
+    /**
+     * Sets the collaborators of each of {@code contractIds} to {@code managerIds}
+     * (none if null).
+     */
+    public void replaceAll(Collection<Long> contractIds, Collection<Long> managerIds) {
+        if (contractIds.isEmpty()) {
+            return;
+        }
+        Set<Long> target = new LinkedHashSet<>();
+        if (managerIds != null) {
+            managerIds.stream().filter(Objects::nonNull).forEach(target::add);
+        }
+
+        Map<Long, Set<Long>> current = new HashMap<>();
+        for (ContractManagerId link : contractManagerRepository.findLinksByContractIdIn(contractIds)) {
+            current.computeIfAbsent(link.getContract(), id -> new LinkedHashSet<>()).add(link.getManager());
+        }
+
+        List<Object[]> removed = new ArrayList<>();
+        List<Object[]> added = new ArrayList<>();
+        for (Long contractId : contractIds) {
+            Set<Long> existing = current.getOrDefault(contractId, Set.of());
+            for (Long managerId : existing) {
+                if (!target.contains(managerId)) {
+                    removed.add(new Object[] {contractId, managerId});
+                }
+            }
+            for (Long managerId : target) {
+                if (!existing.contains(managerId)) {
+                    added.add(new Object[] {contractId, managerId});
+                }
+            }
+        }
+
+        if (!removed.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_SQL, removed);
+        }
+        if (!added.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, added);
+        }
+    }
+}
@@ -8,13 +8,13 @@ import org.springframework.stereotype.Service;
 import com.donatodev.bcm_backend.config.TenantContext;
 import com.donatodev.bcm_backend.dto.ContractHistoryDTO;
 import com.donatodev.bcm_backend.entity.ContractHistory;
-import com.donatodev.bcm_backend.entity.Users;
 import com.donatodev.bcm_backend.exception.AccessDeniedException;
 import com.donatodev.bcm_backend.exception.ContractHistoryNotFoundException;
 import com.donatodev.bcm_backend.exception.UserNotFoundException;
 import com.donatodev.bcm_backend.mapper.ContractHistoryMapper;
 import com.donatodev.bcm_backend.repository.ContractHistoryRepository;
 import com.donatodev.bcm_backend.repository.UsersRepository;
+import com.donatodev.bcm_backend.security.CurrentPrincipal;
 import com.donatodev.bcm_backend.util.AuthenticatedUserUtils;
 
 /**
@@ -25,9 +25,6 @@ import com.donatodev.bcm_backend.util.AuthenticatedUserUtils;
  */
 @Service
 public class ContractHistoryService {
-	
-	private static final String USER_NOT_FOUND_MSG = "Utente non trovato";
-	private static final String ADMIN_ROLE = "ADMIN"; 
 
 	private final ContractHistoryRepository historyRepository;
 	private final ContractHistoryMapper historyMapper;
@@ -52,11 +49,9 @@ public class ContractHistoryService {
 	 * @throws UserNotFoundException if the authenticated user cannot be found
 	 */
 	public List<ContractHistoryDTO> getAll() {
-		String username = AuthenticatedUserUtils.getUsernameOrNull();
-		Users user = usersRepository.findByUsername(username)
-				.orElseThrow(() -> new UserNotFoundException(USER_NOT_FOUND_MSG));
+		CurrentPrincipal user = CurrentPrincipal.currentOr(AuthenticatedUserUtils::getUsernameOrNull, usersRepository::findByUsername);
 
-		if (user.getRole().getRole().equals(ADMIN_ROLE)) {
+		if (user.isAdmin()) {
 			Long orgId = TenantContext.get();
 			List<ContractHistory> all = (orgId != null)
 					? historyRepository.findByContract_Organization_Id(orgId)
@@ -65,7 +60,7 @@ public class ContractHistoryService {
 					.map(historyMapper::toDTO)
 					.toList();
 		} else {
-			Long managerId = user.getManager().getId();
+			Long managerId = user.managerId();
 			return historyRepository.findByContractManagerId(managerId).stream()
 					.map(historyMapper::toDTO)
 					.toList();
@@ -86,12 +81,10 @@ public class ContractHistoryService {
 		ContractHistory history = findHistoryInScope(id)
 				.orElseThrow(() -> new ContractHistoryNotFoundException("Voce storico ID " + id + " non trovata"));
 
-		String username = AuthenticatedUserUtils.getUsernameOrNull();
-		Users user = usersRepository.findByUsername(username)
-				.orElseThrow(() -> new UserNotFoundException(USER_NOT_FOUND_MSG));
+		CurrentPrincipal user = CurrentPrincipal.currentOr(AuthenticatedUserUtils::getUsernameOrNull, usersRepository::findByUsername);
 
-		if (!user.getRole().getRole().equals(ADMIN_ROLE)) { 
-			Long managerId = user.getManager().getId();
+		if (!user.isAdmin()) { 
+			Long managerId = user.managerId();
 			if (!history.getContract().getManager().getId().equals(managerId)) {
 				throw new AccessDeniedException("non autorizzato a visualizzare questa voce dello storico");
 			}
@@ -110,21 +103,19 @@ public class ContractHistoryService {
 	 * @throws RuntimeException if access is denied
 	 */
 	public List<ContractHistoryDTO> getByContractId(Long contractId) {
-		String username = AuthenticatedUserUtils.getUsernameOrNull();
-		Users user = usersRepository.findByUsername(username)
-				.orElseThrow(() -> new UserNotFoundException(USER_NOT_FOUND_MSG));
+		CurrentPrincipal user = CurrentPrincipal.currentOr(AuthenticatedUserUtils::getUsernameOrNull, usersRepository::findByUsername);
 
 		Long orgId = TenantContext.get();
 		List<ContractHistory> all = (orgId != null)
 				? historyRepository.findByContractIdAndContract_Organization_Id(contractId, orgId)
 				: historyRepository.findByContractId(contractId);
 
-		if (user.getRole().getRole().equals(ADMIN_ROLE)) {
+		if (user.isAdmin()) {
 			return all.stream()
 					.map(historyMapper::toDTO)
 					.toList();
 		} else {
-			Long managerId = user.getManager().getId();
+			Long managerId = user.managerId();
 			boolean isOwner = all.stream()
 					.allMatch(h -> h.getContract().getManager().getId().equals(managerId));
 
@@ -172,4 +163,4 @@ public class ContractHistoryService {
 				? historyRepository.findByIdAndContract_Organization_Id(id, orgId)
 				: historyRepository.findById(id);
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,304 @@
+package com.donatodev.bcm_backend.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.donatodev.bcm_backend.config.TenantContext;
+import com.donatodev.bcm_backend.dto.ContractImportJobDTO;
+import com.donatodev.bcm_backend.dto.ContractImportResultDTO;
+import com.donatodev.bcm_backend.dto.ContractImportRowError;
+import com.donatodev.bcm_backend.entity.ContractImportJob;
+import com.donatodev.bcm_backend.entity.ContractImportJobError;
+import com.donatodev.bcm_backend.entity.ContractImportJobStatus;
+import com.donatodev.bcm_backend.exception.ContractImportBusyException;
+import com.donatodev.bcm_backend.exception.ContractImportJobNotFoundException;
+import com.donatodev.bcm_backend.repository.ContractImportJobErrorRepository;
+import com.donatodev.bcm_backend.repository.ContractImportJobRepository;
+import com.donatodev.bcm_backend.security.CurrentPrincipal;
+
+/**
+ * Runs Excel contract imports in the background. The upload is spooled and hashed
+ * on the request thread, recorded as a {@link ContractImportJob} and handed to the
+ * bounded {@code contractImportExecutor}; the client polls the job for progress and
+ * downloads the rejected rows as a CSV report once it is done.
+ * <p>
+ * Submitting a file the organization already imported, or is importing, returns
+ * that job instead of starting another one. Failed jobs do not count, so a file
+ * can be resubmitted after a failure.
+ * <p>
+ * Each job records the instance running it ({@code contract-import.instance-id},
+ * the host name by default), so that on startup an instance only fails the jobs it
+ * was itself running when it stopped.
+ */
+@Service
+public class ContractImportJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContractImportJobService.class);
+
+    private static final String CRLF_REGEX = "[\r\n]";
+
+    private static final int MAX_MESSAGE_LENGTH = 500;
+
+    private static final String INSERT_ERROR_SQL =
+            "INSERT INTO contract_import_job_errors (job_id, excel_row, message) VALUES (?, ?, ?)";
+
+    private static final List<ContractImportJobStatus> REUSABLE_STATUSES = List.of(
+            ContractImportJobStatus.QUEUED, ContractImportJobStatus.RUNNING, ContractImportJobStatus.COMPLETED);
+
+    private static final List<ContractImportJobStatus> UNFINISHED_STATUSES = List.of(
+            ContractImportJobStatus.QUEUED, ContractImportJobStatus.RUNNING);
+
+    private final ContractImportJobRepository jobRepository;
+    private final ContractImportJobErrorRepository errorRepository;
+    private final ContractImportService importService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor executor;
+    private final String instanceId;
+
+    public ContractImportJobService(ContractImportJobRepository jobRepository,
+                                    ContractImportJobErrorRepository errorRepository,
+                                    ContractImportService importService,
+                                    JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager,
+                                    @Qualifier("contractImportExecutor") Executor executor,
+                                    @Value("${contract-import.instance-id:}") String instanceId) {
+        this.jobRepository = jobRepository;
+        this.errorRepository = errorRepository;
+        this.importService = importService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = executor;
+        this.instanceId = instanceId == null || instanceId.isBlank() ? localHostName() : instanceId;
+    }
+
+    /**
+     * Queues an import of {@code file} into the current tenant.
+     *
+     * @return the new job, or the existing job for the same file
+     * @throws IllegalArgumentException    if the file is not an .xlsx file
+     * @throws ContractImportBusyException if the import queue is full
+     */
+    public ContractImportJobDTO submit(MultipartFile file) throws IOException {
+        ContractImportService.checkFileName(file.getOriginalFilename());
+        Long orgId = TenantContext.get();
+        String submittedBy = CurrentPrincipal.current().map(CurrentPrincipal::username).orElse(null);
+
+        Path spooled = Files.createTempFile("contract-import-", ".xlsx");
+        boolean handedOff = false;
+        try {
+            String fileHash = spool(file, spooled);
+            ContractImportJob job;
+            // Serializes the lookup and the insert, so two identical uploads racing
+            // on this instance still end up with a single job
+            synchronized (this) {
+                List<ContractImportJob> existing = jobRepository.findByFile(
+                        orgId, fileHash, REUSABLE_STATUSES, Limit.of(1));
+                if (!existing.isEmpty()) {
+                    return toDto(existing.get(0));
+                }
+                job = jobRepository.save(ContractImportJob.builder()
+                        .orgId(orgId)
+                        .fileName(file.getOriginalFilename())
+                        .fileHash(fileHash)
+                        .status(ContractImportJobStatus.QUEUED)
+                        .submittedBy(submittedBy)
+                        .instanceId(instanceId)
+                        .build());
+            }
+
+            Long jobId = job.getId();
+            try {
+                executor.execute(() -> run(jobId, orgId, submittedBy, spooled));
+            } catch (RejectedExecutionException e) {
+                jobRepository.deleteById(jobId);
+                throw new ContractImportBusyException();
+            }
+            handedOff = true;
+            return toDto(job);
+        } finally {
+            if (!handedOff) {
+                Files.deleteIfExists(spooled);
+            }
+        }
+    }
+
+    /**
+     * Returns a job of the current tenant.
+     *
+     * @throws ContractImportJobNotFoundException if there is no such job in the tenant
+     */
+    public ContractImportJobDTO getJob(Long id) {
+        return toDto(findJob(id));
+    }
+
+    /**
+     * Builds the error report of a job of the current tenant: a semicolon-separated
+     * CSV (as Excel expects in Italian locales) of the rejected rows, in row order.
+     * A running job reports the rows rejected so far.
+     *
+     * @throws ContractImportJobNotFoundException if there is no such job in the tenant
+     */
+    public byte[] errorReport(Long id) {
+        ContractImportJob job = findJob(id);
+        StringBuilder csv = new StringBuilder("\uFEFFRiga;Errore\r\n");
+        for (ContractImportJobError error : errorRepository.findByJobIdOrderByExcelRowAsc(job.getId())) {
+            csv.append(error.getExcelRow()).append(';').append(csvField(error.getMessage())).append("\r\n");
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Fails the jobs a previous run of this instance left queued or running: their
+     * spooled files were temporary and their workers are gone. Without this they
+     * would stay unfinished, and block resubmission of the same file, forever.
+     * Jobs of other instances are left alone, since those may still be running.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void failInterruptedJobs() {
+        Integer failed = transactionTemplate.execute(status -> jobRepository.failAllIn(instanceId, UNFINISHED_STATUSES,
+                "Importazione interrotta dal riavvio del server: ricaricare il file", Instant.now()));
+        if (failed != null && failed > 0) {
+            logger.warn("Marked {} interrupted contract import jobs as failed", failed);
+        }
+    }
+
+    /** Worker body: imports the spooled file, recording progress after every chunk. */
+    void run(Long jobId, Long orgId, String submittedBy, Path file) {
+        try {
+            updateJob(jobId, job -> {
+                job.setStatus(ContractImportJobStatus.RUNNING);
+                job.setStartedAt(Instant.now());
+            });
+            ContractImportResultDTO result = importService.importFile(file, orgId, submittedBy,
+                    (rowsRead, created, failed, chunkErrors) -> recordProgress(jobId, rowsRead, created, failed, chunkErrors));
+            updateJob(jobId, job -> {
+                job.setStatus(ContractImportJobStatus.COMPLETED);
+                job.setRowsRead(result.totalRows());
+                job.setRowsCreated(result.importedCount());
+                job.setRowsFailed(result.errorCount());
+                job.setFinishedAt(Instant.now());
+            });
+            logger.info("Contract import job {} completed: {} rows, {} imported, {} rejected",
+                    jobId, result.totalRows(), result.importedCount(), result.errorCount());
+        } catch (IllegalArgumentException e) {
+            fail(jobId, e.getMessage());
+        } catch (IOException | RuntimeException e) {
+            String safeMessage = String.valueOf(e.getMessage()).replaceAll(CRLF_REGEX, "_");
+            logger.error("Contract import job {} failed: {}", jobId, safeMessage);
+            fail(jobId, "Importazione non riuscita: errore durante la lettura o il salvataggio del file");
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                logger.warn("Could not delete spooled import file of job {}", jobId);
+            }
+        }
+    }
+
+    private void recordProgress(Long jobId, int rowsRead, int created, int failed,
+                                List<ContractImportRowError> chunkErrors) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!chunkErrors.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_ERROR_SQL, chunkErrors.stream()
+                        .map(error -> new Object[] {jobId, error.rowNumber(), truncate(error.message())})
+                        .toList());
+            }
+            jobRepository.findById(jobId).ifPresent(job -> {
+                job.setRowsRead(rowsRead);
+                job.setRowsCreated(created);
+                job.setRowsFailed(failed);
+            });
+        });
+    }
+
+    private void fail(Long jobId, String message) {
+        updateJob(jobId, job -> {
+            job.setStatus(ContractImportJobStatus.FAILED);
+            job.setFailureMessage(truncate(message));
+            job.setFinishedAt(Instant.now());
+        });
+    }
+
+    private void updateJob(Long jobId, Consumer<ContractImportJob> change) {
+        transactionTemplate.executeWithoutResult(status -> jobRepository.findById(jobId).ifPresent(change));
+    }
+
+    private ContractImportJob findJob(Long id) {
+        Long orgId = TenantContext.get();
+        return jobRepository.findById(id)
+                .filter(job -> orgId == null || orgId.equals(job.getOrgId()))
+                .orElseThrow(() -> new ContractImportJobNotFoundException("Importazione non trovata con ID: " + id));
+    }
+
+    private static String localHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            logger.warn("Could not resolve the host name; set contract-import.instance-id to tell instances apart");
+            return "local";
+        }
+    }
+
+    /** Copies the upload to {@code target} and returns its hex SHA-256. */
+    private static String spool(MultipartFile file, Path target) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+            Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return "";
+        }
+        return message.length() <= MAX_MESSAGE_LENGTH ? message : message.substring(0, MAX_MESSAGE_LENGTH);
+    }
+
+    private static String csvField(String value) {
+        if (value.contains(";") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    private static ContractImportJobDTO toDto(ContractImportJob job) {
+        return new ContractImportJobDTO(job.getId(), job.getFileName(), job.getStatus(),
+                job.getRowsRead(), job.getRowsCreated(), job.getRowsFailed(), job.getFailureMessage(),
+                job.getCreatedAt(), job.getStartedAt(), job.getFinishedAt());
+    }
+}
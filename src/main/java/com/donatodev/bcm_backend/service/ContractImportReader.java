@@ -0,0 +1,223 @@
+package com.donatodev.bcm_backend.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.exceptions.InvalidOperationException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Reads the first sheet of an .xlsx file row by row with POI's event model (SAX over
+ * the sheet XML), so memory does not grow with the number of rows: only the shared
+ * strings table and the current row are held. Cells are handed over as strings,
+ * stringified the way the usermodel import did it: trimmed text, {@code "true"}/
+ * {@code "false"} for booleans, the formula text for formulas, ISO dates for
+ * date-formatted numbers, {@link String#valueOf(double)} for other numbers and
+ * null for blank and error cells.
+ */
+final class ContractImportReader {
+
+    private ContractImportReader() {
+    }
+
+    /**
+     * A sheet row as read from the file.
+     *
+     * @param rowNumber the 1-based Excel row number
+     * @param cells     the first columns of the row, null where blank
+     */
+    record SheetRow(int rowNumber, List<String> cells) {
+
+        String cell(int idx) {
+            return idx < cells.size() ? cells.get(idx) : null;
+        }
+
+        boolean isBlank() {
+            return cells.stream().allMatch(value -> value == null || value.isBlank());
+        }
+    }
+
+    /** Receives the rows of the sheet, in file order. */
+    @FunctionalInterface
+    interface RowHandler {
+
+        void row(SheetRow row);
+    }
+
+    /**
+     * Streams the rows of the first sheet of {@code file} to {@code handler},
+     * header included.
+     *
+     * @param columns number of leading columns to keep per row
+     * @throws IllegalArgumentException if the file is not a valid .xlsx or has no sheets
+     */
+    static void read(Path file, int columns, RowHandler handler) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(file.toFile(), PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(pkg);
+            StylesTable styles = reader.getStylesTable();
+
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                throw new IllegalArgumentException("Il file non contiene nessun foglio");
+            }
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new SheetHandler(sharedStrings, styles, columns, handler));
+                parser.parse(new InputSource(sheet));
+            }
+        } catch (InvalidFormatException | InvalidOperationException e) {
+            throw new IllegalArgumentException("File Excel non valido", e);
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("Lettura del file Excel non riuscita", e);
+        }
+    }
+
+    /** SAX handler for one worksheet part ({@code <sheetData><row><c>...}). */
+    private static final class SheetHandler extends DefaultHandler {
+
+        private final ReadOnlySharedStringsTable sharedStrings;
+        private final StylesTable styles;
+        private final int columns;
+        private final RowHandler handler;
+        private final Map<Integer, Boolean> dateStyles = new HashMap<>();
+
+        private final StringBuilder text = new StringBuilder();
+        private boolean capturing;
+
+        private int rowNumber;
+        private String[] cells;
+        private int column;
+        private String type;
+        private String style;
+        private String value;
+        private String formula;
+        private String inlineText;
+
+        SheetHandler(ReadOnlySharedStringsTable sharedStrings, StylesTable styles, int columns,
+                RowHandler handler) {
+            this.sharedStrings = sharedStrings;
+            this.styles = styles;
+            this.columns = columns;
+            this.handler = handler;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "row" -> {
+                    String r = attributes.getValue("r");
+                    rowNumber = (r != null) ? Integer.parseInt(r) : rowNumber + 1;
+                    cells = new String[columns];
+                    column = -1;
+                }
+                case "c" -> {
+                    String r = attributes.getValue("r");
+                    column = (r != null) ? new CellReference(r).getCol() : column + 1;
+                    type = attributes.getValue("t");
+                    style = attributes.getValue("s");
+                    value = null;
+                    formula = null;
+                    inlineText = null;
+                }
+                case "v", "f", "t" -> {
+                    text.setLength(0);
+                    capturing = true;
+                }
+                default -> {
+                    // Other elements carry nothing the import reads
+                }
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (capturing) {
+                text.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            switch (localName) {
+                case "v" -> value = captured();
+                case "f" -> formula = captured();
+                // <t> inside <is>, possibly split in rich-text runs
+                case "t" -> inlineText = (inlineText == null) ? captured() : inlineText + captured();
+                case "c" -> {
+                    if (column >= 0 && column < columns) {
+                        cells[column] = cellValue();
+                    }
+                }
+                case "row" -> handler.row(new SheetRow(rowNumber, Arrays.asList(cells)));
+                default -> {
+                    // Nothing to collect
+                }
+            }
+        }
+
+        private String captured() {
+            capturing = false;
+            return text.toString();
+        }
+
+        private String cellValue() {
+            if (formula != null && !formula.isEmpty()) {
+                return formula;
+            }
+            if ("inlineStr".equals(type)) {
+                return (inlineText != null) ? inlineText.trim() : null;
+            }
+            if (value == null || value.isEmpty()) {
+                return null;
+            }
+            return switch (type == null ? "n" : type) {
+                case "s" -> sharedStrings.getItemAt(Integer.parseInt(value)).getString().trim();
+                case "str" -> value.trim();
+                case "b" -> String.valueOf("1".equals(value));
+                case "e" -> null;
+                default -> numericValue(Double.parseDouble(value));
+            };
+        }
+
+        private String numericValue(double number) {
+            if (style != null && isDateStyle(Integer.parseInt(style)) && DateUtil.isValidExcelDate(number)) {
+                return DateUtil.getLocalDateTime(number).toLocalDate().toString();
+            }
+            return String.valueOf(number);
+        }
+
+        private boolean isDateStyle(int styleIndex) {
+            return dateStyles.computeIfAbsent(styleIndex, idx -> {
+                if (styles == null || idx >= styles.getNumCellStyles()) {
+                    return false;
+                }
+                XSSFCellStyle cellStyle = styles.getStyleAt(idx);
+                return DateUtil.isADateFormat(cellStyle.getDataFormat(), cellStyle.getDataFormatString());
+            });
+        }
+    }
+}
@@ -2,30 +2,40 @@ package com.donatodev.bcm_backend.service;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.text.Normalizer;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
 
 import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.CellType;
-import org.apache.poi.ss.usermodel.DateUtil;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.ss.usermodel.WorkbookFactory;
 import org.apache.poi.ss.usermodel.BorderStyle;
 import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.FillPatternType;
 import org.apache.poi.ss.usermodel.IndexedColors;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
 
 import com.donatodev.bcm_backend.config.TenantContext;
 import com.donatodev.bcm_backend.dto.ContractDTO;
@@ -38,18 +48,21 @@ import com.donatodev.bcm_backend.exception.ContractImportRowException;
 import com.donatodev.bcm_backend.repository.BusinessAreasRepository;
 import com.donatodev.bcm_backend.repository.ContractsRepository;
 import com.donatodev.bcm_backend.repository.ManagersRepository;
+import com.donatodev.bcm_backend.service.ContractImportReader.SheetRow;
 
 /**
- * Bulk-imports contracts from an uploaded .xlsx spreadsheet. Each row is
- * validated and saved independently: a typo in one row does not block the
- * rest of the file. Column layout matches {@link ExportService}'s Excel
- * export, so a file round-tripped through export/edit/import needs no
- * reshaping.
+ * Bulk-imports contracts from an uploaded .xlsx spreadsheet of any length. Each
+ * row is validated independently: a typo in one row does not block the rest of
+ * the file. Valid rows are saved in chunks. Column layout matches
+ * {@link ExportService}'s Excel export, so a file round-tripped through
+ * export/edit/import needs no reshaping.
  */
 @Service
 public class ContractImportService {
 
-    private static final int MAX_DATA_ROWS = 5000;
+    private static final Logger logger = LoggerFactory.getLogger(ContractImportService.class);
+
+    private static final String CRLF_REGEX = "[\r\n]";
 
     private static final int COL_CONTRACT_NUMBER = 0;
     private static final int COL_CUSTOMER = 1;
@@ -65,79 +78,85 @@ public class ContractImportService {
         "Start Date", "End Date", "Manager", "Business Area"
     };
 
+    /** Rows validated per task on the validation pool. */
+    private static final int VALIDATION_BATCH_SIZE = 256;
+
     private static final DateTimeFormatter IT_DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
 
     private final ContractsRepository contractsRepository;
     private final BusinessAreasRepository businessAreasRepository;
     private final ManagersRepository managersRepository;
-    private final ContractService contractService;
+    private final ContractImportWriter importWriter;
+    private final ForkJoinPool validationPool;
+    private final int chunkSize;
 
     public ContractImportService(
             ContractsRepository contractsRepository,
             BusinessAreasRepository businessAreasRepository,
             ManagersRepository managersRepository,
-            ContractService contractService) {
+            ContractImportWriter importWriter,
+            @Qualifier("contractImportValidationPool") ForkJoinPool validationPool,
+            @Value("${contract-import.chunk-size:500}") int chunkSize) {
         this.contractsRepository = contractsRepository;
         this.businessAreasRepository = businessAreasRepository;
         this.managersRepository = managersRepository;
-        this.contractService = contractService;
+        this.importWriter = importWriter;
+        this.validationPool = validationPool;
+        this.chunkSize = chunkSize;
     }
 
     /**
-     * Imports contracts from an uploaded .xlsx file. Row 1 is treated as the
-     * header and skipped; every subsequent non-blank row is validated and,
-     * if valid, saved via {@link ContractService#createContract}.
+     * Imports contracts from an .xlsx file on disk into organization
+     * {@code orgId}. Row 1 is treated as the header and skipped; every
+     * subsequent non-blank row is validated and, if valid, saved.
+     * <p>
+     * The import is a three-stage pipeline. The file is read with
+     * {@link ContractImportReader}, one row at a time, so its size is not
+     * bounded by the heap. Rows are validated in batches on the
+     * {@code contractImportValidationPool}, in parallel, against hash indexes
+     * of the tenant's areas and managers. The results are handed back in file
+     * order and written in chunks of {@code contract-import.chunk-size}: one
+     * query checks the chunk's contract numbers and {@link ContractImportWriter}
+     * inserts its valid rows in one batch and transaction.
+     * <p>
+     * Does not read {@link TenantContext}, so it can run off the request thread.
      *
-     * @param file the uploaded spreadsheet
-     * @return a per-row report of what was imported and what was rejected
+     * @param file     the spreadsheet
+     * @param orgId    the organization to import into, or null for none
+     * @param username who requested the import, recorded in the audit log
+     * @param listener notified after every chunk, with that chunk's rejected rows
+     * @return the totals of the import; rejected rows are reported only to {@code listener}
      */
-    public ContractImportResultDTO importFromExcel(MultipartFile file) throws IOException {
-        String filename = file.getOriginalFilename();
-        if (filename == null || !filename.toLowerCase(Locale.ROOT).endsWith(".xlsx")) {
-            throw new IllegalArgumentException("Sono supportati solo file .xlsx");
-        }
-
-        Long orgId = TenantContext.get();
+    public ContractImportResultDTO importFile(Path file, Long orgId, String username, ProgressListener listener)
+            throws IOException {
         List<BusinessAreas> areas = (orgId != null)
                 ? businessAreasRepository.findAllByOrganizationId(orgId)
                 : businessAreasRepository.findAll();
         List<Managers> managers = (orgId != null)
                 ? managersRepository.findAllByOrganizationId(orgId)
                 : managersRepository.findAll();
+        ReferenceIndex references = new ReferenceIndex(areas, managers);
 
-        try (Workbook workbook = WorkbookFactory.create(file.getInputStream())) {
-            if (workbook.getNumberOfSheets() == 0) {
-                throw new IllegalArgumentException("Il file non contiene nessun foglio");
-            }
-            Sheet sheet = workbook.getSheetAt(0);
-            int lastRowNum = sheet.getLastRowNum();
-            if (lastRowNum > MAX_DATA_ROWS) {
-                throw new IllegalArgumentException(
-                        "Il file supera il limite massimo di " + MAX_DATA_ROWS + " righe");
-            }
-
-            Set<String> seenContractNumbers = new HashSet<>();
-            List<ContractImportRowError> errors = new ArrayList<>();
-            int totalRows = 0;
-            int imported = 0;
-
-            for (int rowIdx = 1; rowIdx <= lastRowNum; rowIdx++) {
-                Row row = sheet.getRow(rowIdx);
-                if (isRowBlank(row)) {
-                    continue;
-                }
-                totalRows++;
-                int excelRowNumber = rowIdx + 1;
-                try {
-                    ContractDTO dto = parseRow(row, areas, managers, seenContractNumbers);
-                    contractService.createContract(dto);
-                    imported++;
-                } catch (ContractImportRowException e) {
-                    errors.add(new ContractImportRowError(excelRowNumber, e.getMessage()));
-                }
+        ImportRun run = new ImportRun(orgId, username, listener);
+        ValidationStage validation = new ValidationStage(references, run);
+        ContractImportReader.read(file, HEADERS.length, row -> {
+            if (row.rowNumber() == 1 || row.isBlank()) {
+                return;
             }
+            validation.submit(row);
+        });
+        validation.drain();
+        return run.finish();
+    }
 
-            return new ContractImportResultDTO(totalRows, imported, errors.size(), errors);
+    /**
+     * Rejects uploads that are not .xlsx files, before anything is read.
+     *
+     * @throws IllegalArgumentException if {@code filename} is null or not an .xlsx name
+     */
+    static void checkFileName(String filename) {
+        if (filename == null || !filename.toLowerCase(Locale.ROOT).endsWith(".xlsx")) {
+            throw new IllegalArgumentException("Sono supportati solo file .xlsx");
         }
     }
 
@@ -198,72 +217,46 @@ public class ContractImportService {
         }
     }
 
-    private ContractDTO parseRow(Row row, List<BusinessAreas> areas, List<Managers> managers,
-            Set<String> seenContractNumbers) {
+    /**
+     * Validates one row without touching the database. Thread-safe: it only
+     * reads {@code references} and immutable formatters. Contract number
+     * uniqueness is checked later, per chunk, by {@link ImportRun}.
+     */
+    private ParsedRow validate(SheetRow row, ReferenceIndex references) {
+        try {
+            return ParsedRow.valid(row.rowNumber(), parseRow(row, references));
+        } catch (ContractImportRowException e) {
+            return ParsedRow.rejected(row.rowNumber(), e.getMessage());
+        }
+    }
+
+    private ContractDTO parseRow(SheetRow row, ReferenceIndex references) {
         String contractNumber = getRequiredString(row, COL_CONTRACT_NUMBER, "Numero contratto");
         String customerName = getRequiredString(row, COL_CUSTOMER, "Cliente");
         String projectName = getOptionalString(row, COL_PROJECT);
         ContractStatus status = parseStatus(getOptionalString(row, COL_STATUS));
-        LocalDate startDate = parseDateCell(getCell(row, COL_START_DATE), "Data inizio");
-        LocalDate endDate = parseDateCell(getCell(row, COL_END_DATE), "Data fine");
-        Long areaId = resolveArea(getOptionalString(row, COL_AREA), areas);
-        Long managerId = resolveManager(getOptionalString(row, COL_MANAGER), managers);
-
-        if (!seenContractNumbers.add(contractNumber) || contractsRepository.existsByContractNumber(contractNumber)) {
-            throw new ContractImportRowException("Numero contratto gia' esistente: " + contractNumber);
-        }
+        LocalDate startDate = parseDate(getOptionalString(row, COL_START_DATE), "Data inizio");
+        LocalDate endDate = parseDate(getOptionalString(row, COL_END_DATE), "Data fine");
+        Long areaId = references.area(getOptionalString(row, COL_AREA));
+        Long managerId = references.manager(getOptionalString(row, COL_MANAGER));
 
         return new ContractDTO(null, customerName, contractNumber, null, projectName, status,
                 startDate, endDate, areaId, managerId, null, null, null, null);
     }
 
-    private boolean isRowBlank(Row row) {
-        if (row == null) {
-            return true;
-        }
-        for (int i = 0; i < HEADERS.length; i++) {
-            String value = cellToString(getCell(row, i));
-            if (value != null && !value.isBlank()) {
-                return false;
-            }
-        }
-        return true;
-    }
-
-    // row is always non-null here: every caller reaches this only after
-    // isRowBlank(row) has already returned false, which itself rejects null rows.
-    private Cell getCell(Row row, int idx) {
-        return row.getCell(idx);
-    }
-
-    private String getRequiredString(Row row, int idx, String fieldName) {
-        String value = cellToString(getCell(row, idx));
-        if (value == null || value.isBlank()) {
+    private String getRequiredString(SheetRow row, int idx, String fieldName) {
+        String value = getOptionalString(row, idx);
+        if (value == null) {
             throw new ContractImportRowException(fieldName + " mancante");
         }
         return value;
     }
 
-    private String getOptionalString(Row row, int idx) {
-        String value = cellToString(getCell(row, idx));
+    private String getOptionalString(SheetRow row, int idx) {
+        String value = row.cell(idx);
         return (value == null || value.isBlank()) ? null : value;
     }
 
-    private String cellToString(Cell cell) {
-        if (cell == null || cell.getCellType() == CellType.BLANK) {
-            return null;
-        }
-        return switch (cell.getCellType()) {
-            case STRING -> cell.getStringCellValue().trim();
-            case NUMERIC -> DateUtil.isCellDateFormatted(cell)
-                    ? cell.getLocalDateTimeCellValue().toLocalDate().toString()
-                    : String.valueOf(cell.getNumericCellValue());
-            case BOOLEAN -> String.valueOf(cell.getBooleanCellValue());
-            case FORMULA -> cell.getCellFormula();
-            default -> null;
-        };
-    }
-
     private ContractStatus parseStatus(String raw) {
         if (raw == null) {
             return ContractStatus.ACTIVE;
@@ -276,15 +269,12 @@ public class ContractImportService {
         }
     }
 
-    private LocalDate parseDateCell(Cell cell, String fieldName) {
-        if (cell == null || cell.getCellType() == CellType.BLANK) {
-            throw new ContractImportRowException(fieldName + " mancante");
-        }
-        if (cell.getCellType() == CellType.NUMERIC && DateUtil.isCellDateFormatted(cell)) {
-            return cell.getLocalDateTimeCellValue().toLocalDate();
-        }
-        String raw = cellToString(cell);
-        if (raw == null || raw.isBlank()) {
+    /**
+     * Parses a date column. Date-formatted cells already arrive as ISO dates
+     * from {@link ContractImportReader}; text cells may use either format.
+     */
+    private LocalDate parseDate(String raw, String fieldName) {
+        if (raw == null) {
             throw new ContractImportRowException(fieldName + " mancante");
         }
         try {
@@ -299,46 +289,238 @@ public class ContractImportService {
         }
     }
 
-    private Long resolveArea(String name, List<BusinessAreas> areas) {
-        if (name == null) {
-            throw new ContractImportRowException("Area aziendale mancante");
+    /**
+     * Case-insensitive comparison key: Unicode-normalizes before
+     * upper-casing with a fixed locale, avoiding the ambiguity of
+     * {@code equalsIgnoreCase}/locale-default case folding.
+     */
+    private static String foldCase(String value) {
+        return Normalizer.normalize(value, Normalizer.Form.NFC).toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * The tenant's areas (by name) and managers (by full name or email), keyed by
+     * {@link #foldCase}. Each candidate is folded once, when the index is built;
+     * on clashing keys the first area or manager in roster order wins, as the
+     * former linear scan did.
+     */
+    private static final class ReferenceIndex {
+
+        private final Map<String, Long> areas = new HashMap<>();
+        private final Map<String, Long> managers = new HashMap<>();
+
+        ReferenceIndex(List<BusinessAreas> areaRoster, List<Managers> managerRoster) {
+            for (BusinessAreas a : areaRoster) {
+                if (a.getName() != null) {
+                    areas.putIfAbsent(foldCase(a.getName()), a.getId());
+                }
+            }
+            for (Managers m : managerRoster) {
+                managers.putIfAbsent(foldCase(m.getFirstName() + " " + m.getLastName()), m.getId());
+                if (m.getEmail() != null) {
+                    managers.putIfAbsent(foldCase(m.getEmail()), m.getId());
+                }
+            }
+        }
+
+        Long area(String name) {
+            if (name == null) {
+                throw new ContractImportRowException("Area aziendale mancante");
+            }
+            Long id = areas.get(foldCase(name));
+            if (id == null) {
+                throw new ContractImportRowException("Area aziendale non trovata: \"" + name + "\"");
+            }
+            return id;
         }
-        String needle = foldCase(name);
-        for (BusinessAreas a : areas) {
-            if (a.getName() != null && foldCase(a.getName()).equals(needle)) {
-                return a.getId();
+
+        Long manager(String value) {
+            if (value == null) {
+                return null;
+            }
+            Long id = managers.get(foldCase(value));
+            if (id == null) {
+                throw new ContractImportRowException("Manager non trovato: \"" + value + "\"");
             }
+            return id;
         }
-        throw new ContractImportRowException("Area aziendale non trovata: \"" + name + "\"");
     }
 
-    private Long resolveManager(String value, List<Managers> managers) {
-        if (value == null) {
-            return null;
+    /**
+     * Receives the progress of an import after every chunk: running totals and
+     * the errors of that chunk, in row order.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+
+        ProgressListener NONE = (rowsRead, created, failed, chunkErrors) -> { };
+
+        void chunkDone(int rowsRead, int created, int failed, List<ContractImportRowError> chunkErrors);
+    }
+
+    /** A validated row: either a contract to insert or the reason it was rejected. */
+    private record ParsedRow(int rowNumber, ContractDTO contract, String error) {
+
+        static ParsedRow valid(int rowNumber, ContractDTO contract) {
+            return new ParsedRow(rowNumber, contract, null);
         }
-        String needle = foldCase(value);
-        for (Managers m : managers) {
-            if (matchesManager(m, needle)) {
-                return m.getId();
-            }
+
+        static ParsedRow rejected(int rowNumber, String error) {
+            return new ParsedRow(rowNumber, null, error);
         }
-        throw new ContractImportRowException("Manager non trovato: \"" + value + "\"");
     }
 
-    private boolean matchesManager(Managers m, String needle) {
-        String fullName = foldCase(m.getFirstName() + " " + m.getLastName());
-        if (fullName.equals(needle)) {
-            return true;
+    /**
+     * The validation stage between the reader and {@link ImportRun}. Rows are
+     * validated in batches on the validation pool and handed to the run in file
+     * order, so the in-file duplicate check and the error report see rows in the
+     * same order as a sequential import would. At most two batches per pool
+     * thread are in flight: when the writer falls behind, the reader waits for
+     * the oldest batch instead of queueing more.
+     */
+    private final class ValidationStage {
+
+        private final ReferenceIndex references;
+        private final ImportRun run;
+        private final int maxInFlight = 2 * validationPool.getParallelism();
+        private final Deque<CompletableFuture<List<ParsedRow>>> inFlight = new ArrayDeque<>();
+        private List<SheetRow> batch = new ArrayList<>(VALIDATION_BATCH_SIZE);
+
+        ValidationStage(ReferenceIndex references, ImportRun run) {
+            this.references = references;
+            this.run = run;
+        }
+
+        void submit(SheetRow row) {
+            batch.add(row);
+            if (batch.size() >= VALIDATION_BATCH_SIZE) {
+                submitBatch();
+            }
+        }
+
+        /** Validates and hands over whatever is still pending. */
+        void drain() {
+            submitBatch();
+            while (!inFlight.isEmpty()) {
+                handOverOldest();
+            }
+        }
+
+        private void submitBatch() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<SheetRow> rows = batch;
+            batch = new ArrayList<>(VALIDATION_BATCH_SIZE);
+            inFlight.addLast(CompletableFuture.supplyAsync(
+                    () -> rows.stream().map(row -> validate(row, references)).toList(), validationPool));
+            if (inFlight.size() > maxInFlight) {
+                handOverOldest();
+            }
+        }
+
+        private void handOverOldest() {
+            List<ParsedRow> validated;
+            try {
+                validated = inFlight.removeFirst().join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+            validated.forEach(run::accept);
         }
-        return m.getEmail() != null && foldCase(m.getEmail()).equals(needle);
     }
 
     /**
-     * Case-insensitive comparison key: Unicode-normalizes before
-     * upper-casing with a fixed locale, avoiding the ambiguity of
-     * {@code equalsIgnoreCase}/locale-default case folding.
+     * State of one import: collects validated rows into chunks, checks each chunk's
+     * contract numbers against the file so far and the database, inserts the rest,
+     * and keeps the running totals. Each chunk's errors are handed to the listener in
+     * row order and not kept afterwards, so memory does not grow with the rejected rows.
      */
-    private String foldCase(String value) {
-        return Normalizer.normalize(value, Normalizer.Form.NFC).toUpperCase(Locale.ROOT);
+    private final class ImportRun {
+
+        private final Long orgId;
+        private final String username;
+        private final ProgressListener listener;
+        private final Set<String> seenContractNumbers = new HashSet<>();
+        private List<ParsedRow> chunk = new ArrayList<>();
+        private int totalRows;
+        private int imported;
+        private int failed;
+
+        ImportRun(Long orgId, String username, ProgressListener listener) {
+            this.orgId = orgId;
+            this.username = username;
+            this.listener = listener;
+        }
+
+        void accept(ParsedRow row) {
+            totalRows++;
+            chunk.add(row);
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        ContractImportResultDTO finish() {
+            flush();
+            return new ContractImportResultDTO(totalRows, imported, failed);
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            List<ParsedRow> rows = chunk;
+            chunk = new ArrayList<>();
+
+            List<ParsedRow> candidates = new ArrayList<>();
+            List<ContractImportRowError> chunkErrors = new ArrayList<>();
+            for (ParsedRow row : rows) {
+                if (row.error() != null) {
+                    chunkErrors.add(new ContractImportRowError(row.rowNumber(), row.error()));
+                } else if (!seenContractNumbers.add(row.contract().contractNumber())) {
+                    chunkErrors.add(duplicate(row));
+                } else {
+                    candidates.add(row);
+                }
+            }
+
+            Set<String> existing = candidates.isEmpty() ? Set.of()
+                    : contractsRepository.findExistingContractNumbers(orgId,
+                            candidates.stream().map(row -> row.contract().contractNumber()).toList());
+            List<ParsedRow> toInsert = new ArrayList<>(candidates.size());
+            for (ParsedRow row : candidates) {
+                if (existing.contains(row.contract().contractNumber())) {
+                    chunkErrors.add(duplicate(row));
+                } else {
+                    toInsert.add(row);
+                }
+            }
+
+            if (!toInsert.isEmpty()) {
+                try {
+                    importWriter.insert(orgId, username, toInsert.stream().map(ParsedRow::contract).toList());
+                    imported += toInsert.size();
+                } catch (DataAccessException e) {
+                    String safeMessage = String.valueOf(e.getMessage()).replaceAll(CRLF_REGEX, "_");
+                    logger.error("Contract import chunk of {} rows (from row {}) failed: {}", toInsert.size(),
+                            toInsert.get(0).rowNumber(), safeMessage);
+                    toInsert.forEach(row -> chunkErrors.add(new ContractImportRowError(row.rowNumber(),
+                            "Salvataggio non riuscito: verificare che il numero contratto non sia gia' in uso")));
+                }
+            }
+
+            chunkErrors.sort(Comparator.comparingInt(ContractImportRowError::rowNumber));
+            failed += chunkErrors.size();
+            listener.chunkDone(totalRows, imported, failed, chunkErrors);
+        }
+
+        private ContractImportRowError duplicate(ParsedRow row) {
+            return new ContractImportRowError(row.rowNumber(),
+                    "Numero contratto gia' esistente: " + row.contract().contractNumber());
+        }
     }
 }
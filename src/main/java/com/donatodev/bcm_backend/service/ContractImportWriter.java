@@ -0,0 +1,111 @@
+package com.donatodev.bcm_backend.service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.donatodev.bcm_backend.dto.ContractDTO;
+import com.donatodev.bcm_backend.entity.ContractChangeType;
+import com.donatodev.bcm_backend.entity.ContractStatus;
+import com.donatodev.bcm_backend.entity.WorkflowStage;
+
+/**
+ * Inserts a chunk of validated import rows as one JDBC batch, in one transaction,
+ * instead of one {@link ContractService#createContract} (and its own save and
+ * bookkeeping) per row. Stats counters, the analytics cache and the change log are
+ * updated once per chunk, with the same effect as the single-contract path, and
+ * each contract gets the CREATE audit entry {@code AuditAspect} would have written.
+ * <p>
+ * Rows must already be validated: areas and managers resolved within the tenant,
+ * contract numbers checked for duplicates.
+ */
+@Component
+public class ContractImportWriter {
+
+    private static final String INSERT_SQL = """
+        INSERT INTO contracts (customer_name, contract_number, wbs_code, project_name, area_id, manager_id,
+                               start_date, end_date, status, created_at, organization_id, workflow_stage, version)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ContractStatsService contractStatsService;
+    private final ContractAnalyticsCache analyticsCache;
+    private final ContractChangeLog changeLog;
+    private final AuditLogService auditLogService;
+
+    public ContractImportWriter(JdbcTemplate jdbcTemplate,
+                                ContractStatsService contractStatsService,
+                                ContractAnalyticsCache analyticsCache,
+                                ContractChangeLog changeLog,
+                                AuditLogService auditLogService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.contractStatsService = contractStatsService;
+        this.analyticsCache = analyticsCache;
+        this.changeLog = changeLog;
+        this.auditLogService = auditLogService;
+    }
+
+    /**
+     * Inserts {@code contracts} into organization {@code orgId} (null for none) on
+     * behalf of {@code username}, who is recorded in the audit log.
+     * All or nothing: on failure the whole chunk is rolled back.
+     */
+    @Transactional
+    public void insert(Long orgId, String username, List<ContractDTO> contracts) {
+        if (contracts.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now(ZoneId.systemDefault());
+        List<Object[]> rows = new ArrayList<>(contracts.size());
+        Map<ContractStatus, Integer> byStatus = new EnumMap<>(ContractStatus.class);
+
+        for (ContractDTO dto : contracts) {
+            // Same derivation as ContractMapper#toEntity
+            WorkflowStage stage = dto.status() == ContractStatus.DRAFT ? WorkflowStage.DRAFT : null;
+            rows.add(new Object[] {
+                dto.customerName(), dto.contractNumber(), dto.wbsCode(), dto.projectName(),
+                dto.areaId(), dto.managerId(), dto.startDate(), dto.endDate(), dto.status().name(),
+                now, orgId, stage != null ? stage.name() : null
+            });
+            byStatus.merge(dto.status(), 1, Integer::sum);
+        }
+
+        // The ids come from the insert itself: contract numbers are only unique per
+        // organization, so looking them up by number could pick up another tenant's rows
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        new ArgumentPreparedStatementSetter(rows.get(i)).setValues(ps);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                }, keys);
+        List<Long> ids = keys.getKeyList().stream()
+                .map(key -> ((Number) key.values().iterator().next()).longValue())
+                .toList();
+
+        byStatus.forEach((status, count) -> contractStatsService.recordTransitions(orgId, null, status, count));
+        changeLog.recordAll(orgId, ids, ContractChangeType.CREATED);
+        auditLogService.saveAll("CREATE", "Contract", ids, username, orgId, "ContractImportService.importFile");
+        analyticsCache.invalidate(orgId);
+    }
+}
@@ -4,7 +4,10 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,6 +18,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.util.HtmlUtils;
 
+import com.donatodev.bcm_backend.entity.ContractChangeType;
 import com.donatodev.bcm_backend.entity.ContractHistory;
 import com.donatodev.bcm_backend.entity.ContractStatus;
 import com.donatodev.bcm_backend.entity.Contracts;
@@ -40,18 +44,24 @@ public class ContractSchedulerService {
     private final UsersRepository usersRepository;
     private final IEmailService emailService;
     private final AgentNotificationService agentNotificationService;
+    private final ContractStatsService contractStatsService;
+    private final ContractChangeLog changeLog;
 
     public ContractSchedulerService(
             ContractsRepository contractsRepository,
             ContractHistoryRepository contractHistoryRepository,
             UsersRepository usersRepository,
             IEmailService emailService,
-            AgentNotificationService agentNotificationService) {
+            AgentNotificationService agentNotificationService,
+            ContractStatsService contractStatsService,
+            ContractChangeLog changeLog) {
         this.contractsRepository = contractsRepository;
         this.contractHistoryRepository = contractHistoryRepository;
         this.usersRepository = usersRepository;
         this.emailService = emailService;
         this.agentNotificationService = agentNotificationService;
+        this.contractStatsService = contractStatsService;
+        this.changeLog = changeLog;
     }
 
     /**
@@ -137,6 +147,9 @@ public class ContractSchedulerService {
                 ContractStatus.ACTIVE, today);
 
         int expiredCount = 0;
+        Map<Long, Integer> expiredByOrg = new HashMap<>();
+        // Organization id (null for none) -> expired contract ids, for the change log
+        Map<Long, List<Long>> expiredIdsByOrg = new HashMap<>();
 
         for (Contracts contract : overdueContracts) {
             String safeContractNumber = contract.getContractNumber().replaceAll(CRLF_REGEX, "_");
@@ -150,9 +163,19 @@ public class ContractSchedulerService {
             contractsRepository.save(contract);
 
             createHistoryRecord(contract, previousStatus);
+            if (contract.getOrganization() != null) {
+                expiredByOrg.merge(contract.getOrganization().getId(), 1, Integer::sum);
+            }
+            expiredIdsByOrg.computeIfAbsent(
+                    contract.getOrganization() != null ? contract.getOrganization().getId() : null,
+                    orgId -> new ArrayList<>()).add(contract.getId());
             expiredCount++;
         }
 
+        expiredByOrg.forEach((orgId, count) ->
+                contractStatsService.recordTransitions(orgId, ContractStatus.ACTIVE, ContractStatus.EXPIRED, count));
+        expiredIdsByOrg.forEach((orgId, ids) -> changeLog.recordAll(orgId, ids, ContractChangeType.UPDATED));
+
         logger.info("Contract expiration check completed. {} contracts expired.", expiredCount);
     }
 
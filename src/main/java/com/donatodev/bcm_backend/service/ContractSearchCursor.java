@@ -0,0 +1,43 @@
+package com.donatodev.bcm_backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.donatodev.bcm_backend.entity.Contracts;
+
+/**
+ * Position in the (contractNumber, id) ordering of the contract cursor search. Sent to
+ * clients as an opaque URL-safe token. Filters are not part of the token: they are
+ * re-applied on every request, so a forged cursor can only move within the caller's own
+ * scope.
+ */
+public record ContractSearchCursor(String contractNumber, long id) {
+
+    private static final String INVALID_CURSOR = "Cursore di paginazione non valido";
+
+    public static ContractSearchCursor after(Contracts contract) {
+        return new ContractSearchCursor(contract.getContractNumber(), contract.getId());
+    }
+
+    public String encode() {
+        String raw = id + ":" + contractNumber;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+     */
+    public static ContractSearchCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException(INVALID_CURSOR);
+            }
+            return new ContractSearchCursor(raw.substring(separator + 1),
+                    Long.parseLong(raw.substring(0, separator)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(INVALID_CURSOR, e);
+        }
+    }
+}
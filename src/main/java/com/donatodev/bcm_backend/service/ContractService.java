@@ -10,6 +10,8 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,14 +24,19 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.donatodev.bcm_backend.config.TenantContext;
 import com.donatodev.bcm_backend.dto.ContractDTO;
+import com.donatodev.bcm_backend.dto.ContractListRow;
 import com.donatodev.bcm_backend.dto.ContractStatsResponse;
 import com.donatodev.bcm_backend.dto.ContractsByAreaDTO;
 import com.donatodev.bcm_backend.dto.ContractsTimelineDTO;
+import com.donatodev.bcm_backend.dto.CursorPage;
 import com.donatodev.bcm_backend.dto.TopManagerDTO;
+import com.donatodev.bcm_backend.dto.VersionedContract;
 import com.donatodev.bcm_backend.entity.BusinessAreas;
+import com.donatodev.bcm_backend.entity.ContractChangeType;
 import com.donatodev.bcm_backend.entity.ContractHistory;
 import com.donatodev.bcm_backend.entity.ContractStatus;
 import com.donatodev.bcm_backend.entity.Contracts;
@@ -39,6 +46,7 @@ import com.donatodev.bcm_backend.entity.Organization;
 import com.donatodev.bcm_backend.entity.Users;
 import com.donatodev.bcm_backend.exception.BusinessAreaNotFoundException;
 import com.donatodev.bcm_backend.exception.ContractNotFoundException;
+import com.donatodev.bcm_backend.exception.ContractVersionConflictException;
 import com.donatodev.bcm_backend.exception.ManagerNotFoundException;
 import com.donatodev.bcm_backend.exception.UserNotFoundException;
 import com.donatodev.bcm_backend.mapper.ContractMapper;
@@ -47,6 +55,7 @@ import com.donatodev.bcm_backend.repository.ContractHistoryRepository;
 import com.donatodev.bcm_backend.repository.ContractManagerRepository;
 import com.donatodev.bcm_backend.repository.ContractsRepository;
 import com.donatodev.bcm_backend.repository.UsersRepository;
+import com.donatodev.bcm_backend.security.CurrentPrincipal;
 
 /**
  * Service class managing business logic for contracts. Includes methods to
@@ -59,10 +68,10 @@ public class ContractService {
     private static final Logger logger = LoggerFactory.getLogger(ContractService.class);
 
     private static final String CRLF_REGEX = "[\r\n]";
-    private static final String MSG_USER_NOT_FOUND = "Utente non trovato";
     private static final String MSG_NO_AUTH_USER = "Nessun utente autenticato";
     private static final String MSG_CONTRACT_NOT_FOUND_PREFIX = "Contratto non trovato: ";
     private static final String ROLE_ADMIN = "ADMIN";
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
 
     private final ContractsRepository contractsRepository;
     private final ContractMapper contractMapper;
@@ -71,6 +80,11 @@ public class ContractService {
     private final ContractManagerRepository contractManagerRepository;
     private final ContractHistoryRepository contractHistoryRepository;
     private final BusinessAreasRepository businessAreasRepository;
+    private final ContractTextSearch contractTextSearch;
+    private final ContractStatsService contractStatsService;
+    private final ContractAnalyticsCache analyticsCache;
+    private final ContractChangeLog changeLog;
+    private final ContractCollaborators collaborators;
 
     public ContractService(
             ContractsRepository contractsRepository,
@@ -79,7 +93,12 @@ public class ContractService {
             ManagerService managerService,
             ContractManagerRepository contractManagerRepository,
             ContractHistoryRepository contractHistoryRepository,
-            BusinessAreasRepository businessAreasRepository
+            BusinessAreasRepository businessAreasRepository,
+            ContractTextSearch contractTextSearch,
+            ContractStatsService contractStatsService,
+            ContractAnalyticsCache analyticsCache,
+            ContractChangeLog changeLog,
+            ContractCollaborators collaborators
     ) {
         this.contractsRepository = contractsRepository;
         this.contractMapper = contractMapper;
@@ -88,11 +107,18 @@ public class ContractService {
         this.contractManagerRepository = contractManagerRepository;
         this.contractHistoryRepository = contractHistoryRepository;
         this.businessAreasRepository = businessAreasRepository;
+        this.contractTextSearch = contractTextSearch;
+        this.contractStatsService = contractStatsService;
+        this.analyticsCache = analyticsCache;
+        this.changeLog = changeLog;
+        this.collaborators = collaborators;
     }
 
     /**
      * Retrieves all contracts accessible by the authenticated user. Admins: all
-     * contracts; Managers: only their contracts.
+     * contracts; Managers: only their contracts. Like the other list methods,
+     * reads {@link ContractListRow} projections in one query instead of
+     * loading entities.
      */
     public List<ContractDTO> getAllContracts() {
         AuthCtx auth = getAuthCtx();
@@ -100,25 +126,51 @@ public class ContractService {
         logger.info("Authenticated user role: {}", safeRole);
 
         if (ROLE_ADMIN.equals(Normalizer.normalize(auth.role(), Normalizer.Form.NFC).toUpperCase(Locale.ROOT))) {
-            Long orgId = TenantContext.get();
-            List<Contracts> contracts = (orgId != null)
-                    ? contractsRepository.findByOrganization_Id(orgId)
-                    : contractsRepository.findAll();
-            return contracts.stream()
-                    .map(contractMapper::toDTO)
+            return contractsRepository.findListRows(TenantContext.get(), null, null).stream()
+                    .map(contractMapper::fromListRow)
                     .toList();
         }
         if (auth.managerId() == null) return List.of();
-        return contractsRepository.findByManagerId(auth.managerId())
-                .stream()
-                .map(contractMapper::toDTO)
+        return contractsRepository.findListRows(null, auth.managerId(), null).stream()
+                .map(contractMapper::fromListRow)
                 .toList();
     }
 
+    /**
+     * Same contracts as {@link #getAllContracts()}, handed to {@code sink} one at a
+     * time while they are read from the database cursor, so the caller can write
+     * them out without the whole listing ever being held in memory. The read-only
+     * transaction keeps the connection (and cursor) open until the last row.
+     */
+    @Transactional(readOnly = true)
+    public void streamAllContracts(Consumer<ContractDTO> sink) {
+        AuthCtx auth = getAuthCtx();
+        Long orgId = null;
+        Long managerId = null;
+        if (ROLE_ADMIN.equals(Normalizer.normalize(auth.role(), Normalizer.Form.NFC).toUpperCase(Locale.ROOT))) {
+            orgId = TenantContext.get();
+        } else if (auth.managerId() == null) {
+            return;
+        } else {
+            managerId = auth.managerId();
+        }
+        try (Stream<ContractListRow> rows = contractsRepository.streamListRows(orgId, managerId, null)) {
+            rows.map(contractMapper::fromListRow).forEach(sink);
+        }
+    }
+
     /**
      * Retrieves a contract by its ID. MANAGERs can only access contracts assigned to them.
      */
     public ContractDTO getContractById(Long id) {
+        return getVersionedContractById(id).contract();
+    }
+
+    /**
+     * Same as {@link #getContractById}, with the versions the contract's ETag is
+     * derived from.
+     */
+    public VersionedContract getVersionedContractById(Long id) {
         Contracts contract = findContractInScope(id)
                 .orElseThrow(() -> new ContractNotFoundException("Contratto ID " + id + " non trovato"));
 
@@ -130,7 +182,7 @@ public class ContractService {
             }
         }
 
-        return contractMapper.toDTO(contract);
+        return versioned(contract, contractMapper.toDTO(contract));
     }
 
     /**
@@ -144,6 +196,10 @@ public class ContractService {
                 : contractsRepository.findById(id);
     }
 
+    private static Long organizationIdOf(Contracts contract) {
+        return contract.getOrganization() != null ? contract.getOrganization().getId() : null;
+    }
+
     /**
      * Retrieves contracts filtered by status accessible by the authenticated
      * user.
@@ -151,24 +207,20 @@ public class ContractService {
     public List<ContractDTO> getContractsByStatus(ContractStatus status) {
         AuthCtx auth = getAuthCtx();
         if (ROLE_ADMIN.equals(Normalizer.normalize(auth.role(), Normalizer.Form.NFC).toUpperCase(Locale.ROOT))) {
-            Long orgId = TenantContext.get();
-            List<Contracts> contracts = (orgId != null)
-                    ? contractsRepository.findByStatusAndOrganization_Id(status, orgId)
-                    : contractsRepository.findByStatus(status);
-            return contracts.stream()
-                    .map(contractMapper::toDTO)
+            return contractsRepository.findListRows(TenantContext.get(), null, status).stream()
+                    .map(contractMapper::fromListRow)
                     .toList();
         }
         if (auth.managerId() == null) return List.of();
-        return contractsRepository.findByManagerIdAndStatus(auth.managerId(), status)
-                .stream()
-                .map(contractMapper::toDTO)
+        return contractsRepository.findListRows(null, auth.managerId(), status).stream()
+                .map(contractMapper::fromListRow)
                 .toList();
     }
 
     /**
      * Creates a new contract.
      */
+    @Transactional
     public ContractDTO createContract(ContractDTO contractDTO) {
         Contracts contract = contractMapper.toEntity(contractDTO);
         if (contract == null) {
@@ -181,6 +233,9 @@ public class ContractService {
             contract.setOrganization(org);
         }
         contract = contractsRepository.save(contract);
+        contractStatsService.recordTransition(organizationIdOf(contract), null, contract.getStatus());
+        analyticsCache.invalidate(organizationIdOf(contract));
+        changeLog.record(contract, ContractChangeType.CREATED);
         return contractMapper.toDTO(contract);
     }
 
@@ -188,10 +243,30 @@ public class ContractService {
      * Updates an existing contract. If the status changes, a history record is
      * automatically created.
      */
+    @Transactional
     public ContractDTO updateContract(Long id, ContractDTO contractDTO) {
+        return updateContract(id, contractDTO, null).contract();
+    }
+
+    /**
+     * Updates an existing contract only if it is still at {@code expectedVersion}
+     * (the version the client read, from {@code If-Match}); null skips the check.
+     * The check runs on the row loaded in this transaction, and the {@code @Version}
+     * check at flush catches an update committed in between, so no concurrent edit
+     * is silently overwritten.
+     *
+     * @throws ContractVersionConflictException if the contract has moved on
+     */
+    @Transactional
+    public VersionedContract updateContract(Long id, ContractDTO contractDTO, Long expectedVersion) {
         Contracts contract = findContractInScope(id)
                 .orElseThrow(() -> new ContractNotFoundException("Contratto non trovato"));
+        if (expectedVersion != null && expectedVersion != contract.getVersion()) {
+            throw new ContractVersionConflictException(
+                    "Il contratto è stato modificato da un altro utente: ricaricalo e riprova");
+        }
 
+        Long orgId = organizationIdOf(contract);
         // Save previous status for history tracking
         ContractStatus previousStatus = contract.getStatus();
 
@@ -229,12 +304,13 @@ public class ContractService {
         }
 
         contract = contractsRepository.save(contract);
+        // Flush now so the returned version (and ETag) is the one just written
+        contractsRepository.flush();
 
         // Create history record if status changed
         if (previousStatus != contractDTO.status()) {
-            String username = getAuthenticatedUsername();
-            Users user = usersRepository.findByUsername(username)
-                    .orElseThrow(() -> new UserNotFoundException(MSG_USER_NOT_FOUND));
+            Users user = usersRepository.getReferenceById(CurrentPrincipal.currentOr(this::getAuthenticatedUsername,
+                    usersRepository::findByUsername).userId());
 
             ContractHistory history = new ContractHistory();
             history.setContract(contract);
@@ -244,45 +320,33 @@ public class ContractService {
             history.setNewStatus(contract.getStatus());
 
             contractHistoryRepository.save(history);
+            contractStatsService.recordTransition(orgId, previousStatus, contract.getStatus());
         }
+        analyticsCache.invalidate(orgId);
+        changeLog.record(contract, ContractChangeType.UPDATED);
 
-        return contractMapper.toDTO(contract);
+        return versioned(contract, contractMapper.toDTO(contract));
     }
 
     /**
      * Deletes a contract by its ID.
      */
+    @Transactional
     public void deleteContract(Long id) {
         Contracts contract = findContractInScope(id)
                 .orElseThrow(() -> new ContractNotFoundException(MSG_CONTRACT_NOT_FOUND_PREFIX + id));
         contractsRepository.delete(contract);
+        contractStatsService.recordTransition(organizationIdOf(contract), contract.getStatus(), null);
+        analyticsCache.invalidate(organizationIdOf(contract));
+        changeLog.record(contract, ContractChangeType.DELETED);
     }
 
     /**
-     * Dashboard KPIs.
+     * Dashboard KPIs, for the current tenant or (platform admin) across all tenants.
+     * See {@link ContractStatsService}.
      */
     public ContractStatsResponse getContractStats() {
-        Long orgId = TenantContext.get();
-        LocalDate thirtyDaysFromNow = LocalDate.now(ZoneId.systemDefault()).plusDays(30);
-        int total;
-        int active;
-        int expiring;
-        int expired;
-        int draft;
-        if (orgId != null) {
-            total    = contractsRepository.countAllContractsByOrg(orgId);
-            active   = contractsRepository.countActiveContractsByOrg(orgId);
-            expiring = contractsRepository.countExpiringContractsByOrg(thirtyDaysFromNow, orgId);
-            expired  = contractsRepository.countExpiredContractsByOrg(orgId);
-            draft    = contractsRepository.countDraftContractsByOrg(orgId);
-        } else {
-            total    = contractsRepository.countAllContracts();
-            active   = contractsRepository.countActiveContracts();
-            expiring = contractsRepository.countExpiringContracts(thirtyDaysFromNow);
-            expired  = contractsRepository.countExpiredContracts();
-            draft    = contractsRepository.countDraftContracts();
-        }
-        return new ContractStatsResponse(total, active, expiring, expired, draft);
+        return contractStatsService.statsFor(TenantContext.get());
     }
 
     /**
@@ -297,17 +361,14 @@ public class ContractService {
     public List<ContractDTO> getExpiringContracts(int days) {
         LocalDate today = LocalDate.now(ZoneId.systemDefault());
         LocalDate futureDate = today.plusDays(days);
-        Long orgId = TenantContext.get();
-
-        List<Contracts> expiring = (orgId != null)
-                ? contractsRepository.findExpiringContractsByOrg(today, futureDate, orgId)
-                : contractsRepository.findExpiringContracts(today, futureDate);
-
-        return expiring.stream().map(contractMapper::toDTO).toList();
+        return contractsRepository.findExpiringListRows(today, futureDate, TenantContext.get()).stream()
+                .map(contractMapper::fromListRow)
+                .toList();
     }
 
     /**
-     * Paged search with optional term (q) and status filter.
+     * Paged search with optional term (q) and status filter. Without a term, results are
+     * sorted by contract number; with one, by relevance (see {@link ContractTextSearch}).
      */
     public Page<ContractDTO> searchPaged(String q, ContractStatus status, int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("contractNumber").ascending());
@@ -324,51 +385,63 @@ public class ContractService {
         return pageResult.map(contractMapper::toDTO);
     }
 
-    private Page<Contracts> searchPagedAdmin(Long orgId, ContractStatus status, boolean hasTerm, String term, Pageable pageable) {
-        if (orgId != null) {
-            return searchPagedAdminForOrg(orgId, status, hasTerm, term, pageable);
-        }
-        if (status != null && hasTerm) {
-            // contractNumber OR customerName con stesso status
-            return contractsRepository
-                    .findByStatusAndContractNumberContainingIgnoreCaseOrStatusAndCustomerNameContainingIgnoreCase(
-                            status, term, status, term, pageable);
-        } else if (status != null) {
-            return contractsRepository.findByStatus(status, pageable);
-        } else if (hasTerm) {
-            return contractsRepository
-                    .findByContractNumberContainingIgnoreCaseOrCustomerNameContainingIgnoreCase(
-                            term, term, pageable);
-        } else {
-            return contractsRepository.findAllBy(pageable);
+    /**
+     * Cursor (keyset) variant of {@link #searchPaged}: seeks on (contractNumber, id) after
+     * {@code cursor} instead of skipping {@code page * size} rows, so latency stays flat
+     * however deep the client pages. Terms match as in {@link #searchPaged} (see
+     * {@link ContractTextSearch#searchAfter}). The total is only counted when
+     * {@code withTotal} is set, typically for the first page.
+     *
+     * @param cursor {@code nextCursor} of the previous page, or null for the first page
+     * @throws IllegalArgumentException if {@code cursor} is malformed
+     */
+    public CursorPage<ContractDTO> searchCursor(String q, ContractStatus status, String cursor, int size,
+                                                boolean withTotal) {
+        int pageSize = Math.clamp(size, 1, MAX_CURSOR_PAGE_SIZE);
+        ContractSearchCursor after = (cursor == null || cursor.isBlank()) ? null : ContractSearchCursor.decode(cursor);
+
+        String term = (q == null || q.isBlank()) ? null : q.trim();
+
+        AuthCtx auth = getAuthCtx();
+        boolean admin = ROLE_ADMIN.equals(Normalizer.normalize(auth.role(), Normalizer.Form.NFC).toUpperCase(Locale.ROOT));
+        if (!admin && auth.managerId() == null) {
+            return new CursorPage<>(List.of(), null, withTotal ? 0L : null);
         }
+        Long orgId = admin ? TenantContext.get() : null;
+        Long managerId = admin ? null : auth.managerId();
+
+        List<Contracts> rows = contractTextSearch.searchAfter(orgId, managerId, status, term,
+                after != null ? after.contractNumber() : null, after != null ? after.id() : null, pageSize + 1);
+
+        boolean hasNext = rows.size() > pageSize;
+        List<Contracts> pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext ? ContractSearchCursor.after(pageRows.get(pageSize - 1)).encode() : null;
+        Long total = withTotal ? contractTextSearch.count(orgId, managerId, status, term) : null;
+
+        return new CursorPage<>(pageRows.stream().map(contractMapper::toDTO).toList(), nextCursor, total);
     }
 
-    private Page<Contracts> searchPagedAdminForOrg(Long orgId, ContractStatus status, boolean hasTerm, String term, Pageable pageable) {
-        if (status != null && hasTerm) {
-            return contractsRepository.findByOrgAndStatusAndTerm(orgId, status, term, pageable);
-        } else if (status != null) {
-            return contractsRepository.findByStatusAndOrganization_Id(status, orgId, pageable);
-        } else if (hasTerm) {
-            return contractsRepository.findByOrgAndTerm(orgId, term, pageable);
-        } else {
-            return contractsRepository.findByOrganization_Id(orgId, pageable);
+    private Page<Contracts> searchPagedAdmin(Long orgId, ContractStatus status, boolean hasTerm, String term, Pageable pageable) {
+        if (hasTerm) {
+            return contractTextSearch.search(orgId, null, status, term, pageable);
         }
+        if (orgId != null) {
+            return status != null
+                    ? contractsRepository.findByStatusAndOrganization_Id(status, orgId, pageable)
+                    : contractsRepository.findByOrganization_Id(orgId, pageable);
+        }
+        return status != null
+                ? contractsRepository.findByStatus(status, pageable)
+                : contractsRepository.findAllBy(pageable);
     }
 
     private Page<Contracts> searchPagedManager(Long managerId, ContractStatus status, boolean hasTerm, String term, Pageable pageable) {
         if (managerId == null) {
             return Page.empty(pageable);
-        } else if (status != null && hasTerm) {
-            return contractsRepository
-                    .findByManagerIdAndStatusAndContractNumberContainingIgnoreCaseOrManagerIdAndStatusAndCustomerNameContainingIgnoreCase(
-                            managerId, status, term, managerId, status, term, pageable);
+        } else if (hasTerm) {
+            return contractTextSearch.search(null, managerId, status, term, pageable);
         } else if (status != null) {
             return contractsRepository.findByManagerIdAndStatus(managerId, status, pageable);
-        } else if (hasTerm) {
-            return contractsRepository
-                    .findByManagerIdAndContractNumberContainingIgnoreCaseOrManagerIdAndCustomerNameContainingIgnoreCase(
-                            managerId, term, managerId, term, pageable);
         } else {
             return contractsRepository.findByManagerId(managerId, pageable);
         }
@@ -377,6 +450,7 @@ public class ContractService {
     /**
      * Assigns a manager to a contract.
      */
+    @Transactional
     public void assignManager(Long contractId, Long managerId) {
         Contracts c = findContractInScope(contractId)
                 .orElseThrow(() -> new IllegalArgumentException(MSG_CONTRACT_NOT_FOUND_PREFIX + contractId));
@@ -388,6 +462,8 @@ public class ContractService {
 
         c.setManager(m);
         contractsRepository.save(c);
+        analyticsCache.invalidate(organizationIdOf(c));
+        changeLog.record(c, ContractChangeType.UPDATED);
     }
 
     /**
@@ -400,31 +476,28 @@ public class ContractService {
     }
 
     /**
-     * Sets collaborators for a contract.
+     * Sets collaborators for a contract, writing only the links that change
+     * (see {@link ContractCollaborators}).
      */
+    @Transactional
     public void setCollaborators(Long contractId, List<Long> managerIds) {
         findContractInScope(contractId)
                 .orElseThrow(() -> new ContractNotFoundException(MSG_CONTRACT_NOT_FOUND_PREFIX + contractId));
 
-        contractManagerRepository.deleteAllByContractId(contractId);
-
-        if (managerIds != null) {
-            for (Long mid : managerIds) {
-                contractManagerRepository.insertIgnore(contractId, mid);
-            }
-        }
+        collaborators.replace(contractId, managerIds);
     }
 
     /**
-     * Get contract distribution by business area.
+     * Get contract distribution by business area. Cached per tenant, see
+     * {@link ContractAnalyticsCache}.
      *
      * @return list of business areas with contract counts
      */
     public List<ContractsByAreaDTO> getContractsByArea() {
         Long orgId = TenantContext.get();
-        return (orgId != null)
+        return analyticsCache.get(orgId, "by-area", ContractsByAreaDTO.class, () -> (orgId != null)
                 ? contractsRepository.countContractsByAreaAndOrg(orgId)
-                : contractsRepository.countContractsByArea();
+                : contractsRepository.countContractsByArea());
     }
 
     /**
@@ -432,29 +505,35 @@ public class ContractService {
      * the last 12 calendar months). Always returns exactly 12 chronologically
      * ordered entries, zero-filled for months with no contracts started, so
      * that bulk imports (many contracts sharing one created_at but spread
-     * across start_date) don't collapse into a single data point.
+     * across start_date) don't collapse into a single data point. Cached per
+     * tenant and window, see {@link ContractAnalyticsCache}.
      *
      * @return chronologically ordered list of 12 months with contract counts
      */
     public List<ContractsTimelineDTO> getContractsTimeline() {
         YearMonth currentMonth = YearMonth.now(ZoneId.systemDefault());
         YearMonth startMonth = currentMonth.minusMonths(11);
-        LocalDate windowStart = startMonth.atDay(1);
-
         Long orgId = TenantContext.get();
+        return analyticsCache.get(orgId, "timeline:" + startMonth, ContractsTimelineDTO.class,
+                () -> loadContractsTimeline(orgId, startMonth));
+    }
+
+    private List<ContractsTimelineDTO> loadContractsTimeline(Long orgId, YearMonth startMonth) {
+        LocalDate windowStart = startMonth.atDay(1);
+        // Grouped by the raw start_date so the range and the grouping both run on
+        // idx_contracts_org_start_date; days are folded into months here.
         List<Object[]> results = (orgId != null)
-                ? contractsRepository.countContractsByMonthAndOrg(windowStart, orgId)
-                : contractsRepository.countContractsByMonth(windowStart);
+                ? contractsRepository.countContractsByStartDateAndOrg(windowStart, orgId)
+                : contractsRepository.countContractsByStartDate(windowStart);
 
         Map<YearMonth, Long> countsByMonth = new LinkedHashMap<>();
         for (int i = 0; i < 12; i++) {
             countsByMonth.put(startMonth.plusMonths(i), 0L);
         }
         for (Object[] row : results) {
-            int year = ((Number) row[0]).intValue();
-            int month = ((Number) row[1]).intValue();
-            long count = ((Number) row[2]).longValue();
-            countsByMonth.computeIfPresent(YearMonth.of(year, month), (ym, existing) -> count);
+            YearMonth month = YearMonth.from((LocalDate) row[0]);
+            long count = ((Number) row[1]).longValue();
+            countsByMonth.computeIfPresent(month, (ym, existing) -> existing + count);
         }
 
         return countsByMonth.entrySet().stream()
@@ -463,16 +542,17 @@ public class ContractService {
     }
 
     /**
-     * Get top 5 managers by number of assigned contracts.
+     * Get top 5 managers by number of assigned contracts. Cached per tenant,
+     * see {@link ContractAnalyticsCache}.
      *
      * @return list of top managers with contract counts
      */
     public List<TopManagerDTO> getTopManagers() {
         Pageable topFive = PageRequest.of(0, 5);
         Long orgId = TenantContext.get();
-        return (orgId != null)
+        return analyticsCache.get(orgId, "top-managers", TopManagerDTO.class, () -> (orgId != null)
                 ? contractsRepository.findTopManagersByOrg(topFive, orgId)
-                : contractsRepository.findTopManagers(topFive);
+                : contractsRepository.findTopManagers(topFive));
     }
 
     // -----------------------
@@ -493,19 +573,25 @@ public class ContractService {
         return String.valueOf(principal);
     }
 
+    private static VersionedContract versioned(Contracts contract, ContractDTO dto) {
+        return new VersionedContract(dto, contract.getVersion(),
+                contract.getBusinessArea() != null ? contract.getBusinessArea().getVersion() : 0,
+                contract.getManager() != null ? contract.getManager().getVersion() : 0);
+    }
+
     /**
      * Returns role ("ADMIN"/"MANAGER") and (if MANAGER) the managerId of the
-     * current user.
+     * current user. Read from the request principal when the JWT filter set
+     * one; otherwise the user is looked up by username.
      */
     private AuthCtx getAuthCtx() {
-        String username = getAuthenticatedUsername();
-        Users user = usersRepository.findByUsername(username)
-                .orElseThrow(() -> new UserNotFoundException(MSG_USER_NOT_FOUND));
-        String role = user.getRole().getRole();
+        CurrentPrincipal principal = CurrentPrincipal.currentOr(this::getAuthenticatedUsername,
+                usersRepository::findByUsername);
+        String role = principal.role();
 
         Long managerId = null;
-        if (!ROLE_ADMIN.equals(role) && user.getManager() != null) {
-            managerId = user.getManager().getId();
+        if (!ROLE_ADMIN.equals(role)) {
+            managerId = principal.managerId();
         }
 
         return new AuthCtx(role, managerId);
@@ -0,0 +1,167 @@
+package com.donatodev.bcm_backend.service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.donatodev.bcm_backend.dto.ContractStatsResponse;
+import com.donatodev.bcm_backend.dto.ContractStatusCounts;
+import com.donatodev.bcm_backend.entity.ContractStatsCounter;
+import com.donatodev.bcm_backend.entity.ContractStatus;
+import com.donatodev.bcm_backend.repository.ContractStatsCounterRepository;
+import com.donatodev.bcm_backend.repository.ContractsRepository;
+
+/**
+ * Dashboard KPIs (total, active, expiring, expired, draft contracts).
+ * <p>
+ * By default they are computed in one aggregation pass over the contracts table. With
+ * {@code contract-stats.counters.enabled}, an organization's counts are instead read by
+ * primary key from {@link ContractStatsCounter}. The contract write paths keep that row
+ * current through {@link #recordTransition}, and it is recounted nightly to absorb writes
+ * that bypass them. The "expiring" KPI moves with the calendar rather than with writes,
+ * so it is always counted live, as a narrow range scan on
+ * {@code idx_contracts_org_status_end_date}.
+ */
+@Service
+public class ContractStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContractStatsService.class);
+
+    /** Contracts ending within this many days count as "expiring". */
+    static final int EXPIRING_HORIZON_DAYS = 30;
+
+    private final ContractsRepository contractsRepository;
+    private final ContractStatsCounterRepository counterRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean countersEnabled;
+
+    public ContractStatsService(ContractsRepository contractsRepository,
+                                ContractStatsCounterRepository counterRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${contract-stats.counters.enabled:false}") boolean countersEnabled) {
+        this.contractsRepository = contractsRepository;
+        this.counterRepository = counterRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.countersEnabled = countersEnabled;
+    }
+
+    /**
+     * KPIs for one organization, or across all organizations when {@code orgId} is null
+     * (platform admin, always aggregated).
+     */
+    @Transactional
+    public ContractStatsResponse statsFor(Long orgId) {
+        LocalDate expiringUntil = LocalDate.now(ZoneId.systemDefault()).plusDays(EXPIRING_HORIZON_DAYS);
+        if (!countersEnabled || orgId == null) {
+            return contractsRepository.countByStatus(orgId, expiringUntil).toResponse();
+        }
+
+        Optional<ContractStatsCounter> counter = counterRepository.findById(orgId);
+        if (counter.isEmpty()) {
+            return seed(orgId, expiringUntil).toResponse();
+        }
+        ContractStatsCounter c = counter.get();
+        int expiring = contractsRepository.countExpiringContractsByOrg(expiringUntil, orgId);
+        return new ContractStatsResponse(Math.toIntExact(c.getTotal()), Math.toIntExact(c.getActive()),
+                expiring, Math.toIntExact(c.getExpired()), Math.toIntExact(c.getDraft()));
+    }
+
+    /**
+     * Records one contract moving from {@code from} to {@code to} (null {@code from} for
+     * a new contract, null {@code to} for a deleted one). Call it inside the transaction
+     * of the write itself, after the write, so the counters commit or roll back with it.
+     */
+    @Transactional
+    public void recordTransition(Long orgId, ContractStatus from, ContractStatus to) {
+        recordTransitions(orgId, from, to, 1);
+    }
+
+    /**
+     * Records {@code count} contracts of one organization making the same transition,
+     * with a single counter update.
+     */
+    @Transactional
+    public void recordTransitions(Long orgId, ContractStatus from, ContractStatus to, int count) {
+        if (!countersEnabled || orgId == null || from == to || count == 0) {
+            return;
+        }
+        long total = (from == null ? count : 0) - (to == null ? count : 0);
+        long active = delta(ContractStatus.ACTIVE, from, to, count);
+        long expired = delta(ContractStatus.EXPIRED, from, to, count);
+        long draft = delta(ContractStatus.DRAFT, from, to, count);
+
+        if (counterRepository.applyDelta(orgId, total, active, expired, draft) == 0) {
+            // First write since the counters were enabled. The recount already
+            // sees this transaction's change, so the delta must not be applied
+            // again, unless a concurrent writer seeded the row first from a
+            // snapshot without it.
+            ContractStatusCounts counts = contractsRepository.countByStatus(orgId, LocalDate.now(ZoneId.systemDefault()));
+            if (counterRepository.insertIfAbsent(orgId, counts.total(), counts.active(),
+                    counts.expired(), counts.draft()) == 0) {
+                counterRepository.applyDelta(orgId, total, active, expired, draft);
+            }
+        }
+    }
+
+    /**
+     * Recounts every materialized counter row from the contracts table, one transaction
+     * per organization. Runs after the nightly expiration job (1:00 AM).
+     */
+    @Scheduled(cron = "0 30 1 * * *")
+    public void reconcileAll() {
+        if (!countersEnabled) {
+            return;
+        }
+        int reconciled = 0;
+        for (ContractStatsCounter counter : counterRepository.findAll()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> reconcile(counter.getOrganizationId()));
+                reconciled++;
+            } catch (Exception e) {
+                logger.error("Failed to reconcile contract stats for org {}: {}",
+                        counter.getOrganizationId(), e.getMessage());
+            }
+        }
+        logger.info("Contract stats counters reconciled for {} organizations.", reconciled);
+    }
+
+    /**
+     * Overwrites one organization's counters with a fresh count. The counter row is
+     * locked first, so concurrent deltas wait and then apply on top of the recount
+     * instead of being lost.
+     */
+    @Transactional
+    public void reconcile(Long orgId) {
+        counterRepository.findForUpdate(orgId).ifPresent(counter -> {
+            ContractStatusCounts counts = contractsRepository.countByStatus(orgId, LocalDate.now(ZoneId.systemDefault()));
+            counter.setTotal(counts.total());
+            counter.setActive(counts.active());
+            counter.setExpired(counts.expired());
+            counter.setDraft(counts.draft());
+        });
+    }
+
+    private ContractStatusCounts seed(Long orgId, LocalDate expiringUntil) {
+        ContractStatusCounts counts = contractsRepository.countByStatus(orgId, expiringUntil);
+        // Read-only callers (the monthly report) just use the recount; the
+        // next dashboard load or contract write creates the row.
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            counterRepository.insertIfAbsent(orgId, counts.total(), counts.active(), counts.expired(), counts.draft());
+        }
+        return counts;
+    }
+
+    private static long delta(ContractStatus status, ContractStatus from, ContractStatus to, int count) {
+        return (to == status ? count : 0) - (from == status ? count : 0);
+    }
+}
@@ -0,0 +1,143 @@
+package com.donatodev.bcm_backend.service;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import com.donatodev.bcm_backend.entity.ContractStatus;
+import com.donatodev.bcm_backend.entity.Contracts;
+import com.donatodev.bcm_backend.repository.ContractsRepository;
+
+/**
+ * Term search over contracts (contract number, customer, project, WBS code), ranked by
+ * relevance.
+ * <p>
+ * With {@code contract-search.full-text.enabled} (the default, MySQL), terms go through
+ * the {@code ft_contracts_search} n-gram FULLTEXT index created by V36. Each word is a
+ * required phrase, so it matches as a substring anywhere in the indexed columns,
+ * including prefixes and infixes. MySQL maintains the index on every contract write, so
+ * nothing has to be kept in sync here. Words shorter than the server's
+ * {@code ngram_token_size} cannot be looked up in an n-gram index; those terms, and every
+ * term when full-text is disabled (the H2 test profile), use a ranked substring scan
+ * instead.
+ * <p>
+ * The cursor search ({@link #searchAfter}) matches terms the same way, but pages in
+ * (contract number, id) order instead of by relevance.
+ */
+@Service
+public class ContractTextSearch {
+
+    private final ContractsRepository contractsRepository;
+    private final boolean fullTextEnabled;
+    private final int ngramTokenSize;
+
+    public ContractTextSearch(ContractsRepository contractsRepository,
+                              @Value("${contract-search.full-text.enabled:true}") boolean fullTextEnabled,
+                              @Value("${contract-search.ngram-token-size:2}") int ngramTokenSize) {
+        this.contractsRepository = contractsRepository;
+        this.fullTextEnabled = fullTextEnabled;
+        this.ngramTokenSize = ngramTokenSize;
+    }
+
+    /**
+     * One page of contracts matching {@code term}, most relevant first. The sort of
+     * {@code pageable} is ignored in favour of relevance.
+     *
+     * @param orgId     tenant scope, or null for every organization
+     * @param managerId manager scope, or null for every manager
+     * @param status    status filter, or null for any status
+     * @param term      trimmed, non-blank search term
+     */
+    public Page<Contracts> search(Long orgId, Long managerId, ContractStatus status, String term, Pageable pageable) {
+        Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        String booleanQuery = fullTextQuery(term);
+        if (booleanQuery == null) {
+            return contractsRepository.searchRanked(orgId, managerId, status, term, unsorted);
+        }
+
+        Page<Long> ids = contractsRepository.findIdsByFullText(orgId, managerId,
+                status != null ? status.name() : null, booleanQuery, unsorted);
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), unsorted, ids.getTotalElements());
+        }
+
+        Map<Long, Integer> rank = new HashMap<>();
+        List<Long> content = ids.getContent();
+        for (int i = 0; i < content.size(); i++) {
+            rank.put(content.get(i), i);
+        }
+        List<Contracts> contracts = contractsRepository.findByIdIn(content).stream()
+                .sorted(Comparator.comparing(c -> rank.get(c.getId())))
+                .toList();
+        return new PageImpl<>(contracts, unsorted, ids.getTotalElements());
+    }
+
+    /**
+     * Keyset page of the contracts matching {@code term}, after ({@code afterNumber},
+     * {@code afterId}) in (contract number, id) order, at most {@code limit}.
+     *
+     * @param term trimmed search term, or null for no term filter
+     */
+    public List<Contracts> searchAfter(Long orgId, Long managerId, ContractStatus status, String term,
+                                       String afterNumber, Long afterId, int limit) {
+        String booleanQuery = fullTextQuery(term);
+        if (booleanQuery == null) {
+            return contractsRepository.findSearchPageAfter(orgId, managerId, status, term, afterNumber, afterId,
+                    Limit.of(limit));
+        }
+
+        List<Long> ids = contractsRepository.findIdsByFullTextAfter(orgId, managerId,
+                status != null ? status.name() : null, booleanQuery, afterNumber, afterId, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return contractsRepository.findByIdIn(ids).stream()
+                .sorted(Comparator.comparing(Contracts::getContractNumber).thenComparing(Contracts::getId))
+                .toList();
+    }
+
+    /**
+     * Number of contracts {@link #searchAfter} pages through.
+     *
+     * @param term trimmed search term, or null for no term filter
+     */
+    public long count(Long orgId, Long managerId, ContractStatus status, String term) {
+        String booleanQuery = fullTextQuery(term);
+        if (booleanQuery == null) {
+            return contractsRepository.countSearch(orgId, managerId, status, term);
+        }
+        return contractsRepository.countByFullText(orgId, managerId, status != null ? status.name() : null,
+                booleanQuery);
+    }
+
+    private String fullTextQuery(String term) {
+        return fullTextEnabled && term != null ? toBooleanQuery(term) : null;
+    }
+
+    /**
+     * {@code +"word1" +"word2"}: every word is a required phrase. Returns null when a word
+     * is too short for the n-gram index, so the caller falls back to the substring scan.
+     */
+    String toBooleanQuery(String term) {
+        StringBuilder query = new StringBuilder();
+        for (String word : term.replace('"', ' ').trim().split("\\s+")) {
+            if (word.codePointCount(0, word.length()) < ngramTokenSize) {
+                return null;
+            }
+            if (!query.isEmpty()) {
+                query.append(' ');
+            }
+            query.append("+\"").append(word).append('"');
+        }
+        return query.isEmpty() ? null : query.toString();
+    }
+}
@@ -4,8 +4,10 @@ import java.util.List;
 
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.donatodev.bcm_backend.dto.ContractWorkflowEventDTO;
+import com.donatodev.bcm_backend.entity.ContractChangeType;
 import com.donatodev.bcm_backend.entity.ContractStatus;
 import com.donatodev.bcm_backend.entity.ContractWorkflowEvent;
 import com.donatodev.bcm_backend.entity.Contracts;
@@ -20,6 +22,9 @@ import com.donatodev.bcm_backend.repository.ContractsRepository;
  * (which also flips {@link ContractStatus} from DRAFT to ACTIVE). A reject at
  * any stage sends the contract back to DRAFT with a required comment — there
  * is deliberately no multi-level state machine for rejections.
+ * <p>
+ * Each transition runs in one transaction: the contract update, its change log
+ * entry, the workflow event and the notifications commit or roll back together.
  */
 @Service
 public class ContractWorkflowService {
@@ -31,24 +36,31 @@ public class ContractWorkflowService {
     private final ContractWorkflowEventRepository eventRepository;
     private final ContractsRepository contractsRepository;
     private final AgentNotificationService agentNotificationService;
+    private final ContractStatsService contractStatsService;
+    private final ContractChangeLog changeLog;
 
     public ContractWorkflowService(
             ContractAccessGuard contractAccessGuard,
             CurrentUserResolver currentUserResolver,
             ContractWorkflowEventRepository eventRepository,
             ContractsRepository contractsRepository,
-            AgentNotificationService agentNotificationService) {
+            AgentNotificationService agentNotificationService,
+            ContractStatsService contractStatsService,
+            ContractChangeLog changeLog) {
         this.contractAccessGuard = contractAccessGuard;
         this.currentUserResolver = currentUserResolver;
         this.eventRepository = eventRepository;
         this.contractsRepository = contractsRepository;
         this.agentNotificationService = agentNotificationService;
+        this.contractStatsService = contractStatsService;
+        this.changeLog = changeLog;
     }
 
     /**
      * Submits a DRAFT contract for review. Allowed for the contract's own
      * manager or an ADMIN (same ownership check used for editing).
      */
+    @Transactional
     public void submitForReview(Long contractId) {
         Contracts contract = contractAccessGuard.getContractInScope(contractId);
         contractAccessGuard.checkManagerCanAccess(contract);
@@ -63,13 +75,18 @@ public class ContractWorkflowService {
      * Approves a contract IN_REVIEW: moves the workflow stage to APPROVED
      * and the contract status from DRAFT to ACTIVE in the same update.
      */
+    @Transactional
     public void approve(Long contractId) {
         Contracts contract = contractAccessGuard.getContractInScope(contractId);
         Users actor = requireApprover();
         requireStage(contract, WorkflowStage.IN_REVIEW, "Il contratto deve essere in revisione per poter essere approvato");
 
+        ContractStatus previousStatus = contract.getStatus();
         contract.setStatus(ContractStatus.ACTIVE);
         recordAndApply(contract, WorkflowStage.APPROVED, WorkflowAction.APPROVE, actor, null);
+        contractStatsService.recordTransition(
+                contract.getOrganization() != null ? contract.getOrganization().getId() : null,
+                previousStatus, ContractStatus.ACTIVE);
         agentNotificationService.notifyWorkflowApproved(contract);
     }
 
@@ -77,6 +94,7 @@ public class ContractWorkflowService {
      * Rejects a contract IN_REVIEW, sending it back to DRAFT with a
      * mandatory comment explaining why.
      */
+    @Transactional
     public void reject(Long contractId, String comment) {
         if (comment == null || comment.isBlank()) {
             throw new IllegalArgumentException("Un commento è obbligatorio per respingere un contratto");
@@ -126,6 +144,7 @@ public class ContractWorkflowService {
         WorkflowStage fromStage = contract.getWorkflowStage();
         contract.setWorkflowStage(toStage);
         contractsRepository.save(contract);
+        changeLog.record(contract, ContractChangeType.UPDATED);
 
         ContractWorkflowEvent event = ContractWorkflowEvent.builder()
                 .contract(contract)
@@ -3,7 +3,6 @@ package com.donatodev.bcm_backend.service;
 import java.util.Collections;
 
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -11,21 +10,26 @@ import org.springframework.stereotype.Service;
 
 import com.donatodev.bcm_backend.entity.Users;
 import com.donatodev.bcm_backend.repository.UsersRepository;
+import com.donatodev.bcm_backend.security.AuthenticatedUser;
 
 /**
  * Implementation of Spring Security's {@link UserDetailsService} that loads user-specific data.
  * <p>
  * This service loads user details from the database by username,
  * converts roles to Spring Security authorities,
- * and returns a {@link UserDetails} object for authentication.
+ * and returns a {@link UserDetails} object for authentication. The returned
+ * object is an {@link AuthenticatedUser}, so the user, manager and
+ * organization ids travel with the principal for the rest of the request.
  */
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
 	private final UsersRepository usersRepository;
+    private final PrincipalCache principalCache;
 
-    public CustomUserDetailsService(UsersRepository usersRepository) {
+    public CustomUserDetailsService(UsersRepository usersRepository, PrincipalCache principalCache) {
         this.usersRepository = usersRepository;
+        this.principalCache = principalCache;
     }
 
     /**
@@ -47,6 +51,9 @@ public class CustomUserDetailsService implements UserDetailsService {
      * organization (e.g. the JWT authentication filter, from the token's {@code orgId}
      * claim) should pass it to avoid ambiguity when the same username exists in
      * multiple organizations.
+     * <p>
+     * Results are served from {@link PrincipalCache}, so this only reaches the
+     * database on a cache miss.
      *
      * @param username the username identifying the user whose data is required
      * @param organizationId the ID of the organization the user belongs to, or {@code null} to look up globally
@@ -54,19 +61,36 @@ public class CustomUserDetailsService implements UserDetailsService {
      * @throws UsernameNotFoundException if the user could not be found or the user has no GrantedAuthority
      */
     public UserDetails loadUserByUsername(String username, Long organizationId) throws UsernameNotFoundException {
+        PrincipalCache.CachedPrincipal principal =
+                principalCache.get(organizationId, username, () -> loadPrincipal(username, organizationId));
+
+        // Converts the role string to Spring Security authority format, e.g., "ADMIN" -> "ROLE_ADMIN"
+        SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + principal.role());
+
+        return new AuthenticatedUser(
+                principal.userId(),
+                principal.username(),
+                principal.passwordHash(),
+                principal.role(),
+                principal.managerId(),
+                principal.organizationId(),
+                Collections.singletonList(authority)
+        );
+    }
+
+    private PrincipalCache.CachedPrincipal loadPrincipal(String username, Long organizationId) {
         Users user = (organizationId != null)
                 ? usersRepository.findByUsernameAndOrganizationId(username, organizationId)
                         .orElseThrow(() -> new UsernameNotFoundException("Utente non trovato: " + username))
                 : usersRepository.findByUsername(username)
                         .orElseThrow(() -> new UsernameNotFoundException("Utente non trovato: " + username));
 
-        // Converts the role string to Spring Security authority format, e.g., "ADMIN" -> "ROLE_ADMIN"
-        SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + user.getRole().getRole());
-
-        return new User(
+        return new PrincipalCache.CachedPrincipal(
+                user.getId(),
                 user.getUsername(),
                 user.getPasswordHash(),
-                Collections.singletonList(authority)
-        );
+                user.getRole().getRole(),
+                user.getManager() != null ? user.getManager().getId() : null,
+                user.getOrganization() != null ? user.getOrganization().getId() : null);
     }
 }
@@ -3,10 +3,12 @@ package com.donatodev.bcm_backend.service;
 import java.awt.Color;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.ZoneId;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.apache.poi.ss.usermodel.BorderStyle;
 import org.apache.poi.ss.usermodel.Cell;
@@ -15,8 +17,7 @@ import org.apache.poi.ss.usermodel.FillPatternType;
 import org.apache.poi.ss.usermodel.IndexedColors;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.springframework.stereotype.Service;
 
 import com.donatodev.bcm_backend.dto.ContractDTO;
@@ -38,25 +39,40 @@ import org.openpdf.text.pdf.PdfWriter;
 @Service
 public class ExportService {
 
+    /** Rows an Excel export keeps in memory; older rows are flushed to a temporary file. */
+    private static final int EXCEL_ROW_WINDOW = 100;
+
+    /** Estimated column widths are capped at this many characters. */
+    private static final int EXCEL_MAX_COLUMN_CHARS = 60;
+
+    private static final String[] EXCEL_HEADERS = {
+        "Contract Number", "Customer", "Project", "Status",
+        "Start Date", "End Date", "Manager", "Business Area"
+    };
+
     /**
-     * Exports contracts to Excel format (.xlsx). Includes header styling,
-     * auto-sizing, and null-safe data handling.
+     * Exports contracts to Excel format (.xlsx), streaming. The workbook is an
+     * {@link SXSSFWorkbook}: only the last {@value #EXCEL_ROW_WINDOW} rows are
+     * kept in memory, the rest are flushed to a compressed temporary file, so
+     * heap use does not grow with the number of contracts. Column widths are
+     * estimated from the longest value in each column instead of measured with
+     * {@code autoSizeColumn}, which would need every row in memory and renders
+     * each cell with AWT fonts. Includes header styling and null-safe data
+     * handling.
      *
-     * @param contracts list of contracts to export
-     * @return byte array of the Excel file
+     * @param contracts pushes the contracts to export, in order, into the given
+     *                  sink (e.g. {@link ContractService#streamAllContracts})
+     * @param out       where the .xlsx file is written; not closed
      * @throws IOException if export fails
      */
-    public byte[] exportContractsToExcel(List<ContractDTO> contracts) throws IOException {
-        try (Workbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
-
+    public void exportContractsToExcel(Consumer<Consumer<ContractDTO>> contracts, OutputStream out) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(EXCEL_ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try {
             Sheet sheet = workbook.createSheet("Contracts");
 
             // Create header row with styling
             Row headerRow = sheet.createRow(0);
-            String[] headers = {
-                "Contract Number", "Customer", "Project", "Status",
-                "Start Date", "End Date", "Manager", "Business Area"
-            };
 
             CellStyle headerStyle = workbook.createCellStyle();
             org.apache.poi.ss.usermodel.Font headerFont = workbook.createFont();
@@ -67,41 +83,48 @@ public class ExportService {
             headerStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
             headerStyle.setBorderBottom(BorderStyle.THIN);
 
-            for (int i = 0; i < headers.length; i++) {
+            int[] maxChars = new int[EXCEL_HEADERS.length];
+            for (int i = 0; i < EXCEL_HEADERS.length; i++) {
                 Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers[i]);
+                cell.setCellValue(EXCEL_HEADERS[i]);
                 cell.setCellStyle(headerStyle);
+                maxChars[i] = EXCEL_HEADERS[i].length();
             }
 
-            // Fill data rows
-            int rowNum = 1;
-            for (ContractDTO contract : contracts) {
-                Row row = sheet.createRow(rowNum++);
-                row.createCell(0).setCellValue(contract.contractNumber());
-                row.createCell(1).setCellValue(contract.customerName());
-                row.createCell(2).setCellValue(contract.projectName());
-                row.createCell(3).setCellValue(contract.status().toString());
-                row.createCell(4).setCellValue(contract.startDate().toString());
-                row.createCell(5).setCellValue(
-                        contract.endDate() != null ? contract.endDate().toString() : "N/A"
-                );
-                row.createCell(6).setCellValue(
-                        contract.manager() != null
-                        ? contract.manager().firstName() + " " + contract.manager().lastName()
-                        : "N/A"
-                );
-                row.createCell(7).setCellValue(
-                        contract.area() != null ? contract.area().name() : "N/A"
-                );
-            }
-
-            // Auto-size all columns
-            for (int i = 0; i < headers.length; i++) {
-                sheet.autoSizeColumn(i);
+            // Fill data rows as the contracts arrive
+            int[] rowNum = {1};
+            contracts.accept(contract -> {
+                Row row = sheet.createRow(rowNum[0]++);
+                String[] values = {
+                    contract.contractNumber(),
+                    contract.customerName(),
+                    contract.projectName(),
+                    contract.status().toString(),
+                    contract.startDate().toString(),
+                    contract.endDate() != null ? contract.endDate().toString() : "N/A",
+                    contract.manager() != null
+                            ? contract.manager().firstName() + " " + contract.manager().lastName()
+                            : "N/A",
+                    contract.area() != null ? contract.area().name() : "N/A"
+                };
+                for (int i = 0; i < values.length; i++) {
+                    row.createCell(i).setCellValue(values[i]);
+                    if (values[i] != null && values[i].length() > maxChars[i]) {
+                        maxChars[i] = values[i].length();
+                    }
+                }
+            });
+
+            // Estimated widths: the longest value plus padding, in 1/256ths of a character
+            for (int i = 0; i < EXCEL_HEADERS.length; i++) {
+                int chars = Math.min(maxChars[i] + 2, EXCEL_MAX_COLUMN_CHARS);
+                sheet.setColumnWidth(i, chars * 256);
             }
 
             workbook.write(out);
-            return out.toByteArray();
+        } finally {
+            workbook.dispose();
+            workbook.close();
         }
     }
 
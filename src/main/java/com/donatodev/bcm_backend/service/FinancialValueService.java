@@ -13,12 +13,12 @@ import com.donatodev.bcm_backend.config.TenantContext;
 import com.donatodev.bcm_backend.dto.FinancialValueDTO;
 import com.donatodev.bcm_backend.entity.FinancialValues;
 import com.donatodev.bcm_backend.entity.Organization;
-import com.donatodev.bcm_backend.entity.Users;
 import com.donatodev.bcm_backend.exception.FinancialValueNotFoundException;
 import com.donatodev.bcm_backend.exception.UserNotFoundException;
 import com.donatodev.bcm_backend.mapper.FinancialValueMapper;
 import com.donatodev.bcm_backend.repository.FinancialValuesRepository;
 import com.donatodev.bcm_backend.repository.UsersRepository;
+import com.donatodev.bcm_backend.security.CurrentPrincipal;
 
 /**
  * Service class for managing business logic related to financial values.
@@ -58,19 +58,17 @@ public class FinancialValueService {
      * @throws UserNotFoundException if authenticated user is not found
      */
     public List<FinancialValueDTO> getAllValues() {
-        String username = getAuthenticatedUsername();
-        Users user = usersRepository.findByUsername(username)
-                .orElseThrow(() -> new UserNotFoundException("Utente" + NOT_FOUND_SUFFIX));
+        CurrentPrincipal user = CurrentPrincipal.currentOr(this::getAuthenticatedUsername, usersRepository::findByUsername);
 
         Long orgId = TenantContext.get();
 
-        if ("ADMIN".equals(user.getRole().getRole())) {
+        if (user.isAdmin()) {
             List<FinancialValues> values = (orgId != null)
                     ? financialValuesRepository.findAllByOrganizationId(orgId)
                     : financialValuesRepository.findAll();
             return values.stream().map(financialValueMapper::toDTO).toList();
         } else {
-            Long managerId = user.getManager().getId();
+            Long managerId = user.managerId();
             return financialValuesRepository.findByContract_Manager_Id(managerId)
                     .stream()
                     .map(financialValueMapper::toDTO)
@@ -202,14 +200,13 @@ public class FinancialValueService {
         String username = getAuthenticatedUsername();
         if (username == null) return;
 
-        Users user = usersRepository.findByUsername(username)
-                .orElseThrow(() -> new UserNotFoundException("Utente" + NOT_FOUND_SUFFIX));
+        CurrentPrincipal user = CurrentPrincipal.currentOr(() -> username, usersRepository::findByUsername);
 
-        if ("MANAGER".equals(user.getRole().getRole())) {
-            Long managerId = user.getManager().getId();
+        if ("MANAGER".equals(user.role())) {
+            Long managerId = user.managerId();
             Long valueManagerId = value.getContract().getManager().getId();
 
-            if (!managerId.equals(valueManagerId)) {
+            if (!valueManagerId.equals(managerId)) {
                 throw new AccessDeniedException("non sei assegnato a questo contratto");
             }
         }
@@ -31,10 +31,15 @@ public class ManagerService {
 
 	private final ManagersRepository managersRepository;
     private final ManagerMapper managerMapper;
+    private final ContractAnalyticsCache analyticsCache;
+    private final ContractChangeLog changeLog;
 
-    public ManagerService(ManagersRepository managersRepository, ManagerMapper managerMapper) {
+    public ManagerService(ManagersRepository managersRepository, ManagerMapper managerMapper,
+                          ContractAnalyticsCache analyticsCache, ContractChangeLog changeLog) {
         this.managersRepository = managersRepository;
         this.managerMapper = managerMapper;
+        this.analyticsCache = analyticsCache;
+        this.changeLog = changeLog;
     }
 
     /**
@@ -112,6 +117,9 @@ public class ManagerService {
         manager.setDepartment(managerDTO.department());
 
         manager = managersRepository.save(manager);
+        // The manager name is part of the cached "top managers" view and of the listings
+        analyticsCache.invalidate(TenantContext.get());
+        changeLog.recordListingChange(manager.getOrganization() != null ? manager.getOrganization().getId() : null);
         return managerMapper.toDTO(manager);
     }
 
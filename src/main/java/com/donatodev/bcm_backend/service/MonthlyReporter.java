@@ -13,6 +13,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.util.HtmlUtils;
 
+import com.donatodev.bcm_backend.dto.ContractStatsResponse;
 import com.donatodev.bcm_backend.entity.Organization;
 import com.donatodev.bcm_backend.entity.Users;
 import com.donatodev.bcm_backend.repository.ContractsRepository;
@@ -31,18 +32,21 @@ public class MonthlyReporter {
     private final FinancialValuesRepository financialValuesRepository;
     private final UsersRepository usersRepository;
     private final IEmailService emailService;
+    private final ContractStatsService contractStatsService;
 
     public MonthlyReporter(
             OrganizationRepository organizationRepository,
             ContractsRepository contractsRepository,
             FinancialValuesRepository financialValuesRepository,
             UsersRepository usersRepository,
-            IEmailService emailService) {
+            IEmailService emailService,
+            ContractStatsService contractStatsService) {
         this.organizationRepository = organizationRepository;
         this.contractsRepository = contractsRepository;
         this.financialValuesRepository = financialValuesRepository;
         this.usersRepository = usersRepository;
         this.emailService = emailService;
+        this.contractStatsService = contractStatsService;
     }
 
     @Scheduled(cron = "0 0 8 1 * *")
@@ -71,9 +75,7 @@ public class MonthlyReporter {
     }
 
     private void sendReportForOrg(Organization org, int year, int month) {
-        int total = contractsRepository.countAllContractsByOrg(org.getId());
-        int active = contractsRepository.countActiveContractsByOrg(org.getId());
-        int expired = contractsRepository.countExpiredContractsByOrg(org.getId());
+        ContractStatsResponse kpis = contractStatsService.statsFor(org.getId());
         long newContracts = contractsRepository.countNewContractsByOrgAndYearMonth(org.getId(), year, month);
         double totalValue = financialValuesRepository.sumFinancialAmountByOrgAndYearMonth(org.getId(), year, month);
 
@@ -85,7 +87,7 @@ public class MonthlyReporter {
 
         String monthLabel = LocalDate.of(year, month, 1).getMonth().getDisplayName(TextStyle.FULL, Locale.ENGLISH);
         String subject = String.format("[BCM] Monthly Report — %s %d", monthLabel, year);
-        ReportStats stats = new ReportStats(total, active, expired, newContracts, totalValue);
+        ReportStats stats = new ReportStats(kpis.getTotal(), kpis.getActive(), kpis.getExpired(), newContracts, totalValue);
         String body = buildReportEmail(org.getName(), monthLabel, year, stats);
 
         for (Users admin : admins) {
@@ -16,6 +16,7 @@ import com.donatodev.bcm_backend.exception.NotificationNotFoundException;
 import com.donatodev.bcm_backend.exception.UserNotFoundException;
 import com.donatodev.bcm_backend.repository.NotificationRepository;
 import com.donatodev.bcm_backend.repository.UsersRepository;
+import com.donatodev.bcm_backend.security.CurrentPrincipal;
 
 @Service
 public class NotificationService {
@@ -44,13 +45,13 @@ public class NotificationService {
 
     @Transactional
     public void markAsRead(Long notificationId) {
-        Users user = resolveCurrentUser();
+        Long userId = resolveCurrentUserId();
         Long orgId = TenantContext.get();
 
         Notification n = notificationRepository.findById(notificationId)
                 .orElseThrow(() -> new NotificationNotFoundException("Notifica non trovata: " + notificationId));
 
-        if (!n.getUser().getId().equals(user.getId()) || !n.getOrgId().equals(orgId)) {
+        if (!n.getUser().getId().equals(userId) || !n.getOrgId().equals(orgId)) {
             throw new AccessDeniedException("non autorizzato ad accedere alla notifica: " + notificationId);
         }
 
@@ -60,11 +61,11 @@ public class NotificationService {
 
     @Transactional
     public void markAllAsRead() {
-        Users user = resolveCurrentUser();
+        Long userId = resolveCurrentUserId();
         Long orgId = TenantContext.get();
 
         List<Notification> unread = notificationRepository
-                .findByUserIdAndOrgIdOrderByCreatedAtDesc(user.getId(), orgId)
+                .findByUserIdAndOrgIdOrderByCreatedAtDesc(userId, orgId)
                 .stream()
                 .filter(n -> !n.isRead())
                 .toList();
@@ -75,11 +76,11 @@ public class NotificationService {
 
     @Transactional(readOnly = true)
     public List<NotificationDTO> getForCurrentUser() {
-        Users user = resolveCurrentUser();
+        Long userId = resolveCurrentUserId();
         Long orgId = TenantContext.get();
 
         return notificationRepository
-                .findByUserIdAndOrgIdOrderByCreatedAtDesc(user.getId(), orgId)
+                .findByUserIdAndOrgIdOrderByCreatedAtDesc(userId, orgId)
                 .stream()
                 .map(this::toDTO)
                 .toList();
@@ -87,15 +88,15 @@ public class NotificationService {
 
     @Transactional(readOnly = true)
     public long getUnreadCount() {
-        Users user = resolveCurrentUser();
+        Long userId = resolveCurrentUserId();
         Long orgId = TenantContext.get();
-        return notificationRepository.countByUserIdAndOrgIdAndReadFalse(user.getId(), orgId);
+        return notificationRepository.countByUserIdAndOrgIdAndReadFalse(userId, orgId);
     }
 
-    private Users resolveCurrentUser() {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        return usersRepository.findByUsername(username)
-                .orElseThrow(() -> new UserNotFoundException("Utente non trovato: " + username));
+    private Long resolveCurrentUserId() {
+        return CurrentPrincipal.currentOr(
+                () -> SecurityContextHolder.getContext().getAuthentication().getName(),
+                usersRepository::findByUsername).userId();
     }
 
     private NotificationDTO toDTO(Notification n) {
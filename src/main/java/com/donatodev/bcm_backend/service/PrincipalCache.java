@@ -0,0 +1,117 @@
+package com.donatodev.bcm_backend.service;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.donatodev.bcm_backend.entity.Users;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded, TTL-based cache of the principal data {@link CustomUserDetailsService}
+ * needs on every authenticated request, keyed by (organization id, username).
+ * <p>
+ * Entries are evicted explicitly by the code paths that change the underlying
+ * {@code users} row (see {@link UserService}, {@code AuthService},
+ * {@link RoleService}); the TTL is only a safety net for writes that bypass
+ * those services. Hit/miss/eviction counts are published to Micrometer under
+ * {@code cache.*{cache="principals"}}.
+ */
+@Component
+public class PrincipalCache {
+
+    static final String CACHE_NAME = "principals";
+
+    /**
+     * Only the fields needed to rebuild the authenticated principal. A fresh
+     * {@code UserDetails} is built on every hit because Spring Security may
+     * erase the credentials of the instance it is handed.
+     */
+    public record CachedPrincipal(Long userId, String username, String passwordHash, String role,
+                                  Long managerId, Long organizationId) {
+    }
+
+    private record Key(Long organizationId, String username) {
+    }
+
+    private final boolean enabled;
+    private final Cache<Key, CachedPrincipal> cache;
+
+    public PrincipalCache(MeterRegistry meterRegistry,
+                          @Value("${security.principal-cache.enabled:true}") boolean enabled,
+                          @Value("${security.principal-cache.max-size:10000}") long maxSize,
+                          @Value("${security.principal-cache.ttl:PT5M}") Duration ttl) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached principal for (organizationId, username), invoking
+     * {@code loader} on a miss. Exceptions from the loader (e.g. user not
+     * found) propagate and nothing is cached.
+     */
+    public CachedPrincipal get(Long organizationId, String username, Supplier<CachedPrincipal> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        return cache.get(new Key(organizationId, username), k -> loader.get());
+    }
+
+    /**
+     * Evicts every cached entry for the given user. Must be called with the
+     * user's identity as it was <em>before</em> any username change, as well
+     * as after.
+     */
+    public void evict(Users user) {
+        Long organizationId = user.getOrganization() != null ? user.getOrganization().getId() : null;
+        evict(organizationId, user.getUsername());
+    }
+
+    /**
+     * Evicts the entry for (organizationId, username) and the tenant-less
+     * entry for the same username. When called inside a transaction the
+     * eviction is repeated after commit, so a concurrent request cannot
+     * re-cache the pre-commit row in between.
+     */
+    public void evict(Long organizationId, String username) {
+        if (username == null) {
+            return;
+        }
+        Runnable eviction = () -> {
+            cache.invalidate(new Key(organizationId, username));
+            cache.invalidate(new Key(null, username));
+        };
+        eviction.run();
+        afterCommit(eviction);
+    }
+
+    /** Drops every entry, e.g. after a role is renamed or deleted. */
+    public void evictAll() {
+        cache.invalidateAll();
+        afterCommit(cache::invalidateAll);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+}
@@ -13,14 +13,13 @@ import com.donatodev.bcm_backend.dto.RiskFeedbackDTO;
 import com.donatodev.bcm_backend.dto.RiskFeedbackRequest;
 import com.donatodev.bcm_backend.entity.Contracts;
 import com.donatodev.bcm_backend.entity.RiskFeedback;
-import com.donatodev.bcm_backend.entity.Users;
 import com.donatodev.bcm_backend.exception.AccessDeniedException;
 import com.donatodev.bcm_backend.exception.ContractNotFoundException;
-import com.donatodev.bcm_backend.exception.UserNotFoundException;
 import com.donatodev.bcm_backend.mapper.RiskFeedbackMapper;
 import com.donatodev.bcm_backend.repository.ContractsRepository;
 import com.donatodev.bcm_backend.repository.RiskFeedbackRepository;
 import com.donatodev.bcm_backend.repository.UsersRepository;
+import com.donatodev.bcm_backend.security.CurrentPrincipal;
 import com.donatodev.bcm_backend.util.AuthenticatedUserUtils;
 
 /**
@@ -31,9 +30,6 @@ import com.donatodev.bcm_backend.util.AuthenticatedUserUtils;
 @Service
 public class RiskFeedbackService {
 
-    private static final String USER_NOT_FOUND_MSG = "Utente non trovato";
-    private static final String ADMIN_ROLE = "ADMIN";
-
     private final RiskFeedbackRepository riskFeedbackRepository;
     private final ContractsRepository contractsRepository;
     private final UsersRepository usersRepository;
@@ -61,11 +57,11 @@ public class RiskFeedbackService {
      * @throws AccessDeniedException if a manager targets a contract they don't own
      */
     public RiskFeedbackDTO create(Long contractId, RiskFeedbackRequest request) {
-        Users user = getAuthenticatedUser();
+        CurrentPrincipal user = CurrentPrincipal.currentOr(AuthenticatedUserUtils::getUsernameOrNull, usersRepository::findByUsername);
         Contracts contract = findContractInScope(contractId)
                 .orElseThrow(() -> new ContractNotFoundException("Contratto non trovato: " + contractId));
 
-        if (!isAdmin(user) && !isOwnedByManager(contract, user)) {
+        if (!user.isAdmin() && !isOwnedByManager(contract, user)) {
             throw new AccessDeniedException("non autorizzato a inviare feedback per questo contratto");
         }
 
@@ -73,7 +69,7 @@ public class RiskFeedbackService {
 
         RiskFeedback feedback = RiskFeedback.builder()
                 .contract(contract)
-                .submittedBy(user)
+                .submittedBy(usersRepository.getReferenceById(user.userId()))
                 .organizationId(orgId)
                 .riskScore(request.riskScore())
                 .riskLevel(request.level())
@@ -92,16 +88,16 @@ public class RiskFeedbackService {
      * @return one {@link RiskFeedbackDTO} per contract that has feedback
      */
     public List<RiskFeedbackDTO> getFeedbackForCurrentUser() {
-        Users user = getAuthenticatedUser();
+        CurrentPrincipal user = CurrentPrincipal.currentOr(AuthenticatedUserUtils::getUsernameOrNull, usersRepository::findByUsername);
 
         List<RiskFeedback> all;
-        if (isAdmin(user)) {
+        if (user.isAdmin()) {
             Long orgId = TenantContext.get();
             all = (orgId != null)
                     ? riskFeedbackRepository.findByOrganizationIdOrderByCreatedAtDescIdDesc(orgId)
                     : riskFeedbackRepository.findAll();
         } else {
-            all = riskFeedbackRepository.findByContractManagerIdOrderByCreatedAtDescIdDesc(user.getManager().getId());
+            all = riskFeedbackRepository.findByContractManagerIdOrderByCreatedAtDescIdDesc(user.managerId());
         }
 
         // Sort in Java rather than trusting the repository's ORDER BY alone: the
@@ -121,14 +117,10 @@ public class RiskFeedbackService {
         return latestByContract.values().stream().map(riskFeedbackMapper::toDTO).toList();
     }
 
-    private boolean isAdmin(Users user) {
-        return ADMIN_ROLE.equals(user.getRole().getRole());
-    }
-
-    private boolean isOwnedByManager(Contracts contract, Users user) {
+    private boolean isOwnedByManager(Contracts contract, CurrentPrincipal user) {
         return contract.getManager() != null
-                && user.getManager() != null
-                && contract.getManager().getId().equals(user.getManager().getId());
+                && user.managerId() != null
+                && contract.getManager().getId().equals(user.managerId());
     }
 
     private Optional<Contracts> findContractInScope(Long contractId) {
@@ -137,10 +129,4 @@ public class RiskFeedbackService {
                 ? contractsRepository.findByIdAndOrganization_Id(contractId, orgId)
                 : contractsRepository.findById(contractId);
     }
-
-    private Users getAuthenticatedUser() {
-        String username = AuthenticatedUserUtils.getUsernameOrNull();
-        return usersRepository.findByUsername(username)
-                .orElseThrow(() -> new UserNotFoundException(USER_NOT_FOUND_MSG));
-    }
 }
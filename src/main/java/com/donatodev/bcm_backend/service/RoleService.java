@@ -20,10 +20,12 @@ public class RoleService {
 
 	private final RolesRepository rolesRepository;
     private final RoleMapper roleMapper;
+    private final PrincipalCache principalCache;
 
-    public RoleService(RolesRepository rolesRepository, RoleMapper roleMapper) {
+    public RoleService(RolesRepository rolesRepository, RoleMapper roleMapper, PrincipalCache principalCache) {
         this.rolesRepository = rolesRepository;
         this.roleMapper = roleMapper;
+        this.principalCache = principalCache;
     }
 
     /**
@@ -77,6 +79,8 @@ public class RoleService {
 
         role.setRole(dto.role());
         role = rolesRepository.save(role);
+        // Every cached principal carrying the old role name is now stale.
+        principalCache.evictAll();
         return roleMapper.toDTO(role);
     }
 
@@ -87,5 +91,6 @@ public class RoleService {
      */
     public void deleteRole(Long id) {
         rolesRepository.deleteById(id);
+        principalCache.evictAll();
     }
 }
@@ -0,0 +1,125 @@
+package com.donatodev.bcm_backend.service;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import com.donatodev.bcm_backend.entity.Organization;
+import com.donatodev.bcm_backend.entity.SubscriptionTier;
+import com.donatodev.bcm_backend.jwt.RateLimitBucketSource;
+import com.donatodev.bcm_backend.jwt.RateLimitProbe;
+import com.donatodev.bcm_backend.repository.OrganizationRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Per-organization request quotas, by {@link SubscriptionTier} and {@link QuotaClass}.
+ * Buckets come from the same {@link RateLimitBucketSource} as the login rate limiter, so
+ * they are shared across instances wherever that one is.
+ * <p>
+ * Limits are requests per minute, read from {@code tenant-quota.limits.<tier>.<class>}
+ * (e.g. {@code tenant-quota.limits.free.export}) and falling back to the defaults below.
+ * An organization's tier is cached for {@code tenant-quota.tier-cache-ttl}, so a tier
+ * change takes effect within that window. Bucket keys include the tier, because a
+ * bucket keeps the limit it was created with: after a change the organization starts
+ * on a fresh bucket with the new tier's limit.
+ */
+@Service
+public class TenantQuotaService {
+
+    /** Endpoint classes with separate budgets, so heavy calls cannot starve cheap ones. */
+    public enum QuotaClass {
+        READ, WRITE, EXPORT, ML, UPLOAD
+    }
+
+    private static final String BUCKET_KEY_PREFIX = "quota:";
+
+    private static final Map<SubscriptionTier, int[]> DEFAULT_LIMITS = Map.of(
+            // READ, WRITE, EXPORT, ML, UPLOAD
+            SubscriptionTier.FREE, new int[] {300, 60, 5, 10, 10},
+            SubscriptionTier.PRO, new int[] {1200, 300, 30, 60, 60},
+            SubscriptionTier.ENTERPRISE, new int[] {6000, 1500, 120, 300, 300});
+
+    private final RateLimitBucketSource bucketSource;
+    private final OrganizationRepository organizationRepository;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Map<SubscriptionTier, Map<QuotaClass, Integer>> limits = new EnumMap<>(SubscriptionTier.class);
+    private final Cache<Long, SubscriptionTier> tiers;
+
+    public TenantQuotaService(RateLimitBucketSource bucketSource,
+                              OrganizationRepository organizationRepository,
+                              MeterRegistry meterRegistry,
+                              Environment environment,
+                              @Value("${tenant-quota.enabled:true}") boolean enabled,
+                              @Value("${tenant-quota.tier-cache-ttl:PT1M}") Duration tierCacheTtl) {
+        this.bucketSource = bucketSource;
+        this.organizationRepository = organizationRepository;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.tiers = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(tierCacheTtl)
+                .build();
+        for (SubscriptionTier tier : SubscriptionTier.values()) {
+            Map<QuotaClass, Integer> tierLimits = new EnumMap<>(QuotaClass.class);
+            for (QuotaClass quotaClass : QuotaClass.values()) {
+                String property = "tenant-quota.limits." + tier.name().toLowerCase(Locale.ROOT)
+                        + "." + quotaClass.name().toLowerCase(Locale.ROOT);
+                tierLimits.put(quotaClass, environment.getProperty(property, Integer.class,
+                        DEFAULT_LIMITS.get(tier)[quotaClass.ordinal()]));
+            }
+            limits.put(tier, tierLimits);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Requests per minute allowed for {@code quotaClass} on {@code tier}. */
+    public int limitFor(SubscriptionTier tier, QuotaClass quotaClass) {
+        return limits.get(tier).get(quotaClass);
+    }
+
+    /**
+     * Consumes one request of {@code quotaClass} from the organization's budget and records
+     * the outcome under {@code bcm.tenant_quota.requests{organization, class, outcome}}.
+     */
+    public QuotaDecision consume(Long organizationId, QuotaClass quotaClass) {
+        SubscriptionTier tier = tierOf(organizationId);
+        int limit = limitFor(tier, quotaClass);
+        RateLimitProbe probe = bucketSource.probe(
+                BUCKET_KEY_PREFIX + organizationId + ":" + tier.name() + ":" + quotaClass.name(), limit);
+
+        Counter.builder("bcm.tenant_quota.requests")
+                .tag("organization", String.valueOf(organizationId))
+                .tag("class", quotaClass.name().toLowerCase(Locale.ROOT))
+                .tag("outcome", probe.allowed() ? "allowed" : "rejected")
+                .register(meterRegistry)
+                .increment();
+
+        return new QuotaDecision(limit, probe);
+    }
+
+    private SubscriptionTier tierOf(Long organizationId) {
+        return tiers.get(organizationId, id -> organizationRepository.findById(id)
+                .map(Organization::getSubscriptionTier)
+                .orElse(SubscriptionTier.FREE));
+    }
+
+    /**
+     * @param limit the per-minute limit that applied
+     * @param probe the bucket outcome
+     */
+    public record QuotaDecision(int limit, RateLimitProbe probe) {
+    }
+}
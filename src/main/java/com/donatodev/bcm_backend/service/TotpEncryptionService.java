@@ -5,10 +5,15 @@ import java.nio.charset.StandardCharsets;
 import java.security.GeneralSecurityException;
 import java.security.MessageDigest;
 import java.security.SecureRandom;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import javax.crypto.Cipher;
+import javax.crypto.Mac;
 import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 
@@ -19,6 +24,16 @@ import org.springframework.stereotype.Service;
  * Encrypts TOTP secrets at rest with AES-256-GCM. The key is derived by
  * SHA-256-hashing the existing JWT signing secret, so no new secret needs
  * to be provisioned or configured.
+ * <p>
+ * Also derives the keyed lookup index for TOTP recovery codes (HMAC-SHA256 under a
+ * separate sub-key), so a presented code is checked against at most one BCrypt hash.
+ * <p>
+ * Key material is derived once, at construction, into an immutable {@link KeyRing}.
+ * Ciphertext is prefixed with the key version ({@code v2:...}). When the JWT secret is
+ * rotated, bump {@code totp.encryption.key-version} and list the old secret under
+ * {@code totp.encryption.previous-secrets} so existing secrets still decrypt.
+ * Unprefixed ciphertext predates versioning and is read as version 1. Cipher and MAC
+ * instances are reused per thread instead of being looked up on every call.
  */
 @Service
 public class TotpEncryptionService {
@@ -27,23 +42,43 @@ public class TotpEncryptionService {
     private static final String AES_ALGORITHM = "AES";
     private static final int GCM_IV_LENGTH_BYTES = 12;
     private static final int GCM_TAG_LENGTH_BITS = 128;
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final byte[] RECOVERY_LOOKUP_KEY_LABEL =
+            "bcm-totp-recovery-code-lookup".getBytes(StandardCharsets.UTF_8);
+    private static final int LEGACY_KEY_VERSION = 1;
+    private static final String VERSION_PREFIX = "v";
+    private static final char VERSION_SEPARATOR = ':';
     private static final SecureRandom SECURE_RANDOM = new SecureRandom();
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private final KeyRing keyRing;
+    private final ThreadLocal<Cipher> ciphers = ThreadLocal.withInitial(TotpEncryptionService::newCipher);
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(TotpEncryptionService::newMac);
+
+    /**
+     * @param jwtSecret       current Base64 JWT secret; its derived key encrypts new secrets
+     * @param keyVersion      version tag for the current secret
+     * @param previousSecrets comma-separated {@code version:base64Secret} pairs for retired
+     *                        secrets that must still decrypt (empty when never rotated)
+     */
+    public TotpEncryptionService(@Value("${jwt.secret}") String jwtSecret,
+                                 @Value("${totp.encryption.key-version:1}") int keyVersion,
+                                 @Value("${totp.encryption.previous-secrets:}") String previousSecrets) {
+        this.keyRing = KeyRing.of(jwtSecret, keyVersion, previousSecrets);
+    }
 
     public String encrypt(String plainText) {
         try {
             byte[] iv = new byte[GCM_IV_LENGTH_BYTES];
             SECURE_RANDOM.nextBytes(iv);
 
-            Cipher cipher = Cipher.getInstance(CIPHER_TRANSFORMATION);
-            cipher.init(Cipher.ENCRYPT_MODE, deriveKey(), new GCMParameterSpec(GCM_TAG_LENGTH_BITS, iv));
+            Cipher cipher = ciphers.get();
+            cipher.init(Cipher.ENCRYPT_MODE, keyRing.current().aesKey(), new GCMParameterSpec(GCM_TAG_LENGTH_BITS, iv));
             byte[] cipherText = cipher.doFinal(plainText.getBytes(StandardCharsets.UTF_8));
 
             ByteBuffer combined = ByteBuffer.allocate(iv.length + cipherText.length);
             combined.put(iv).put(cipherText);
-            return Base64.getEncoder().encodeToString(combined.array());
+            return VERSION_PREFIX + keyRing.currentVersion() + VERSION_SEPARATOR
+                    + Base64.getEncoder().encodeToString(combined.array());
         } catch (GeneralSecurityException e) {
             throw new IllegalStateException("Failed to encrypt TOTP secret", e);
         }
@@ -51,21 +86,130 @@ public class TotpEncryptionService {
 
     public String decrypt(String encoded) {
         try {
-            byte[] combined = Base64.getDecoder().decode(encoded);
-            byte[] iv = Arrays.copyOfRange(combined, 0, GCM_IV_LENGTH_BYTES);
-            byte[] cipherText = Arrays.copyOfRange(combined, GCM_IV_LENGTH_BYTES, combined.length);
+            int version = LEGACY_KEY_VERSION;
+            String payload = encoded;
+            int separator = encoded.indexOf(VERSION_SEPARATOR);
+            if (encoded.startsWith(VERSION_PREFIX) && separator > VERSION_PREFIX.length()) {
+                version = Integer.parseInt(encoded.substring(VERSION_PREFIX.length(), separator));
+                payload = encoded.substring(separator + 1);
+            }
+            KeyMaterial keys = keyRing.version(version);
+            if (keys == null) {
+                throw new IllegalStateException("Unknown TOTP encryption key version " + version);
+            }
 
-            Cipher cipher = Cipher.getInstance(CIPHER_TRANSFORMATION);
-            cipher.init(Cipher.DECRYPT_MODE, deriveKey(), new GCMParameterSpec(GCM_TAG_LENGTH_BITS, iv));
-            return new String(cipher.doFinal(cipherText), StandardCharsets.UTF_8);
-        } catch (GeneralSecurityException e) {
+            byte[] combined = Base64.getDecoder().decode(payload);
+            Cipher cipher = ciphers.get();
+            cipher.init(Cipher.DECRYPT_MODE, keys.aesKey(),
+                    new GCMParameterSpec(GCM_TAG_LENGTH_BITS, combined, 0, GCM_IV_LENGTH_BYTES));
+            byte[] plain = cipher.doFinal(combined, GCM_IV_LENGTH_BYTES, combined.length - GCM_IV_LENGTH_BYTES);
+            return new String(plain, StandardCharsets.UTF_8);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
             throw new IllegalStateException("Failed to decrypt TOTP secret", e);
         }
     }
 
-    private SecretKeySpec deriveKey() throws GeneralSecurityException {
-        byte[] rawSecret = Base64.getDecoder().decode(jwtSecret);
-        byte[] keyBytes = MessageDigest.getInstance("SHA-256").digest(rawSecret);
-        return new SecretKeySpec(keyBytes, AES_ALGORITHM);
+    /**
+     * Deterministic lookup key for a recovery code, under the current key version. Keyed
+     * with a secret that is not stored in the database, so a leaked
+     * {@code totp_recovery_codes} table cannot be brute-forced through this column faster
+     * than through the BCrypt hashes.
+     */
+    public String recoveryCodeLookupKey(String code) {
+        return lookupKey(keyRing.current(), code);
+    }
+
+    /**
+     * Lookup keys for a recovery code under every known key version, current first, so
+     * codes issued before a rotation are still found.
+     */
+    public List<String> recoveryCodeLookupKeys(String code) {
+        List<String> keys = new ArrayList<>(keyRing.versions().size());
+        keys.add(recoveryCodeLookupKey(code));
+        keyRing.versions().forEach((version, material) -> {
+            if (version != keyRing.currentVersion()) {
+                keys.add(lookupKey(material, code));
+            }
+        });
+        return keys;
+    }
+
+    private String lookupKey(KeyMaterial keys, String code) {
+        try {
+            Mac mac = macs.get();
+            mac.init(keys.lookupKey());
+            return HexFormat.of().formatHex(mac.doFinal(code.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to derive recovery code lookup key", e);
+        }
+    }
+
+    private static Cipher newCipher() {
+        try {
+            return Cipher.getInstance(CIPHER_TRANSFORMATION);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to create TOTP cipher", e);
+        }
+    }
+
+    private static Mac newMac() {
+        try {
+            return Mac.getInstance(HMAC_ALGORITHM);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to create recovery code MAC", e);
+        }
+    }
+
+    /** Keys derived from one JWT secret. */
+    private record KeyMaterial(SecretKeySpec aesKey, SecretKeySpec lookupKey) {
+
+        static KeyMaterial derive(String base64Secret) {
+            try {
+                byte[] rawSecret = Base64.getDecoder().decode(base64Secret.trim());
+                byte[] aesKey = MessageDigest.getInstance("SHA-256").digest(rawSecret);
+
+                Mac subKeyMac = Mac.getInstance(HMAC_ALGORITHM);
+                subKeyMac.init(new SecretKeySpec(rawSecret, HMAC_ALGORITHM));
+                byte[] lookupKey = subKeyMac.doFinal(RECOVERY_LOOKUP_KEY_LABEL);
+
+                return new KeyMaterial(new SecretKeySpec(aesKey, AES_ALGORITHM),
+                        new SecretKeySpec(lookupKey, HMAC_ALGORITHM));
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Failed to derive TOTP key material", e);
+            }
+        }
+    }
+
+    /** Immutable version-to-key map; the current version encrypts, every version decrypts. */
+    private record KeyRing(int currentVersion, Map<Integer, KeyMaterial> versions) {
+
+        static KeyRing of(String currentSecret, int currentVersion, String previousSecrets) {
+            Map<Integer, KeyMaterial> versions = new LinkedHashMap<>();
+            versions.put(currentVersion, KeyMaterial.derive(currentSecret));
+            for (String entry : previousSecrets.split(",")) {
+                if (entry.isBlank()) {
+                    continue;
+                }
+                int separator = entry.indexOf(VERSION_SEPARATOR);
+                if (separator <= 0) {
+                    throw new IllegalArgumentException(
+                            "totp.encryption.previous-secrets entries must be version:base64Secret");
+                }
+                int version = Integer.parseInt(entry.substring(0, separator).trim());
+                if (versions.containsKey(version)) {
+                    throw new IllegalArgumentException("Duplicate TOTP encryption key version " + version);
+                }
+                versions.put(version, KeyMaterial.derive(entry.substring(separator + 1)));
+            }
+            return new KeyRing(currentVersion, Map.copyOf(versions));
+        }
+
+        KeyMaterial current() {
+            return versions.get(currentVersion);
+        }
+
+        KeyMaterial version(int version) {
+            return versions.get(version);
+        }
     }
 }
@@ -4,6 +4,7 @@ import java.security.SecureRandom;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -87,7 +88,11 @@ public class TwoFactorAuthService {
         recoveryCodeRepository.deleteByUserId(user.getId());
         List<String> plainCodes = generateRecoveryCodes();
         List<TotpRecoveryCode> entities = plainCodes.stream()
-                .map(plain -> TotpRecoveryCode.builder().user(user).codeHash(passwordEncoder.encode(plain)).build())
+                .map(plain -> TotpRecoveryCode.builder()
+                        .user(user)
+                        .codeHash(passwordEncoder.encode(plain))
+                        .lookupKey(totpEncryptionService.recoveryCodeLookupKey(plain))
+                        .build())
                 .toList();
         recoveryCodeRepository.saveAll(entities);
 
@@ -150,18 +155,36 @@ public class TwoFactorAuthService {
         return new AuthResponseDTO(accessToken, refreshToken);
     }
 
+    /**
+     * Looks the code up by its HMAC index (under each key version, so a secret rotation
+     * does not orphan issued codes) and verifies it against that single BCrypt hash.
+     * Only codes issued before the index existed (null {@code lookupKey}) fall back to the
+     * old one-hash-per-code scan.
+     */
     private boolean consumeRecoveryCodeIfValid(Users user, String code) {
-        List<TotpRecoveryCode> unused = recoveryCodeRepository.findByUserIdAndUsedAtIsNull(user.getId());
-        for (TotpRecoveryCode candidate : unused) {
+        List<String> lookupKeys = totpEncryptionService.recoveryCodeLookupKeys(code);
+        Optional<TotpRecoveryCode> indexed =
+                recoveryCodeRepository.findFirstByUserIdAndLookupKeyInAndUsedAtIsNull(user.getId(), lookupKeys);
+        if (indexed.isPresent()) {
+            return passwordEncoder.matches(code, indexed.get().getCodeHash()) && markUsed(indexed.get());
+        }
+
+        List<TotpRecoveryCode> legacy =
+                recoveryCodeRepository.findByUserIdAndLookupKeyIsNullAndUsedAtIsNull(user.getId());
+        for (TotpRecoveryCode candidate : legacy) {
             if (passwordEncoder.matches(code, candidate.getCodeHash())) {
-                candidate.setUsedAt(Instant.now());
-                recoveryCodeRepository.save(candidate);
-                return true;
+                return markUsed(candidate);
             }
         }
         return false;
     }
 
+    private boolean markUsed(TotpRecoveryCode code) {
+        code.setUsedAt(Instant.now());
+        recoveryCodeRepository.save(code);
+        return true;
+    }
+
     private List<String> generateRecoveryCodes() {
         List<String> codes = new ArrayList<>(RECOVERY_CODE_COUNT);
         for (int i = 0; i < RECOVERY_CODE_COUNT; i++) {
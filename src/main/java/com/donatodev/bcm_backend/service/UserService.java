@@ -45,6 +45,7 @@ public class UserService {
 	private final ManagersRepository managersRepository;
 	private final RolesRepository rolesRepository;
 	private final InviteTokenRepository inviteTokenRepository;
+	private final PrincipalCache principalCache;
 
 	private final PasswordResetTokenService passwordResetTokenService;
 	private final IEmailService emailService;
@@ -59,6 +60,7 @@ public class UserService {
 			ManagersRepository managersRepository,
 			RolesRepository rolesRepository,
 			InviteTokenRepository inviteTokenRepository,
+			PrincipalCache principalCache,
 			PasswordResetTokenService passwordResetTokenService,
 			IEmailService emailService
 	) {
@@ -68,6 +70,7 @@ public class UserService {
 		this.managersRepository = managersRepository;
 		this.rolesRepository = rolesRepository;
 		this.inviteTokenRepository = inviteTokenRepository;
+		this.principalCache = principalCache;
 		this.passwordResetTokenService = passwordResetTokenService; // ✅
 		this.emailService = emailService; // ✅
 	}
@@ -170,6 +173,7 @@ public class UserService {
 	public UserDTO updateUser(Long id, UserDTO dto) {
 		Users user = findUserInScope(id)
 				.orElseThrow(() -> new UserNotFoundException(ERR_USER_ID + id + ERR_NOT_FOUND));
+		principalCache.evict(user);
 
 		user.setUsername(dto.username());
 		user.setPasswordHash(passwordEncoder.encode(dto.password()));
@@ -183,6 +187,7 @@ public class UserService {
 		user.setCanApproveContracts(Boolean.TRUE.equals(dto.canApproveContracts()));
 
 		user = usersRepository.save(user);
+		principalCache.evict(user);
 		return userMapper.toDTO(user);
 	}
 
@@ -196,6 +201,7 @@ public class UserService {
 		Users user = findUserInScope(id)
 				.orElseThrow(() -> new UserNotFoundException(ERR_USER_ID + id + ERR_NOT_FOUND));
 		usersRepository.delete(user);
+		principalCache.evict(user);
 	}
 
 	/**
@@ -226,6 +232,7 @@ public class UserService {
 	public void updatePassword(Users user, String newPassword) {
 		user.setPasswordHash(passwordEncoder.encode(newPassword));
 		usersRepository.save(user);
+		principalCache.evict(user);
 	}
 
 	/**
@@ -316,6 +323,7 @@ public class UserService {
 	public Users updateUserPartial(Long id, String username, String role, Long managerId, String rawPassword) {
 		Users user = findUserInScope(id)
 				.orElseThrow(() -> new UserNotFoundException(ERR_USER_ID + id + ERR_NOT_FOUND));
+		principalCache.evict(user);
 
 		if (username != null && !username.isBlank()) {
 			if (!username.equals(user.getUsername()) && usersRepository.existsByUsername(username)) {
@@ -340,7 +348,9 @@ public class UserService {
 			user.setPasswordHash(passwordEncoder.encode(rawPassword));
 		}
 
-		return usersRepository.save(user);
+		Users saved = usersRepository.save(user);
+		principalCache.evict(saved);
+		return saved;
 	}
 
 	public Users getEntityById(Long id) {
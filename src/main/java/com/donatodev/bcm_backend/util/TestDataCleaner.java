@@ -6,6 +6,11 @@ import com.donatodev.bcm_backend.repository.BudgetRepository;
 import com.donatodev.bcm_backend.repository.BusinessAreasRepository;
 import com.donatodev.bcm_backend.repository.ContractHistoryRepository;
 import com.donatodev.bcm_backend.repository.ContractManagerRepository;
+import com.donatodev.bcm_backend.repository.ContractChangeRepository;
+import com.donatodev.bcm_backend.repository.ContractChangeSequenceRepository;
+import com.donatodev.bcm_backend.repository.ContractImportJobErrorRepository;
+import com.donatodev.bcm_backend.repository.ContractImportJobRepository;
+import com.donatodev.bcm_backend.repository.ContractStatsCounterRepository;
 import com.donatodev.bcm_backend.repository.ContractTemplateRepository;
 import com.donatodev.bcm_backend.repository.ContractWorkflowEventRepository;
 import com.donatodev.bcm_backend.repository.ContractsRepository;
@@ -39,6 +44,11 @@ public class TestDataCleaner {
     private final FinancialValuesRepository financialValuesRepository;
     private final ContractManagerRepository contractManagerRepository;
     private final ContractsRepository contractsRepository;
+    private final ContractStatsCounterRepository contractStatsCounterRepository;
+    private final ContractChangeRepository contractChangeRepository;
+    private final ContractChangeSequenceRepository contractChangeSequenceRepository;
+    private final ContractImportJobErrorRepository contractImportJobErrorRepository;
+    private final ContractImportJobRepository contractImportJobRepository;
     private final ContractTemplateRepository contractTemplateRepository;
     private final UsersRepository usersRepository;
     private final ManagersRepository managersRepository;
@@ -58,6 +68,11 @@ public class TestDataCleaner {
             FinancialValuesRepository financialValuesRepository,
             ContractManagerRepository contractManagerRepository,
             ContractsRepository contractsRepository,
+            ContractStatsCounterRepository contractStatsCounterRepository,
+            ContractChangeRepository contractChangeRepository,
+            ContractChangeSequenceRepository contractChangeSequenceRepository,
+            ContractImportJobErrorRepository contractImportJobErrorRepository,
+            ContractImportJobRepository contractImportJobRepository,
             ContractTemplateRepository contractTemplateRepository,
             UsersRepository usersRepository,
             ManagersRepository managersRepository,
@@ -76,6 +91,11 @@ public class TestDataCleaner {
         this.financialValuesRepository = financialValuesRepository;
         this.contractManagerRepository = contractManagerRepository;
         this.contractsRepository = contractsRepository;
+        this.contractStatsCounterRepository = contractStatsCounterRepository;
+        this.contractChangeRepository = contractChangeRepository;
+        this.contractChangeSequenceRepository = contractChangeSequenceRepository;
+        this.contractImportJobErrorRepository = contractImportJobErrorRepository;
+        this.contractImportJobRepository = contractImportJobRepository;
         this.contractTemplateRepository = contractTemplateRepository;
         this.usersRepository = usersRepository;
         this.managersRepository = managersRepository;
@@ -102,6 +122,11 @@ public class TestDataCleaner {
         financialValuesRepository.deleteAll();
         contractManagerRepository.deleteAll(); // Delete join table first
         contractsRepository.deleteAll();
+        contractStatsCounterRepository.deleteAll(); // Materialized from contracts
+        contractChangeRepository.deleteAll(); // Change log of contracts, no foreign keys
+        contractChangeSequenceRepository.deleteAll();
+        contractImportJobErrorRepository.deleteAll(); // References import jobs - delete before them
+        contractImportJobRepository.deleteAll();
         contractTemplateRepository.deleteAll(); // References business areas/managers - delete before them
         usersRepository.deleteAll();
         managersRepository.deleteAll();
@@ -0,0 +1,8 @@
+-- Keyed lookup index for TOTP recovery codes. Verification used to run
+-- BCrypt against every unused code of the user (up to 10 slow hashes per
+-- attempt); with an HMAC of the code stored alongside the hash, a presented
+-- code is checked against at most one. Existing rows keep lookup_key NULL
+-- and are still verified by the old scan until the user regenerates codes.
+ALTER TABLE totp_recovery_codes
+    ADD COLUMN lookup_key VARCHAR(64) NULL,
+    ADD INDEX idx_trc_user_lookup (user_id, lookup_key);
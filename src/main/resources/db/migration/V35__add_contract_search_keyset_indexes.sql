@@ -0,0 +1,6 @@
+-- Indexes for the keyset (cursor) contract search, which seeks on
+-- (contract_number, id) inside the tenant or manager scope. InnoDB
+-- secondary indexes carry the primary key, so each index below also
+-- serves the id tie-break without a filesort.
+CREATE INDEX idx_contracts_org_number ON contracts(organization_id, contract_number);
+CREATE INDEX idx_contracts_manager_number ON contracts(manager_id, contract_number);
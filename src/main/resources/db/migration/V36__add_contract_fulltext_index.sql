@@ -0,0 +1,16 @@
+-- N-gram FULLTEXT index for the contract term search (ContractTextSearch).
+-- A leading-wildcard LIKE cannot use a B-tree index, so every term search
+-- used to scan the tenant's contracts; MATCH ... AGAINST on this index
+-- handles prefix and infix matches and returns a relevance score.
+--
+-- With the ngram parser, a token is dropped if it contains a stopword, and
+-- single letters such as "a" or "i" are on the default InnoDB list, which
+-- would hide most bigrams. The stopword setting is read when the index is
+-- built, so it is switched off for this session only.
+SET SESSION innodb_ft_enable_stopword = OFF;
+
+ALTER TABLE contracts
+    ADD FULLTEXT INDEX ft_contracts_search (contract_number, customer_name, project_name, wbs_code)
+    WITH PARSER ngram;
+
+SET SESSION innodb_ft_enable_stopword = ON;
@@ -0,0 +1,19 @@
+-- Materialized dashboard counters, one row per organization (see
+-- ContractStatsService). Rows are created lazily on the first dashboard
+-- load or contract write after contract-stats.counters.enabled is set, from
+-- a full recount, and are reconciled nightly.
+CREATE TABLE contract_stats_counters (
+    organization_id BIGINT NOT NULL,
+    total_count     BIGINT NOT NULL,
+    active_count    BIGINT NOT NULL,
+    expired_count   BIGINT NOT NULL,
+    draft_count     BIGINT NOT NULL,
+    updated_at      TIMESTAMP NULL,
+    PRIMARY KEY (organization_id),
+    CONSTRAINT fk_contract_stats_org FOREIGN KEY (organization_id) REFERENCES organizations(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- The "expiring" KPI depends on today's date and is never materialized;
+-- this index turns it into a range scan inside one organization's ACTIVE
+-- contracts.
+CREATE INDEX idx_contracts_org_status_end_date ON contracts(organization_id, status, end_date);
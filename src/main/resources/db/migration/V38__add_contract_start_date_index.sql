@@ -0,0 +1,4 @@
+-- Dashboard timeline: contracts started per month over the last 12 months of one
+-- organization. The query groups on the bare start_date, so the range and the
+-- grouping are both read in index order.
+CREATE INDEX idx_contracts_org_start_date ON contracts(organization_id, start_date);
@@ -0,0 +1,6 @@
+-- Optimistic locking for contracts, and for the business areas and managers
+-- embedded in contract responses. The versions also make up the contract
+-- ETags (strong per contract, weak per tenant listing).
+ALTER TABLE contracts ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE business_areas ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE managers ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
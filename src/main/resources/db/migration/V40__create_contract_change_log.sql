@@ -0,0 +1,23 @@
+-- Append-only change log behind GET /contracts/changes (delta sync). Entries are
+-- numbered per tenant (scope_id = organization id, 0 for contracts without one)
+-- from contract_change_sequences, whose row lock keeps commit order equal to
+-- sequence order. contract_id has no foreign key so that DELETED tombstones
+-- survive the contract.
+CREATE TABLE contract_change_sequences (
+    scope_id BIGINT NOT NULL PRIMARY KEY,
+    last_seq BIGINT NOT NULL,
+    purged_through BIGINT NOT NULL DEFAULT 0
+);
+
+CREATE TABLE contract_changes (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    scope_id BIGINT NOT NULL,
+    seq BIGINT NOT NULL,
+    contract_id BIGINT NOT NULL,
+    change_type VARCHAR(16) NOT NULL,
+    changed_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_contract_changes_scope_seq UNIQUE (scope_id, seq)
+);
+
+-- Retention purge
+CREATE INDEX idx_contract_changes_changed_at ON contract_changes(changed_at);
@@ -0,0 +1,33 @@
+-- Background Excel imports (ContractImportJobService): one row per submitted
+-- file, with progress counters updated after every chunk. file_hash (SHA-256
+-- of the upload) makes resubmitting the same file return the existing job.
+CREATE TABLE contract_import_jobs (
+    id              BIGINT NOT NULL AUTO_INCREMENT,
+    org_id          BIGINT,
+    file_name       VARCHAR(255) NOT NULL,
+    file_hash       CHAR(64) NOT NULL,
+    status          VARCHAR(16) NOT NULL,
+    rows_read       INT NOT NULL DEFAULT 0,
+    rows_created    INT NOT NULL DEFAULT 0,
+    rows_failed     INT NOT NULL DEFAULT 0,
+    failure_message VARCHAR(500),
+    submitted_by    VARCHAR(255),
+    created_at      DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    started_at      DATETIME(6),
+    finished_at     DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_cij_org FOREIGN KEY (org_id) REFERENCES organizations(id) ON DELETE CASCADE,
+    INDEX idx_cij_org_hash (org_id, file_hash),
+    INDEX idx_cij_status (status)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Rejected rows of a job, behind the downloadable error report.
+CREATE TABLE contract_import_job_errors (
+    id         BIGINT NOT NULL AUTO_INCREMENT,
+    job_id     BIGINT NOT NULL,
+    excel_row  INT NOT NULL,
+    message    VARCHAR(500) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_cije_job FOREIGN KEY (job_id) REFERENCES contract_import_jobs(id) ON DELETE CASCADE,
+    INDEX idx_cije_job_row (job_id, excel_row)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
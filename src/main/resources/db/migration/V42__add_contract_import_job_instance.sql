@@ -0,0 +1,4 @@
+-- Server instance running a background import. On startup an instance fails only
+-- its own unfinished jobs, so restarting one node does not fail imports that
+-- another node is still running.
+ALTER TABLE contract_import_jobs ADD COLUMN instance_id VARCHAR(255) NULL AFTER submitted_by;
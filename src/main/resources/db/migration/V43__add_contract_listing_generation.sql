@@ -0,0 +1,4 @@
+-- Bumped by writes of business areas and managers, whose names the contract
+-- listings embed. Together with last_seq, which every contract write advances,
+-- it versions a tenant's listings for their weak ETags.
+ALTER TABLE contract_change_sequences ADD COLUMN listing_generation BIGINT NOT NULL DEFAULT 0;
@@ -16,8 +16,15 @@ import org.junit.jupiter.api.TestMethodOrder;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 import org.springframework.security.authentication.BadCredentialsException;
@@ -30,6 +37,8 @@ import com.donatodev.bcm_backend.entity.Users;
 import com.donatodev.bcm_backend.exception.AmbiguousUsernameException;
 import com.donatodev.bcm_backend.jwt.JwtUtils;
 import com.donatodev.bcm_backend.repository.UsersRepository;
+import com.donatodev.bcm_backend.service.AuditLogService;
+import com.donatodev.bcm_backend.service.PrincipalCache;
 import com.donatodev.bcm_backend.service.RefreshTokenService;
 
 /**
@@ -54,6 +63,15 @@ class AuthServiceTest {
     @Mock
     private RefreshTokenService refreshTokenService;
 
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private AuditLogService auditLogService;
+
+    @Spy
+    private LoginAttemptStore loginAttemptStore = new InMemoryLoginAttemptStore();
+
     @InjectMocks
     private AuthService authService;
 
@@ -255,44 +273,103 @@ class AuthServiceTest {
 
         @Test
         @Order(10)
-        @DisplayName("Wrong password increments the failed-attempt counter")
+        @DisplayName("Wrong password is counted in the attempt store without writing the users row")
         void shouldIncrementFailedAttemptsOnWrongPassword() {
             Users user = Users.builder()
+                    .id(7L)
                     .username("admin")
                     .passwordHash("hashedpwd")
                     .verified(true)
-                    .failedLoginAttempts(2)
                     .build();
 
             when(usersRepository.findAllByUsername("admin")).thenReturn(List.of(user));
             when(passwordEncoder.matches("wrongpass", "hashedpwd")).thenReturn(false);
 
-            assertThrows(BadCredentialsException.class,
-                    () -> authService.authenticate("admin", "wrongpass"));
+            for (int i = 0; i < 3; i++) {
+                assertThrows(BadCredentialsException.class,
+                        () -> authService.authenticate("admin", "wrongpass"));
+            }
 
-            assertEquals(3, user.getFailedLoginAttempts());
+            assertEquals(4, loginAttemptStore.recordFailure("user:7", Duration.ofMinutes(15)));
+            assertEquals(0, user.getFailedLoginAttempts());
             assertEquals(null, user.getLockedUntil());
+            verify(usersRepository, never()).save(any());
+            verify(auditLogService, never()).save(any(), any(), any(), any(), any(), any());
         }
 
         @Test
         @Order(11)
-        @DisplayName("5th consecutive wrong password locks the account")
+        @DisplayName("5th consecutive wrong password locks the account and persists only the lock")
         void shouldLockAccountAfterFifthFailedAttempt() {
             Users user = Users.builder()
+                    .id(7L)
                     .username("admin")
                     .passwordHash("hashedpwd")
                     .verified(true)
-                    .failedLoginAttempts(4)
                     .build();
 
             when(usersRepository.findAllByUsername("admin")).thenReturn(List.of(user));
             when(passwordEncoder.matches("wrongpass", "hashedpwd")).thenReturn(false);
 
-            assertThrows(BadCredentialsException.class,
-                    () -> authService.authenticate("admin", "wrongpass"));
+            for (int i = 0; i < 5; i++) {
+                assertThrows(BadCredentialsException.class,
+                        () -> authService.authenticate("admin", "wrongpass"));
+            }
 
             assertEquals(5, user.getFailedLoginAttempts());
             assertTrue(user.getLockedUntil().isAfter(LocalDateTime.now()));
+            assertTrue(loginAttemptStore.isLocked("user:7"));
+            verify(usersRepository, times(1)).save(user);
+            verify(principalCache).evict(user);
+            verify(auditLogService).save(eq("LOCK"), eq("Users"), eq(7L), eq("admin"), any(), any());
+        }
+
+        @Test
+        @Order(15)
+        @DisplayName("Login is refused while the attempt store holds a lock, even with the right password")
+        void shouldRejectLoginWhileLockedInStore() {
+            Users user = Users.builder()
+                    .id(7L)
+                    .username("admin")
+                    .passwordHash("hashedpwd")
+                    .verified(true)
+                    .build();
+            loginAttemptStore.lock("user:7", Duration.ofMinutes(15));
+
+            when(usersRepository.findAllByUsername("admin")).thenReturn(List.of(user));
+
+            assertThrows(LockedException.class, () -> authService.authenticate("admin", "password"));
+            verify(passwordEncoder, never()).matches(any(), any());
+        }
+
+        @Test
+        @Order(16)
+        @DisplayName("Successful login clears the failure counter in the attempt store")
+        void shouldResetStoredCounterOnSuccessfulLogin() {
+            Users user = Users.builder()
+                    .id(7L)
+                    .username("admin")
+                    .passwordHash("hashedpwd")
+                    .verified(true)
+                    .build();
+
+            when(usersRepository.findAllByUsername("admin")).thenReturn(List.of(user));
+            when(passwordEncoder.matches("wrongpass", "hashedpwd")).thenReturn(false);
+            when(passwordEncoder.matches("password", "hashedpwd")).thenReturn(true);
+            when(jwtUtils.generateToken(user)).thenReturn("fake-jwt-token");
+            when(refreshTokenService.createRefreshToken(user)).thenReturn("fake-refresh-token");
+
+            for (int i = 0; i < 4; i++) {
+                assertThrows(BadCredentialsException.class,
+                        () -> authService.authenticate("admin", "wrongpass"));
+            }
+            authService.authenticate("admin", "password");
+            assertThrows(BadCredentialsException.class,
+                    () -> authService.authenticate("admin", "wrongpass"));
+
+            assertFalse(loginAttemptStore.isLocked("user:7"));
+            assertEquals(null, user.getLockedUntil());
+            verify(usersRepository, never()).save(any());
         }
 
         @Test
@@ -0,0 +1,66 @@
+package com.donatodev.bcm_backend.auth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class InMemoryLoginAttemptStoreTest {
+
+    private static final Duration WINDOW = Duration.ofMinutes(15);
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final InMemoryLoginAttemptStore store = new InMemoryLoginAttemptStore(100, nanos::get);
+
+    @Test
+    @DisplayName("Counts failures per key")
+    void shouldCountFailuresPerKey() {
+        assertEquals(1, store.recordFailure("user:1", WINDOW));
+        assertEquals(2, store.recordFailure("user:1", WINDOW));
+        assertEquals(1, store.recordFailure("user:2", WINDOW));
+    }
+
+    @Test
+    @DisplayName("The window starts at the first failure and is not extended by later ones")
+    void shouldExpireCounterAtFixedDeadline() {
+        store.recordFailure("user:1", WINDOW);
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(10));
+        assertEquals(2, store.recordFailure("user:1", WINDOW));
+
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(6));
+
+        assertEquals(1, store.recordFailure("user:1", WINDOW));
+    }
+
+    @Test
+    @DisplayName("A lock holds for its duration and clears the failure counter")
+    void shouldLockForDuration() {
+        store.recordFailure("user:1", WINDOW);
+        store.lock("user:1", WINDOW);
+
+        assertTrue(store.isLocked("user:1"));
+        assertFalse(store.isLocked("user:2"));
+        assertEquals(1, store.recordFailure("user:1", WINDOW));
+
+        nanos.addAndGet(WINDOW.toNanos());
+
+        assertFalse(store.isLocked("user:1"));
+    }
+
+    @Test
+    @DisplayName("Reset clears the failure counter")
+    void shouldResetCounter() {
+        store.recordFailure("user:1", WINDOW);
+        store.recordFailure("user:1", WINDOW);
+
+        store.reset("user:1");
+
+        assertEquals(1, store.recordFailure("user:1", WINDOW));
+    }
+}
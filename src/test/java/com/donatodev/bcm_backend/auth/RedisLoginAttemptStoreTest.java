@@ -0,0 +1,79 @@
+package com.donatodev.bcm_backend.auth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.lettuce.core.RedisConnectionException;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.sync.RedisCommands;
+
+class RedisLoginAttemptStoreTest {
+
+    private static final Duration WINDOW = Duration.ofMinutes(15);
+
+    private StatefulRedisConnection<String, byte[]> connection;
+    private RedisCommands<String, byte[]> commands;
+    private InMemoryLoginAttemptStore fallback;
+    private RedisLoginAttemptStore store;
+
+    @SuppressWarnings("unchecked")
+    @BeforeEach
+    void setUp() {
+        connection = mock(StatefulRedisConnection.class);
+        commands = mock(RedisCommands.class);
+        fallback = new InMemoryLoginAttemptStore();
+        store = new RedisLoginAttemptStore(connection, fallback);
+    }
+
+    @Test
+    @DisplayName("Counts failures with one atomic script call under a prefixed key")
+    void shouldCountFailuresWithScript() {
+        when(connection.sync()).thenReturn(commands);
+        when(commands.eval(anyString(), eq(ScriptOutputType.INTEGER), any(String[].class), any(byte[].class)))
+                .thenReturn(3L);
+
+        assertEquals(3, store.recordFailure("user:1", WINDOW));
+        verify(commands).eval(anyString(), eq(ScriptOutputType.INTEGER),
+                eq(new String[] {"login-failures:user:1"}), eq("900000".getBytes()));
+    }
+
+    @Test
+    @DisplayName("Locks with a TTL and drops the failure counter")
+    void shouldLockWithTtl() {
+        when(connection.sync()).thenReturn(commands);
+        when(commands.exists("login-lock:user:1")).thenReturn(1L);
+
+        store.lock("user:1", WINDOW);
+
+        verify(commands).set(eq("login-lock:user:1"), any(byte[].class), any(SetArgs.class));
+        verify(commands).del("login-failures:user:1");
+        assertTrue(store.isLocked("user:1"));
+    }
+
+    @Test
+    @DisplayName("Falls back to the local store while Redis is unreachable")
+    void shouldFallBackWhenRedisIsDown() {
+        when(connection.sync()).thenThrow(new RedisConnectionException("connection refused"));
+
+        assertEquals(1, store.recordFailure("user:1", WINDOW));
+        assertEquals(2, store.recordFailure("user:1", WINDOW));
+        store.lock("user:1", WINDOW);
+
+        assertTrue(store.isLocked("user:1"));
+        assertTrue(fallback.isLocked("user:1"));
+    }
+}
@@ -2,8 +2,11 @@ package com.donatodev.bcm_backend.controller;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
@@ -11,6 +14,7 @@ import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import static org.hamcrest.Matchers.containsString;
 import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.MethodOrderer;
@@ -21,6 +25,8 @@ import org.junit.jupiter.api.TestMethodOrder;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -45,6 +51,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.donatodev.bcm_backend.dto.BusinessAreaDTO;
 import com.donatodev.bcm_backend.dto.ContractDTO;
 import com.donatodev.bcm_backend.entity.BusinessAreas;
 import com.donatodev.bcm_backend.entity.ContractStatus;
@@ -60,6 +67,7 @@ import com.donatodev.bcm_backend.repository.UsersRepository;
 import com.donatodev.bcm_backend.service.ContractSchedulerService;
 import com.donatodev.bcm_backend.service.ExportService;
 import com.donatodev.bcm_backend.util.TestDataCleaner;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.openpdf.text.DocumentException;
 
@@ -849,7 +857,10 @@ class ContractControllerTest {
 
             createUser("admin", "ADMIN", null);
             byte[] excelData = "fake-excel-data".getBytes();
-            when(exportService.exportContractsToExcel(any())).thenReturn(excelData);
+            doAnswer(invocation -> {
+                invocation.<OutputStream>getArgument(1).write(excelData);
+                return null;
+            }).when(exportService).exportContractsToExcel(any(), any());
 
             mockMvc.perform(get("/contracts/export/excel"))
                     .andExpect(status().isOk())
@@ -869,7 +880,10 @@ class ContractControllerTest {
             Managers manager = createManager("Export", "Manager", "export.manager@example.com");
             createUser("manager1", "MANAGER", manager);
             byte[] excelData = "fake-excel-data".getBytes();
-            when(exportService.exportContractsToExcel(any())).thenReturn(excelData);
+            doAnswer(invocation -> {
+                invocation.<OutputStream>getArgument(1).write(excelData);
+                return null;
+            }).when(exportService).exportContractsToExcel(any(), any());
 
             mockMvc.perform(get("/contracts/export/excel"))
                     .andExpect(status().isOk())
@@ -943,8 +957,8 @@ class ContractControllerTest {
                     .role(role)
                     .build());
 
-            when(exportService.exportContractsToExcel(any()))
-                    .thenThrow(new IOException("Export failed"));
+            doThrow(new IOException("Export failed"))
+                    .when(exportService).exportContractsToExcel(any(), any());
 
             mockMvc.perform(get("/contracts/export/excel"))
                     .andExpect(status().isInternalServerError());
@@ -1123,8 +1137,32 @@ class ContractControllerTest {
             }
         }
 
+        /** Polls the job until its worker is done with it. */
+        private JsonNode awaitImportJob(long jobId) throws Exception {
+            for (int attempt = 0; attempt < 100; attempt++) {
+                String body = mockMvc.perform(get("/contracts/import/jobs/" + jobId))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString();
+                JsonNode job = objectMapper.readTree(body);
+                String jobStatus = job.get("status").asText();
+                if ("COMPLETED".equals(jobStatus) || "FAILED".equals(jobStatus)) {
+                    return job;
+                }
+                Thread.sleep(100);
+            }
+            throw new AssertionError("Import job " + jobId + " did not finish");
+        }
+
+        private long submitImport(MockMultipartFile file) throws Exception {
+            String body = mockMvc.perform(multipart("/contracts/import/excel").file(file).with(csrf()))
+                    .andExpect(status().isAccepted())
+                    .andExpect(header().string("Location", containsString("/contracts/import/jobs/")))
+                    .andReturn().getResponse().getContentAsString();
+            return objectMapper.readTree(body).get("id").asLong();
+        }
+
         @Test
-        @DisplayName("Should import a valid contract from an uploaded Excel file")
+        @DisplayName("Should import a valid contract from an uploaded Excel file in the background")
         @WithMockUser(roles = "ADMIN")
         void shouldImportContractsFromExcel() throws Exception {
             businessAreasRepository.save(BusinessAreas.builder().name("Import-Area").description("d").build());
@@ -1133,28 +1171,57 @@ class ContractControllerTest {
             MockMultipartFile file = new MockMultipartFile("file", "import.xlsx",
                     "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", bytes);
 
-            mockMvc.perform(multipart("/contracts/import/excel").file(file).with(csrf()))
-                    .andExpect(status().isOk())
-                    .andExpect(jsonPath("$.totalRows").value(1))
-                    .andExpect(jsonPath("$.importedCount").value(1))
-                    .andExpect(jsonPath("$.errorCount").value(0));
+            JsonNode job = awaitImportJob(submitImport(file));
 
+            assertEquals("COMPLETED", job.get("status").asText());
+            assertEquals(1, job.get("rowsRead").asInt());
+            assertEquals(1, job.get("rowsCreated").asInt());
+            assertEquals(0, job.get("rowsFailed").asInt());
             assertTrue(contractsRepository.existsByContractNumber("CNTR-IMPORT-1"));
         }
 
         @Test
-        @DisplayName("Should report a row error for an unknown business area")
+        @DisplayName("Should return the existing job when the same file is submitted again")
+        @WithMockUser(roles = "ADMIN")
+        void shouldReturnExistingJobForSameFile() throws Exception {
+            businessAreasRepository.save(BusinessAreas.builder().name("Import-Area").description("d").build());
+
+            byte[] bytes = buildImportWorkbook("CNTR-IMPORT-4", "Import-Area", null);
+            MockMultipartFile file = new MockMultipartFile("file", "import.xlsx",
+                    "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", bytes);
+
+            long jobId = submitImport(file);
+            awaitImportJob(jobId);
+
+            assertEquals(jobId, submitImport(file));
+        }
+
+        @Test
+        @DisplayName("Should report a row error for an unknown business area in the error report")
         @WithMockUser(roles = "ADMIN")
         void shouldReportRowErrorForUnknownArea() throws Exception {
             byte[] bytes = buildImportWorkbook("CNTR-IMPORT-2", "Nonexistent-Area", null);
             MockMultipartFile file = new MockMultipartFile("file", "import.xlsx",
                     "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", bytes);
 
-            mockMvc.perform(multipart("/contracts/import/excel").file(file).with(csrf()))
+            long jobId = submitImport(file);
+            JsonNode job = awaitImportJob(jobId);
+
+            assertEquals(0, job.get("rowsCreated").asInt());
+            assertEquals(1, job.get("rowsFailed").asInt());
+            mockMvc.perform(get("/contracts/import/jobs/" + jobId + "/errors"))
                     .andExpect(status().isOk())
-                    .andExpect(jsonPath("$.importedCount").value(0))
-                    .andExpect(jsonPath("$.errorCount").value(1))
-                    .andExpect(jsonPath("$.errors[0].rowNumber").value(2));
+                    .andExpect(header().string("Content-Disposition",
+                            containsString("contract_import_errors_" + jobId + ".csv")))
+                    .andExpect(content().string(containsString("2;Area aziendale non trovata")));
+        }
+
+        @Test
+        @DisplayName("Should return 404 for an unknown import job")
+        @WithMockUser(roles = "ADMIN")
+        void shouldReturn404ForUnknownImportJob() throws Exception {
+            mockMvc.perform(get("/contracts/import/jobs/999999"))
+                    .andExpect(status().isNotFound());
         }
 
         @Test
@@ -1189,4 +1256,478 @@ class ContractControllerTest {
                     .andExpect(status().isForbidden());
         }
     }
+
+    /**
+     * Keyset-paginated search on /contracts/search/cursor.
+     */
+    @Nested
+    @DisplayName("Integration Test: cursor search")
+    class CursorSearch {
+
+        private void createContracts(int count, Managers manager) {
+            BusinessAreas area = businessAreasRepository.save(BusinessAreas.builder()
+                    .name("Cursor Area").description("Cursor").build());
+            for (int i = 0; i < count; i++) {
+                contractsRepository.save(Contracts.builder()
+                        .customerName("CursorClient").contractNumber(String.format("CUR-%03d", i))
+                        .wbsCode("WBS-CUR").projectName("Cursor Project").businessArea(area).manager(manager)
+                        .startDate(LocalDate.of(2027, Month.JUNE, 15)).endDate(LocalDate.of(2027, Month.JULY, 15))
+                        .status(ContractStatus.ACTIVE).build());
+            }
+        }
+
+        @Test
+        @DisplayName("Walking the cursor returns every contract once, in contract-number order")
+        @WithMockUser(username = "admin", roles = "ADMIN")
+        void shouldWalkAllPagesWithCursor() throws Exception {
+            createUser("admin", "ADMIN", null);
+            createContracts(25, null);
+
+            List<String> seen = new ArrayList<>();
+            String cursor = null;
+            int pages = 0;
+            do {
+                var request = get("/contracts/search/cursor").param("size", "10").param("q", "CUR-");
+                if (cursor != null) {
+                    request.param("cursor", cursor);
+                }
+                String body = mockMvc.perform(request)
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString();
+                JsonNode page = objectMapper.readTree(body);
+                page.get("content").forEach(c -> seen.add(c.get("contractNumber").asText()));
+                cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+                pages++;
+            } while (cursor != null);
+
+            assertEquals(3, pages);
+            assertEquals(25, seen.size());
+            assertEquals(seen.stream().sorted().toList(), seen);
+            assertEquals("CUR-000", seen.get(0));
+            assertEquals("CUR-024", seen.get(24));
+        }
+
+        @Test
+        @DisplayName("Total is only reported when requested")
+        @WithMockUser(username = "admin", roles = "ADMIN")
+        void shouldReportTotalOnlyWhenRequested() throws Exception {
+            createUser("admin", "ADMIN", null);
+            createContracts(3, null);
+
+            mockMvc.perform(get("/contracts/search/cursor").param("size", "2"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.length()").value(2))
+                    .andExpect(jsonPath("$.hasNext").value(true))
+                    .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+            mockMvc.perform(get("/contracts/search/cursor").param("size", "2").param("withTotal", "true"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalElements").value(3));
+        }
+
+        @Test
+        @DisplayName("A MANAGER only pages through their own contracts")
+        @WithMockUser(username = "cursor-manager", roles = "MANAGER")
+        void shouldScopeCursorSearchToManager() throws Exception {
+            Managers mine = createManager("Cursor", "Mine", "cursor-mine@example.com");
+            Managers other = createManager("Cursor", "Other", "cursor-other@example.com");
+            createUser("cursor-manager", "MANAGER", mine);
+            createContracts(2, mine);
+            BusinessAreas area = businessAreasRepository.save(BusinessAreas.builder()
+                    .name("Other Area").description("Other").build());
+            contractsRepository.save(Contracts.builder()
+                    .customerName("OtherClient").contractNumber("CUR-OTHER").wbsCode("WBS-OTHER")
+                    .projectName("Other Project").businessArea(area).manager(other)
+                    .startDate(LocalDate.of(2027, Month.JUNE, 15)).endDate(LocalDate.of(2027, Month.JULY, 15))
+                    .status(ContractStatus.ACTIVE).build());
+
+            mockMvc.perform(get("/contracts/search/cursor").param("withTotal", "true"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.length()").value(2))
+                    .andExpect(jsonPath("$.totalElements").value(2))
+                    .andExpect(jsonPath("$.nextCursor").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("A malformed cursor is rejected with 400")
+        @WithMockUser(username = "admin", roles = "ADMIN")
+        void shouldRejectMalformedCursor() throws Exception {
+            createUser("admin", "ADMIN", null);
+
+            mockMvc.perform(get("/contracts/search/cursor").param("cursor", "not a cursor!"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("Integration Test: ranked term search")
+    class TermSearch {
+
+        private void createContract(BusinessAreas area, String number, String customer, String project, String wbs) {
+            contractsRepository.save(Contracts.builder()
+                    .customerName(customer).contractNumber(number).wbsCode(wbs).projectName(project)
+                    .businessArea(area)
+                    .startDate(LocalDate.of(2027, Month.JUNE, 15)).endDate(LocalDate.of(2027, Month.JULY, 15))
+                    .status(ContractStatus.ACTIVE).build());
+        }
+
+        @Test
+        @DisplayName("Matches project and WBS code and ranks exact contract numbers first")
+        @WithMockUser(username = "admin", roles = "ADMIN")
+        void shouldMatchAllFieldsByRelevance() throws Exception {
+            createUser("admin", "ADMIN", null);
+            BusinessAreas area = businessAreasRepository.save(BusinessAreas.builder()
+                    .name("Rank Area").description("Rank").build());
+            createContract(area, "AAA-1", "Client", "Migrazione ORION", "WBS-1");
+            createContract(area, "AAA-2", "Client", "Project", "WBS-ORION-7");
+            createContract(area, "ORION-10", "Client", "Project", "WBS-2");
+            createContract(area, "ORION", "Client", "Project", "WBS-3");
+            createContract(area, "ZZZ-1", "Client", "Project", "WBS-4");
+
+            mockMvc.perform(get("/contracts/search").param("q", "orion"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalElements").value(4))
+                    .andExpect(jsonPath("$.content[0].contractNumber").value("ORION"))
+                    .andExpect(jsonPath("$.content[1].contractNumber").value("ORION-10"))
+                    .andExpect(jsonPath("$.content[2].contractNumber").value("AAA-1"))
+                    .andExpect(jsonPath("$.content[3].contractNumber").value("AAA-2"));
+        }
+    }
+
+    /**
+     * Streamed listing on /contracts/stream.
+     */
+    @Nested
+    @DisplayName("Integration Test: streamed listing")
+    class StreamListing {
+
+        private void createContracts(int count) {
+            BusinessAreas area = businessAreasRepository.save(BusinessAreas.builder()
+                    .name("Stream Area").description("Stream").build());
+            for (int i = 0; i < count; i++) {
+                contractsRepository.save(Contracts.builder()
+                        .customerName("StreamClient").contractNumber(String.format("STR-%03d", i))
+                        .wbsCode("WBS-STR").projectName("Stream Project").businessArea(area)
+                        .startDate(LocalDate.of(2027, Month.JUNE, 15)).endDate(LocalDate.of(2027, Month.JULY, 15))
+                        .status(ContractStatus.ACTIVE).build());
+            }
+        }
+
+        @Test
+        @DisplayName("Writes one JSON contract per line by default")
+        @WithMockUser(username = "admin", roles = "ADMIN")
+        void shouldStreamNdjsonByDefault() throws Exception {
+            createUser("admin", "ADMIN", null);
+            createContracts(150);
+
+            String body = mockMvc.perform(get("/contracts/stream"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                    .andReturn().getResponse().getContentAsString();
+
+            assertTrue(body.endsWith("\n"));
+            String[] lines = body.split("\n");
+            assertEquals(150, lines.length);
+            assertEquals("STR-000", objectMapper.readTree(lines[0]).get("contractNumber").asText());
+            assertEquals("STR-149", objectMapper.readTree(lines[149]).get("contractNumber").asText());
+            assertEquals("Stream Area", objectMapper.readTree(lines[0]).get("area").get("name").asText());
+        }
+
+        @Test
+        @DisplayName("Writes a single JSON array when application/json is requested")
+        @WithMockUser(username = "admin", roles = "ADMIN")
+        void shouldStreamJsonArrayOnRequest() throws Exception {
+            createUser("admin", "ADMIN", null);
+            createContracts(3);
+
+            mockMvc.perform(get("/contracts/stream").accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                    .andExpect(jsonPath("$.length()").value(3))
+                    .andExpect(jsonPath("$[2].contractNumber").value("STR-002"));
+        }
+
+        @Test
+        @DisplayName("An empty listing is an empty array")
+        @WithMockUser(username = "admin", roles = "ADMIN")
+        void shouldStreamEmptyArray() throws Exception {
+            createUser("admin", "ADMIN", null);
+
+            mockMvc.perform(get("/contracts/stream").accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(content().json("[]"));
+        }
+
+        @Test
+        @DisplayName("MANAGER cannot stream the full listing")
+        @WithMockUser(username = "manager", roles = "MANAGER")
+        void shouldForbidManager() throws Exception {
+            mockMvc.perform(get("/contracts/stream"))
+                    .andExpect(status().isForbidden());
+        }
+    }
+
+    /**
+     * ETags and conditional requests on /contracts.
+     */
+    @Nested
+    @DisplayName("Integration Test: conditional requests")
+    class ConditionalRequests {
+
+        private BusinessAreas area;
+
+        private Contracts createContract(String number) {
+            if (area == null) {
+                area = businessAreasRepository.save(BusinessAreas.builder()
+                        .name("ETag Area").description("ETag").build());
+            }
+            return contractsRepository.save(Contracts.builder()
+                    .customerName("ETagClient").contractNumber(number).wbsCode("WBS-ETAG")
+                    .projectName("ETag Project").businessArea(area)
+                    .startDate(LocalDate.of(2027, Month.JUNE, 15)).endDate(LocalDate.of(2027, Month.JULY, 15))
+                    .status(ContractStatus.ACTIVE).build());
+        }
+
+        private String update(Contracts contract, String customerName, String ifMatch, int expectedStatus) throws Exception {
+            ContractDTO dto = new ContractDTO(contract.getId(), customerName, contract.getContractNumber(), "WBS-ETAG",
+                    "ETag Project", ContractStatus.ACTIVE, contract.getStartDate(), contract.getEndDate(),
+                    area.getId(), null, null, null, null, null);
+            var request = put("/contracts/{id}", contract.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(dto));
+            if (ifMatch != null) {
+                request.header("If-Match", ifMatch);
+            }
+            return mockMvc.perform(request)
+                    .andExpect(status().is(expectedStatus))
+                    .andReturn().getResponse().getHeader("ETag");
+        }
+
+        @Test
+        @DisplayName("A contract's strong ETag answers 304 until the contract changes")
+        @WithMockUser(username = "admin", roles = "ADMIN")
+        void shouldRevalidateSingleContract() throws Exception {
+            createUser("admin", "ADMIN", null);
+            Contracts contract = createContract("ETAG-1");
+
+            String etag = mockMvc.perform(get("/contracts/{id}", contract.getId()))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader("ETag");
+            assertTrue(etag.startsWith("\"" + contract.getId() + "-0-"), etag);
+
+            mockMvc.perform(get("/contracts/{id}", contract.getId()).header("If-None-Match", etag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().string(""));
+
+            String updatedETag = update(contract, "ETagClient Updated", null, 200);
+            assertTrue(updatedETag.startsWith("\"" + contract.getId() + "-1-"), updatedETag);
+
+            mockMvc.perform(get("/contracts/{id}", contract.getId()).header("If-None-Match", etag))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", updatedETag))
+                    .andExpect(jsonPath("$.customerName").value("ETagClient Updated"));
+        }
+
+        @Test
+        @DisplayName("An update with a stale If-Match is rejected with 412")
+        @WithMockUser(username = "admin", roles = "ADMIN")
+        void shouldRejectStaleIfMatch() throws Exception {
+            createUser("admin", "ADMIN", null);
+            Contracts contract = createContract("ETAG-2");
+            String etag = mockMvc.perform(get("/contracts/{id}", contract.getId()))
+                    .andReturn().getResponse().getHeader("ETag");
+
+            // First writer wins, the second one edited the same (now stale) copy
+            update(contract, "First Writer", etag, 200);
+            update(contract, "Second Writer", etag, 412);
+            update(contract, "Weak Tag", "W/" + etag, 412);
+
+            mockMvc.perform(get("/contracts/{id}", contract.getId()))
+                    .andExpect(jsonPath("$.customerName").value("First Writer"));
+        }
+
+        @Test
+        @DisplayName("A listing's weak ETag answers 304 until a contract, area or manager in it changes")
+        @WithMockUser(username = "admin", roles = "ADMIN")
+        void shouldRevalidateListing() throws Exception {
+            createUser("admin", "ADMIN", null);
+            Contracts contract = createContract("ETAG-3");
+
+            String etag = mockMvc.perform(get("/contracts"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader("ETag");
+            assertTrue(etag.startsWith("W/\""), etag);
+
+            mockMvc.perform(get("/contracts").header("If-None-Match", etag))
+                    .andExpect(status().isNotModified());
+            // The query string is part of the tag
+            mockMvc.perform(get("/contracts/filter").param("status", "ACTIVE").header("If-None-Match", etag))
+                    .andExpect(status().isOk());
+
+            BusinessAreaDTO renamed = new BusinessAreaDTO(area.getId(), "ETag Area Renamed", "ETag");
+            mockMvc.perform(put("/business-areas/{id}", area.getId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(renamed)))
+                    .andExpect(status().isOk());
+            String afterRename = mockMvc.perform(get("/contracts").header("If-None-Match", etag))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].area.name").value("ETag Area Renamed"))
+                    .andReturn().getResponse().getHeader("ETag");
+
+            update(contract, "ETagClient Updated", null, 200);
+            mockMvc.perform(get("/contracts").header("If-None-Match", afterRename))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].customerName").value("ETagClient Updated"));
+
+            String afterUpdate = mockMvc.perform(get("/contracts"))
+                    .andReturn().getResponse().getHeader("ETag");
+            ContractDTO created = new ContractDTO(null, "ETagClient", "ETAG-4", "WBS-ETAG", "ETag Project",
+                    ContractStatus.ACTIVE, contract.getStartDate(), contract.getEndDate(),
+                    area.getId(), null, null, null, null, null);
+            mockMvc.perform(post("/contracts")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(created)))
+                    .andExpect(status().isCreated());
+            mockMvc.perform(get("/contracts").header("If-None-Match", afterUpdate))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(2));
+        }
+
+        @Test
+        @DisplayName("Searches are tagged from the same listing version")
+        @WithMockUser(username = "admin", roles = "ADMIN")
+        void shouldRevalidateSearch() throws Exception {
+            createUser("admin", "ADMIN", null);
+            Contracts contract = createContract("ETAG-5");
+
+            String etag = mockMvc.perform(get("/contracts/search").param("q", "ETAG"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader("ETag");
+            assertTrue(etag.startsWith("W/\""), etag);
+            mockMvc.perform(get("/contracts/search").param("q", "ETAG").header("If-None-Match", etag))
+                    .andExpect(status().isNotModified());
+
+            String cursorETag = mockMvc.perform(get("/contracts/search/cursor").param("q", "ETAG"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader("ETag");
+            mockMvc.perform(get("/contracts/search/cursor").param("q", "ETAG").header("If-None-Match", cursorETag))
+                    .andExpect(status().isNotModified());
+
+            update(contract, "ETagClient Updated", null, 200);
+            mockMvc.perform(get("/contracts/search").param("q", "ETAG").header("If-None-Match", etag))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].customerName").value("ETagClient Updated"));
+            mockMvc.perform(get("/contracts/search/cursor").param("q", "ETAG").header("If-None-Match", cursorETag))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    /**
+     * Delta sync through /contracts/changes.
+     */
+    @Nested
+    @DisplayName("Integration Test: change feed")
+    class ChangeFeed {
+
+        @Test
+        @DisplayName("A client follows deletions from the cursor it got with the full list")
+        @WithMockUser(username = "admin", roles = "ADMIN")
+        void shouldFollowChangesFromCursor() throws Exception {
+            createUser("admin", "ADMIN", null);
+            BusinessAreas area = businessAreasRepository.save(BusinessAreas.builder()
+                    .name("Feed Area").description("Feed").build());
+            Contracts contract = contractsRepository.save(Contracts.builder()
+                    .customerName("FeedClient").contractNumber("FEED-1").wbsCode("WBS-FEED")
+                    .projectName("Feed Project").businessArea(area)
+                    .startDate(LocalDate.of(2027, Month.JUNE, 15)).endDate(LocalDate.of(2027, Month.JULY, 15))
+                    .status(ContractStatus.ACTIVE).build());
+
+            mockMvc.perform(get("/contracts/changes"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.cursor").value(0))
+                    .andExpect(jsonPath("$.created.length()").value(0));
+
+            mockMvc.perform(delete("/contracts/{id}", contract.getId()))
+                    .andExpect(status().isNoContent());
+
+            mockMvc.perform(get("/contracts/changes").param("since", "0"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.deleted[0]").value(contract.getId()))
+                    .andExpect(jsonPath("$.cursor").value(1))
+                    .andExpect(jsonPath("$.hasMore").value(false));
+        }
+
+        @Test
+        @DisplayName("A negative cursor is rejected with 400")
+        @WithMockUser(username = "admin", roles = "ADMIN")
+        void shouldRejectNegativeCursor() throws Exception {
+            mockMvc.perform(get("/contracts/changes").param("since", "-1"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("MANAGER cannot read the change feed")
+        @WithMockUser(username = "manager", roles = "MANAGER")
+        void shouldForbidManager() throws Exception {
+            mockMvc.perform(get("/contracts/changes"))
+                    .andExpect(status().isForbidden());
+        }
+    }
+
+    /**
+     * Bulk operations through /contracts/bulk.
+     */
+    @Nested
+    @DisplayName("Integration Test: bulk operations")
+    class BulkOperations {
+
+        @Test
+        @DisplayName("A bulk status change reports the outcome per contract")
+        @WithMockUser(username = "admin", roles = "ADMIN")
+        void shouldUpdateStatusInBulk() throws Exception {
+            createUser("admin", "ADMIN", null);
+            BusinessAreas area = businessAreasRepository.save(BusinessAreas.builder()
+                    .name("Bulk Area").description("Bulk").build());
+            Contracts contract = contractsRepository.save(Contracts.builder()
+                    .customerName("BulkClient").contractNumber("BULK-1").wbsCode("WBS-BULK")
+                    .projectName("Bulk Project").businessArea(area)
+                    .startDate(LocalDate.of(2027, Month.JUNE, 15)).endDate(LocalDate.of(2027, Month.JULY, 15))
+                    .status(ContractStatus.ACTIVE).build());
+
+            mockMvc.perform(post("/contracts/bulk/status")
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"contractIds\":[" + contract.getId() + ", -1],\"status\":\"CANCELLED\"}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.requested").value(2))
+                    .andExpect(jsonPath("$.succeeded").value(1))
+                    .andExpect(jsonPath("$.items[0].success").value(true))
+                    .andExpect(jsonPath("$.items[1].success").value(false));
+
+            assertEquals(ContractStatus.CANCELLED,
+                    contractsRepository.findById(contract.getId()).orElseThrow().getStatus());
+        }
+
+        @Test
+        @DisplayName("A bulk request without ids is rejected with 400")
+        @WithMockUser(username = "admin", roles = "ADMIN")
+        void shouldRejectEmptyRequest() throws Exception {
+            mockMvc.perform(post("/contracts/bulk/delete")
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"contractIds\":[]}"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("MANAGER cannot run bulk operations")
+        @WithMockUser(username = "manager", roles = "MANAGER")
+        void shouldForbidManager() throws Exception {
+            mockMvc.perform(post("/contracts/bulk/delete")
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"contractIds\":[1]}"))
+                    .andExpect(status().isForbidden());
+        }
+    }
 }
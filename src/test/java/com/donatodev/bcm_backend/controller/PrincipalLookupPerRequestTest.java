@@ -0,0 +1,154 @@
+package com.donatodev.bcm_backend.controller;
+
+import java.time.LocalDate;
+import java.time.Month;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.donatodev.bcm_backend.entity.BusinessAreas;
+import com.donatodev.bcm_backend.entity.ContractStatus;
+import com.donatodev.bcm_backend.entity.Contracts;
+import com.donatodev.bcm_backend.entity.Managers;
+import com.donatodev.bcm_backend.entity.Organization;
+import com.donatodev.bcm_backend.entity.Roles;
+import com.donatodev.bcm_backend.entity.Users;
+import com.donatodev.bcm_backend.jwt.JwtUtils;
+import com.donatodev.bcm_backend.repository.BusinessAreasRepository;
+import com.donatodev.bcm_backend.repository.ContractsRepository;
+import com.donatodev.bcm_backend.repository.ManagersRepository;
+import com.donatodev.bcm_backend.repository.OrganizationRepository;
+import com.donatodev.bcm_backend.repository.RolesRepository;
+import com.donatodev.bcm_backend.repository.UsersRepository;
+import com.donatodev.bcm_backend.service.ContractSchedulerService;
+import com.donatodev.bcm_backend.service.ExportService;
+import com.donatodev.bcm_backend.util.TestDataCleaner;
+
+/**
+ * Guards that an authenticated request resolves the caller from the
+ * {@code users} table exactly once — in the JWT filter — and that services
+ * read role/manager from the request principal instead of looking the user
+ * up again. Uses a real JWT for the same reason as
+ * {@link CrossTenantAccessTest}: {@code @WithMockUser} bypasses the filter.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Principal lookups per authenticated request")
+class PrincipalLookupPerRequestTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @MockitoSpyBean
+    private UsersRepository usersRepository;
+
+    @Autowired
+    private RolesRepository rolesRepository;
+
+    @Autowired
+    private BusinessAreasRepository businessAreasRepository;
+
+    @Autowired
+    private ManagersRepository managersRepository;
+
+    @Autowired
+    private ContractsRepository contractsRepository;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private TestDataCleaner testDataCleaner;
+
+    @MockitoBean
+    private ExportService exportService;
+
+    @MockitoBean
+    private ContractSchedulerService contractSchedulerService;
+
+    private Contracts contract;
+    private String managerToken;
+
+    @BeforeEach
+    void setUp() {
+        testDataCleaner.clean();
+        organizationRepository.deleteAll();
+
+        Organization org = organizationRepository.save(
+                Organization.builder().name("Org A").slug("org-a").build());
+        Roles managerRole = rolesRepository.save(Roles.builder().role("MANAGER").build());
+        Managers manager = managersRepository.save(Managers.builder()
+                .firstName("Mario").lastName("Rossi").email("mario.rossi@example.com")
+                .organization(org).build());
+        Users user = usersRepository.save(Users.builder()
+                .username("manager-org-a")
+                .passwordHash("irrelevant")
+                .verified(true)
+                .role(managerRole)
+                .manager(manager)
+                .organization(org)
+                .build());
+        BusinessAreas area = businessAreasRepository.save(
+                BusinessAreas.builder().name("Ops").description("Operations").organization(org).build());
+        contract = contractsRepository.save(Contracts.builder()
+                .customerName("Customer")
+                .contractNumber("CNTR-LOOKUP")
+                .wbsCode("WBS-L")
+                .projectName("Project")
+                .businessArea(area)
+                .manager(manager)
+                .status(ContractStatus.ACTIVE)
+                .startDate(LocalDate.of(2025, Month.JANUARY, 1))
+                .endDate(LocalDate.of(2026, Month.JANUARY, 1))
+                .organization(org)
+                .build());
+
+        managerToken = jwtUtils.generateTokenFromUser(user);
+        Mockito.clearInvocations(usersRepository);
+    }
+
+    @Test
+    @DisplayName("GET /contracts/{id} looks the manager up once")
+    void getContractByIdLooksUpUserOnce() throws Exception {
+        mockMvc.perform(get("/contracts/" + contract.getId())
+                        .header("Authorization", "Bearer " + managerToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.contractNumber").value("CNTR-LOOKUP"));
+
+        assertEquals(1, userLookups());
+    }
+
+    @Test
+    @DisplayName("GET /contract-history/contract/{id} looks the manager up once")
+    void getHistoryByContractLooksUpUserOnce() throws Exception {
+        mockMvc.perform(get("/contract-history/contract/" + contract.getId())
+                        .header("Authorization", "Bearer " + managerToken))
+                .andExpect(status().isOk());
+
+        assertEquals(1, userLookups());
+    }
+
+    private long userLookups() {
+        return Mockito.mockingDetails(usersRepository).getInvocations().stream()
+                .filter(i -> i.getMethod().getName().startsWith("findBy"))
+                .count();
+    }
+}
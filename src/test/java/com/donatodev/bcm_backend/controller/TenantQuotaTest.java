@@ -0,0 +1,121 @@
+package com.donatodev.bcm_backend.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.donatodev.bcm_backend.entity.Organization;
+import com.donatodev.bcm_backend.entity.Roles;
+import com.donatodev.bcm_backend.entity.SubscriptionTier;
+import com.donatodev.bcm_backend.entity.Users;
+import com.donatodev.bcm_backend.jwt.JwtUtils;
+import com.donatodev.bcm_backend.repository.OrganizationRepository;
+import com.donatodev.bcm_backend.repository.RolesRepository;
+import com.donatodev.bcm_backend.repository.UsersRepository;
+import com.donatodev.bcm_backend.service.ContractSchedulerService;
+import com.donatodev.bcm_backend.service.ExportService;
+import com.donatodev.bcm_backend.util.TestDataCleaner;
+
+/**
+ * Per-organization quotas through the real JWT path (the interceptor keys on the
+ * {@code TenantContext} the JWT filter sets, which {@code @WithMockUser} would skip).
+ * Quotas are disabled in the shared test properties, so this class enables them with a
+ * tiny FREE read budget.
+ */
+@SpringBootTest(properties = {
+        "tenant-quota.enabled=true",
+        "tenant-quota.limits.free.read=2"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Per-organization API quotas")
+class TenantQuotaTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private UsersRepository usersRepository;
+
+    @Autowired
+    private RolesRepository rolesRepository;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private TestDataCleaner testDataCleaner;
+
+    @MockitoBean
+    private ExportService exportService;
+
+    @MockitoBean
+    private ContractSchedulerService contractSchedulerService;
+
+    private String freeToken;
+    private String otherFreeToken;
+    private String proToken;
+
+    @BeforeEach
+    void setUp() {
+        testDataCleaner.clean();
+        organizationRepository.deleteAll();
+
+        Roles adminRole = rolesRepository.save(Roles.builder().role("ADMIN").build());
+        freeToken = tokenFor(adminRole, "org-free", SubscriptionTier.FREE);
+        otherFreeToken = tokenFor(adminRole, "org-free-2", SubscriptionTier.FREE);
+        proToken = tokenFor(adminRole, "org-pro", SubscriptionTier.PRO);
+    }
+
+    private String tokenFor(Roles role, String slug, SubscriptionTier tier) {
+        Organization org = organizationRepository.save(
+                Organization.builder().name(slug).slug(slug).subscriptionTier(tier).build());
+        Users admin = usersRepository.save(Users.builder()
+                .username("admin-" + slug)
+                .passwordHash("irrelevant")
+                .verified(true)
+                .role(role)
+                .organization(org)
+                .build());
+        return jwtUtils.generateTokenFromUser(admin);
+    }
+
+    @Test
+    @DisplayName("A FREE organization gets 429 with Retry-After once its read budget is spent; others are unaffected")
+    void shouldThrottleOnlyTheOrganizationOverQuota() throws Exception {
+        mockMvc.perform(get("/contracts").header("Authorization", "Bearer " + freeToken))
+                .andExpect(status().isOk())
+                .andExpect(header().string("RateLimit-Limit", "2"))
+                .andExpect(header().string("RateLimit-Remaining", "1"));
+        mockMvc.perform(get("/contracts").header("Authorization", "Bearer " + freeToken))
+                .andExpect(status().isOk())
+                .andExpect(header().string("RateLimit-Remaining", "0"));
+        mockMvc.perform(get("/contracts").header("Authorization", "Bearer " + freeToken))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"));
+
+        mockMvc.perform(get("/contracts").header("Authorization", "Bearer " + otherFreeToken))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Limits follow the organization's subscription tier")
+    void shouldApplyTierLimits() throws Exception {
+        mockMvc.perform(get("/contracts").header("Authorization", "Bearer " + proToken))
+                .andExpect(status().isOk())
+                .andExpect(header().string("RateLimit-Limit", "1200"));
+    }
+}
@@ -1,5 +1,7 @@
 package com.donatodev.bcm_backend.exception;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -7,7 +9,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
@@ -153,4 +158,20 @@ class GlobalExceptionHandlerTest {
                     .andExpect(status().isForbidden());
         }
     }
+
+    @Nested
+    @DisplayName("503 Service Unavailable handlers")
+    class ServiceUnavailableHandlers {
+
+        @Test
+        @DisplayName("Should return 503 with Retry-After when the password-hashing bulkhead is full")
+        void shouldReturn503WhenPasswordHashingIsBusy() {
+            ResponseEntity<ApiErrorResponse> response = new GlobalExceptionHandler()
+                    .handlePasswordHashingBusy(new PasswordHashingBusyException());
+
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+            assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+            assertEquals(503, response.getBody().status());
+        }
+    }
 }
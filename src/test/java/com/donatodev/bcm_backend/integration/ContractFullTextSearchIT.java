@@ -0,0 +1,130 @@
+package com.donatodev.bcm_backend.integration;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.donatodev.bcm_backend.entity.BusinessAreas;
+import com.donatodev.bcm_backend.entity.ContractStatus;
+import com.donatodev.bcm_backend.entity.Contracts;
+import com.donatodev.bcm_backend.entity.Organization;
+import com.donatodev.bcm_backend.repository.BusinessAreasRepository;
+import com.donatodev.bcm_backend.repository.ContractsRepository;
+import com.donatodev.bcm_backend.repository.OrganizationRepository;
+import com.donatodev.bcm_backend.support.AbstractMySQLIntegrationTest;
+
+/**
+ * Runs the contract term search against the real n-gram FULLTEXT index from
+ * V36, which H2 cannot emulate. Not transactional: InnoDB only adds rows to a
+ * FULLTEXT index on commit, so rows saved inside a rolled-back test
+ * transaction would never match.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Integration Test: contract full-text search against real MySQL")
+class ContractFullTextSearchIT extends AbstractMySQLIntegrationTest {
+
+    @Autowired private ContractsRepository contractsRepository;
+    @Autowired private OrganizationRepository organizationRepository;
+    @Autowired private BusinessAreasRepository businessAreasRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private Organization orgA;
+    private Organization orgB;
+    private BusinessAreas areaA;
+    private BusinessAreas areaB;
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void setup() {
+        orgA = organizationRepository.save(Organization.builder()
+                .name("Full-Text IT Org A").slug("full-text-it-org-a").build());
+        orgB = organizationRepository.save(Organization.builder()
+                .name("Full-Text IT Org B").slug("full-text-it-org-b").build());
+        areaA = businessAreasRepository.save(BusinessAreas.builder()
+                .name("Full-Text IT Area").organization(orgA).build());
+        areaB = businessAreasRepository.save(BusinessAreas.builder()
+                .name("Full-Text IT Area").organization(orgB).build());
+    }
+
+    @AfterEach
+    @SuppressWarnings("unused")
+    void cleanup() {
+        jdbcTemplate.update("DELETE FROM contracts WHERE organization_id IN (?, ?)", orgA.getId(), orgB.getId());
+        jdbcTemplate.update("DELETE FROM business_areas WHERE organization_id IN (?, ?)", orgA.getId(), orgB.getId());
+        organizationRepository.deleteAllById(List.of(orgA.getId(), orgB.getId()));
+    }
+
+    private Contracts contract(Organization org, BusinessAreas area, String number, String customer,
+                               String project, String wbs) {
+        return contractsRepository.save(Contracts.builder()
+                .customerName(customer)
+                .contractNumber(number)
+                .projectName(project)
+                .wbsCode(wbs)
+                .businessArea(area)
+                .startDate(LocalDate.now())
+                .status(ContractStatus.ACTIVE)
+                .organization(org)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Infix matches across number, customer, project and WBS code, scoped to the organization")
+    void shouldMatchInfixAcrossColumnsWithinOrganization() {
+        Contracts byNumber = contract(orgA, areaA, "FT-ORION-01", "Acme", "Gestionale", "WBS-1");
+        Contracts byCustomer = contract(orgA, areaA, "FT-0002", "Orionis Spa", "Gestionale", "WBS-2");
+        Contracts byProject = contract(orgA, areaA, "FT-0003", "Acme", "Migrazione orione", "WBS-3");
+        Contracts byWbs = contract(orgA, areaA, "FT-0004", "Acme", "Gestionale", "WBS-ORION-9");
+        contract(orgA, areaA, "FT-0005", "Acme", "Gestionale", "WBS-5");
+        contract(orgB, areaB, "FT-ORION-99", "Acme", "Gestionale", "WBS-6");
+
+        Page<Long> ids = contractsRepository.findIdsByFullText(orgA.getId(), null, null, "+\"rion\"",
+                PageRequest.of(0, 10));
+
+        assertEquals(4, ids.getTotalElements());
+        assertTrue(ids.getContent().containsAll(
+                List.of(byNumber.getId(), byCustomer.getId(), byProject.getId(), byWbs.getId())));
+    }
+
+    @Test
+    @DisplayName("Every word of a multi-word term is required")
+    void shouldRequireEveryWord() {
+        Contracts both = contract(orgA, areaA, "FT-0101", "Acme Logistica", "Magazzino 2024", "WBS-1");
+        contract(orgA, areaA, "FT-0102", "Acme Logistica", "Magazzino 2023", "WBS-2");
+
+        Page<Long> ids = contractsRepository.findIdsByFullText(orgA.getId(), null, ContractStatus.ACTIVE.name(),
+                "+\"acme\" +\"2024\"", PageRequest.of(0, 10));
+
+        assertEquals(List.of(both.getId()), ids.getContent());
+    }
+
+    @Test
+    @DisplayName("The term search is served by the FULLTEXT index")
+    void shouldUseFullTextIndex() {
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("""
+                EXPLAIN SELECT c.id FROM contracts c
+                WHERE MATCH(c.contract_number, c.customer_name, c.project_name, c.wbs_code)
+                      AGAINST ('+"rion"' IN BOOLEAN MODE)
+                  AND c.organization_id = ?
+                """, orgA.getId());
+
+        assertEquals("ft_contracts_search", plan.get(0).get("key"));
+    }
+}
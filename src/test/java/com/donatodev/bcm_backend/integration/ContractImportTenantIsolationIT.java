@@ -0,0 +1,165 @@
+package com.donatodev.bcm_backend.integration;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.donatodev.bcm_backend.dto.ContractDTO;
+import com.donatodev.bcm_backend.dto.ContractImportResultDTO;
+import com.donatodev.bcm_backend.entity.BusinessAreas;
+import com.donatodev.bcm_backend.entity.ContractStatus;
+import com.donatodev.bcm_backend.entity.Contracts;
+import com.donatodev.bcm_backend.entity.Organization;
+import com.donatodev.bcm_backend.repository.BusinessAreasRepository;
+import com.donatodev.bcm_backend.repository.ContractsRepository;
+import com.donatodev.bcm_backend.repository.OrganizationRepository;
+import com.donatodev.bcm_backend.service.ContractImportService;
+import com.donatodev.bcm_backend.service.ContractImportWriter;
+import com.donatodev.bcm_backend.support.AbstractMySQLIntegrationTest;
+
+/**
+ * Batched import inserts against real MySQL, where contract numbers are unique
+ * per organization ({@code uq_ctr_num_org}) rather than globally as in the H2
+ * test schema: another tenant's contract with the same number must neither
+ * block the import nor show up in the importing tenant's change log.
+ */
+@SpringBootTest
+@DisplayName("Integration Test: batched import inserts stay within the tenant against real MySQL")
+class ContractImportTenantIsolationIT extends AbstractMySQLIntegrationTest {
+
+    private static final String SHARED_NUMBER = "IMP-ISO-IT-001";
+
+    @Autowired private ContractImportService importService;
+    @Autowired private ContractImportWriter importWriter;
+    @Autowired private ContractsRepository contractsRepository;
+    @Autowired private OrganizationRepository organizationRepository;
+    @Autowired private BusinessAreasRepository businessAreasRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private Organization orgA;
+    private Organization orgB;
+    private BusinessAreas areaA;
+
+    @TempDir
+    private Path tempDir;
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void setup() {
+        orgA = organizationRepository.save(Organization.builder()
+                .name("Import Isolation IT Org A").slug("import-isolation-it-org-a").build());
+        orgB = organizationRepository.save(Organization.builder()
+                .name("Import Isolation IT Org B").slug("import-isolation-it-org-b").build());
+        areaA = businessAreasRepository.save(BusinessAreas.builder()
+                .name("Import Isolation IT Area").organization(orgA).build());
+        BusinessAreas areaB = businessAreasRepository.save(BusinessAreas.builder()
+                .name("Import Isolation IT Area").organization(orgB).build());
+        contractsRepository.save(Contracts.builder()
+                .customerName("Customer of org B")
+                .contractNumber(SHARED_NUMBER)
+                .businessArea(areaB)
+                .startDate(LocalDate.now())
+                .status(ContractStatus.ACTIVE)
+                .organization(orgB)
+                .build());
+    }
+
+    @AfterEach
+    @SuppressWarnings("unused")
+    void cleanup() {
+        for (Organization org : List.of(orgA, orgB)) {
+            jdbcTemplate.update("DELETE FROM audit_logs WHERE org_id = ?", org.getId());
+            jdbcTemplate.update("DELETE FROM contract_changes WHERE scope_id = ?", org.getId());
+            jdbcTemplate.update("DELETE FROM contract_change_sequences WHERE scope_id = ?", org.getId());
+            jdbcTemplate.update("DELETE FROM contracts WHERE organization_id = ?", org.getId());
+            jdbcTemplate.update("DELETE FROM business_areas WHERE organization_id = ?", org.getId());
+            organizationRepository.deleteById(org.getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Imported rows are logged with their own ids, not another tenant's with the same number")
+    void logsOnlyInsertedContracts() {
+        importWriter.insert(orgA.getId(), "admin", List.of(new ContractDTO(null, "Customer of org A", SHARED_NUMBER,
+                null, null, ContractStatus.ACTIVE, LocalDate.now(), LocalDate.now().plusDays(30),
+                areaA.getId(), null, null, null, null, null)));
+
+        List<Long> ownIds = jdbcTemplate.queryForList(
+                "SELECT id FROM contracts WHERE organization_id = ?", Long.class, orgA.getId());
+        List<Long> loggedIds = jdbcTemplate.queryForList(
+                "SELECT contract_id FROM contract_changes WHERE scope_id = ?", Long.class, orgA.getId());
+
+        assertEquals(1, ownIds.size());
+        assertEquals(ownIds, loggedIds);
+    }
+
+    @Test
+    @DisplayName("A number used only by another tenant is imported, not rejected as existing")
+    void importsNumberTakenOnlyByAnotherTenant() throws IOException {
+        Path file = tempDir.resolve("import.xlsx");
+        try (Workbook workbook = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(file)) {
+            Sheet sheet = workbook.createSheet("Contratti");
+            Row header = sheet.createRow(0);
+            String[] columns = {"Contract Number", "Customer", "Project", "Status",
+                "Start Date", "End Date", "Manager", "Business Area"};
+            for (int c = 0; c < columns.length; c++) {
+                header.createCell(c).setCellValue(columns[c]);
+            }
+            Row row = sheet.createRow(1);
+            row.createCell(0).setCellValue(SHARED_NUMBER);
+            row.createCell(1).setCellValue("Customer of org A");
+            row.createCell(3).setCellValue("ACTIVE");
+            row.createCell(4).setCellValue("01/01/2024");
+            row.createCell(5).setCellValue("31/12/2024");
+            row.createCell(7).setCellValue(areaA.getName());
+            workbook.write(out);
+        }
+
+        ContractImportResultDTO result = importService.importFile(file, orgA.getId(), "admin",
+                ContractImportService.ProgressListener.NONE);
+
+        assertEquals(1, result.importedCount());
+        assertEquals(0, result.errorCount());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM contracts WHERE organization_id = ? AND contract_number = ?",
+                Integer.class, orgA.getId(), SHARED_NUMBER));
+    }
+
+    @Test
+    @DisplayName("Every imported contract gets a CREATE audit entry for the importing user and tenant")
+    void auditsInsertedContracts() {
+        importWriter.insert(orgA.getId(), "admin", List.of(new ContractDTO(null, "Customer of org A", SHARED_NUMBER,
+                null, null, ContractStatus.ACTIVE, LocalDate.now(), LocalDate.now().plusDays(30),
+                areaA.getId(), null, null, null, null, null)));
+
+        Long ownId = jdbcTemplate.queryForObject(
+                "SELECT id FROM contracts WHERE organization_id = ?", Long.class, orgA.getId());
+        List<Map<String, Object>> entries = jdbcTemplate.queryForList(
+                "SELECT action, entity_type, entity_id, username FROM audit_logs WHERE org_id = ?", orgA.getId());
+
+        assertEquals(1, entries.size());
+        assertEquals("CREATE", entries.get(0).get("action"));
+        assertEquals("Contract", entries.get(0).get("entity_type"));
+        assertEquals(ownId, ((Number) entries.get(0).get("entity_id")).longValue());
+        assertEquals("admin", entries.get(0).get("username"));
+    }
+}
@@ -0,0 +1,128 @@
+package com.donatodev.bcm_backend.integration;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.donatodev.bcm_backend.config.TenantContext;
+import com.donatodev.bcm_backend.dto.ContractImportResultDTO;
+import com.donatodev.bcm_backend.entity.BusinessAreas;
+import com.donatodev.bcm_backend.entity.Organization;
+import com.donatodev.bcm_backend.repository.BusinessAreasRepository;
+import com.donatodev.bcm_backend.repository.OrganizationRepository;
+import com.donatodev.bcm_backend.service.ContractImportService;
+import com.donatodev.bcm_backend.support.AbstractMySQLIntegrationTest;
+
+/**
+ * Import throughput benchmark against real MySQL: imports a generated file and
+ * logs rows per second and the number of statements the server received
+ * ({@code Questions}), which is what chunked, batched imports cut down. The
+ * assertions only check the outcome, so the test does not flake on slow hosts.
+ */
+@SpringBootTest
+@DisplayName("Integration Test: Excel contract import throughput against real MySQL")
+class ContractImportThroughputIT extends AbstractMySQLIntegrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContractImportThroughputIT.class);
+
+    private static final int ROWS = 5000;
+
+    @Autowired private ContractImportService importService;
+    @Autowired private OrganizationRepository organizationRepository;
+    @Autowired private BusinessAreasRepository businessAreasRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    private Path tempDir;
+
+    private Organization org;
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void setup() {
+        org = organizationRepository.save(Organization.builder()
+                .name("Import Throughput IT Org").slug("import-throughput-it-org").build());
+        businessAreasRepository.save(BusinessAreas.builder().name("Import IT Area").organization(org).build());
+        TenantContext.set(org.getId());
+    }
+
+    @AfterEach
+    @SuppressWarnings("unused")
+    void cleanup() {
+        TenantContext.clear();
+        jdbcTemplate.update("DELETE FROM audit_logs WHERE org_id = ?", org.getId());
+        jdbcTemplate.update("DELETE FROM contract_changes WHERE scope_id = ?", org.getId());
+        jdbcTemplate.update("DELETE FROM contract_change_sequences WHERE scope_id = ?", org.getId());
+        jdbcTemplate.update("DELETE FROM contracts WHERE organization_id = ?", org.getId());
+        jdbcTemplate.update("DELETE FROM business_areas WHERE organization_id = ?", org.getId());
+        organizationRepository.deleteById(org.getId());
+    }
+
+    private static byte[] buildFile(int rows) throws IOException {
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(100); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            Sheet sheet = workbook.createSheet("Contratti");
+            String[] header = {"Contract Number", "Customer", "Project", "Status",
+                "Start Date", "End Date", "Manager", "Business Area"};
+            Row headerRow = sheet.createRow(0);
+            for (int c = 0; c < header.length; c++) {
+                headerRow.createCell(c).setCellValue(header[c]);
+            }
+            for (int r = 1; r <= rows; r++) {
+                Row row = sheet.createRow(r);
+                row.createCell(0).setCellValue("IMP-IT-" + r);
+                row.createCell(1).setCellValue("Cliente " + r);
+                row.createCell(2).setCellValue("Progetto " + (r % 50));
+                row.createCell(3).setCellValue(r % 10 == 0 ? "DRAFT" : "ACTIVE");
+                row.createCell(4).setCellValue("01/01/2026");
+                row.createCell(5).setCellValue("31/12/2027");
+                row.createCell(7).setCellValue("Import IT Area");
+            }
+            workbook.write(out);
+            workbook.dispose();
+            return out.toByteArray();
+        }
+    }
+
+    private long questions() {
+        return Long.parseLong(jdbcTemplate.queryForObject(
+                "SHOW GLOBAL STATUS LIKE 'Questions'", (rs, n) -> rs.getString(2)));
+    }
+
+    @Test
+    @DisplayName("Imports 5,000 rows and reports rows per second")
+    void measuresImportThroughput() throws Exception {
+        Path file = Files.write(tempDir.resolve("throughput.xlsx"), buildFile(ROWS));
+
+        long questionsBefore = questions();
+        long start = System.nanoTime();
+        ContractImportResultDTO result = importService.importFile(file, org.getId(), "admin",
+                ContractImportService.ProgressListener.NONE);
+        long elapsedNanos = System.nanoTime() - start;
+        long statements = questions() - questionsBefore - 1;
+
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        logger.info("Imported {} rows in {} ms: {} rows/s, {} statements",
+                result.importedCount(), Math.round(seconds * 1000), Math.round(ROWS / seconds), statements);
+
+        assertEquals(ROWS, result.totalRows());
+        assertEquals(ROWS, result.importedCount());
+        assertEquals(ROWS, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM contracts WHERE organization_id = ?", Integer.class, org.getId()));
+    }
+}
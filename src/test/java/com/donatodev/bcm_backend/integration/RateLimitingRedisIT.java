@@ -1,5 +1,6 @@
 package com.donatodev.bcm_backend.integration;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -15,6 +16,10 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.utility.DockerImageName;
 
+import com.donatodev.bcm_backend.auth.InMemoryLoginAttemptStore;
+import com.donatodev.bcm_backend.auth.LoginAttemptStore;
+import com.donatodev.bcm_backend.auth.RedisLoginAttemptStore;
+import com.donatodev.bcm_backend.jwt.HybridRateLimitBucketSource;
 import com.donatodev.bcm_backend.jwt.RateLimitBucketSource;
 import com.donatodev.bcm_backend.jwt.RedisRateLimitBucketSource;
 
@@ -35,7 +40,9 @@ import io.lettuce.core.codec.StringCodec;
  * own Lettuce connection, stand in for two backend replicas sharing one Redis. No Spring
  * context needed: this only exercises the Redis-backed class directly, not the profile
  * wiring in RedisRateLimiterConfig (which is what the "test" Spring profile deliberately
- * bypasses in favor of InMemoryRateLimiterConfig — see that class's javadoc).
+ * bypasses in favor of InMemoryRateLimiterConfig — see that class's javadoc). The login
+ * lockout counters ({@link RedisLoginAttemptStore}) ride on the same Redis and are covered
+ * here too.
  */
 @Testcontainers
 @Tag("integration")
@@ -63,13 +70,20 @@ class RateLimitingRedisIT {
     }
 
     private static RateLimitBucketSource newBucketSource(RedisClient client) {
+        return new RedisRateLimitBucketSource(newProxyManager(client));
+    }
+
+    private static HybridRateLimitBucketSource newHybridBucketSource(RedisClient client) {
+        return new HybridRateLimitBucketSource(newProxyManager(client), 0, Duration.ofMillis(100));
+    }
+
+    private static ProxyManager<String> newProxyManager(RedisClient client) {
         StatefulRedisConnection<String, byte[]> connection = client.connect(
                 RedisCodec.of(StringCodec.UTF8, ByteArrayCodec.INSTANCE));
-        ProxyManager<String> proxyManager = LettuceBasedProxyManager.builderFor(connection)
+        return LettuceBasedProxyManager.builderFor(connection)
                 .withExpirationStrategy(
                         ExpirationAfterWriteStrategy.basedOnTimeForRefillingBucketUpToMax(Duration.ofMinutes(2)))
                 .build();
-        return new RedisRateLimitBucketSource(proxyManager);
     }
 
     @Test
@@ -98,4 +112,51 @@ class RateLimitingRedisIT {
         assertFalse(instanceA.tryConsume(key, 2));
         assertFalse(instanceB.tryConsume(key, 2));
     }
+
+    @Test
+    @DisplayName("Hybrid sources with no overshoot budget still enforce the shared limit across instances")
+    void hybridSourcesCoordinateAcrossInstances() {
+        HybridRateLimitBucketSource instanceA = newHybridBucketSource(clientA);
+        HybridRateLimitBucketSource instanceB = newHybridBucketSource(clientB);
+        String key = "it-test:" + System.nanoTime();
+
+        try {
+            assertTrue(instanceA.tryConsume(key, 2));
+            assertTrue(instanceB.tryConsume(key, 2));
+
+            // Each local bucket still has a token, but the shared one does not.
+            assertFalse(instanceA.tryConsume(key, 2));
+            assertFalse(instanceB.tryConsume(key, 2));
+        } finally {
+            instanceA.shutdown();
+            instanceB.shutdown();
+        }
+    }
+
+    private static LoginAttemptStore newLoginAttemptStore(RedisClient client) {
+        return new RedisLoginAttemptStore(client.connect(RedisCodec.of(StringCodec.UTF8, ByteArrayCodec.INSTANCE)),
+                new InMemoryLoginAttemptStore());
+    }
+
+    @Test
+    @DisplayName("Login failures and locks are shared across instances and carry a TTL")
+    void loginAttemptStoreCoordinatesAcrossInstances() {
+        LoginAttemptStore instanceA = newLoginAttemptStore(clientA);
+        LoginAttemptStore instanceB = newLoginAttemptStore(clientB);
+        String key = "it-test:" + System.nanoTime();
+        Duration window = Duration.ofMinutes(15);
+
+        assertEquals(1, instanceA.recordFailure(key, window));
+        assertEquals(2, instanceB.recordFailure(key, window));
+        assertEquals(3, instanceA.recordFailure(key, window));
+
+        instanceB.lock(key, Duration.ofSeconds(1));
+        assertTrue(instanceA.isLocked(key));
+        assertEquals(1, instanceA.recordFailure(key, window));
+
+        try (StatefulRedisConnection<String, String> raw = clientA.connect()) {
+            assertTrue(raw.sync().pttl("login-failures:" + key) > 0);
+            assertTrue(raw.sync().pttl("login-lock:" + key) > 0);
+        }
+    }
 }
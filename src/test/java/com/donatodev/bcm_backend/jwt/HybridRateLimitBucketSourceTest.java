@@ -0,0 +1,168 @@
+package com.donatodev.bcm_backend.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.distributed.BucketProxy;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import io.github.bucket4j.distributed.proxy.RemoteBucketBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class HybridRateLimitBucketSourceTest {
+
+    private static final String KEY = "rate-limit:1.2.3.4";
+    private static final Duration NEVER = Duration.ofHours(1);
+
+    private ProxyManager<String> proxyManager;
+    private BucketProxy remote;
+    private HybridRateLimitBucketSource source;
+
+    @SuppressWarnings("unchecked")
+    @BeforeEach
+    void setUp() {
+        proxyManager = mock(ProxyManager.class);
+        RemoteBucketBuilder<String> builder = mock(RemoteBucketBuilder.class);
+        remote = mock(BucketProxy.class);
+        when(proxyManager.builder()).thenReturn(builder);
+        when(builder.build(anyString(), org.mockito.ArgumentMatchers.<Supplier<BucketConfiguration>>any()))
+                .thenReturn(remote);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (source != null) {
+            source.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Credential stuffing from one address is rejected locally without Redis round trips")
+    void shouldRejectLocallyOnceLocalBucketIsExhausted() {
+        when(remote.tryConsumeAndReturnRemaining(anyLong())).thenReturn(ConsumptionProbe.consumed(2, 0));
+        source = new HybridRateLimitBucketSource(proxyManager, 2, NEVER);
+
+        int allowed = 0;
+        for (int i = 0; i < 100; i++) {
+            if (source.tryConsume(KEY, 5)) {
+                allowed++;
+            }
+        }
+
+        assertEquals(5, allowed);
+        // Only the third request (overshoot budget of 2 used up) went to Redis inline:
+        // the two served requests unconditionally, then the third one.
+        verify(remote, times(1)).consumeIgnoringRateLimits(2L);
+        verify(remote, times(1)).tryConsumeAndReturnRemaining(1L);
+        verify(proxyManager, times(1)).builder();
+    }
+
+    @Test
+    @DisplayName("Blocks the key locally once Redis reports the shared bucket exhausted")
+    void shouldBlockKeyWhenSharedBucketIsExhausted() {
+        when(remote.tryConsumeAndReturnRemaining(anyLong()))
+                .thenReturn(ConsumptionProbe.rejected(0, TimeUnit.MINUTES.toNanos(1), TimeUnit.MINUTES.toNanos(1)));
+        source = new HybridRateLimitBucketSource(proxyManager, 0, NEVER);
+
+        assertFalse(source.tryConsume(KEY, 5));
+        assertFalse(source.tryConsume(KEY, 5));
+
+        verify(remote, times(1)).tryConsumeAndReturnRemaining(anyLong());
+    }
+
+    @Test
+    @DisplayName("Locally allowed requests are charged to Redis in the background")
+    void shouldReconcileInBackground() {
+        source = new HybridRateLimitBucketSource(proxyManager, 5, Duration.ofMillis(10));
+
+        assertTrue(source.tryConsume(KEY, 5));
+        assertTrue(source.tryConsume(KEY, 5));
+
+        verify(remote, timeout(1000)).consumeIgnoringRateLimits(2L);
+        verify(remote, never()).tryConsumeAndReturnRemaining(anyLong());
+    }
+
+    @Test
+    @DisplayName("Requests already served are charged even when the shared bucket cannot cover them")
+    void shouldChargeServedRequestsWhenSharedBucketIsShort() {
+        when(remote.consumeIgnoringRateLimits(2L)).thenReturn(TimeUnit.SECONDS.toNanos(30));
+        source = new HybridRateLimitBucketSource(proxyManager, 2, NEVER);
+
+        assertTrue(source.tryConsume(KEY, 5));
+        assertTrue(source.tryConsume(KEY, 5));
+        assertFalse(source.tryConsume(KEY, 5));
+        assertFalse(source.tryConsume(KEY, 5));
+
+        verify(remote, times(1)).consumeIgnoringRateLimits(2L);
+        verify(remote, never()).tryConsumeAndReturnRemaining(anyLong());
+    }
+
+    @Test
+    @DisplayName("Does not call Redis at all while within the overshoot budget")
+    void shouldNotCallRedisInlineWithinOvershootBudget() {
+        source = new HybridRateLimitBucketSource(proxyManager, 5, NEVER);
+
+        assertTrue(source.tryConsume(KEY, 5));
+
+        verify(proxyManager, never()).builder();
+    }
+
+    @Test
+    @DisplayName("Probe reports remaining tokens from the local bucket")
+    void shouldReportRemainingTokens() {
+        source = new HybridRateLimitBucketSource(proxyManager, 5, NEVER);
+
+        RateLimitProbe first = source.probe(KEY, 3);
+        source.probe(KEY, 3);
+        source.probe(KEY, 3);
+        RateLimitProbe rejected = source.probe(KEY, 3);
+
+        assertTrue(first.allowed());
+        assertEquals(2, first.remaining());
+        assertFalse(rejected.allowed());
+        assertTrue(rejected.nanosToReset() > 0);
+    }
+
+    @Test
+    @DisplayName("Fails open when Redis is unreachable during inline reconciliation")
+    void shouldFailOpenWhenRedisThrows() {
+        when(remote.tryConsumeAndReturnRemaining(anyLong())).thenThrow(new RuntimeException("connection reset"));
+        source = new HybridRateLimitBucketSource(proxyManager, 0, NEVER);
+
+        assertTrue(source.tryConsume(KEY, 5));
+    }
+
+    @Test
+    @DisplayName("Publishes tracked key count and estimated footprint gauges tagged store=hybrid")
+    void shouldPublishGauges() {
+        source = new HybridRateLimitBucketSource(proxyManager, 5, NEVER, 1_000, Duration.ofMinutes(2));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        source.bindTo(registry);
+
+        source.tryConsume("rate-limit:1.1.1.1", 5);
+        source.tryConsume("rate-limit:2.2.2.2", 5);
+
+        assertEquals(2.0, registry.get("bcm.rate_limit.buckets").tag("store", "hybrid").gauge().value());
+        assertEquals(2.0 * HybridRateLimitBucketSource.ESTIMATED_BYTES_PER_KEY,
+                registry.get("bcm.rate_limit.buckets.memory").tag("store", "hybrid").gauge().value());
+    }
+}
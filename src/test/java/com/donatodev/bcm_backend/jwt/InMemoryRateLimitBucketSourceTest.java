@@ -0,0 +1,75 @@
+package com.donatodev.bcm_backend.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class InMemoryRateLimitBucketSourceTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private InMemoryRateLimitBucketSource newSource(long maxBuckets, Duration idleExpiry) {
+        return new InMemoryRateLimitBucketSource(maxBuckets, idleExpiry, "primary", nanos::get);
+    }
+
+    @Test
+    @DisplayName("Enforces the limit per key")
+    void shouldEnforceLimitPerKey() {
+        InMemoryRateLimitBucketSource source = newSource(100, Duration.ofMinutes(2));
+
+        assertTrue(source.tryConsume("rate-limit:1.1.1.1", 2));
+        assertTrue(source.tryConsume("rate-limit:1.1.1.1", 2));
+        assertFalse(source.tryConsume("rate-limit:1.1.1.1", 2));
+        assertTrue(source.tryConsume("rate-limit:2.2.2.2", 2));
+    }
+
+    @Test
+    @DisplayName("Rotating source addresses cannot grow the store past its bound")
+    void shouldStayWithinMaxBuckets() {
+        InMemoryRateLimitBucketSource source = newSource(10, Duration.ofMinutes(2));
+
+        for (int i = 0; i < 1_000; i++) {
+            source.tryConsume("rate-limit:10.0." + (i / 256) + "." + (i % 256), 5);
+        }
+
+        assertTrue(source.bucketCount() <= 10, "bucket count was " + source.bucketCount());
+    }
+
+    @Test
+    @DisplayName("Idle buckets are dropped after the idle expiry")
+    void shouldDropIdleBuckets() {
+        InMemoryRateLimitBucketSource source = newSource(100, Duration.ofSeconds(10));
+
+        assertTrue(source.tryConsume("rate-limit:1.1.1.1", 1));
+        assertFalse(source.tryConsume("rate-limit:1.1.1.1", 1));
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(11));
+
+        assertTrue(source.tryConsume("rate-limit:1.1.1.1", 1));
+    }
+
+    @Test
+    @DisplayName("Publishes live bucket count and estimated footprint gauges")
+    void shouldPublishGauges() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        InMemoryRateLimitBucketSource source = newSource(100, Duration.ofMinutes(2));
+        source.bindTo(registry);
+
+        source.tryConsume("rate-limit:1.1.1.1", 5);
+        source.tryConsume("rate-limit:2.2.2.2", 5);
+        source.tryConsume("rate-limit:3.3.3.3", 5);
+
+        assertEquals(3.0, registry.get("bcm.rate_limit.buckets").tag("store", "primary").gauge().value());
+        assertEquals(3.0 * InMemoryRateLimitBucketSource.ESTIMATED_BYTES_PER_BUCKET,
+                registry.get("bcm.rate_limit.buckets.memory").tag("store", "primary").gauge().value());
+    }
+}
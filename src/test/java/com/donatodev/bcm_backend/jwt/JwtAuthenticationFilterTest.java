@@ -1,5 +1,8 @@
 package com.donatodev.bcm_backend.jwt;
 
+import java.time.Instant;
+import java.util.Optional;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.MethodOrderer;
@@ -10,6 +13,8 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.nullable;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -92,8 +97,11 @@ class JwtAuthenticationFilterTest {
         when(userDetailsService.loadUserByUsername(eq(user.getUsername()), nullable(Long.class)))
         .thenReturn(org.springframework.security.core.userdetails.User
             .withUsername(user.getUsername()).password(DUMMY_PASSWORD_ENCODED).roles("MANAGER").build());
-        when(jwtUtils.validateToken(eq(token), any())).thenReturn(true);
-        when(jwtUtils.getUsernameFromToken(token)).thenReturn("jwtuser");
+        when(jwtUtils.parseVerifiedClaims(token)).thenReturn(Optional.of(claims("jwtuser", false)));
+    }
+
+    private static VerifiedJwtClaims claims(String username, boolean mfaPending) {
+        return new VerifiedJwtClaims(username, null, mfaPending, Instant.now().plusSeconds(3600));
     }
 
     /**
@@ -131,7 +139,7 @@ class JwtAuthenticationFilterTest {
     @Test
     @DisplayName("Should skip filter if username is null (invalid token)")
     void shouldSkipIfUsernameIsNull() throws Exception {
-        when(jwtUtils.getUsernameFromToken("invalidtoken")).thenReturn(null);
+        when(jwtUtils.parseVerifiedClaims("invalidtoken")).thenReturn(Optional.of(claims(null, false)));
         mockMvc.perform(get("/auth/me")
             .header("Authorization", "Bearer invalidtoken"))
             .andExpect(status().isUnauthorized());
@@ -157,7 +165,7 @@ class JwtAuthenticationFilterTest {
     @DisplayName("Should skip filter if token is invalid")
     void shouldSkipIfTokenIsInvalid() throws Exception {
         String invalidToken = "completelyInvalidToken";
-        when(jwtUtils.getUsernameFromToken(invalidToken)).thenReturn(null);
+        when(jwtUtils.parseVerifiedClaims(invalidToken)).thenReturn(Optional.empty());
 
         mockMvc.perform(get("/auth/me")
             .header("Authorization", "Bearer " + invalidToken))
@@ -175,16 +183,26 @@ class JwtAuthenticationFilterTest {
     }
 
     @Test
-    @DisplayName("Should not authenticate if validateToken returns false")
-    void shouldNotAuthenticateIfValidateTokenFalse() throws Exception {
+    @DisplayName("Should verify the token signature only once per request")
+    void shouldParseTokenOncePerRequest() throws Exception {
+        mockMvc.perform(get("/auth/me")
+            .header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk());
+
+        verify(jwtUtils, times(1)).parseVerifiedClaims(token);
+        verify(jwtUtils, times(0)).getUsernameFromToken(any());
+        verify(jwtUtils, times(0)).validateToken(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should not authenticate if the loaded user does not match the token subject")
+    void shouldNotAuthenticateIfSubjectMismatch() throws Exception {
         Users user = usersRepository.findAll().get(0);
         String testToken = "validToken";
 
-        when(jwtUtils.getUsernameFromToken(testToken)).thenReturn(user.getUsername());
         when(userDetailsService.loadUserByUsername(eq(user.getUsername()), nullable(Long.class)))
                .thenReturn(org.springframework.security.core.userdetails.User
-                       .withUsername(user.getUsername()).password(DUMMY_PASSWORD_PLAIN).roles("MANAGER").build());
-        when(jwtUtils.validateToken(eq(testToken), any())).thenReturn(false);
+                       .withUsername("someoneElse").password(DUMMY_PASSWORD_PLAIN).roles("MANAGER").build());
 
         mockMvc.perform(get("/auth/me")
             .header("Authorization", "Bearer " + testToken))
@@ -197,7 +215,6 @@ class JwtAuthenticationFilterTest {
         Users user = usersRepository.findAll().get(0);
         String testToken = "validToken";
 
-        when(jwtUtils.getUsernameFromToken(testToken)).thenReturn(user.getUsername());
         when(userDetailsService.loadUserByUsername(eq(user.getUsername()), nullable(Long.class)))
                .thenThrow(new RuntimeException("DB error"));
 
@@ -207,10 +224,10 @@ class JwtAuthenticationFilterTest {
     }
 
     @Test
-    @DisplayName("Should skip filter if getUsernameFromToken throws exception")
-    void shouldSkipIfGetUsernameFromTokenThrows() throws Exception {
+    @DisplayName("Should skip filter if parsing the token throws exception")
+    void shouldSkipIfParseVerifiedClaimsThrows() throws Exception {
         String testToken = "exceptionToken";
-        when(jwtUtils.getUsernameFromToken(testToken)).thenThrow(new RuntimeException("JWT parse error"));
+        when(jwtUtils.parseVerifiedClaims(testToken)).thenThrow(new RuntimeException("JWT parse error"));
 
         mockMvc.perform(get("/auth/me")
             .header("Authorization", "Bearer " + testToken))
@@ -220,7 +237,7 @@ class JwtAuthenticationFilterTest {
     @Test
     @DisplayName("Should skip filter if the token is an MFA-pending token")
     void shouldSkipIfTokenIsMfaPending() throws Exception {
-        when(jwtUtils.isMfaPendingToken(token)).thenReturn(true);
+        when(jwtUtils.parseVerifiedClaims(token)).thenReturn(Optional.of(claims("jwtuser", true)));
 
         mockMvc.perform(get("/auth/me")
             .header("Authorization", "Bearer " + token))
@@ -425,4 +425,46 @@ class JwtUtilsTest {
         String token = jwtUtils.generateMfaPendingToken(testUser);
         assertFalse(jwtUtils.isMfaPendingToken(token + "tampered"));
     }
+
+    @Test
+    @Order(23)
+    @DisplayName("parseVerifiedClaims returns every filter claim from a single parse")
+    void shouldParseVerifiedClaimsOnce() {
+        Organization org = Organization.builder()
+                .id(11L).name("Acme").slug("acme")
+                .subscriptionTier(SubscriptionTier.FREE).build();
+        Users userWithOrg = Users.builder()
+                .id(4L).username("claimsuser").passwordHash("hash")
+                .role(testRole).verified(true).organization(org).build();
+
+        VerifiedJwtClaims claims = jwtUtils.parseVerifiedClaims(jwtUtils.generateToken(userWithOrg)).orElseThrow();
+
+        assertEquals("claimsuser", claims.username());
+        assertEquals(11L, claims.organizationId());
+        assertFalse(claims.mfaPending());
+        assertNotNull(claims.expiration());
+
+        VerifiedJwtClaims mfaClaims = jwtUtils.parseVerifiedClaims(jwtUtils.generateMfaPendingToken(userWithOrg))
+                .orElseThrow();
+        assertTrue(mfaClaims.mfaPending());
+    }
+
+    @Test
+    @Order(24)
+    @DisplayName("parseVerifiedClaims returns empty for tampered, malformed or expired tokens")
+    void shouldReturnEmptyClaimsForInvalidTokens() {
+        String token = jwtUtils.generateToken(testUser);
+
+        assertTrue(jwtUtils.parseVerifiedClaims(token + "tampered").isEmpty());
+        assertTrue(jwtUtils.parseVerifiedClaims("not.a.valid.jwt").isEmpty());
+        assertTrue(jwtUtils.parseVerifiedClaims("").isEmpty());
+
+        Clock original = jwtUtils.getClock();
+        jwtUtils.setClock(Clock.fixed(Instant.parse("2099-01-01T00:00:00Z"), ZoneId.of("UTC")));
+        try {
+            assertTrue(jwtUtils.parseVerifiedClaims(token).isEmpty());
+        } finally {
+            jwtUtils.setClock(original);
+        }
+    }
 }
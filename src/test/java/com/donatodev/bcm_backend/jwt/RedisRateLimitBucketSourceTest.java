@@ -67,6 +67,21 @@ class RedisRateLimitBucketSourceTest {
                 "a Redis failure must not block requests");
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    @DisplayName("Enforces a per-instance limit through the fallback while Redis is unreachable")
+    void shouldUseFallbackWhenRedisIsUnreachable() {
+        ProxyManager<String> proxyManager = mock(ProxyManager.class);
+        when(proxyManager.builder()).thenThrow(new RuntimeException("Redis connection refused"));
+
+        RedisRateLimitBucketSource source =
+                new RedisRateLimitBucketSource(proxyManager, new InMemoryRateLimitBucketSource());
+
+        assertTrue(source.tryConsume("rate-limit:1.2.3.4", 2));
+        assertTrue(source.tryConsume("rate-limit:1.2.3.4", 2));
+        assertFalse(source.tryConsume("rate-limit:1.2.3.4", 2));
+    }
+
     @SuppressWarnings("unchecked")
     @Test
     @DisplayName("Fails open when the bucket itself throws (e.g. connection dropped mid-call)")
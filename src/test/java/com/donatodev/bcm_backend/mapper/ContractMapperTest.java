@@ -2,6 +2,7 @@ package com.donatodev.bcm_backend.mapper;
 
 import java.time.LocalDate;
 import java.time.Month;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -16,6 +17,7 @@ import org.springframework.test.context.ActiveProfiles;
 
 import com.donatodev.bcm_backend.config.TenantContext;
 import com.donatodev.bcm_backend.dto.ContractDTO;
+import com.donatodev.bcm_backend.dto.ContractListRow;
 import com.donatodev.bcm_backend.entity.BusinessAreas;
 import com.donatodev.bcm_backend.entity.ContractStatus;
 import com.donatodev.bcm_backend.entity.Contracts;
@@ -279,6 +281,31 @@ class ContractMapperTest {
         }
     }
 
+    /**
+     * Tests that a listing projection maps to the same DTO as the entity it
+     * was selected from.
+     */
+    @Test
+    void shouldMapListRowLikeEntity() {
+        Contracts saved = contractsRepository.save(Contracts.builder()
+                .customerName("Row Client")
+                .contractNumber("CN-ROW")
+                .wbsCode("WBS-ROW")
+                .projectName("Row Project")
+                .status(ContractStatus.ACTIVE)
+                .startDate(LocalDate.now().minusDays(5))
+                .endDate(LocalDate.now().plusDays(20))
+                .businessArea(savedArea)
+                .manager(savedManager)
+                .build());
+
+        List<ContractListRow> rows = contractsRepository.findListRows(null, savedManager.getId(), null);
+
+        assertEquals(1, rows.size());
+        assertEquals(contractMapper.toDTO(saved), contractMapper.fromListRow(rows.get(0)));
+        assertNull(contractMapper.fromListRow(null));
+    }
+
     /**
      * Tests that toDTO returns null when given a null contract.
      */
@@ -3,6 +3,8 @@ package com.donatodev.bcm_backend.repository;
 import java.time.LocalDate;
 import java.time.Month;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -220,6 +222,30 @@ class ContractsRepositoryTest {
         }
     }
 
+    @Nested
+    @DisplayName("countContractsByStartDate")
+    class CountByStartDate {
+
+        @Test
+        @DisplayName("Should count contracts per start date from the window start onward")
+        void shouldCountPerStartDate() {
+            contractsRepository.save(buildContract("CN-030", ContractStatus.ACTIVE, manager,
+                    TODAY, TODAY.plusMonths(6)));
+            contractsRepository.save(buildContract("CN-031", ContractStatus.DRAFT, manager,
+                    TODAY, TODAY.plusMonths(6)));
+            contractsRepository.save(buildContract("CN-032", ContractStatus.ACTIVE, manager,
+                    TODAY.plusDays(3), TODAY.plusMonths(6)));
+            contractsRepository.save(buildContract("CN-033", ContractStatus.ACTIVE, manager,
+                    TODAY.minusDays(1), TODAY.plusMonths(6)));
+
+            List<Object[]> rows = contractsRepository.countContractsByStartDate(TODAY);
+
+            Map<LocalDate, Long> counts = rows.stream()
+                    .collect(Collectors.toMap(r -> (LocalDate) r[0], r -> ((Number) r[1]).longValue()));
+            assertEquals(Map.of(TODAY, 2L, TODAY.plusDays(3), 1L), counts);
+        }
+    }
+
     @Nested
     @DisplayName("findExpiringContracts")
     class FindExpiringContracts {
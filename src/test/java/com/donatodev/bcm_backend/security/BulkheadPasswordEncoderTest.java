@@ -0,0 +1,99 @@
+package com.donatodev.bcm_backend.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.donatodev.bcm_backend.exception.PasswordHashingBusyException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BulkheadPasswordEncoderTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private BulkheadPasswordEncoder encoder;
+
+    /** Delegate whose matches() blocks until the test releases it, like a slow BCrypt. */
+    private final PasswordEncoder slowDelegate = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return encodedPassword.equals("hash:" + rawPassword);
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.close();
+    }
+
+    @Test
+    @DisplayName("Delegates to the wrapped encoder and records hash latency")
+    void shouldDelegateAndRecordLatency() {
+        release.countDown();
+        encoder = new BulkheadPasswordEncoder(slowDelegate, 2, 4, Duration.ofSeconds(5), registry);
+
+        assertEquals("hash:secret", encoder.encode("secret"));
+        assertTrue(encoder.matches("secret", "hash:secret"));
+        assertFalse(encoder.matches("wrong", "hash:secret"));
+
+        assertEquals(3, registry.get("bcm.password_hashing.duration").timer().count());
+    }
+
+    @Test
+    @DisplayName("Fails fast once workers and queue are full, without waiting for a worker")
+    void shouldRejectWhenSaturated() throws Exception {
+        encoder = new BulkheadPasswordEncoder(slowDelegate, 1, 1, Duration.ofSeconds(10), registry);
+
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches("a", "hash:a"));
+        awaitGauge("bcm.password_hashing.active", 1);
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches("b", "hash:b"));
+        awaitGauge("bcm.password_hashing.queue", 1);
+
+        long start = System.nanoTime();
+        assertThrows(PasswordHashingBusyException.class, () -> encoder.matches("c", "hash:c"));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1), "rejection must not wait for a worker");
+        assertEquals(1.0, registry.get("bcm.password_hashing.rejected").counter().count());
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Gives up with a busy error when the hash does not complete within the timeout")
+    void shouldRejectOnTimeout() {
+        encoder = new BulkheadPasswordEncoder(slowDelegate, 1, 1, Duration.ofMillis(50), registry);
+
+        assertThrows(PasswordHashingBusyException.class, () -> encoder.matches("a", "hash:a"));
+    }
+
+    private void awaitGauge(String name, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.get(name).gauge().value() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
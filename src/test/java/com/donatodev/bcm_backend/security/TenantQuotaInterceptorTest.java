@@ -0,0 +1,102 @@
+package com.donatodev.bcm_backend.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.donatodev.bcm_backend.config.TenantContext;
+import com.donatodev.bcm_backend.jwt.RateLimitProbe;
+import com.donatodev.bcm_backend.service.TenantQuotaService;
+import com.donatodev.bcm_backend.service.TenantQuotaService.QuotaClass;
+import com.donatodev.bcm_backend.service.TenantQuotaService.QuotaDecision;
+
+class TenantQuotaInterceptorTest {
+
+    private TenantQuotaService quotaService;
+    private TenantQuotaInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        quotaService = mock(TenantQuotaService.class);
+        when(quotaService.isEnabled()).thenReturn(true);
+        interceptor = new TenantQuotaInterceptor(quotaService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setServletPath(path);
+        return request;
+    }
+
+    @Test
+    @DisplayName("Classifies endpoints into quota classes")
+    void shouldClassifyRequests() {
+        assertEquals(QuotaClass.READ, interceptor.classify(request("GET", "/contracts/5")));
+        assertEquals(QuotaClass.WRITE, interceptor.classify(request("PUT", "/contracts/5")));
+        assertEquals(QuotaClass.EXPORT, interceptor.classify(request("GET", "/contracts/export/excel")));
+        assertEquals(QuotaClass.EXPORT, interceptor.classify(request("GET", "/contracts/stream")));
+        assertEquals(QuotaClass.ML, interceptor.classify(request("GET", "/forecast")));
+        assertEquals(QuotaClass.ML, interceptor.classify(request("POST", "/contracts/search/semantic")));
+        assertEquals(QuotaClass.ML, interceptor.classify(request("POST", "/contracts/3/documents/7/analyze-clause-risk")));
+
+        MockHttpServletRequest upload = request("POST", "/contracts/3/documents");
+        upload.setContentType("multipart/form-data; boundary=x");
+        assertEquals(QuotaClass.UPLOAD, interceptor.classify(upload));
+    }
+
+    @Test
+    @DisplayName("Skips requests without a tenant")
+    void shouldSkipWithoutTenant() throws Exception {
+        assertTrue(interceptor.preHandle(request("GET", "/contracts"), new MockHttpServletResponse(), null));
+        verify(quotaService, never()).consume(any(), any());
+    }
+
+    @Test
+    @DisplayName("Sets RateLimit-* headers on allowed requests")
+    void shouldSetHeadersWhenAllowed() throws Exception {
+        TenantContext.set(1L);
+        when(quotaService.consume(1L, QuotaClass.READ)).thenReturn(
+                new QuotaDecision(300, new RateLimitProbe(true, 299, TimeUnit.SECONDS.toNanos(42))));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(request("GET", "/contracts"), response, null));
+        assertEquals("300", response.getHeader("RateLimit-Limit"));
+        assertEquals("299", response.getHeader("RateLimit-Remaining"));
+        assertEquals("42", response.getHeader("RateLimit-Reset"));
+        assertNull(response.getHeader("Retry-After"));
+    }
+
+    @Test
+    @DisplayName("Rejects with 429 and Retry-After once the quota is exhausted")
+    void shouldRejectWhenExhausted() throws Exception {
+        TenantContext.set(1L);
+        when(quotaService.consume(1L, QuotaClass.EXPORT)).thenReturn(
+                new QuotaDecision(5, new RateLimitProbe(false, 0, TimeUnit.MILLISECONDS.toNanos(12_500))));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(interceptor.preHandle(request("GET", "/contracts/export/pdf"), response, null));
+        assertEquals(429, response.getStatus());
+        assertEquals("13", response.getHeader("Retry-After"));
+        assertEquals("0", response.getHeader("RateLimit-Remaining"));
+    }
+}
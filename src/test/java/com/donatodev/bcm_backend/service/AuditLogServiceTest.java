@@ -16,13 +16,17 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 
 import com.donatodev.bcm_backend.config.TenantContext;
@@ -37,6 +41,9 @@ class AuditLogServiceTest {
     @Mock
     private AuditLogRepository auditLogRepository;
 
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
     @InjectMocks
     private AuditLogService auditLogService;
 
@@ -70,6 +77,29 @@ class AuditLogServiceTest {
 
         @Test
         @Order(2)
+        @DisplayName("saveAll writes one entry per entity in a single batch")
+        void shouldSaveAllAsOneBatch() {
+            auditLogService.saveAll("CREATE", "Contract", List.of(4L, 5L), "admin", 10L,
+                    "ContractImportService.importFile");
+
+            ArgumentCaptor<BatchPreparedStatementSetter> captor =
+                    ArgumentCaptor.forClass(BatchPreparedStatementSetter.class);
+            verify(jdbcTemplate).batchUpdate(any(String.class), captor.capture());
+            assertEquals(2, captor.getValue().getBatchSize());
+            verify(auditLogRepository, never()).save(any());
+        }
+
+        @Test
+        @Order(3)
+        @DisplayName("saveAll without entities writes nothing")
+        void shouldSkipEmptySaveAll() {
+            auditLogService.saveAll("DELETE", "Contract", List.of(), "admin", 10L, "ContractBulkService.delete");
+
+            verifyNoInteractions(jdbcTemplate);
+        }
+
+        @Test
+        @Order(4)
         @DisplayName("findAll returns page of AuditLogDTOs")
         void shouldReturnPageOfAuditLogs() {
             AuditLog log = AuditLog.builder()
@@ -91,7 +121,7 @@ class AuditLogServiceTest {
         }
 
         @Test
-        @Order(3)
+        @Order(5)
         @DisplayName("findAll with TenantContext uses org-filtered repository")
         void shouldReturnPageOfAuditLogsScopedToOrganization() {
             AuditLog log = AuditLog.builder()
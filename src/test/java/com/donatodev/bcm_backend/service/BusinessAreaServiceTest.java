@@ -57,6 +57,12 @@ class BusinessAreaServiceTest {
     @Mock
     private BusinessAreaMapper mapper;
 
+    @Mock
+    private ContractAnalyticsCache analyticsCache;
+
+    @Mock
+    private ContractChangeLog changeLog;
+
     @InjectMocks
     private BusinessAreaService service;
 
@@ -166,6 +172,8 @@ class BusinessAreaServiceTest {
 
             assertEquals("Updated", result.name());
             assertEquals("Updated Desc", result.description());
+            verify(analyticsCache).invalidate(null);
+            verify(changeLog).recordListingChange(null);
         }
 
         /**
@@ -0,0 +1,193 @@
+package com.donatodev.bcm_backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.donatodev.bcm_backend.dto.ContractsByAreaDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ContractAnalyticsCacheTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private ContractAnalyticsCache cache(StatefulRedisConnection<String, byte[]> redis) {
+        return cache(redis, redis != null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ContractAnalyticsCache cache(StatefulRedisConnection<String, byte[]> redis, Boolean shared) {
+        ObjectProvider<StatefulRedisConnection<String, byte[]>> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(redis);
+        return new ContractAnalyticsCache(new SimpleMeterRegistry(), objectMapper, provider, true, 100,
+                Duration.ofMinutes(10), shared);
+    }
+
+    private List<ContractsByAreaDTO> byArea(ContractAnalyticsCache cache, Long orgId) {
+        return cache.get(orgId, "by-area", ContractsByAreaDTO.class, () -> {
+            loads.incrementAndGet();
+            return List.of(new ContractsByAreaDTO("IT", 3L));
+        });
+    }
+
+    @Test
+    @DisplayName("A tenant's view is computed once until that tenant is invalidated")
+    void shouldCacheUntilInvalidated() {
+        ContractAnalyticsCache cache = cache(null);
+
+        byArea(cache, 1L);
+        byArea(cache, 1L);
+        assertEquals(1, loads.get());
+
+        cache.invalidate(1L);
+        byArea(cache, 1L);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Invalidating a tenant also invalidates the platform-wide view, but no other tenant")
+    void shouldScopeInvalidationToTenant() {
+        ContractAnalyticsCache cache = cache(null);
+        byArea(cache, 1L);
+        byArea(cache, 2L);
+        byArea(cache, null);
+
+        cache.invalidate(1L);
+        byArea(cache, 2L);
+        assertEquals(3, loads.get());
+        byArea(cache, null);
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    @DisplayName("Inside a transaction the generation is bumped again after commit")
+    void shouldInvalidateAgainAfterCommit() {
+        ContractAnalyticsCache cache = cache(null);
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.invalidate(1L);
+        // A concurrent read before commit caches the pre-commit state...
+        byArea(cache, 1L);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        // ...which the post-commit bump makes unreachable.
+        byArea(cache, 1L);
+
+        assertEquals(2, loads.get());
+        // One write, one invalidation, however many bumps it takes
+        assertEquals(1L, cache.stats().get("invalidations"));
+    }
+
+    @Test
+    @DisplayName("A local miss is served from the shared tier under the Redis generation")
+    @SuppressWarnings("unchecked")
+    void shouldReadSharedTier() throws Exception {
+        StatefulRedisConnection<String, byte[]> redis = mock(StatefulRedisConnection.class);
+        RedisCommands<String, byte[]> commands = mock(RedisCommands.class);
+        when(redis.sync()).thenReturn(commands);
+        when(commands.get("contract-analytics:gen:7")).thenReturn("4".getBytes(StandardCharsets.UTF_8));
+        when(commands.get("contract-analytics:value:7:4:by-area"))
+                .thenReturn(objectMapper.writeValueAsBytes(List.of(new ContractsByAreaDTO("Finance", 9L))));
+        ContractAnalyticsCache cache = cache(redis);
+
+        List<ContractsByAreaDTO> result = byArea(cache, 7L);
+
+        assertEquals(0, loads.get());
+        assertEquals("Finance", result.get(0).getAreaName());
+        assertEquals(9L, result.get(0).getCount());
+
+        cache.invalidate(7L);
+        verify(commands).incr("contract-analytics:gen:7");
+        verify(commands).incr("contract-analytics:gen:all");
+    }
+
+    @Test
+    @DisplayName("A shared-tier miss computes the view and stores it in Redis")
+    @SuppressWarnings("unchecked")
+    void shouldPopulateSharedTier() {
+        StatefulRedisConnection<String, byte[]> redis = mock(StatefulRedisConnection.class);
+        RedisCommands<String, byte[]> commands = mock(RedisCommands.class);
+        when(redis.sync()).thenReturn(commands);
+        ContractAnalyticsCache cache = cache(redis);
+
+        byArea(cache, 7L);
+
+        assertEquals(1, loads.get());
+        verify(commands).set(eq("contract-analytics:value:7:0:by-area"), any(byte[].class), any(SetArgs.class));
+    }
+
+    @Test
+    @DisplayName("Redis errors degrade to the local tier")
+    @SuppressWarnings("unchecked")
+    void shouldFallBackToLocalTier() {
+        StatefulRedisConnection<String, byte[]> redis = mock(StatefulRedisConnection.class);
+        RedisCommands<String, byte[]> commands = mock(RedisCommands.class);
+        when(redis.sync()).thenReturn(commands);
+        when(commands.get(anyString())).thenThrow(new IllegalStateException("connection refused"));
+        ContractAnalyticsCache cache = cache(redis);
+
+        byArea(cache, 7L);
+        byArea(cache, 7L);
+
+        assertEquals(1, loads.get());
+        Map<String, Object> shared = (Map<String, Object>) cache.stats().get("shared");
+        assertEquals(2L, shared.get("errors"));
+    }
+
+    @Test
+    @DisplayName("Left unset, the shared tier follows the Redis connection; false opts out")
+    @SuppressWarnings("unchecked")
+    void shouldShareByDefaultWhenRedisExists() {
+        StatefulRedisConnection<String, byte[]> redis = mock(StatefulRedisConnection.class);
+
+        assertEquals(true, ((Map<String, Object>) cache(redis, null).stats().get("shared")).get("enabled"));
+        assertEquals(false, ((Map<String, Object>) cache(null, null).stats().get("shared")).get("enabled"));
+        assertEquals(false, ((Map<String, Object>) cache(redis, false).stats().get("shared")).get("enabled"));
+    }
+
+    @Test
+    @DisplayName("Stats report the local hit ratio")
+    @SuppressWarnings("unchecked")
+    void shouldReportHitRatio() {
+        ContractAnalyticsCache cache = cache(null);
+        byArea(cache, 1L);
+        byArea(cache, 1L);
+        byArea(cache, 1L);
+        byArea(cache, 1L);
+
+        Map<String, Object> local = (Map<String, Object>) cache.stats().get("local");
+        assertEquals(3L, local.get("hits"));
+        assertEquals(1L, local.get("misses"));
+        assertEquals(0.75, (double) local.get("hitRatio"), 1e-9);
+    }
+}
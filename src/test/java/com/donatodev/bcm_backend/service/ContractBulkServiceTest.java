@@ -0,0 +1,228 @@
+package com.donatodev.bcm_backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.donatodev.bcm_backend.config.TenantContext;
+import com.donatodev.bcm_backend.dto.ContractBulkItemResult;
+import com.donatodev.bcm_backend.dto.ContractBulkResultDTO;
+import com.donatodev.bcm_backend.entity.AuditLog;
+import com.donatodev.bcm_backend.entity.BusinessAreas;
+import com.donatodev.bcm_backend.entity.ContractHistory;
+import com.donatodev.bcm_backend.entity.ContractStatus;
+import com.donatodev.bcm_backend.entity.Contracts;
+import com.donatodev.bcm_backend.entity.Managers;
+import com.donatodev.bcm_backend.entity.Organization;
+import com.donatodev.bcm_backend.entity.Roles;
+import com.donatodev.bcm_backend.entity.Users;
+import com.donatodev.bcm_backend.entity.WorkflowStage;
+import com.donatodev.bcm_backend.exception.ManagerNotFoundException;
+import com.donatodev.bcm_backend.repository.AuditLogRepository;
+import com.donatodev.bcm_backend.repository.BusinessAreasRepository;
+import com.donatodev.bcm_backend.repository.ContractHistoryRepository;
+import com.donatodev.bcm_backend.repository.ContractManagerRepository;
+import com.donatodev.bcm_backend.repository.ContractsRepository;
+import com.donatodev.bcm_backend.repository.ManagersRepository;
+import com.donatodev.bcm_backend.repository.OrganizationRepository;
+import com.donatodev.bcm_backend.repository.RolesRepository;
+import com.donatodev.bcm_backend.repository.UsersRepository;
+import com.donatodev.bcm_backend.util.TestDataCleaner;
+
+/**
+ * Bulk contract operations against the real (H2) schema, with a small chunk size so
+ * that a few contracts span several chunks.
+ */
+@SpringBootTest(properties = {"contract-bulk.chunk-size=2", "contract-bulk.max-items=10"})
+@ActiveProfiles("test")
+@DisplayName("Contract bulk operations")
+class ContractBulkServiceTest {
+
+    @Autowired private ContractBulkService bulkService;
+    @Autowired private ContractsRepository contractsRepository;
+    @Autowired private ContractHistoryRepository historyRepository;
+    @Autowired private ContractManagerRepository contractManagerRepository;
+    @Autowired private ManagersRepository managersRepository;
+    @Autowired private UsersRepository usersRepository;
+    @Autowired private RolesRepository rolesRepository;
+    @Autowired private OrganizationRepository organizationRepository;
+    @Autowired private BusinessAreasRepository businessAreasRepository;
+    @Autowired private AuditLogRepository auditLogRepository;
+    @Autowired private TestDataCleaner testDataCleaner;
+
+    @MockitoBean
+    private ExportService exportService;
+
+    @MockitoBean
+    private ContractSchedulerService contractSchedulerService;
+
+    private Organization org;
+    private BusinessAreas area;
+
+    @BeforeEach
+    void setUp() {
+        testDataCleaner.clean();
+        org = organization("bulk");
+        area = businessAreasRepository.save(BusinessAreas.builder().name("Bulk Area").organization(org).build());
+        Roles role = rolesRepository.save(Roles.builder().role("ADMIN").build());
+        usersRepository.save(Users.builder()
+                .username("bulk-admin").passwordHash("password").verified(true)
+                .role(role).organization(org).build());
+        TenantContext.set(org.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    private Organization organization(String prefix) {
+        String slug = prefix + "-" + UUID.randomUUID();
+        return organizationRepository.save(Organization.builder().name(slug).slug(slug).build());
+    }
+
+    private Contracts contract(String number, Organization owner) {
+        return contractsRepository.save(Contracts.builder()
+                .customerName("BulkClient").contractNumber(number).wbsCode("WBS-BULK")
+                .projectName("Bulk Project").businessArea(area).organization(owner)
+                .startDate(LocalDate.now()).endDate(LocalDate.now().plusDays(30))
+                .status(ContractStatus.ACTIVE).build());
+    }
+
+    private List<Long> contracts(int count) {
+        List<Long> ids = new ArrayList<>();
+        IntStream.range(0, count).forEach(i -> ids.add(contract("BULK-" + i, org).getId()));
+        return ids;
+    }
+
+    /** Audit entries of the test organization, by contract id. */
+    private List<AuditLog> auditEntries() {
+        return auditLogRepository.findAllByOrgIdOrderByTimestampDesc(org.getId(), Pageable.unpaged()).stream()
+                .sorted(Comparator.comparing(AuditLog::getEntityId))
+                .toList();
+    }
+
+    private Managers manager(String email) {
+        return managersRepository.save(Managers.builder()
+                .firstName("Bulk").lastName("Manager").email(email).phoneNumber("123456")
+                .department("Ops").organization(org).build());
+    }
+
+    @Test
+    @DisplayName("Status changes span chunks and write one history entry per changed contract")
+    @WithMockUser(username = "bulk-admin", roles = "ADMIN")
+    void shouldUpdateStatusAcrossChunks() {
+        List<Long> ids = contracts(5);
+        Contracts inReview = contractsRepository.findById(ids.get(4)).orElseThrow();
+        inReview.setWorkflowStage(WorkflowStage.IN_REVIEW);
+        contractsRepository.save(inReview);
+        Long foreign = contract("BULK-FOREIGN", organization("other")).getId();
+
+        List<Long> request = new ArrayList<>(ids);
+        request.add(foreign);
+        request.add(ids.get(0));
+        ContractBulkResultDTO result = bulkService.updateStatus(request, ContractStatus.CANCELLED);
+
+        assertEquals(6, result.requested());
+        assertEquals(4, result.succeeded());
+        assertEquals(2, result.failed());
+        assertEquals(request.subList(0, 6), result.items().stream().map(ContractBulkItemResult::contractId).toList());
+        assertFalse(result.items().get(4).success());
+        assertFalse(result.items().get(5).success());
+
+        for (Long id : ids.subList(0, 4)) {
+            assertEquals(ContractStatus.CANCELLED, contractsRepository.findById(id).orElseThrow().getStatus());
+            List<ContractHistory> history = historyRepository.findByContractId(id);
+            assertEquals(1, history.size());
+            assertEquals(ContractStatus.ACTIVE, history.get(0).getPreviousStatus());
+            assertEquals(ContractStatus.CANCELLED, history.get(0).getNewStatus());
+        }
+        assertEquals(ContractStatus.ACTIVE, contractsRepository.findById(ids.get(4)).orElseThrow().getStatus());
+        assertEquals(ContractStatus.ACTIVE, contractsRepository.findById(foreign).orElseThrow().getStatus());
+        assertTrue(historyRepository.findByContractId(ids.get(4)).isEmpty());
+
+        List<AuditLog> audit = auditEntries();
+        assertEquals(ids.subList(0, 4), audit.stream().map(AuditLog::getEntityId).toList());
+        audit.forEach(entry -> {
+            assertEquals("UPDATE", entry.getAction());
+            assertEquals("Contract", entry.getEntityType());
+            assertEquals("bulk-admin", entry.getUsername());
+        });
+    }
+
+    @Test
+    @DisplayName("Manager reassignment and collaborators apply to every contract found")
+    void shouldAssignManagerAndCollaborators() {
+        List<Long> ids = contracts(3);
+        Managers owner = manager("owner@bulk.test");
+        Managers first = manager("first@bulk.test");
+        Managers second = manager("second@bulk.test");
+
+        ContractBulkResultDTO assigned = bulkService.assignManager(ids, owner.getId());
+        assertEquals(3, assigned.succeeded());
+        ids.forEach(id -> assertEquals(owner.getId(),
+                contractsRepository.findById(id).orElseThrow().getManager().getId()));
+
+        bulkService.setCollaborators(ids, List.of(first.getId(), second.getId()));
+        ContractBulkResultDTO replaced = bulkService.setCollaborators(ids, List.of(second.getId()));
+        assertEquals(3, replaced.succeeded());
+        ids.forEach(id -> assertEquals(List.of(second.getId()),
+                contractManagerRepository.findManagerIdsByContractId(id)));
+
+        assertThrows(ManagerNotFoundException.class, () -> bulkService.assignManager(ids, -1L));
+    }
+
+    @Test
+    @DisplayName("Deletion removes the contracts and their collaborator links")
+    void shouldDeleteContracts() {
+        List<Long> ids = contracts(3);
+        Managers collaborator = manager("collab@bulk.test");
+        bulkService.setCollaborators(ids, List.of(collaborator.getId()));
+
+        ContractBulkResultDTO result = bulkService.delete(ids);
+
+        assertEquals(3, result.succeeded());
+        result.items().forEach(item -> assertNull(item.message()));
+        ids.forEach(id -> {
+            assertTrue(contractsRepository.findById(id).isEmpty());
+            assertTrue(contractManagerRepository.findManagerIdsByContractId(id).isEmpty());
+        });
+        List<AuditLog> audit = auditEntries();
+        assertEquals(ids, audit.stream().map(AuditLog::getEntityId).toList());
+        audit.forEach(entry -> assertEquals("DELETE", entry.getAction()));
+    }
+
+    @Test
+    @DisplayName("Empty, null or oversized id lists are rejected before any write")
+    void shouldRejectInvalidRequests() {
+        List<Long> tooMany = LongStream.rangeClosed(1, 11).boxed().toList();
+        List<Long> withNull = new ArrayList<>();
+        withNull.add(null);
+
+        assertThrows(IllegalArgumentException.class, () -> bulkService.delete(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> bulkService.delete(withNull));
+        assertThrows(IllegalArgumentException.class, () -> bulkService.delete(tooMany));
+        assertThrows(IllegalArgumentException.class, () -> bulkService.updateStatus(List.of(1L), null));
+    }
+}
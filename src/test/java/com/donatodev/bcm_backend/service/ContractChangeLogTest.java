@@ -0,0 +1,194 @@
+package com.donatodev.bcm_backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.donatodev.bcm_backend.config.TenantContext;
+import com.donatodev.bcm_backend.dto.ContractChangesDTO;
+import com.donatodev.bcm_backend.dto.ContractDTO;
+import com.donatodev.bcm_backend.entity.BusinessAreas;
+import com.donatodev.bcm_backend.entity.ContractChangeType;
+import com.donatodev.bcm_backend.entity.ContractStatus;
+import com.donatodev.bcm_backend.entity.Organization;
+import com.donatodev.bcm_backend.exception.ContractChangeCursorExpiredException;
+import com.donatodev.bcm_backend.repository.BusinessAreasRepository;
+import com.donatodev.bcm_backend.repository.ContractChangeRepository;
+import com.donatodev.bcm_backend.repository.OrganizationRepository;
+import com.donatodev.bcm_backend.util.TestDataCleaner;
+
+/**
+ * Contract change log against the real (H2) schema: entries written by the contract
+ * write paths, per-tenant cursors, collapsing, paging and retention.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Contract change log")
+class ContractChangeLogTest {
+
+    @Autowired private ContractChangeLog changeLog;
+    @Autowired private ContractService contractService;
+    @Autowired private ContractChangeRepository changeRepository;
+    @Autowired private OrganizationRepository organizationRepository;
+    @Autowired private BusinessAreasRepository businessAreasRepository;
+    @Autowired private TestDataCleaner testDataCleaner;
+
+    @MockitoBean
+    private ExportService exportService;
+
+    @MockitoBean
+    private ContractSchedulerService contractSchedulerService;
+
+    private Organization org;
+    private BusinessAreas area;
+
+    @BeforeEach
+    void setUp() {
+        testDataCleaner.clean();
+        org = organization("changes");
+        area = businessAreasRepository.save(BusinessAreas.builder().name("Changes Area").organization(org).build());
+        TenantContext.set(org.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    private Organization organization(String prefix) {
+        String slug = prefix + "-" + UUID.randomUUID();
+        return organizationRepository.save(Organization.builder().name(slug).slug(slug).build());
+    }
+
+    private ContractDTO dto(Long id, String number, String customerName) {
+        return new ContractDTO(id, customerName, number, null, null, ContractStatus.ACTIVE,
+                LocalDate.now(), LocalDate.now().plusDays(30), area.getId(), null, null, null, null, null);
+    }
+
+    private Long create(String number) {
+        return contractService.createContract(dto(null, number, "Client")).id();
+    }
+
+    @Test
+    @DisplayName("Service writes are logged and collapsed to their net effect per contract")
+    void shouldCollapseServiceWrites() {
+        long start = changeLog.changesSince(null, 100).cursor();
+        assertEquals(0, start);
+
+        Long kept = create("CHG-1");
+        Long dropped = create("CHG-2");
+        contractService.updateContract(kept, dto(kept, "CHG-1", "Client Renamed"));
+        contractService.deleteContract(dropped);
+
+        ContractChangesDTO changes = changeLog.changesSince(start, 100);
+        assertEquals(List.of(kept), changes.created());
+        assertEquals(List.of(), changes.updated());
+        // Created and deleted since the cursor: the client never saw it
+        assertEquals(List.of(), changes.deleted());
+        assertEquals(4, changes.cursor());
+        assertFalse(changes.hasMore());
+
+        contractService.updateContract(kept, dto(kept, "CHG-1", "Client Again"));
+        Long existing = create("CHG-3");
+        ContractChangesDTO next = changeLog.changesSince(changes.cursor(), 100);
+        contractService.deleteContract(existing);
+
+        assertEquals(List.of(kept), next.updated());
+        assertEquals(List.of(existing), next.created());
+        ContractChangesDTO tombstone = changeLog.changesSince(next.cursor(), 100);
+        assertEquals(List.of(existing), tombstone.deleted());
+        assertEquals(next.cursor() + 1, tombstone.cursor());
+    }
+
+    @Test
+    @DisplayName("Pages through the log and reports when more changes are available")
+    void shouldPage() {
+        Long first = create("PAGE-1");
+        Long second = create("PAGE-2");
+        Long third = create("PAGE-3");
+
+        ContractChangesDTO page = changeLog.changesSince(0L, 2);
+        assertEquals(List.of(first, second), page.created());
+        assertTrue(page.hasMore());
+
+        ContractChangesDTO last = changeLog.changesSince(page.cursor(), 2);
+        assertEquals(List.of(third), last.created());
+        assertFalse(last.hasMore());
+        assertEquals(last, new ContractChangesDTO(List.of(third), List.of(), List.of(), 3, false));
+    }
+
+    @Test
+    @DisplayName("Each tenant has its own sequence and only sees its own changes")
+    void shouldIsolateTenants() {
+        create("TEN-1");
+        Organization other = organization("other");
+        changeLog.recordAll(other.getId(), List.of(900L, 901L), ContractChangeType.UPDATED);
+
+        ContractChangesDTO mine = changeLog.changesSince(0L, 100);
+        assertEquals(1, mine.cursor());
+        assertEquals(1, mine.created().size());
+
+        TenantContext.set(other.getId());
+        ContractChangesDTO theirs = changeLog.changesSince(0L, 100);
+        assertEquals(List.of(900L, 901L), theirs.updated());
+        assertEquals(2, theirs.cursor());
+    }
+
+    @Test
+    @DisplayName("The listing version moves with the tenant's contract and listing writes only")
+    void shouldVersionListings() {
+        long initial = changeLog.listingVersion();
+        create("VER-1");
+        long afterCreate = changeLog.listingVersion();
+        assertTrue(afterCreate > initial);
+        changeLog.recordListingChange(org.getId());
+        long afterRename = changeLog.listingVersion();
+        assertTrue(afterRename > afterCreate);
+
+        TenantContext.clear();
+        long platform = changeLog.listingVersion();
+        Organization other = organization("other");
+        changeLog.recordListingChange(other.getId());
+        assertEquals(platform + 1, changeLog.listingVersion());
+
+        // A listing change does not advance the other tenant's change cursor
+        TenantContext.set(other.getId());
+        assertEquals(0, changeLog.changesSince(null, 100).cursor());
+        assertEquals(1, changeLog.listingVersion());
+        TenantContext.set(org.getId());
+        assertEquals(afterRename, changeLog.listingVersion());
+    }
+
+    @Test
+    @DisplayName("Cursors from before the retention purge get a resync error")
+    void shouldRejectPurgedCursor() {
+        create("OLD-1");
+        create("OLD-2");
+        changeRepository.findAll().forEach(entry -> {
+            entry.setChangedAt(Instant.now().minus(60, ChronoUnit.DAYS));
+            changeRepository.save(entry);
+        });
+        Long recent = create("NEW-1");
+
+        changeLog.purgeExpired();
+
+        assertThrows(ContractChangeCursorExpiredException.class, () -> changeLog.changesSince(1L, 100));
+        assertEquals(List.of(recent), changeLog.changesSince(2L, 100).created());
+    }
+}
@@ -0,0 +1,91 @@
+package com.donatodev.bcm_backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.donatodev.bcm_backend.entity.ContractManagerId;
+import com.donatodev.bcm_backend.repository.ContractManagerRepository;
+
+/**
+ * Unit tests for {@link ContractCollaborators}: only the links that change are written,
+ * in one batch of deletes and one of inserts.
+ */
+@ExtendWith(MockitoExtension.class)
+class ContractCollaboratorsTest {
+
+    @Mock
+    private ContractManagerRepository contractManagerRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private ContractCollaborators collaborators;
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> captureBatch(String sqlPrefix) {
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith(sqlPrefix), rows.capture());
+        return rows.getValue();
+    }
+
+    @Test
+    @DisplayName("Only removed links are deleted and only added links inserted")
+    void shouldWriteOnlyTheDiff() {
+        when(contractManagerRepository.findLinksByContractIdIn(List.of(1L, 2L))).thenReturn(List.of(
+                new ContractManagerId(1L, 10L), new ContractManagerId(1L, 20L), new ContractManagerId(2L, 20L)));
+
+        collaborators.replaceAll(List.of(1L, 2L), List.of(20L, 30L));
+
+        List<Object[]> deleted = captureBatch("DELETE");
+        assertEquals(1, deleted.size());
+        assertArrayEquals(new Object[] {1L, 10L}, deleted.get(0));
+
+        List<Object[]> inserted = captureBatch("INSERT");
+        assertEquals(2, inserted.size());
+        assertArrayEquals(new Object[] {1L, 30L}, inserted.get(0));
+        assertArrayEquals(new Object[] {2L, 30L}, inserted.get(1));
+    }
+
+    @Test
+    @DisplayName("An unchanged collaborator set costs a single read")
+    void shouldNotWriteWhenUnchanged() {
+        when(contractManagerRepository.findLinksByContractIdIn(List.of(1L))).thenReturn(List.of(
+                new ContractManagerId(1L, 10L), new ContractManagerId(1L, 20L)));
+
+        collaborators.replace(1L, List.of(20L, 10L, 20L));
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("A null set removes every collaborator")
+    void shouldRemoveAllWhenNull() {
+        when(contractManagerRepository.findLinksByContractIdIn(List.of(1L))).thenReturn(List.of(
+                new ContractManagerId(1L, 10L)));
+
+        collaborators.replace(1L, null);
+
+        assertEquals(1, captureBatch("DELETE").size());
+        verify(jdbcTemplate, never()).batchUpdate(eq(
+                "INSERT IGNORE INTO contract_manager (contract_id, manager_id) VALUES (?, ?)"), anyList());
+    }
+}
@@ -0,0 +1,222 @@
+package com.donatodev.bcm_backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.donatodev.bcm_backend.config.TenantContext;
+import com.donatodev.bcm_backend.dto.ContractImportJobDTO;
+import com.donatodev.bcm_backend.dto.ContractImportResultDTO;
+import com.donatodev.bcm_backend.dto.ContractImportRowError;
+import com.donatodev.bcm_backend.entity.ContractImportJob;
+import com.donatodev.bcm_backend.entity.ContractImportJobError;
+import com.donatodev.bcm_backend.entity.ContractImportJobStatus;
+import com.donatodev.bcm_backend.exception.ContractImportBusyException;
+import com.donatodev.bcm_backend.exception.ContractImportJobNotFoundException;
+import com.donatodev.bcm_backend.repository.ContractImportJobErrorRepository;
+import com.donatodev.bcm_backend.repository.ContractImportJobRepository;
+
+/**
+ * Unit tests for {@link ContractImportJobService}. The worker pool is replaced by a
+ * caller-runs executor, so a submitted job has finished when {@code submit} returns.
+ */
+@ExtendWith(MockitoExtension.class)
+class ContractImportJobServiceTest {
+
+    @Mock
+    private ContractImportJobRepository jobRepository;
+
+    @Mock
+    private ContractImportJobErrorRepository errorRepository;
+
+    @Mock
+    private ContractImportService importService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private Executor rejectingExecutor;
+
+    private ContractImportJobService jobService;
+
+    private final MockMultipartFile file = new MockMultipartFile("file", "contratti.xlsx",
+            "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx".getBytes(StandardCharsets.UTF_8));
+
+    @BeforeEach
+    void setUp() {
+        TenantContext.set(7L);
+        jobService = service(Runnable::run);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    private ContractImportJobService service(Executor executor) {
+        return new ContractImportJobService(jobRepository, errorRepository, importService, jdbcTemplate,
+                transactionManager, executor, "node-1");
+    }
+
+    /** Saves jobs with id 1 and serves them back from {@code findById}, so updates land on the same entity. */
+    private ContractImportJob[] persistJobs() {
+        ContractImportJob[] saved = new ContractImportJob[1];
+        when(jobRepository.findByFile(eq(7L), anyString(), anyList(), any())).thenReturn(List.of());
+        when(jobRepository.save(any(ContractImportJob.class))).thenAnswer(invocation -> {
+            ContractImportJob job = invocation.getArgument(0);
+            job.setId(1L);
+            saved[0] = job;
+            return job;
+        });
+        return saved;
+    }
+
+    @Test
+    @DisplayName("A submitted file is imported into the submitter's tenant, with progress and errors recorded")
+    void runsSubmittedImport() throws Exception {
+        ContractImportJob[] saved = persistJobs();
+        when(jobRepository.findById(1L)).thenAnswer(invocation -> Optional.of(saved[0]));
+        ArgumentCaptor<Path> spooled = ArgumentCaptor.forClass(Path.class);
+        when(importService.importFile(spooled.capture(), eq(7L), any(), any())).thenAnswer(invocation -> {
+            ContractImportService.ProgressListener listener = invocation.getArgument(3);
+            List<ContractImportRowError> errors = List.of(new ContractImportRowError(3, "Cliente mancante"));
+            listener.chunkDone(2, 1, 1, errors);
+            return new ContractImportResultDTO(2, 1, 1);
+        });
+
+        ContractImportJobDTO submitted = jobService.submit(file);
+
+        assertEquals(1L, submitted.id());
+        ContractImportJob job = saved[0];
+        assertEquals(ContractImportJobStatus.COMPLETED, job.getStatus());
+        assertEquals("node-1", job.getInstanceId());
+        assertEquals(64, job.getFileHash().length());
+        assertEquals(2, job.getRowsRead());
+        assertEquals(1, job.getRowsCreated());
+        assertEquals(1, job.getRowsFailed());
+        assertNotNull(job.getStartedAt());
+        assertNotNull(job.getFinishedAt());
+        verify(jdbcTemplate).batchUpdate(eq(
+                "INSERT INTO contract_import_job_errors (job_id, excel_row, message) VALUES (?, ?, ?)"), anyList());
+        assertFalse(Files.exists(spooled.getValue()));
+    }
+
+    @Test
+    @DisplayName("Resubmitting a file already imported returns the existing job")
+    void returnsExistingJobForSameFile() throws Exception {
+        ContractImportJob existing = ContractImportJob.builder()
+                .id(5L).orgId(7L).fileName("contratti.xlsx").status(ContractImportJobStatus.COMPLETED).build();
+        when(jobRepository.findByFile(eq(7L), anyString(), anyList(), any())).thenReturn(List.of(existing));
+
+        ContractImportJobDTO submitted = jobService.submit(file);
+
+        assertEquals(5L, submitted.id());
+        verify(jobRepository, never()).save(any());
+        verify(importService, never()).importFile(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("A full queue rejects the submission and drops its job")
+    void rejectsWhenQueueFull() throws Exception {
+        persistJobs();
+        doThrow(new RejectedExecutionException()).when(rejectingExecutor).execute(any());
+
+        ContractImportJobService busyService = service(rejectingExecutor);
+
+        assertThrows(ContractImportBusyException.class, () -> busyService.submit(file));
+        verify(jobRepository).deleteById(1L);
+    }
+
+    @Test
+    @DisplayName("An unreadable file fails the job with the reason")
+    void failsJobOnInvalidFile() throws Exception {
+        ContractImportJob[] saved = persistJobs();
+        when(jobRepository.findById(1L)).thenAnswer(invocation -> Optional.of(saved[0]));
+        when(importService.importFile(any(), eq(7L), any(), any()))
+                .thenThrow(new IllegalArgumentException("File Excel non valido"));
+
+        jobService.submit(file);
+
+        assertEquals(ContractImportJobStatus.FAILED, saved[0].getStatus());
+        assertEquals("File Excel non valido", saved[0].getFailureMessage());
+    }
+
+    @Test
+    @DisplayName("On startup only this instance's unfinished jobs are failed")
+    void failsOnlyOwnInterruptedJobs() {
+        when(jobRepository.failAllIn(eq("node-1"), eq(List.of(ContractImportJobStatus.QUEUED,
+                ContractImportJobStatus.RUNNING)), anyString(), any())).thenReturn(2);
+
+        jobService.failInterruptedJobs();
+
+        verify(jobRepository).failAllIn(eq("node-1"), anyList(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Non-.xlsx uploads are rejected before a job is created")
+    void rejectsNonXlsx() {
+        MockMultipartFile csv = new MockMultipartFile("file", "contratti.csv", "text/csv", new byte[] {1});
+
+        assertThrows(IllegalArgumentException.class, () -> jobService.submit(csv));
+        verify(jobRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Jobs of another organization are not visible")
+    void hidesOtherTenantsJobs() {
+        when(jobRepository.findById(9L)).thenReturn(Optional.of(
+                ContractImportJob.builder().id(9L).orgId(8L).status(ContractImportJobStatus.COMPLETED).build()));
+
+        assertThrows(ContractImportJobNotFoundException.class, () -> jobService.getJob(9L));
+    }
+
+    @Test
+    @DisplayName("The error report lists rejected rows as CSV, quoting where needed")
+    void buildsErrorReport() {
+        when(jobRepository.findById(1L)).thenReturn(Optional.of(
+                ContractImportJob.builder().id(1L).orgId(7L).status(ContractImportJobStatus.COMPLETED).build()));
+        when(errorRepository.findByJobIdOrderByExcelRowAsc(1L)).thenReturn(List.of(
+                ContractImportJobError.builder().jobId(1L).excelRow(2).message("Cliente mancante").build(),
+                ContractImportJobError.builder().jobId(1L).excelRow(4)
+                        .message("Area aziendale non trovata: \"A;B\"").build()));
+
+        String csv = new String(jobService.errorReport(1L), StandardCharsets.UTF_8);
+
+        assertTrue(csv.startsWith("\uFEFFRiga;Errore\r\n"));
+        assertTrue(csv.contains("2;Cliente mancante\r\n"));
+        assertTrue(csv.contains("4;\"Area aziendale non trovata: \"\"A;B\"\"\"\r\n"));
+    }
+}
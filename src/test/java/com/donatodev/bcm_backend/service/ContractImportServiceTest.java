@@ -1,9 +1,15 @@
 package com.donatodev.bcm_backend.service;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.Month;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
@@ -17,20 +23,23 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
-import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.mock.web.MockMultipartFile;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import com.donatodev.bcm_backend.config.TenantContext;
 import com.donatodev.bcm_backend.dto.ContractDTO;
 import com.donatodev.bcm_backend.dto.ContractImportResultDTO;
+import com.donatodev.bcm_backend.dto.ContractImportRowError;
 import com.donatodev.bcm_backend.entity.BusinessAreas;
 import com.donatodev.bcm_backend.entity.Managers;
 import com.donatodev.bcm_backend.repository.BusinessAreasRepository;
@@ -54,10 +63,13 @@ class ContractImportServiceTest {
     private ManagersRepository managersRepository;
 
     @Mock
-    private ContractService contractService;
+    private ContractImportWriter importWriter;
 
     private ContractImportService importService;
 
+    @TempDir
+    private Path tempDir;
+
     private final BusinessAreas area = BusinessAreas.builder().id(1L).name("IT").build();
     private final Managers manager = Managers.builder()
             .id(2L).firstName("Mario").lastName("Rossi").email("mario.rossi@example.com").build();
@@ -69,7 +81,8 @@ class ContractImportServiceTest {
 
     private void setupImportService() {
         importService = new ContractImportService(
-                contractsRepository, businessAreasRepository, managersRepository, contractService);
+                contractsRepository, businessAreasRepository, managersRepository, importWriter,
+                ForkJoinPool.commonPool(), 500);
     }
 
     private static byte[] buildWorkbook(String[]... rows) {
@@ -95,9 +108,31 @@ class ContractImportServiceTest {
         "Start Date", "End Date", "Manager", "Business Area"
     };
 
-    private MockMultipartFile toFile(byte[] bytes) {
-        return new MockMultipartFile("file", "import.xlsx",
-                "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", bytes);
+    @SuppressWarnings("unchecked")
+    private List<ContractDTO> importedContracts() {
+        ArgumentCaptor<List<ContractDTO>> captor = ArgumentCaptor.forClass(List.class);
+        verify(importWriter).insert(any(), eq("admin"), captor.capture());
+        return captor.getValue();
+    }
+
+    private ContractDTO importedContract() {
+        List<ContractDTO> imported = importedContracts();
+        assertEquals(1, imported.size());
+        return imported.get(0);
+    }
+
+    /** Totals of an import, with the rejected rows collected from the progress listener. */
+    private record ImportOutcome(int totalRows, int importedCount, int errorCount,
+            List<ContractImportRowError> errors) {
+    }
+
+    /** Imports {@code bytes} as an .xlsx file into the current tenant. */
+    private ImportOutcome importExcel(byte[] bytes) throws IOException {
+        Path file = Files.write(tempDir.resolve("import.xlsx"), bytes);
+        List<ContractImportRowError> errors = new ArrayList<>();
+        ContractImportResultDTO result = importService.importFile(file, TenantContext.get(), "admin",
+                (rowsRead, created, failed, chunkErrors) -> errors.addAll(chunkErrors));
+        return new ImportOutcome(result.totalRows(), result.importedCount(), result.errorCount(), errors);
     }
 
     @Nested
@@ -105,23 +140,23 @@ class ContractImportServiceTest {
     class RowValidation {
 
         @Test
-        @DisplayName("imports valid rows and calls createContract for each")
+        @DisplayName("imports valid rows and inserts them in one batch")
         void importsValidRows() throws Exception {
             setupImportService();
             when(businessAreasRepository.findAll()).thenReturn(List.of(area));
             when(managersRepository.findAll()).thenReturn(List.of(manager));
-            when(contractsRepository.existsByContractNumber(any())).thenReturn(false);
+            when(contractsRepository.findExistingContractNumbers(any(), any())).thenReturn(Set.of());
 
             byte[] bytes = buildWorkbook(HEADER,
                     new String[]{"C-1", "Cliente A", "Progetto A", "ACTIVE", "01/01/2024", "31/12/2024", "Mario Rossi", "IT"},
                     new String[]{"C-2", "Cliente B", "Progetto B", "ACTIVE", "2024-02-01", "2024-12-31", "mario.rossi@example.com", "it"});
 
-            ContractImportResultDTO result = importService.importFromExcel(toFile(bytes));
+            ImportOutcome result = importExcel(bytes);
 
             assertEquals(2, result.totalRows());
             assertEquals(2, result.importedCount());
             assertEquals(0, result.errorCount());
-            verify(contractService, times(2)).createContract(any());
+            assertEquals(2, importedContracts().size());
         }
 
         @Test
@@ -130,17 +165,15 @@ class ContractImportServiceTest {
             setupImportService();
             when(businessAreasRepository.findAll()).thenReturn(List.of(area));
             when(managersRepository.findAll()).thenReturn(List.of());
-            when(contractsRepository.existsByContractNumber(any())).thenReturn(false);
+            when(contractsRepository.findExistingContractNumbers(any(), any())).thenReturn(Set.of());
 
             byte[] bytes = buildWorkbook(HEADER,
                     new String[]{"C-1", "Cliente A", null, null, "01/01/2024", "31/12/2024", null, "IT"});
 
-            importService.importFromExcel(toFile(bytes));
+            importExcel(bytes);
 
-            org.mockito.ArgumentCaptor<ContractDTO> captor = org.mockito.ArgumentCaptor.forClass(ContractDTO.class);
-            verify(contractService).createContract(captor.capture());
-            assertEquals(com.donatodev.bcm_backend.entity.ContractStatus.ACTIVE, captor.getValue().status());
-            assertEquals(LocalDate.of(2024, Month.JANUARY, 1), captor.getValue().startDate());
+            assertEquals(com.donatodev.bcm_backend.entity.ContractStatus.ACTIVE, importedContract().status());
+            assertEquals(LocalDate.of(2024, Month.JANUARY, 1), importedContract().startDate());
         }
 
         @Test
@@ -149,13 +182,13 @@ class ContractImportServiceTest {
             setupImportService();
             when(businessAreasRepository.findAll()).thenReturn(List.of(area));
             when(managersRepository.findAll()).thenReturn(List.of());
-            when(contractsRepository.existsByContractNumber(any())).thenReturn(false);
+            when(contractsRepository.findExistingContractNumbers(any(), any())).thenReturn(Set.of());
 
             byte[] bytes = buildWorkbook(HEADER,
                     new String[]{"C-1", "Cliente A", null, null, "01/01/2024", "31/12/2024", null, "IT"},
                     new String[]{null, null, null, null, null, null, null, null});
 
-            ContractImportResultDTO result = importService.importFromExcel(toFile(bytes));
+            ImportOutcome result = importExcel(bytes);
 
             assertEquals(1, result.totalRows());
             assertEquals(1, result.importedCount());
@@ -171,11 +204,11 @@ class ContractImportServiceTest {
             byte[] bytes = buildWorkbook(HEADER,
                     new String[]{null, "Cliente A", null, null, "01/01/2024", "31/12/2024", null, "IT"});
 
-            ContractImportResultDTO result = importService.importFromExcel(toFile(bytes));
+            ImportOutcome result = importExcel(bytes);
 
             assertEquals(1, result.errorCount());
             assertTrue(result.errors().get(0).message().contains("Numero contratto"));
-            verify(contractService, never()).createContract(any());
+            verify(importWriter, never()).insert(any(), any(), any());
         }
 
         @Test
@@ -188,7 +221,7 @@ class ContractImportServiceTest {
             byte[] bytes = buildWorkbook(HEADER,
                     new String[]{"C-1", "Cliente A", null, null, "01/01/2024", "31/12/2024", null, "Finance"});
 
-            ContractImportResultDTO result = importService.importFromExcel(toFile(bytes));
+            ImportOutcome result = importExcel(bytes);
 
             assertEquals(1, result.errorCount());
             assertTrue(result.errors().get(0).message().contains("Area aziendale"));
@@ -204,7 +237,7 @@ class ContractImportServiceTest {
             byte[] bytes = buildWorkbook(HEADER,
                     new String[]{"C-1", "Cliente A", null, null, "01/01/2024", "31/12/2024", "Luigi Verdi", "IT"});
 
-            ContractImportResultDTO result = importService.importFromExcel(toFile(bytes));
+            ImportOutcome result = importExcel(bytes);
 
             assertEquals(1, result.errorCount());
             assertTrue(result.errors().get(0).message().contains("Manager"));
@@ -220,7 +253,7 @@ class ContractImportServiceTest {
             byte[] bytes = buildWorkbook(HEADER,
                     new String[]{"C-1", "Cliente A", null, "PENDING", "01/01/2024", "31/12/2024", null, "IT"});
 
-            ContractImportResultDTO result = importService.importFromExcel(toFile(bytes));
+            ImportOutcome result = importExcel(bytes);
 
             assertEquals(1, result.errorCount());
             assertTrue(result.errors().get(0).message().contains("Status"));
@@ -236,7 +269,7 @@ class ContractImportServiceTest {
             byte[] bytes = buildWorkbook(HEADER,
                     new String[]{"C-1", "Cliente A", null, null, "not-a-date", "31/12/2024", null, "IT"});
 
-            ContractImportResultDTO result = importService.importFromExcel(toFile(bytes));
+            ImportOutcome result = importExcel(bytes);
 
             assertEquals(1, result.errorCount());
             assertTrue(result.errors().get(0).message().contains("Data inizio"));
@@ -252,7 +285,7 @@ class ContractImportServiceTest {
             byte[] bytes = buildWorkbook(HEADER,
                     new String[]{"C-1", "Cliente A", null, null, "01/01/2024", null, null, "IT"});
 
-            ContractImportResultDTO result = importService.importFromExcel(toFile(bytes));
+            ImportOutcome result = importExcel(bytes);
 
             assertEquals(1, result.errorCount());
             assertTrue(result.errors().get(0).message().contains("Data fine"));
@@ -264,13 +297,13 @@ class ContractImportServiceTest {
             setupImportService();
             when(businessAreasRepository.findAll()).thenReturn(List.of(area));
             when(managersRepository.findAll()).thenReturn(List.of());
-            when(contractsRepository.existsByContractNumber(any())).thenReturn(false);
+            when(contractsRepository.findExistingContractNumbers(any(), any())).thenReturn(Set.of());
 
             byte[] bytes = buildWorkbook(HEADER,
                     new String[]{"C-1", "Cliente A", null, null, "01/01/2024", "31/12/2024", null, "IT"},
                     new String[]{"C-1", "Cliente B", null, null, "01/01/2024", "31/12/2024", null, "IT"});
 
-            ContractImportResultDTO result = importService.importFromExcel(toFile(bytes));
+            ImportOutcome result = importExcel(bytes);
 
             assertEquals(2, result.totalRows());
             assertEquals(1, result.importedCount());
@@ -284,15 +317,15 @@ class ContractImportServiceTest {
             setupImportService();
             when(businessAreasRepository.findAll()).thenReturn(List.of(area));
             when(managersRepository.findAll()).thenReturn(List.of());
-            when(contractsRepository.existsByContractNumber("C-1")).thenReturn(true);
+            when(contractsRepository.findExistingContractNumbers(null, List.of("C-1"))).thenReturn(Set.of("C-1"));
 
             byte[] bytes = buildWorkbook(HEADER,
                     new String[]{"C-1", "Cliente A", null, null, "01/01/2024", "31/12/2024", null, "IT"});
 
-            ContractImportResultDTO result = importService.importFromExcel(toFile(bytes));
+            ImportOutcome result = importExcel(bytes);
 
             assertEquals(1, result.errorCount());
-            verify(contractService, never()).createContract(any());
+            verify(importWriter, never()).insert(any(), any(), any());
         }
 
         @Test
@@ -305,7 +338,7 @@ class ContractImportServiceTest {
             byte[] bytes = buildWorkbook(HEADER,
                     new String[]{"C-1", "Cliente A", null, null, "01/01/2024", "31/12/2024", null, null});
 
-            ContractImportResultDTO result = importService.importFromExcel(toFile(bytes));
+            ImportOutcome result = importExcel(bytes);
 
             assertEquals(1, result.errorCount());
             assertTrue(result.errors().get(0).message().contains("Area aziendale mancante"));
@@ -318,12 +351,12 @@ class ContractImportServiceTest {
             Managers noEmailManager = Managers.builder().id(3L).firstName("Anna").lastName("Bianchi").email(null).build();
             when(businessAreasRepository.findAll()).thenReturn(List.of(area));
             when(managersRepository.findAll()).thenReturn(List.of(noEmailManager, manager));
-            when(contractsRepository.existsByContractNumber(any())).thenReturn(false);
+            when(contractsRepository.findExistingContractNumbers(any(), any())).thenReturn(Set.of());
 
             byte[] bytes = buildWorkbook(HEADER,
                     new String[]{"C-1", "Cliente A", null, null, "01/01/2024", "31/12/2024", "Mario Rossi", "IT"});
 
-            ContractImportResultDTO result = importService.importFromExcel(toFile(bytes));
+            ImportOutcome result = importExcel(bytes);
 
             assertEquals(1, result.importedCount());
         }
@@ -334,7 +367,7 @@ class ContractImportServiceTest {
             setupImportService();
             when(businessAreasRepository.findAll()).thenReturn(List.of(area));
             when(managersRepository.findAll()).thenReturn(List.of());
-            when(contractsRepository.existsByContractNumber(any())).thenReturn(false);
+            when(contractsRepository.findExistingContractNumbers(any(), any())).thenReturn(Set.of());
 
             byte[] bytes;
             try (Workbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
@@ -356,7 +389,7 @@ class ContractImportServiceTest {
                 bytes = out.toByteArray();
             }
 
-            ContractImportResultDTO result = importService.importFromExcel(toFile(bytes));
+            ImportOutcome result = importExcel(bytes);
 
             assertEquals(1, result.totalRows());
             assertEquals(1, result.importedCount());
@@ -368,7 +401,7 @@ class ContractImportServiceTest {
             setupImportService();
             when(businessAreasRepository.findAll()).thenReturn(List.of(area));
             when(managersRepository.findAll()).thenReturn(List.of());
-            when(contractsRepository.existsByContractNumber(any())).thenReturn(false);
+            when(contractsRepository.findExistingContractNumbers(any(), any())).thenReturn(Set.of());
 
             byte[] bytes;
             try (Workbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
@@ -391,11 +424,9 @@ class ContractImportServiceTest {
                 bytes = out.toByteArray();
             }
 
-            importService.importFromExcel(toFile(bytes));
+            importExcel(bytes);
 
-            org.mockito.ArgumentCaptor<ContractDTO> captor = org.mockito.ArgumentCaptor.forClass(ContractDTO.class);
-            verify(contractService).createContract(captor.capture());
-            assertEquals(LocalDate.of(2024, Month.JANUARY, 1), captor.getValue().startDate());
+            assertEquals(LocalDate.of(2024, Month.JANUARY, 1), importedContract().startDate());
         }
 
         @Test
@@ -404,7 +435,7 @@ class ContractImportServiceTest {
             setupImportService();
             when(businessAreasRepository.findAll()).thenReturn(List.of(area));
             when(managersRepository.findAll()).thenReturn(List.of());
-            when(contractsRepository.existsByContractNumber(any())).thenReturn(false);
+            when(contractsRepository.findExistingContractNumbers(any(), any())).thenReturn(Set.of());
 
             byte[] bytes;
             try (Workbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
@@ -424,11 +455,9 @@ class ContractImportServiceTest {
                 bytes = out.toByteArray();
             }
 
-            importService.importFromExcel(toFile(bytes));
+            importExcel(bytes);
 
-            org.mockito.ArgumentCaptor<ContractDTO> captor = org.mockito.ArgumentCaptor.forClass(ContractDTO.class);
-            verify(contractService).createContract(captor.capture());
-            assertEquals("12345.0", captor.getValue().projectName());
+            assertEquals("12345.0", importedContract().projectName());
         }
 
         @Test
@@ -437,7 +466,7 @@ class ContractImportServiceTest {
             setupImportService();
             when(businessAreasRepository.findAll()).thenReturn(List.of(area));
             when(managersRepository.findAll()).thenReturn(List.of());
-            when(contractsRepository.existsByContractNumber(any())).thenReturn(false);
+            when(contractsRepository.findExistingContractNumbers(any(), any())).thenReturn(Set.of());
 
             byte[] bytes;
             try (Workbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
@@ -457,11 +486,9 @@ class ContractImportServiceTest {
                 bytes = out.toByteArray();
             }
 
-            importService.importFromExcel(toFile(bytes));
+            importExcel(bytes);
 
-            org.mockito.ArgumentCaptor<ContractDTO> captor = org.mockito.ArgumentCaptor.forClass(ContractDTO.class);
-            verify(contractService).createContract(captor.capture());
-            assertEquals("1+1", captor.getValue().projectName());
+            assertEquals("1+1", importedContract().projectName());
         }
 
         @Test
@@ -470,7 +497,7 @@ class ContractImportServiceTest {
             setupImportService();
             when(businessAreasRepository.findAll()).thenReturn(List.of(area));
             when(managersRepository.findAll()).thenReturn(List.of());
-            when(contractsRepository.existsByContractNumber(any())).thenReturn(false);
+            when(contractsRepository.findExistingContractNumbers(any(), any())).thenReturn(Set.of());
 
             byte[] bytes;
             try (Workbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
@@ -490,11 +517,9 @@ class ContractImportServiceTest {
                 bytes = out.toByteArray();
             }
 
-            importService.importFromExcel(toFile(bytes));
+            importExcel(bytes);
 
-            org.mockito.ArgumentCaptor<ContractDTO> captor = org.mockito.ArgumentCaptor.forClass(ContractDTO.class);
-            verify(contractService).createContract(captor.capture());
-            assertEquals("true", captor.getValue().projectName());
+            assertEquals("true", importedContract().projectName());
         }
 
         @Test
@@ -503,7 +528,7 @@ class ContractImportServiceTest {
             setupImportService();
             when(businessAreasRepository.findAll()).thenReturn(List.of(area));
             when(managersRepository.findAll()).thenReturn(List.of());
-            when(contractsRepository.existsByContractNumber(any())).thenReturn(false);
+            when(contractsRepository.findExistingContractNumbers(any(), any())).thenReturn(Set.of());
 
             byte[] bytes;
             try (Workbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
@@ -527,11 +552,9 @@ class ContractImportServiceTest {
                 bytes = out.toByteArray();
             }
 
-            importService.importFromExcel(toFile(bytes));
+            importExcel(bytes);
 
-            org.mockito.ArgumentCaptor<ContractDTO> captor = org.mockito.ArgumentCaptor.forClass(ContractDTO.class);
-            verify(contractService).createContract(captor.capture());
-            assertEquals("2024-03-01", captor.getValue().projectName());
+            assertEquals("2024-03-01", importedContract().projectName());
         }
 
         @Test
@@ -540,7 +563,7 @@ class ContractImportServiceTest {
             setupImportService();
             when(businessAreasRepository.findAll()).thenReturn(List.of(area));
             when(managersRepository.findAll()).thenReturn(List.of());
-            when(contractsRepository.existsByContractNumber(any())).thenReturn(false);
+            when(contractsRepository.findExistingContractNumbers(any(), any())).thenReturn(Set.of());
 
             byte[] bytes;
             try (Workbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
@@ -560,11 +583,9 @@ class ContractImportServiceTest {
                 bytes = out.toByteArray();
             }
 
-            importService.importFromExcel(toFile(bytes));
+            importExcel(bytes);
 
-            org.mockito.ArgumentCaptor<ContractDTO> captor = org.mockito.ArgumentCaptor.forClass(ContractDTO.class);
-            verify(contractService).createContract(captor.capture());
-            assertEquals(null, captor.getValue().projectName());
+            assertEquals(null, importedContract().projectName());
         }
 
         @Test
@@ -573,16 +594,14 @@ class ContractImportServiceTest {
             setupImportService();
             when(businessAreasRepository.findAll()).thenReturn(List.of(area));
             when(managersRepository.findAll()).thenReturn(List.of());
-            when(contractsRepository.existsByContractNumber(any())).thenReturn(false);
+            when(contractsRepository.findExistingContractNumbers(any(), any())).thenReturn(Set.of());
 
             byte[] bytes = buildWorkbook(HEADER,
                     new String[]{"C-1", "Cliente A", "   ", null, "01/01/2024", "31/12/2024", null, "IT"});
 
-            importService.importFromExcel(toFile(bytes));
+            importExcel(bytes);
 
-            org.mockito.ArgumentCaptor<ContractDTO> captor = org.mockito.ArgumentCaptor.forClass(ContractDTO.class);
-            verify(contractService).createContract(captor.capture());
-            assertEquals(null, captor.getValue().projectName());
+            assertEquals(null, importedContract().projectName());
         }
 
         @Test
@@ -591,7 +610,7 @@ class ContractImportServiceTest {
             setupImportService();
             when(businessAreasRepository.findAll()).thenReturn(List.of(area));
             when(managersRepository.findAll()).thenReturn(List.of());
-            when(contractsRepository.existsByContractNumber(any())).thenReturn(false);
+            when(contractsRepository.findExistingContractNumbers(any(), any())).thenReturn(Set.of());
 
             byte[] bytes;
             try (Workbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
@@ -611,11 +630,9 @@ class ContractImportServiceTest {
                 bytes = out.toByteArray();
             }
 
-            importService.importFromExcel(toFile(bytes));
+            importExcel(bytes);
 
-            org.mockito.ArgumentCaptor<ContractDTO> captor = org.mockito.ArgumentCaptor.forClass(ContractDTO.class);
-            verify(contractService).createContract(captor.capture());
-            assertEquals(null, captor.getValue().projectName());
+            assertEquals(null, importedContract().projectName());
         }
 
         @Test
@@ -628,7 +645,7 @@ class ContractImportServiceTest {
             byte[] bytes = buildWorkbook(HEADER,
                     new String[]{"   ", "Cliente A", null, null, "01/01/2024", "31/12/2024", null, "IT"});
 
-            ContractImportResultDTO result = importService.importFromExcel(toFile(bytes));
+            ImportOutcome result = importExcel(bytes);
 
             assertEquals(1, result.errors().size());
             assertTrue(result.errors().get(0).message().contains("Numero contratto mancante"));
@@ -642,10 +659,10 @@ class ContractImportServiceTest {
             byte[] bytes = buildWorkbook(HEADER,
                     new String[]{" ", " ", " ", " ", " ", " ", " ", " "});
 
-            ContractImportResultDTO result = importService.importFromExcel(toFile(bytes));
+            ImportOutcome result = importExcel(bytes);
 
             assertEquals(0, result.totalRows());
-            verify(contractService, never()).createContract(any());
+            verify(importWriter, never()).insert(any(), any(), any());
         }
 
         @Test
@@ -672,7 +689,7 @@ class ContractImportServiceTest {
                 bytes = out.toByteArray();
             }
 
-            ContractImportResultDTO result = importService.importFromExcel(toFile(bytes));
+            ImportOutcome result = importExcel(bytes);
 
             assertEquals(1, result.errors().size());
             assertTrue(result.errors().get(0).message().contains("Data inizio non valida"));
@@ -688,7 +705,7 @@ class ContractImportServiceTest {
             byte[] bytes = buildWorkbook(HEADER,
                     new String[]{"C-1", "Cliente A", null, null, "   ", "31/12/2024", null, "IT"});
 
-            ContractImportResultDTO result = importService.importFromExcel(toFile(bytes));
+            ImportOutcome result = importExcel(bytes);
 
             assertEquals(1, result.errors().size());
             assertTrue(result.errors().get(0).message().contains("Data inizio mancante"));
@@ -718,7 +735,7 @@ class ContractImportServiceTest {
                 bytes = out.toByteArray();
             }
 
-            ContractImportResultDTO result = importService.importFromExcel(toFile(bytes));
+            ImportOutcome result = importExcel(bytes);
 
             assertEquals(1, result.errors().size());
             assertTrue(result.errors().get(0).message().contains("Data inizio mancante"));
@@ -748,7 +765,7 @@ class ContractImportServiceTest {
                 bytes = out.toByteArray();
             }
 
-            ContractImportResultDTO result = importService.importFromExcel(toFile(bytes));
+            ImportOutcome result = importExcel(bytes);
 
             assertEquals(1, result.errors().size());
             assertTrue(result.errors().get(0).message().contains("Data inizio mancante"));
@@ -761,16 +778,112 @@ class ContractImportServiceTest {
             BusinessAreas unnamed = BusinessAreas.builder().id(99L).name(null).build();
             when(businessAreasRepository.findAll()).thenReturn(List.of(unnamed, area));
             when(managersRepository.findAll()).thenReturn(List.of());
-            when(contractsRepository.existsByContractNumber(any())).thenReturn(false);
+            when(contractsRepository.findExistingContractNumbers(any(), any())).thenReturn(Set.of());
 
             byte[] bytes = buildWorkbook(HEADER,
                     new String[]{"C-1", "Cliente A", null, null, "01/01/2024", "31/12/2024", null, "IT"});
 
-            importService.importFromExcel(toFile(bytes));
+            importExcel(bytes);
+
+            assertEquals(area.getId(), importedContract().areaId());
+        }
+    }
+
+    @Nested
+    @DisplayName("Chunked writes")
+    class ChunkedWrites {
+
+        @Test
+        @DisplayName("checks contract numbers with one query and inserts one batch per chunk")
+        void writesPerChunk() throws Exception {
+            importService = new ContractImportService(
+                    contractsRepository, businessAreasRepository, managersRepository, importWriter,
+                    ForkJoinPool.commonPool(), 2);
+            when(businessAreasRepository.findAll()).thenReturn(List.of(area));
+            when(managersRepository.findAll()).thenReturn(List.of());
+            when(contractsRepository.findExistingContractNumbers(any(), any())).thenReturn(Set.of());
+
+            String[][] rows = new String[6][];
+            rows[0] = HEADER;
+            for (int i = 1; i < rows.length; i++) {
+                rows[i] = new String[]{"C-" + i, "Cliente", null, null, "01/01/2024", "31/12/2024", null, "IT"};
+            }
+
+            ImportOutcome result = importExcel(buildWorkbook(rows));
+
+            assertEquals(5, result.importedCount());
+            verify(contractsRepository, times(3)).findExistingContractNumbers(any(), any());
+            verify(importWriter, times(3)).insert(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("reports every row of a chunk whose insert fails, in row order with the other errors")
+        void reportsFailedChunk() throws Exception {
+            importService = new ContractImportService(
+                    contractsRepository, businessAreasRepository, managersRepository, importWriter,
+                    ForkJoinPool.commonPool(), 3);
+            when(businessAreasRepository.findAll()).thenReturn(List.of(area));
+            when(managersRepository.findAll()).thenReturn(List.of());
+            when(contractsRepository.findExistingContractNumbers(any(), any())).thenReturn(Set.of());
+            doThrow(new DataIntegrityViolationException("duplicate"))
+                    .when(importWriter).insert(any(), any(), any());
+
+            byte[] bytes = buildWorkbook(HEADER,
+                    new String[]{"C-1", "Cliente A", null, null, "01/01/2024", "31/12/2024", null, "IT"},
+                    new String[]{"C-2", "Cliente B", null, null, "01/01/2024", "31/12/2024", null, "Nope"},
+                    new String[]{"C-3", "Cliente C", null, null, "01/01/2024", "31/12/2024", null, "IT"});
+
+            ImportOutcome result = importExcel(bytes);
+
+            assertEquals(0, result.importedCount());
+            assertEquals(List.of(2, 3, 4), result.errors().stream()
+                    .map(ContractImportRowError::rowNumber).toList());
+            assertTrue(result.errors().get(0).message().contains("Salvataggio non riuscito"));
+            assertTrue(result.errors().get(1).message().contains("Area aziendale non trovata"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Parallel validation")
+    class ParallelValidation {
+
+        @Test
+        @DisplayName("keeps file order for imports and errors across many validation batches")
+        void keepsFileOrder() throws Exception {
+            ForkJoinPool pool = new ForkJoinPool(4);
+            try {
+                importService = new ContractImportService(
+                        contractsRepository, businessAreasRepository, managersRepository, importWriter, pool, 5000);
+                when(businessAreasRepository.findAll()).thenReturn(List.of(area));
+                when(managersRepository.findAll()).thenReturn(List.of());
+                when(contractsRepository.findExistingContractNumbers(any(), any())).thenReturn(Set.of());
+
+                int dataRows = 2000;
+                String[][] rows = new String[dataRows + 2][];
+                rows[0] = HEADER;
+                List<Integer> expectedErrorRows = new ArrayList<>();
+                List<String> expectedImports = new ArrayList<>();
+                for (int i = 1; i <= dataRows; i++) {
+                    boolean invalid = i % 7 == 0;
+                    rows[i] = new String[]{"C-" + i, invalid ? null : "Cliente", null, null,
+                        "01/01/2024", "31/12/2024", null, "IT"};
+                    if (invalid) {
+                        expectedErrorRows.add(i + 1);
+                    } else {
+                        expectedImports.add("C-" + i);
+                    }
+                }
+                // Duplicate of the first row, at the very end: only the later one is rejected
+                rows[dataRows + 1] = new String[]{"C-1", "Cliente", null, null, "01/01/2024", "31/12/2024", null, "IT"};
+                expectedErrorRows.add(dataRows + 2);
 
-            org.mockito.ArgumentCaptor<ContractDTO> captor = org.mockito.ArgumentCaptor.forClass(ContractDTO.class);
-            verify(contractService).createContract(captor.capture());
-            assertEquals(area.getId(), captor.getValue().areaId());
+                ImportOutcome result = importExcel(buildWorkbook(rows));
+
+                assertEquals(expectedErrorRows, result.errors().stream().map(ContractImportRowError::rowNumber).toList());
+                assertEquals(expectedImports, importedContracts().stream().map(ContractDTO::contractNumber).toList());
+            } finally {
+                pool.shutdownNow();
+            }
         }
     }
 
@@ -781,24 +894,13 @@ class ContractImportServiceTest {
         @Test
         @DisplayName("rejects files that are not .xlsx")
         void rejectsNonXlsx() {
-            setupImportService();
-            MockMultipartFile file = new MockMultipartFile("file", "import.csv", "text/csv", "a,b,c".getBytes());
-
-            assertThrows(IllegalArgumentException.class, () -> importService.importFromExcel(file));
+            assertThrows(IllegalArgumentException.class, () -> ContractImportService.checkFileName("import.csv"));
         }
 
         @Test
         @DisplayName("rejects files with no original filename")
         void rejectsMissingFilename() {
-            // MockMultipartFile coerces a null originalFilename to "", which would
-            // only exercise the same "doesn't end with .xlsx" branch as
-            // rejectsNonXlsx — a real MultipartFile mock is needed to actually
-            // trigger the `filename == null` branch.
-            setupImportService();
-            MultipartFile file = mock(MultipartFile.class);
-            when(file.getOriginalFilename()).thenReturn(null);
-
-            assertThrows(IllegalArgumentException.class, () -> importService.importFromExcel(file));
+            assertThrows(IllegalArgumentException.class, () -> ContractImportService.checkFileName(null));
         }
 
         @Test
@@ -813,15 +915,17 @@ class ContractImportServiceTest {
                 workbook.write(out);
                 bytes = out.toByteArray();
             }
-            MockMultipartFile file = toFile(bytes);
-
-            assertThrows(IllegalArgumentException.class, () -> importService.importFromExcel(file));
+            assertThrows(IllegalArgumentException.class, () -> importExcel(bytes));
         }
 
         @Test
-        @DisplayName("rejects files exceeding the maximum row count")
-        void rejectsTooManyRows() throws Exception {
+        @DisplayName("reads rows beyond the former 5,000-row cap, keeping their Excel row numbers")
+        void readsRowsBeyondFormerCap() throws Exception {
             setupImportService();
+            when(businessAreasRepository.findAll()).thenReturn(List.of(area));
+            when(managersRepository.findAll()).thenReturn(List.of());
+            when(contractsRepository.findExistingContractNumbers(any(), any())).thenReturn(Set.of());
+
             byte[] bytes;
             try (Workbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
                 Sheet sheet = workbook.createSheet("Contratti");
@@ -829,15 +933,33 @@ class ContractImportServiceTest {
                 for (int c = 0; c < HEADER.length; c++) {
                     header.createCell(c).setCellValue(HEADER[c]);
                 }
-                // Create a sparse row far beyond the limit; POI doesn't need
-                // the intervening rows populated for getLastRowNum() to reflect it.
+                Row first = sheet.createRow(1);
+                String[] values = {"C-1", "Cliente A", null, null, "01/01/2024", "31/12/2024", null, "IT"};
+                for (int c = 0; c < values.length; c++) {
+                    if (values[c] != null) {
+                        first.createCell(c).setCellValue(values[c]);
+                    }
+                }
                 sheet.createRow(5002).createCell(0).setCellValue("overflow");
                 workbook.write(out);
                 bytes = out.toByteArray();
             }
-            MockMultipartFile file = toFile(bytes);
 
-            assertThrows(IllegalArgumentException.class, () -> importService.importFromExcel(file));
+            ImportOutcome result = importExcel(bytes);
+
+            assertEquals(2, result.totalRows());
+            assertEquals(1, result.importedCount());
+            assertEquals(5003, result.errors().get(0).rowNumber());
+            assertTrue(result.errors().get(0).message().contains("Cliente mancante"));
+        }
+
+        @Test
+        @DisplayName("rejects content that is not a valid .xlsx package")
+        void rejectsInvalidPackage() {
+            setupImportService();
+            when(businessAreasRepository.findAll()).thenReturn(List.of());
+            when(managersRepository.findAll()).thenReturn(List.of());
+            assertThrows(IllegalArgumentException.class, () -> importExcel("not a spreadsheet".getBytes()));
         }
 
         @Test
@@ -847,12 +969,12 @@ class ContractImportServiceTest {
             TenantContext.set(9L);
             when(businessAreasRepository.findAllByOrganizationId(9L)).thenReturn(List.of(area));
             when(managersRepository.findAllByOrganizationId(9L)).thenReturn(List.of(manager));
-            when(contractsRepository.existsByContractNumber(any())).thenReturn(false);
+            when(contractsRepository.findExistingContractNumbers(any(), any())).thenReturn(Set.of());
 
             byte[] bytes = buildWorkbook(HEADER,
                     new String[]{"C-1", "Cliente A", null, null, "01/01/2024", "31/12/2024", null, "IT"});
 
-            importService.importFromExcel(toFile(bytes));
+            importExcel(bytes);
 
             verify(businessAreasRepository).findAllByOrganizationId(9L);
             verify(managersRepository).findAllByOrganizationId(9L);
@@ -0,0 +1,160 @@
+package com.donatodev.bcm_backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.donatodev.bcm_backend.config.TenantContext;
+import com.donatodev.bcm_backend.dto.ContractDTO;
+import com.donatodev.bcm_backend.entity.BusinessAreas;
+import com.donatodev.bcm_backend.entity.ContractStatus;
+import com.donatodev.bcm_backend.entity.Contracts;
+import com.donatodev.bcm_backend.entity.Managers;
+import com.donatodev.bcm_backend.entity.Organization;
+import com.donatodev.bcm_backend.repository.BusinessAreasRepository;
+import com.donatodev.bcm_backend.repository.ContractsRepository;
+import com.donatodev.bcm_backend.repository.ManagersRepository;
+import com.donatodev.bcm_backend.repository.OrganizationRepository;
+import com.donatodev.bcm_backend.security.AuthenticatedUser;
+import com.donatodev.bcm_backend.util.TestDataCleaner;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * The contract list endpoints read {@code ContractListRow} projections: one
+ * statement per call however many contracts, areas and managers it returns,
+ * and no entity is loaded into a persistence context.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@DisplayName("Contract listing statement count")
+class ContractListingQueryCountTest {
+
+    @Autowired private ContractService contractService;
+    @Autowired private ContractsRepository contractsRepository;
+    @Autowired private OrganizationRepository organizationRepository;
+    @Autowired private BusinessAreasRepository businessAreasRepository;
+    @Autowired private ManagersRepository managersRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private TestDataCleaner testDataCleaner;
+
+    @MockitoBean
+    private ExportService exportService;
+
+    @MockitoBean
+    private ContractSchedulerService contractSchedulerService;
+
+    private Organization org;
+    private Statistics statistics;
+    private int created;
+
+    @BeforeEach
+    void setUp() {
+        testDataCleaner.clean();
+        String slug = "listing-" + UUID.randomUUID();
+        org = organizationRepository.save(Organization.builder().name(slug).slug(slug).build());
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // Principal as the JWT filter sets it, so resolving the caller costs no query
+        AuthenticatedUser admin = new AuthenticatedUser(1L, "admin", "", "ADMIN", null, org.getId(),
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(admin, null, admin.getAuthorities()));
+        TenantContext.set(org.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        TenantContext.clear();
+    }
+
+    /** Adds contracts, each with its own business area and manager. */
+    private void addContracts(int count) {
+        for (int i = 0; i < count; i++) {
+            int n = created++;
+            BusinessAreas area = businessAreasRepository.save(BusinessAreas.builder()
+                    .name("Area " + n).organization(org).build());
+            Managers manager = managersRepository.save(Managers.builder()
+                    .firstName("Manager").lastName(String.valueOf(n)).email("m" + n + "@listing.test")
+                    .organization(org).build());
+            contractsRepository.save(Contracts.builder()
+                    .customerName("Client " + n).contractNumber("LIST-" + n)
+                    .status(ContractStatus.ACTIVE).startDate(LocalDate.now().minusDays(1))
+                    .endDate(LocalDate.now().plusDays(10)).businessArea(area).manager(manager)
+                    .organization(org).build());
+        }
+    }
+
+    private long statementsFor(Supplier<List<ContractDTO>> listing, int expectedSize) {
+        statistics.clear();
+        List<ContractDTO> result = listing.get();
+        assertEquals(expectedSize, result.size());
+        assertEquals(0, statistics.getEntityLoadCount(), "entities loaded");
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    @DisplayName("getAllContracts issues one statement regardless of result size")
+    void getAllContractsShouldUseOneStatement() {
+        addContracts(2);
+        assertEquals(1, statementsFor(contractService::getAllContracts, 2));
+
+        addContracts(30);
+        assertEquals(1, statementsFor(contractService::getAllContracts, 32));
+    }
+
+    @Test
+    @DisplayName("getContractsByStatus issues one statement regardless of result size")
+    void getContractsByStatusShouldUseOneStatement() {
+        addContracts(2);
+        assertEquals(1, statementsFor(() -> contractService.getContractsByStatus(ContractStatus.ACTIVE), 2));
+
+        addContracts(30);
+        assertEquals(1, statementsFor(() -> contractService.getContractsByStatus(ContractStatus.ACTIVE), 32));
+    }
+
+    @Test
+    @DisplayName("getExpiringContracts issues one statement regardless of result size")
+    void getExpiringContractsShouldUseOneStatement() {
+        addContracts(2);
+        assertEquals(1, statementsFor(() -> contractService.getExpiringContracts(30), 2));
+
+        addContracts(30);
+        assertEquals(1, statementsFor(() -> contractService.getExpiringContracts(30), 32));
+    }
+
+    @Test
+    @DisplayName("streamAllContracts issues one statement regardless of result size")
+    void streamAllContractsShouldUseOneStatement() {
+        addContracts(2);
+        assertEquals(1, statementsFor(this::streamAll, 2));
+
+        addContracts(30);
+        assertEquals(1, statementsFor(this::streamAll, 32));
+    }
+
+    private List<ContractDTO> streamAll() {
+        List<ContractDTO> streamed = new ArrayList<>();
+        contractService.streamAllContracts(streamed::add);
+        return streamed;
+    }
+}
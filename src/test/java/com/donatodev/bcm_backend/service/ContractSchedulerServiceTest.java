@@ -35,6 +35,7 @@ import org.springframework.test.context.ActiveProfiles;
 import com.donatodev.bcm_backend.entity.ContractStatus;
 import com.donatodev.bcm_backend.entity.Contracts;
 import com.donatodev.bcm_backend.entity.Managers;
+import com.donatodev.bcm_backend.entity.Organization;
 import com.donatodev.bcm_backend.entity.Roles;
 import com.donatodev.bcm_backend.entity.Users;
 import com.donatodev.bcm_backend.repository.ContractHistoryRepository;
@@ -65,6 +66,12 @@ class ContractSchedulerServiceTest {
     @Mock
     private AgentNotificationService agentNotificationService;
 
+    @Mock
+    private ContractStatsService contractStatsService;
+
+    @Mock
+    private ContractChangeLog changeLog;
+
     @InjectMocks
     private ContractSchedulerService schedulerService;
 
@@ -112,6 +119,28 @@ class ContractSchedulerServiceTest {
             assertEquals(ContractStatus.EXPIRED, overdueContract2.getStatus());
         }
 
+        @Test
+        @Order(19)
+        @DisplayName("Should record expirations as one stats update per organization")
+        void shouldRecordExpirationsPerOrganization() {
+            Organization orgA = Organization.builder().id(10L).build();
+            Organization orgB = Organization.builder().id(20L).build();
+            List<Contracts> overdue = List.of(
+                    Contracts.builder().id(1L).contractNumber("A-1").status(ContractStatus.ACTIVE)
+                            .endDate(TODAY.minusDays(1)).organization(orgA).build(),
+                    Contracts.builder().id(2L).contractNumber("A-2").status(ContractStatus.ACTIVE)
+                            .endDate(TODAY.minusDays(2)).organization(orgA).build(),
+                    Contracts.builder().id(3L).contractNumber("B-1").status(ContractStatus.ACTIVE)
+                            .endDate(TODAY.minusDays(3)).organization(orgB).build());
+            when(contractsRepository.findByStatusAndEndDateBefore(eq(ContractStatus.ACTIVE), any(LocalDate.class)))
+                    .thenReturn(overdue);
+
+            schedulerService.expireOverdueContracts();
+
+            verify(contractStatsService).recordTransitions(10L, ContractStatus.ACTIVE, ContractStatus.EXPIRED, 2);
+            verify(contractStatsService).recordTransitions(20L, ContractStatus.ACTIVE, ContractStatus.EXPIRED, 1);
+        }
+
         @ParameterizedTest(name = "{0}")
         @ValueSource(strings = {
             "DB returns no overdue contracts",
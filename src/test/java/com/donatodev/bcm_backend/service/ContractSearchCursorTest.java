@@ -0,0 +1,40 @@
+package com.donatodev.bcm_backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ContractSearchCursorTest {
+
+    @Test
+    @DisplayName("Round-trips contract numbers containing separators and non-ASCII text")
+    void shouldRoundTrip() {
+        ContractSearchCursor cursor = new ContractSearchCursor("CTR:2027/è-01", 42L);
+
+        assertEquals(cursor, ContractSearchCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    @DisplayName("Encoded cursors are URL-safe")
+    void shouldBeUrlSafe() {
+        String token = new ContractSearchCursor("??>>~~", 1L).encode();
+
+        assertEquals(token, token.replaceAll("[^A-Za-z0-9_-]", ""));
+    }
+
+    @Test
+    @DisplayName("Rejects tokens that are not valid cursors")
+    void shouldRejectMalformedTokens() {
+        String noSeparator = Base64.getUrlEncoder().encodeToString("12".getBytes(StandardCharsets.UTF_8));
+        String badId = Base64.getUrlEncoder().encodeToString("x:ABC".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(IllegalArgumentException.class, () -> ContractSearchCursor.decode("not base64!"));
+        assertThrows(IllegalArgumentException.class, () -> ContractSearchCursor.decode(noSeparator));
+        assertThrows(IllegalArgumentException.class, () -> ContractSearchCursor.decode(badId));
+    }
+}
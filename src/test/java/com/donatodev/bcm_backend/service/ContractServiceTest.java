@@ -4,13 +4,16 @@ import java.time.LocalDate;
 import java.time.Month;
 import java.time.YearMonth;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.AfterEach;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.DisplayName;
@@ -24,7 +27,9 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.never;
@@ -43,9 +48,11 @@ import org.springframework.security.core.userdetails.User;
 import org.springframework.test.context.ActiveProfiles;
 
 import com.donatodev.bcm_backend.dto.ContractDTO;
+import com.donatodev.bcm_backend.dto.ContractListRow;
 import com.donatodev.bcm_backend.dto.ContractStatsResponse;
 import com.donatodev.bcm_backend.dto.ContractsByAreaDTO;
 import com.donatodev.bcm_backend.dto.ContractsTimelineDTO;
+import com.donatodev.bcm_backend.dto.CursorPage;
 import com.donatodev.bcm_backend.dto.TopManagerDTO;
 import com.donatodev.bcm_backend.entity.BusinessAreas;
 import com.donatodev.bcm_backend.entity.ContractStatus;
@@ -55,6 +62,7 @@ import com.donatodev.bcm_backend.entity.Roles;
 import com.donatodev.bcm_backend.entity.Users;
 import com.donatodev.bcm_backend.exception.BusinessAreaNotFoundException;
 import com.donatodev.bcm_backend.exception.ContractNotFoundException;
+import com.donatodev.bcm_backend.exception.ContractVersionConflictException;
 import com.donatodev.bcm_backend.exception.ManagerNotFoundException;
 import com.donatodev.bcm_backend.exception.UserNotFoundException;
 import com.donatodev.bcm_backend.mapper.ContractMapper;
@@ -102,6 +110,21 @@ class ContractServiceTest {
     @Mock
     private BusinessAreasRepository businessAreasRepository;
 
+    @Mock
+    private ContractTextSearch contractTextSearch;
+
+    @Mock
+    private ContractStatsService contractStatsService;
+
+    @Mock
+    private ContractChangeLog changeLog;
+
+    @Mock
+    private ContractAnalyticsCache analyticsCache;
+
+    @Mock
+    private ContractCollaborators collaborators;
+
     @InjectMocks
     private ContractService contractService;
 
@@ -111,6 +134,17 @@ class ContractServiceTest {
         SecurityContextHolder.clearContext();
     }
 
+    private static ContractListRow listRow(Long id, String customerName) {
+        return new ContractListRow(id, customerName, null, null, null, ContractStatus.ACTIVE, null, null, null,
+                null, null, null, null, null, null, null, null, null);
+    }
+
+    /** Lets the analytics tests reach the repository through the (mocked) cache. */
+    private void passThroughAnalyticsCache() {
+        when(analyticsCache.get(any(), any(), any(), any()))
+                .thenAnswer(inv -> inv.<Supplier<?>>getArgument(3).get());
+    }
+
     private void mockAuthentication(String username, String role) {
         User user = new User(username, "password", List.of(() -> "ROLE_" + role));
         SecurityContextHolder.getContext().setAuthentication(
@@ -139,13 +173,13 @@ class ContractServiceTest {
 
             ContractDTO dto = new ContractDTO(1L, "Cliente", "CONTR123", "WBS001", "Progetto A",
                     ContractStatus.ACTIVE, LocalDate.of(2027, Month.JUNE, 15), LocalDate.of(2027, Month.JUNE, 15).plusDays(30), 2L, 3L, null, null, null, null);
-            Contracts entity = Contracts.builder().id(1L).customerName("Cliente").build();
+            ContractListRow row = listRow(1L, "Cliente");
 
             mockAuthentication("admin", "ADMIN");
 
             when(usersRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
-            when(contractsRepository.findAll()).thenReturn(List.of(entity));
-            when(contractMapper.toDTO(entity)).thenReturn(dto);
+            when(contractsRepository.findListRows(null, null, null)).thenReturn(List.of(row));
+            when(contractMapper.fromListRow(row)).thenReturn(dto);
 
             List<ContractDTO> result = contractService.getAllContracts();
 
@@ -626,6 +660,7 @@ class ContractServiceTest {
             contractService.deleteContract(1L);
 
             verify(contractsRepository, times(1)).delete(contract);
+            verify(analyticsCache).invalidate(null);
         }
 
         /**
@@ -674,15 +709,15 @@ class ContractServiceTest {
                     .manager(manager)
                     .build();
 
-            Contracts contract = Contracts.builder().id(1L).customerName("ClientA").build();
+            ContractListRow row = listRow(1L, "ClientA");
             ContractDTO dto = new ContractDTO(1L, "ClientA", "CON123", "WBS", "Proj", ContractStatus.ACTIVE,
                     LocalDate.of(2027, Month.JUNE, 15), LocalDate.of(2027, Month.JUNE, 15).plusDays(30), 5L, 1L, null, null, null, null);
 
             mockAuthentication("manager1", "MANAGER");
 
             when(usersRepository.findByUsername("manager1")).thenReturn(Optional.of(managerUser));
-            when(contractsRepository.findByManagerId(5L)).thenReturn(List.of(contract));
-            when(contractMapper.toDTO(contract)).thenReturn(dto);
+            when(contractsRepository.findListRows(null, 5L, null)).thenReturn(List.of(row));
+            when(contractMapper.fromListRow(row)).thenReturn(dto);
 
             List<ContractDTO> result = contractService.getAllContracts();
 
@@ -690,6 +725,53 @@ class ContractServiceTest {
             assertEquals("ClientA", result.get(0).customerName());
         }
 
+        /**
+         * Streaming as a MANAGER reads only the contracts assigned to them and
+         * hands each one to the sink.
+         */
+        @Test
+        @DisplayName("Stream all contracts as MANAGER")
+        void shouldStreamContractsAsManager() {
+            Users managerUser = Users.builder()
+                    .username("manager1")
+                    .role(Roles.builder().role("MANAGER").build())
+                    .manager(Managers.builder().id(5L).build())
+                    .build();
+            ContractListRow row = listRow(1L, "ClientA");
+            ContractDTO dto = new ContractDTO(1L, "ClientA", "CON123", "WBS", "Proj", ContractStatus.ACTIVE,
+                    LocalDate.of(2027, Month.JUNE, 15), LocalDate.of(2027, Month.JUNE, 15).plusDays(30), 5L, 1L, null, null, null, null);
+
+            mockAuthentication("manager1", "MANAGER");
+
+            when(usersRepository.findByUsername("manager1")).thenReturn(Optional.of(managerUser));
+            when(contractsRepository.streamListRows(null, 5L, null)).thenReturn(Stream.of(row));
+            when(contractMapper.fromListRow(row)).thenReturn(dto);
+
+            List<ContractDTO> streamed = new ArrayList<>();
+            contractService.streamAllContracts(streamed::add);
+
+            assertEquals(List.of(dto), streamed);
+        }
+
+        /**
+         * A MANAGER user without a linked manager streams nothing.
+         */
+        @Test
+        @DisplayName("Stream nothing for a MANAGER without manager record")
+        void shouldStreamNothingWithoutManager() {
+            Users managerUser = Users.builder()
+                    .username("manager1")
+                    .role(Roles.builder().role("MANAGER").build())
+                    .build();
+
+            mockAuthentication("manager1", "MANAGER");
+            when(usersRepository.findByUsername("manager1")).thenReturn(Optional.of(managerUser));
+
+            contractService.streamAllContracts(dto -> { throw new AssertionError("unexpected contract"); });
+
+            verify(contractsRepository, never()).streamListRows(any(), any(), any());
+        }
+
         /**
          * Test retrieving contracts filtered by status as a MANAGER should
          * return matching results.
@@ -706,15 +788,15 @@ class ContractServiceTest {
                     .manager(manager)
                     .build();
 
-            Contracts contract = Contracts.builder().id(2L).status(ContractStatus.ACTIVE).customerName("ClientB").build();
+            ContractListRow row = listRow(2L, "ClientB");
             ContractDTO dto = new ContractDTO(2L, "ClientB", "CON456", "WBS2", "Proj2", ContractStatus.ACTIVE,
                     LocalDate.of(2027, Month.JUNE, 15), LocalDate.of(2027, Month.JUNE, 15).plusDays(20), 7L, 1L, null, null, null, null);
 
             mockAuthentication("manager2", "MANAGER");
 
             when(usersRepository.findByUsername("manager2")).thenReturn(Optional.of(managerUser));
-            when(contractsRepository.findByManagerIdAndStatus(7L, ContractStatus.ACTIVE)).thenReturn(List.of(contract));
-            when(contractMapper.toDTO(contract)).thenReturn(dto);
+            when(contractsRepository.findListRows(null, 7L, ContractStatus.ACTIVE)).thenReturn(List.of(row));
+            when(contractMapper.fromListRow(row)).thenReturn(dto);
 
             List<ContractDTO> result = contractService.getContractsByStatus(ContractStatus.ACTIVE);
 
@@ -771,7 +853,7 @@ class ContractServiceTest {
                             .role(Roles.builder().role("ADMIN").build())
                             .build()));
 
-            when(contractsRepository.findAll()).thenReturn(List.of());
+            when(contractsRepository.findListRows(null, null, null)).thenReturn(List.of());
 
             List<ContractDTO> result = contractService.getAllContracts();
 
@@ -851,6 +933,23 @@ class ContractServiceTest {
             assertEquals("Contratto non trovato", ex.getMessage());
         }
 
+        /**
+         * An update conditional on a version the contract no longer has is
+         * rejected before anything is written.
+         */
+        @Test
+        @DisplayName("Should reject an update of a stale version")
+        void shouldRejectUpdateOfStaleVersion() {
+            Contracts contract = Contracts.builder().id(1L).version(3L).status(ContractStatus.ACTIVE).build();
+            ContractDTO dto = new ContractDTO(1L, "x", "x", "x", "x",
+                    ContractStatus.ACTIVE, LocalDate.of(2027, Month.JUNE, 15), LocalDate.of(2027, Month.JUNE, 15).plusDays(5), 1L, 1L, null, null, null, null);
+
+            when(contractsRepository.findById(1L)).thenReturn(Optional.of(contract));
+
+            assertThrows(ContractVersionConflictException.class, () -> contractService.updateContract(1L, dto, 2L));
+            verify(contractsRepository, never()).save(any());
+        }
+
         @Test
         @Order(17)
         @DisplayName("Get contracts by status as ADMIN")
@@ -861,19 +960,15 @@ class ContractServiceTest {
                     .role(adminRole)
                     .build();
 
-            Contracts contract = Contracts.builder()
-                    .id(1L)
-                    .status(ContractStatus.ACTIVE)
-                    .customerName("ClientA")
-                    .build();
+            ContractListRow row = listRow(1L, "ClientA");
             ContractDTO dto = new ContractDTO(1L, "ClientA", "CON123", "WBS", "Proj",
                     ContractStatus.ACTIVE, LocalDate.of(2027, Month.JUNE, 15), LocalDate.of(2027, Month.JUNE, 15).plusDays(30), 1L, 1L, null, null, null, null);
 
             mockAuthentication("admin", "ADMIN");
 
             when(usersRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
-            when(contractsRepository.findByStatus(ContractStatus.ACTIVE)).thenReturn(List.of(contract));
-            when(contractMapper.toDTO(contract)).thenReturn(dto);
+            when(contractsRepository.findListRows(null, null, ContractStatus.ACTIVE)).thenReturn(List.of(row));
+            when(contractMapper.fromListRow(row)).thenReturn(dto);
 
             List<ContractDTO> result = contractService.getContractsByStatus(ContractStatus.ACTIVE);
 
@@ -885,11 +980,7 @@ class ContractServiceTest {
         @Order(18)
         @DisplayName("Get contract stats returns correct counts")
         void shouldGetContractStats() {
-            when(contractsRepository.countAllContracts()).thenReturn(100);
-            when(contractsRepository.countActiveContracts()).thenReturn(50);
-            when(contractsRepository.countExpiringContracts(any(LocalDate.class))).thenReturn(30);
-            when(contractsRepository.countExpiredContracts()).thenReturn(20);
-            when(contractsRepository.countDraftContracts()).thenReturn(10);
+            when(contractStatsService.statsFor(null)).thenReturn(new ContractStatsResponse(100, 50, 30, 20, 10));
 
             ContractStatsResponse result = contractService.getContractStats();
 
@@ -918,6 +1009,8 @@ class ContractServiceTest {
 
             verify(contractsRepository).save(contract);
             assertEquals(manager, contract.getManager());
+            // The manager feeds the top-managers dashboard view
+            verify(analyticsCache).invalidate(null);
         }
 
         @Test
@@ -991,10 +1084,7 @@ class ContractServiceTest {
 
             contractService.setCollaborators(contractId, managerIds);
 
-            verify(contractManagerRepository).deleteAllByContractId(contractId);
-            verify(contractManagerRepository).insertIgnore(contractId, 5L);
-            verify(contractManagerRepository).insertIgnore(contractId, 10L);
-            verify(contractManagerRepository).insertIgnore(contractId, 15L);
+            verify(collaborators).replace(contractId, managerIds);
         }
 
         @Test
@@ -1008,8 +1098,7 @@ class ContractServiceTest {
 
             contractService.setCollaborators(contractId, null);
 
-            verify(contractManagerRepository).deleteAllByContractId(contractId);
-            verify(contractManagerRepository, times(0)).insertIgnore(any(), any());
+            verify(collaborators).replace(contractId, null);
         }
 
         @Test
@@ -1055,12 +1144,9 @@ class ContractServiceTest {
                     when(contractsRepository.findAllBy(any(Pageable.class))).thenReturn(page);
                 case "findByStatus" ->
                     when(contractsRepository.findByStatus(eq(status), any(Pageable.class))).thenReturn(page);
-                case "findByTerm" ->
-                    when(contractsRepository.findByContractNumberContainingIgnoreCaseOrCustomerNameContainingIgnoreCase(
-                            eq(searchTerm), eq(searchTerm), any(Pageable.class))).thenReturn(page);
-                case "findByStatusAndTerm" ->
-                    when(contractsRepository.findByStatusAndContractNumberContainingIgnoreCaseOrStatusAndCustomerNameContainingIgnoreCase(
-                            eq(status), eq(searchTerm), eq(status), eq(searchTerm), any(Pageable.class))).thenReturn(page);
+                case "findByTerm", "findByStatusAndTerm" ->
+                    when(contractTextSearch.search(isNull(), isNull(), eq(status), eq(searchTerm), any(Pageable.class)))
+                            .thenReturn(page);
                 default ->
                     throw new IllegalArgumentException("Unexpected repository method: " + expectedRepoMethod);
             }
@@ -1127,8 +1213,7 @@ class ContractServiceTest {
 
             mockAuthentication("admin", "ADMIN");
             when(usersRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
-            when(contractsRepository.findByContractNumberContainingIgnoreCaseOrCustomerNameContainingIgnoreCase(
-                    eq("test"), eq("test"), any(Pageable.class))).thenReturn(page);
+            when(contractTextSearch.search(isNull(), isNull(), isNull(), eq("test"), any(Pageable.class))).thenReturn(page);
             when(contractMapper.toDTO(contract)).thenReturn(dto);
 
             Page<ContractDTO> result = contractService.searchPaged("test", null, 0, 10);
@@ -1153,8 +1238,7 @@ class ContractServiceTest {
 
             mockAuthentication("admin", "ADMIN");
             when(usersRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
-            when(contractsRepository.findByStatusAndContractNumberContainingIgnoreCaseOrStatusAndCustomerNameContainingIgnoreCase(
-                    eq(ContractStatus.ACTIVE), eq("test"), eq(ContractStatus.ACTIVE), eq("test"), any(Pageable.class)))
+            when(contractTextSearch.search(isNull(), isNull(), eq(ContractStatus.ACTIVE), eq("test"), any(Pageable.class)))
                     .thenReturn(page);
             when(contractMapper.toDTO(contract)).thenReturn(dto);
 
@@ -1197,12 +1281,9 @@ class ContractServiceTest {
                 case "findByManagerIdAndStatus" ->
                     when(contractsRepository.findByManagerIdAndStatus(
                             eq(managerId), eq(status), any(Pageable.class))).thenReturn(page);
-                case "findByManagerIdAndTerm" ->
-                    when(contractsRepository.findByManagerIdAndContractNumberContainingIgnoreCaseOrManagerIdAndCustomerNameContainingIgnoreCase(
-                            eq(managerId), eq(searchTerm), eq(managerId), eq(searchTerm), any(Pageable.class))).thenReturn(page);
-                case "findByManagerIdAndStatusAndTerm" ->
-                    when(contractsRepository.findByManagerIdAndStatusAndContractNumberContainingIgnoreCaseOrManagerIdAndStatusAndCustomerNameContainingIgnoreCase(
-                            eq(managerId), eq(status), eq(searchTerm), eq(managerId), eq(status), eq(searchTerm), any(Pageable.class))).thenReturn(page);
+                case "findByManagerIdAndTerm", "findByManagerIdAndStatusAndTerm" ->
+                    when(contractTextSearch.search(isNull(), eq(managerId), eq(status), eq(searchTerm), any(Pageable.class)))
+                            .thenReturn(page);
                 default ->
                     throw new IllegalArgumentException("Unexpected repository method: " + expectedRepoMethod);
             }
@@ -1270,8 +1351,7 @@ class ContractServiceTest {
 
             mockAuthentication("manager", "MANAGER");
             when(usersRepository.findByUsername("manager")).thenReturn(Optional.of(managerUser));
-            when(contractsRepository.findByManagerIdAndContractNumberContainingIgnoreCaseOrManagerIdAndCustomerNameContainingIgnoreCase(
-                    eq(5L), eq("test"), eq(5L), eq("test"), any(Pageable.class))).thenReturn(page);
+            when(contractTextSearch.search(isNull(), eq(5L), isNull(), eq("test"), any(Pageable.class))).thenReturn(page);
             when(contractMapper.toDTO(contract)).thenReturn(dto);
 
             Page<ContractDTO> result = contractService.searchPaged("test", null, 0, 10);
@@ -1298,8 +1378,7 @@ class ContractServiceTest {
 
             mockAuthentication("manager", "MANAGER");
             when(usersRepository.findByUsername("manager")).thenReturn(Optional.of(managerUser));
-            when(contractsRepository.findByManagerIdAndStatusAndContractNumberContainingIgnoreCaseOrManagerIdAndStatusAndCustomerNameContainingIgnoreCase(
-                    eq(5L), eq(ContractStatus.ACTIVE), eq("test"), eq(5L), eq(ContractStatus.ACTIVE), eq("test"), any(Pageable.class)))
+            when(contractTextSearch.search(isNull(), eq(5L), eq(ContractStatus.ACTIVE), eq("test"), any(Pageable.class)))
                     .thenReturn(page);
             when(contractMapper.toDTO(contract)).thenReturn(dto);
 
@@ -1560,6 +1639,8 @@ class ContractServiceTest {
             verify(contractHistoryRepository, never()).save(any());
             // Verify usersRepository was NOT called (no need to fetch user)
             verify(usersRepository, never()).findByUsername(any());
+            // Area, manager and start date feed the dashboard analytics
+            verify(analyticsCache).invalidate(null);
         }
 
         @Test
@@ -1607,32 +1688,19 @@ class ContractServiceTest {
             LocalDate today = LocalDate.now(); //NOSONAR S6543 — must match service internal clock
             LocalDate futureDate = today.plusDays(30);
 
-            Contracts expiring1 = Contracts.builder()
-                    .id(1L)
-                    .contractNumber("CNT-001")
-                    .customerName("Acme Corp")
-                    .status(ContractStatus.ACTIVE)
-                    .endDate(today.plusDays(10))
-                    .build();
-
-            Contracts expiring2 = Contracts.builder()
-                    .id(2L)
-                    .contractNumber("CNT-002")
-                    .customerName("TechStart Inc")
-                    .status(ContractStatus.ACTIVE)
-                    .endDate(today.plusDays(25))
-                    .build();
+            ContractListRow expiring1 = listRow(1L, "Acme Corp");
+            ContractListRow expiring2 = listRow(2L, "TechStart Inc");
 
-            when(contractsRepository.findExpiringContracts(today, futureDate))
+            when(contractsRepository.findExpiringListRows(today, futureDate, null))
                     .thenReturn(List.of(expiring1, expiring2));
 
-            when(contractMapper.toDTO(expiring1)).thenReturn(
+            when(contractMapper.fromListRow(expiring1)).thenReturn(
                     new ContractDTO(1L, "Acme Corp", "CNT-001", "WBS-001", "Project A",
                             ContractStatus.ACTIVE, today, today.plusDays(10),
                             null, null, null, null, null, 10)
             );
 
-            when(contractMapper.toDTO(expiring2)).thenReturn(
+            when(contractMapper.fromListRow(expiring2)).thenReturn(
                     new ContractDTO(2L, "TechStart Inc", "CNT-002", "WBS-002", "Project B",
                             ContractStatus.ACTIVE, today, today.plusDays(25),
                             null, null, null, null, null, 25)
@@ -1655,31 +1723,34 @@ class ContractServiceTest {
             LocalDate today = LocalDate.now(); //NOSONAR S6543 — must match service internal clock
             LocalDate futureDate = today.plusDays(30);
 
-            when(contractsRepository.findExpiringContracts(today, futureDate))
+            when(contractsRepository.findExpiringListRows(today, futureDate, null))
                     .thenReturn(List.of());
 
             List<ContractDTO> result = contractService.getExpiringContracts(30);
 
             assertTrue(result.isEmpty());
-            verify(contractsRepository, times(1)).findExpiringContracts(today, futureDate);
+            verify(contractsRepository, times(1)).findExpiringListRows(today, futureDate, null);
         }
 
         @Test
         @Order(46)
         @DisplayName("Should get contracts timeline (started per month, last 12 months, zero-filled)")
         void shouldGetContractsTimeline() {
+            passThroughAnalyticsCache();
             YearMonth currentMonth = YearMonth.now(ZoneId.systemDefault());
             YearMonth oldestMonth = currentMonth.minusMonths(11);
             YearMonth sixMonthsAgo = currentMonth.minusMonths(6);
             YearMonth threeMonthsAgo = currentMonth.minusMonths(3);
 
+            // Per-day rows; two days of the same month are summed into one entry
             List<Object[]> mockResults = List.of(
-                    new Object[]{sixMonthsAgo.getYear(), sixMonthsAgo.getMonthValue(), 5L},
-                    new Object[]{threeMonthsAgo.getYear(), threeMonthsAgo.getMonthValue(), 3L},
-                    new Object[]{currentMonth.getYear(), currentMonth.getMonthValue(), 7L}
+                    new Object[]{sixMonthsAgo.atDay(2), 2L},
+                    new Object[]{sixMonthsAgo.atDay(20), 3L},
+                    new Object[]{threeMonthsAgo.atDay(1), 3L},
+                    new Object[]{currentMonth.atDay(1), 7L}
             );
 
-            when(contractsRepository.countContractsByMonth(any(LocalDate.class)))
+            when(contractsRepository.countContractsByStartDate(oldestMonth.atDay(1)))
                     .thenReturn(mockResults);
 
             List<ContractsTimelineDTO> result = contractService.getContractsTimeline();
@@ -1698,13 +1769,14 @@ class ContractServiceTest {
             assertEquals(threeMonthsAgo.toString(), result.get(8).getMonth());
             assertEquals(7L, result.get(11).getCount());
 
-            verify(contractsRepository, times(1)).countContractsByMonth(any(LocalDate.class));
+            verify(contractsRepository, times(1)).countContractsByStartDate(any(LocalDate.class));
         }
 
         @Test
         @Order(47)
         @DisplayName("Should get contracts by area")
         void shouldGetContractsByArea() {
+            passThroughAnalyticsCache();
 
             List<ContractsByAreaDTO> mockResults = List.of(
                     new ContractsByAreaDTO("IT", 10L),
@@ -1728,6 +1800,7 @@ class ContractServiceTest {
         @Order(48)
         @DisplayName("Should get top managers")
         void shouldGetTopManagers() {
+            passThroughAnalyticsCache();
 
             List<TopManagerDTO> mockResults = List.of(
                     new TopManagerDTO(1L, "John Doe", 15L),
@@ -1752,8 +1825,9 @@ class ContractServiceTest {
         @Order(49)
         @DisplayName("Should zero-fill all 12 months when no contracts were started in the window")
         void shouldReturnEmptyListWhenNoTimelineData() {
+            passThroughAnalyticsCache();
 
-            when(contractsRepository.countContractsByMonth(any(LocalDate.class)))
+            when(contractsRepository.countContractsByStartDate(any(LocalDate.class)))
                     .thenReturn(List.of());
 
             List<ContractsTimelineDTO> result = contractService.getContractsTimeline();
@@ -1762,7 +1836,7 @@ class ContractServiceTest {
             assertEquals(12, result.size());
             assertTrue(result.stream().allMatch(dto -> dto.getCount() == 0L));
 
-            verify(contractsRepository, times(1)).countContractsByMonth(any(LocalDate.class));
+            verify(contractsRepository, times(1)).countContractsByStartDate(any(LocalDate.class));
         }
 
         @Test
@@ -1820,15 +1894,11 @@ class ContractServiceTest {
 
         @Test
         @Order(52)
-        @DisplayName("getContractStats with TenantContext uses org-filtered repository methods")
+        @DisplayName("getContractStats with TenantContext asks for the tenant's stats")
         void shouldGetContractStatsWithOrgFilter() {
             TenantContext.set(1L);
             try {
-                when(contractsRepository.countAllContractsByOrg(1L)).thenReturn(10);
-                when(contractsRepository.countActiveContractsByOrg(1L)).thenReturn(5);
-                when(contractsRepository.countExpiringContractsByOrg(any(LocalDate.class), eq(1L))).thenReturn(2);
-                when(contractsRepository.countExpiredContractsByOrg(1L)).thenReturn(3);
-                when(contractsRepository.countDraftContractsByOrg(1L)).thenReturn(1);
+                when(contractStatsService.statsFor(1L)).thenReturn(new ContractStatsResponse(10, 5, 2, 3, 1));
 
                 ContractStatsResponse result = contractService.getContractStats();
 
@@ -1846,12 +1916,12 @@ class ContractServiceTest {
         void shouldGetExpiringContractsWithOrgFilter() {
             TenantContext.set(2L);
             try {
-                Contracts c = Contracts.builder().id(1L).customerName("Org Client").build();
+                ContractListRow row = listRow(1L, "Org Client");
                 ContractDTO dto = new ContractDTO(1L, "Org Client", "C001", null, null,
                         ContractStatus.ACTIVE, LocalDate.of(2027, Month.JUNE, 15), null, 1L, null, null, null, null, 5);
-                when(contractsRepository.findExpiringContractsByOrg(any(LocalDate.class), any(LocalDate.class), eq(2L)))
-                        .thenReturn(List.of(c));
-                when(contractMapper.toDTO(c)).thenReturn(dto);
+                when(contractsRepository.findExpiringListRows(any(LocalDate.class), any(LocalDate.class), eq(2L)))
+                        .thenReturn(List.of(row));
+                when(contractMapper.fromListRow(row)).thenReturn(dto);
 
                 List<ContractDTO> result = contractService.getExpiringContracts(30);
 
@@ -1865,6 +1935,7 @@ class ContractServiceTest {
         @Order(54)
         @DisplayName("getContractsByArea with TenantContext uses org-filtered query")
         void shouldGetContractsByAreaWithOrgFilter() {
+            passThroughAnalyticsCache();
             TenantContext.set(3L);
             try {
                 when(contractsRepository.countContractsByAreaAndOrg(3L))
@@ -1874,6 +1945,7 @@ class ContractServiceTest {
 
                 assertEquals(1, result.size());
                 verify(contractsRepository).countContractsByAreaAndOrg(3L);
+                verify(analyticsCache).get(eq(3L), eq("by-area"), eq(ContractsByAreaDTO.class), any());
             } finally {
                 TenantContext.clear();
             }
@@ -1883,12 +1955,13 @@ class ContractServiceTest {
         @Order(55)
         @DisplayName("getContractsTimeline with TenantContext uses org-filtered query")
         void shouldGetContractsTimelineWithOrgFilter() {
+            passThroughAnalyticsCache();
             TenantContext.set(4L);
             try {
                 YearMonth currentMonth = YearMonth.now(ZoneId.systemDefault());
-                java.util.ArrayList<Object[]> rows = new java.util.ArrayList<>();
-                rows.add(new Object[]{currentMonth.getYear(), currentMonth.getMonthValue(), 3L});
-                when(contractsRepository.countContractsByMonthAndOrg(any(LocalDate.class), eq(4L)))
+                java.util.ArrayList<Object[]> rows = new ArrayList<>();
+                rows.add(new Object[]{currentMonth.atDay(1), 3L});
+                when(contractsRepository.countContractsByStartDateAndOrg(any(LocalDate.class), eq(4L)))
                         .thenReturn(rows);
 
                 List<ContractsTimelineDTO> result = contractService.getContractsTimeline();
@@ -1905,6 +1978,7 @@ class ContractServiceTest {
         @Order(56)
         @DisplayName("getTopManagers with TenantContext uses org-filtered query")
         void shouldGetTopManagersWithOrgFilter() {
+            passThroughAnalyticsCache();
             TenantContext.set(5L);
             try {
                 when(contractsRepository.findTopManagersByOrg(any(Pageable.class), eq(5L)))
@@ -1975,7 +2049,7 @@ class ContractServiceTest {
                     .username("admin")
                     .role(Roles.builder().role("ADMIN").build())
                     .build();
-            Contracts entity = Contracts.builder().id(1L).customerName("OrgClient").build();
+            ContractListRow row = listRow(1L, "OrgClient");
             ContractDTO dto = new ContractDTO(1L, "OrgClient", "C001", null, null,
                     ContractStatus.ACTIVE, LocalDate.of(2027, Month.JUNE, 15), null, 1L, null, null, null, null, 0);
 
@@ -1984,14 +2058,13 @@ class ContractServiceTest {
 
             TenantContext.set(20L);
             try {
-                when(contractsRepository.findByOrganization_Id(20L)).thenReturn(List.of(entity));
-                when(contractMapper.toDTO(entity)).thenReturn(dto);
+                when(contractsRepository.findListRows(20L, null, null)).thenReturn(List.of(row));
+                when(contractMapper.fromListRow(row)).thenReturn(dto);
 
                 List<ContractDTO> result = contractService.getAllContracts();
 
                 assertEquals(1, result.size());
-                verify(contractsRepository).findByOrganization_Id(20L);
-                verify(contractsRepository, never()).findAll();
+                verify(contractsRepository).findListRows(20L, null, null);
             } finally {
                 TenantContext.clear();
             }
@@ -2005,7 +2078,7 @@ class ContractServiceTest {
                     .username("admin")
                     .role(Roles.builder().role("ADMIN").build())
                     .build();
-            Contracts entity = Contracts.builder().id(1L).customerName("OrgClient").build();
+            ContractListRow row = listRow(1L, "OrgClient");
             ContractDTO dto = new ContractDTO(1L, "OrgClient", "C001", null, null,
                     ContractStatus.ACTIVE, LocalDate.of(2027, Month.JUNE, 15), null, 1L, null, null, null, null, 0);
 
@@ -2014,15 +2087,14 @@ class ContractServiceTest {
 
             TenantContext.set(21L);
             try {
-                when(contractsRepository.findByStatusAndOrganization_Id(ContractStatus.ACTIVE, 21L))
-                        .thenReturn(List.of(entity));
-                when(contractMapper.toDTO(entity)).thenReturn(dto);
+                when(contractsRepository.findListRows(21L, null, ContractStatus.ACTIVE))
+                        .thenReturn(List.of(row));
+                when(contractMapper.fromListRow(row)).thenReturn(dto);
 
                 List<ContractDTO> result = contractService.getContractsByStatus(ContractStatus.ACTIVE);
 
                 assertEquals(1, result.size());
-                verify(contractsRepository).findByStatusAndOrganization_Id(ContractStatus.ACTIVE, 21L);
-                verify(contractsRepository, never()).findByStatus(any(ContractStatus.class));
+                verify(contractsRepository).findListRows(21L, null, ContractStatus.ACTIVE);
             } finally {
                 TenantContext.clear();
             }
@@ -2108,13 +2180,13 @@ class ContractServiceTest {
 
             TenantContext.set(24L);
             try {
-                when(contractsRepository.findByOrgAndTerm(eq(24L), eq("test"), any(Pageable.class))).thenReturn(page);
+                when(contractTextSearch.search(eq(24L), isNull(), isNull(), eq("test"), any(Pageable.class))).thenReturn(page);
                 when(contractMapper.toDTO(contract)).thenReturn(dto);
 
                 Page<ContractDTO> result = contractService.searchPaged("test", null, 0, 10);
 
                 assertEquals(1, result.getTotalElements());
-                verify(contractsRepository).findByOrgAndTerm(eq(24L), eq("test"), any(Pageable.class));
+                verify(contractTextSearch).search(eq(24L), isNull(), isNull(), eq("test"), any(Pageable.class));
             } finally {
                 TenantContext.clear();
             }
@@ -2138,17 +2210,118 @@ class ContractServiceTest {
 
             TenantContext.set(25L);
             try {
-                when(contractsRepository.findByOrgAndStatusAndTerm(eq(25L), eq(ContractStatus.ACTIVE), eq("test"), any(Pageable.class)))
+                when(contractTextSearch.search(eq(25L), isNull(), eq(ContractStatus.ACTIVE), eq("test"), any(Pageable.class)))
                         .thenReturn(page);
                 when(contractMapper.toDTO(contract)).thenReturn(dto);
 
                 Page<ContractDTO> result = contractService.searchPaged("test", ContractStatus.ACTIVE, 0, 10);
 
                 assertEquals(1, result.getTotalElements());
-                verify(contractsRepository).findByOrgAndStatusAndTerm(eq(25L), eq(ContractStatus.ACTIVE), eq("test"), any(Pageable.class));
+                verify(contractTextSearch).search(eq(25L), isNull(), eq(ContractStatus.ACTIVE), eq("test"), any(Pageable.class));
+            } finally {
+                TenantContext.clear();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Unit Test: cursor search")
+    class SearchCursor {
+
+        private Contracts contract(long id, String number) {
+            return Contracts.builder().id(id).contractNumber(number).build();
+        }
+
+        private Users admin() {
+            return Users.builder().username("admin").role(Roles.builder().role("ADMIN").build()).build();
+        }
+
+        @Test
+        @DisplayName("Fetches one extra row to detect the next page and never counts unless asked")
+        void shouldReturnNextCursorWithoutCounting() {
+            mockAuthentication("admin", "ADMIN");
+            when(usersRepository.findByUsername("admin")).thenReturn(Optional.of(admin()));
+            TenantContext.set(7L);
+            try {
+                when(contractTextSearch.searchAfter(7L, null, null, null, null, null, 3))
+                        .thenReturn(List.of(contract(1L, "A"), contract(2L, "B"), contract(3L, "C")));
+
+                CursorPage<ContractDTO> page = contractService.searchCursor(null, null, null, 2, false);
+
+                assertEquals(2, page.content().size());
+                assertEquals(new ContractSearchCursor("B", 2L), ContractSearchCursor.decode(page.nextCursor()));
+                assertNull(page.totalElements());
+                verify(contractTextSearch, never()).count(any(), any(), any(), any());
             } finally {
                 TenantContext.clear();
             }
         }
+
+        @Test
+        @DisplayName("Seeks after the decoded cursor and reports the total when requested")
+        void shouldSeekAfterCursor() {
+            mockAuthentication("admin", "ADMIN");
+            when(usersRepository.findByUsername("admin")).thenReturn(Optional.of(admin()));
+            String cursor = new ContractSearchCursor("B", 2L).encode();
+            when(contractTextSearch.searchAfter(null, null, ContractStatus.ACTIVE, "c", "B", 2L, 3))
+                    .thenReturn(List.of(contract(3L, "C")));
+            when(contractTextSearch.count(null, null, ContractStatus.ACTIVE, "c")).thenReturn(3L);
+
+            CursorPage<ContractDTO> page = contractService.searchCursor(" c ", ContractStatus.ACTIVE, cursor, 2, true);
+
+            assertEquals(1, page.content().size());
+            assertNull(page.nextCursor());
+            assertEquals(3L, page.totalElements());
+        }
+
+        @Test
+        @DisplayName("A MANAGER is scoped to their manager id")
+        void shouldScopeManagerToManagerId() {
+            mockAuthentication("manager1", "MANAGER");
+            Users manager = Users.builder().username("manager1")
+                    .role(Roles.builder().role("MANAGER").build())
+                    .manager(Managers.builder().id(5L).build()).build();
+            when(usersRepository.findByUsername("manager1")).thenReturn(Optional.of(manager));
+            when(contractTextSearch.searchAfter(null, 5L, null, null, null, null, 11))
+                    .thenReturn(List.of());
+
+            CursorPage<ContractDTO> page = contractService.searchCursor(null, null, null, 10, false);
+
+            assertTrue(page.content().isEmpty());
+        }
+
+        @Test
+        @DisplayName("A MANAGER without a linked manager gets an empty page without querying")
+        void shouldReturnEmptyForManagerWithoutManagerId() {
+            mockAuthentication("manager1", "MANAGER");
+            Users manager = Users.builder().username("manager1").role(Roles.builder().role("MANAGER").build()).build();
+            when(usersRepository.findByUsername("manager1")).thenReturn(Optional.of(manager));
+
+            CursorPage<ContractDTO> page = contractService.searchCursor(null, null, null, 10, true);
+
+            assertTrue(page.content().isEmpty());
+            assertEquals(0L, page.totalElements());
+            verify(contractTextSearch, never()).searchAfter(any(), any(), any(), any(), any(), any(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Page size is clamped to the allowed range")
+        void shouldClampPageSize() {
+            mockAuthentication("admin", "ADMIN");
+            when(usersRepository.findByUsername("admin")).thenReturn(Optional.of(admin()));
+            when(contractTextSearch.searchAfter(null, null, null, null, null, null, 101))
+                    .thenReturn(List.of());
+
+            contractService.searchCursor(null, null, null, 10_000, false);
+
+            verify(contractTextSearch).searchAfter(null, null, null, null, null, null, 101);
+        }
+
+        @Test
+        @DisplayName("A malformed cursor is rejected")
+        void shouldRejectMalformedCursor() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> contractService.searchCursor(null, null, "%%%", 10, false));
+        }
     }
 }
@@ -0,0 +1,148 @@
+package com.donatodev.bcm_backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.donatodev.bcm_backend.config.TenantContext;
+import com.donatodev.bcm_backend.dto.ContractDTO;
+import com.donatodev.bcm_backend.dto.ContractStatsResponse;
+import com.donatodev.bcm_backend.entity.BusinessAreas;
+import com.donatodev.bcm_backend.entity.ContractStatus;
+import com.donatodev.bcm_backend.entity.Contracts;
+import com.donatodev.bcm_backend.entity.Organization;
+import com.donatodev.bcm_backend.repository.BusinessAreasRepository;
+import com.donatodev.bcm_backend.repository.ContractStatsCounterRepository;
+import com.donatodev.bcm_backend.repository.ContractsRepository;
+import com.donatodev.bcm_backend.repository.OrganizationRepository;
+import com.donatodev.bcm_backend.util.TestDataCleaner;
+
+/**
+ * Materialized dashboard counters against the real (H2) schema: seeding, incremental
+ * deltas from the contract write paths, and reconciliation. Counters are off in the
+ * shared test properties, so this class enables them.
+ */
+@SpringBootTest(properties = "contract-stats.counters.enabled=true")
+@ActiveProfiles("test")
+@DisplayName("Contract stats counters")
+class ContractStatsServiceTest {
+
+    @Autowired private ContractStatsService contractStatsService;
+    @Autowired private ContractService contractService;
+    @Autowired private ContractsRepository contractsRepository;
+    @Autowired private ContractStatsCounterRepository counterRepository;
+    @Autowired private OrganizationRepository organizationRepository;
+    @Autowired private BusinessAreasRepository businessAreasRepository;
+    @Autowired private TestDataCleaner testDataCleaner;
+
+    @MockitoBean
+    private ExportService exportService;
+
+    @MockitoBean
+    private ContractSchedulerService contractSchedulerService;
+
+    private Organization org;
+    private BusinessAreas area;
+
+    @BeforeEach
+    void setUp() {
+        testDataCleaner.clean();
+        String slug = "stats-" + UUID.randomUUID();
+        org = organizationRepository.save(Organization.builder().name(slug).slug(slug).build());
+        area = businessAreasRepository.save(BusinessAreas.builder().name("Stats Area").organization(org).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    private Contracts contract(String number, ContractStatus status, LocalDate endDate) {
+        return contractsRepository.save(Contracts.builder()
+                .customerName("Stats Client").contractNumber(number).businessArea(area).organization(org)
+                .startDate(LocalDate.now().minusMonths(1)).endDate(endDate).status(status).build());
+    }
+
+    private static void assertStats(ContractStatsResponse stats, int total, int active, int expiring, int expired,
+                                    int draft) {
+        assertEquals(total, stats.getTotal(), "total");
+        assertEquals(active, stats.getActive(), "active");
+        assertEquals(expiring, stats.getExpiring(), "expiring");
+        assertEquals(expired, stats.getExpired(), "expired");
+        assertEquals(draft, stats.getDraft(), "draft");
+    }
+
+    @Test
+    @DisplayName("The first read seeds the counters; later reads come from the counter row")
+    void shouldSeedThenReadCounterRow() {
+        contract("S-1", ContractStatus.ACTIVE, LocalDate.now().plusDays(10));
+        contract("S-2", ContractStatus.ACTIVE, LocalDate.now().plusDays(90));
+        contract("S-3", ContractStatus.EXPIRED, LocalDate.now().minusDays(1));
+        contract("S-4", ContractStatus.DRAFT, LocalDate.now().plusDays(5));
+
+        assertStats(contractStatsService.statsFor(org.getId()), 4, 2, 1, 1, 1);
+        assertTrue(counterRepository.existsById(org.getId()));
+
+        // A write that bypasses the services is invisible to the counters (but
+        // not to the live "expiring" count) until the nightly reconciliation.
+        contract("S-5", ContractStatus.ACTIVE, LocalDate.now().plusDays(3));
+        assertStats(contractStatsService.statsFor(org.getId()), 4, 2, 2, 1, 1);
+
+        contractStatsService.reconcileAll();
+        assertStats(contractStatsService.statsFor(org.getId()), 5, 3, 2, 1, 1);
+    }
+
+    @Test
+    @DisplayName("Transitions adjust the counters incrementally")
+    void shouldApplyTransitions() {
+        contract("T-1", ContractStatus.ACTIVE, LocalDate.now().plusDays(60));
+        contractStatsService.statsFor(org.getId());
+
+        contract("T-2", ContractStatus.DRAFT, LocalDate.now().plusDays(60));
+        contractStatsService.recordTransition(org.getId(), null, ContractStatus.DRAFT);
+        contractStatsService.recordTransition(org.getId(), ContractStatus.DRAFT, ContractStatus.ACTIVE);
+        contractStatsService.recordTransitions(org.getId(), ContractStatus.ACTIVE, ContractStatus.EXPIRED, 2);
+        contractStatsService.recordTransition(org.getId(), ContractStatus.EXPIRED, null);
+
+        assertStats(contractStatsService.statsFor(org.getId()), 1, 0, 0, 1, 0);
+    }
+
+    @Test
+    @DisplayName("A write before any read seeds from the recount without counting itself twice")
+    void shouldSeedOnFirstWrite() {
+        contract("W-1", ContractStatus.ACTIVE, LocalDate.now().plusDays(60));
+
+        contractStatsService.recordTransition(org.getId(), null, ContractStatus.ACTIVE);
+
+        assertStats(contractStatsService.statsFor(org.getId()), 1, 1, 0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("Creating and deleting contracts through ContractService keeps counters in step")
+    void shouldTrackContractServiceWrites() {
+        TenantContext.set(org.getId());
+        contractStatsService.statsFor(org.getId());
+
+        ContractDTO created = contractService.createContract(new ContractDTO(null, "Svc Client", "SVC-1", null, null,
+                ContractStatus.ACTIVE, LocalDate.now(), LocalDate.now().plusDays(7), area.getId(), null,
+                null, null, null, null, null));
+        contractService.createContract(new ContractDTO(null, "Svc Client", "SVC-2", null, null,
+                ContractStatus.DRAFT, LocalDate.now(), LocalDate.now().plusDays(90), area.getId(), null,
+                null, null, null, null, null));
+        assertStats(contractService.getContractStats(), 2, 1, 1, 0, 1);
+
+        contractService.deleteContract(created.id());
+        assertStats(contractService.getContractStats(), 1, 0, 0, 0, 1);
+    }
+}
@@ -0,0 +1,131 @@
+package com.donatodev.bcm_backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import com.donatodev.bcm_backend.entity.ContractStatus;
+import com.donatodev.bcm_backend.entity.Contracts;
+import com.donatodev.bcm_backend.repository.ContractsRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ContractTextSearchTest {
+
+    private static final Pageable SORTED = PageRequest.of(1, 3, Sort.by("contractNumber"));
+    private static final Pageable UNSORTED = PageRequest.of(1, 3);
+
+    @Mock
+    private ContractsRepository contractsRepository;
+
+    private ContractTextSearch fullText() {
+        return new ContractTextSearch(contractsRepository, true, 2);
+    }
+
+    private static Contracts contract(long id) {
+        return Contracts.builder().id(id).contractNumber("C-" + id).build();
+    }
+
+    @Test
+    @DisplayName("Full-text hits keep the index's relevance order and total")
+    void shouldKeepRelevanceOrder() {
+        when(contractsRepository.findIdsByFullText(7L, null, "ACTIVE", "+\"acme\" +\"2024\"", UNSORTED))
+                .thenReturn(new PageImpl<>(List.of(3L, 1L, 2L), UNSORTED, 10));
+        when(contractsRepository.findByIdIn(List.of(3L, 1L, 2L)))
+                .thenReturn(List.of(contract(1L), contract(2L), contract(3L)));
+
+        Page<Contracts> page = fullText().search(7L, null, ContractStatus.ACTIVE, "acme  2024", SORTED);
+
+        assertEquals(List.of(3L, 1L, 2L), page.getContent().stream().map(Contracts::getId).toList());
+        assertEquals(10, page.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("An empty full-text page skips the entity load")
+    void shouldSkipLoadWhenNoHits() {
+        when(contractsRepository.findIdsByFullText(null, 5L, null, "+\"zz\"", UNSORTED))
+                .thenReturn(new PageImpl<>(List.of(), UNSORTED, 0));
+
+        Page<Contracts> page = fullText().search(null, 5L, null, "zz", SORTED);
+
+        assertEquals(0, page.getTotalElements());
+        verify(contractsRepository, never()).findByIdIn(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Words shorter than the n-gram size use the ranked substring scan")
+    void shouldFallBackForShortWords() {
+        when(contractsRepository.searchRanked(null, null, null, "acme x", UNSORTED)).thenReturn(Page.empty());
+
+        fullText().search(null, null, null, "acme x", SORTED);
+
+        verify(contractsRepository, never()).findIdsByFullText(any(), any(), any(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("With full-text disabled every term uses the ranked substring scan")
+    void shouldUseSubstringScanWhenDisabled() {
+        ContractTextSearch search = new ContractTextSearch(contractsRepository, false, 2);
+        when(contractsRepository.searchRanked(1L, null, ContractStatus.ACTIVE, "acme", UNSORTED))
+                .thenReturn(Page.empty());
+
+        search.search(1L, null, ContractStatus.ACTIVE, "acme", SORTED);
+
+        verify(contractsRepository, never()).findIdsByFullText(any(), any(), any(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Cursor pages of full-text hits are loaded in (contract number, id) order")
+    void shouldSeekThroughFullTextHits() {
+        when(contractsRepository.findIdsByFullTextAfter(7L, null, null, "+\"acme\"", "C-1", 1L, 3))
+                .thenReturn(List.of(3L, 2L));
+        when(contractsRepository.findByIdIn(List.of(3L, 2L))).thenReturn(List.of(contract(3L), contract(2L)));
+        when(contractsRepository.countByFullText(7L, null, null, "+\"acme\"")).thenReturn(2L);
+
+        List<Contracts> page = fullText().searchAfter(7L, null, null, "acme", "C-1", 1L, 3);
+
+        assertEquals(List.of(2L, 3L), page.stream().map(Contracts::getId).toList());
+        assertEquals(2L, fullText().count(7L, null, null, "acme"));
+        verify(contractsRepository, never()).findSearchPageAfter(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Cursor pages without a term, or with a short one, use the keyset scan")
+    void shouldSeekWithoutFullText() {
+        when(contractsRepository.findSearchPageAfter(null, 5L, null, null, null, null, Limit.of(11)))
+                .thenReturn(List.of());
+        when(contractsRepository.countSearch(null, 5L, null, "x")).thenReturn(0L);
+
+        fullText().searchAfter(null, 5L, null, null, null, null, 11);
+        fullText().count(null, 5L, null, "x");
+
+        verify(contractsRepository, never()).findIdsByFullTextAfter(any(), any(), any(), anyString(), any(), any(),
+                anyInt());
+    }
+
+    @Test
+    @DisplayName("Quotes in the term cannot break out of the boolean-mode phrase")
+    void shouldStripQuotes() {
+        assertEquals("+\"ab\" +\"cd*\"", fullText().toBooleanQuery("ab\"  cd*"));
+        assertNull(fullText().toBooleanQuery("\"\""));
+    }
+}
@@ -40,6 +40,8 @@ class ContractWorkflowServiceTest {
     @Mock private ContractWorkflowEventRepository eventRepository;
     @Mock private ContractsRepository contractsRepository;
     @Mock private AgentNotificationService agentNotificationService;
+    @Mock private ContractStatsService contractStatsService;
+    @Mock private ContractChangeLog changeLog;
 
     @InjectMocks
     private ContractWorkflowService workflowService;
@@ -114,6 +116,7 @@ class ContractWorkflowServiceTest {
             assertEquals(WorkflowStage.APPROVED, contract.getWorkflowStage());
             assertEquals(ContractStatus.ACTIVE, contract.getStatus());
             verify(agentNotificationService).notifyWorkflowApproved(contract);
+            verify(contractStatsService).recordTransition(null, ContractStatus.DRAFT, ContractStatus.ACTIVE);
         }
 
         @Test
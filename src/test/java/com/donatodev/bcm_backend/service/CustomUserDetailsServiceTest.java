@@ -1,5 +1,6 @@
 package com.donatodev.bcm_backend.service;
 
+import java.time.Duration;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -14,6 +15,9 @@ import org.junit.jupiter.api.TestMethodOrder;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -24,6 +28,8 @@ import com.donatodev.bcm_backend.entity.Roles;
 import com.donatodev.bcm_backend.entity.Users;
 import com.donatodev.bcm_backend.repository.UsersRepository;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 /**
  * Unit tests for {@link CustomUserDetailsService}.
  * <p>
@@ -38,6 +44,10 @@ class CustomUserDetailsServiceTest {
     @Mock
     private UsersRepository usersRepository;
 
+    @Spy
+    private PrincipalCache principalCache =
+            new PrincipalCache(new SimpleMeterRegistry(), true, 100, Duration.ofMinutes(5));
+
     @InjectMocks
     private CustomUserDetailsService userDetailsService;
 
@@ -118,4 +128,30 @@ class CustomUserDetailsServiceTest {
                 () -> userDetailsService.loadUserByUsername("ghost", 1L));
         assertEquals("Utente non trovato: ghost", ex.getMessage());
     }
-}
\ No newline at end of file
+
+    /**
+     * Repeated lookups for the same (organization, username) are served from
+     * the principal cache until the entry is evicted.
+     */
+    @Test
+    @Order(5)
+    @DisplayName("Repeated lookups hit the principal cache until evicted")
+    void shouldServeRepeatedLookupsFromCache() {
+        Users user = Users.builder()
+                .username("cached")
+                .passwordHash("password123")
+                .role(Roles.builder().role("MANAGER").build())
+                .build();
+
+        when(usersRepository.findByUsernameAndOrganizationId("cached", 2L)).thenReturn(Optional.of(user));
+
+        userDetailsService.loadUserByUsername("cached", 2L);
+        UserDetails second = userDetailsService.loadUserByUsername("cached", 2L);
+        verify(usersRepository, times(1)).findByUsernameAndOrganizationId("cached", 2L);
+        assertEquals("password123", second.getPassword());
+
+        principalCache.evict(2L, "cached");
+        userDetailsService.loadUserByUsername("cached", 2L);
+        verify(usersRepository, times(2)).findByUsernameAndOrganizationId("cached", 2L);
+    }
+}
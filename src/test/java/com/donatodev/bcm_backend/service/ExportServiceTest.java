@@ -1,6 +1,7 @@
 package com.donatodev.bcm_backend.service;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.time.LocalDate;
 import java.time.Month;
@@ -46,6 +47,13 @@ class ExportServiceTest {
         testContracts = createTestContracts();
     }
 
+    /** Runs the streaming Excel export over {@code contracts} and returns the file. */
+    private byte[] exportToExcel(List<ContractDTO> contracts) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportContractsToExcel(contracts::forEach, out);
+        return out.toByteArray();
+    }
+
     /**
      * Creates sample contracts for testing.
      */
@@ -160,7 +168,7 @@ class ExportServiceTest {
         @DisplayName("Should export contracts to Excel successfully")
         void testExportContractsToExcel_Success() throws IOException {
             // Act
-            byte[] excelData = exportService.exportContractsToExcel(testContracts);
+            byte[] excelData = exportToExcel(testContracts);
 
             // Assert
             assertNotNull(excelData, "Excel data should not be null");
@@ -201,7 +209,7 @@ class ExportServiceTest {
             List<ContractDTO> emptyList = new ArrayList<>();
 
             // Act
-            byte[] excelData = exportService.exportContractsToExcel(emptyList);
+            byte[] excelData = exportToExcel(emptyList);
 
             // Assert
             assertNotNull(excelData);
@@ -224,7 +232,7 @@ class ExportServiceTest {
             contractsWithNulls.add(createContractWithNulls());
 
             // Act
-            byte[] excelData = exportService.exportContractsToExcel(contractsWithNulls);
+            byte[] excelData = exportToExcel(contractsWithNulls);
 
             // Assert
             assertNotNull(excelData);
@@ -249,7 +257,7 @@ class ExportServiceTest {
             contractsWithNullEndDate.add(createContractWithNullEndDate());
 
             // Act
-            byte[] excelData = exportService.exportContractsToExcel(contractsWithNullEndDate);
+            byte[] excelData = exportToExcel(contractsWithNullEndDate);
 
             // Assert
             assertNotNull(excelData);
@@ -267,9 +275,9 @@ class ExportServiceTest {
         @Order(5)
         @DisplayName("Should export large list of contracts to Excel")
         void testExportContractsToExcel_LargeList() throws IOException {
-            // Arrange - Create 100 contracts
+            // Arrange - Create 250 contracts, more than the rows kept in memory
             List<ContractDTO> largeList = new ArrayList<>();
-            for (int i = 1; i <= 100; i++) {
+            for (int i = 1; i <= 250; i++) {
                 ManagerDTO manager = new ManagerDTO(
                         (long) i, "Manager" + i, "Test" + i,
                         "manager" + i + "@test.com", "+39123" + i, "Dept" + i
@@ -295,7 +303,7 @@ class ExportServiceTest {
             }
 
             // Act
-            byte[] excelData = exportService.exportContractsToExcel(largeList);
+            byte[] excelData = exportToExcel(largeList);
 
             // Assert
             assertNotNull(excelData);
@@ -304,8 +312,36 @@ class ExportServiceTest {
             try (ByteArrayInputStream bis = new ByteArrayInputStream(excelData); Workbook workbook = new XSSFWorkbook(bis)) {
 
                 Sheet sheet = workbook.getSheetAt(0);
-                // 100 contracts + 1 header row
-                assertThat(sheet.getPhysicalNumberOfRows()).isEqualTo(101);
+                // 250 contracts + 1 header row, in order across flushed rows
+                assertThat(sheet.getPhysicalNumberOfRows()).isEqualTo(251);
+                assertThat(sheet.getRow(1).getCell(0).getStringCellValue()).isEqualTo("CNT-2025-001");
+                assertThat(sheet.getRow(250).getCell(0).getStringCellValue()).isEqualTo("CNT-2025-250");
+            }
+        }
+
+        @Test
+        @Order(6)
+        @DisplayName("Should estimate column widths from the longest value, capped")
+        void testExportContractsToExcel_EstimatedColumnWidths() throws IOException {
+            // Arrange
+            List<ContractDTO> contracts = new ArrayList<>(testContracts);
+            contracts.add(new ContractDTO(
+                    3L, "C".repeat(200), "CNT-2025-003", "WBS-003", "P",
+                    ContractStatus.ACTIVE, LocalDate.of(2025, Month.JANUARY, 1), null,
+                    null, null, null, null, null, null
+            ));
+
+            // Act
+            byte[] excelData = exportToExcel(contracts);
+
+            // Assert
+            try (ByteArrayInputStream bis = new ByteArrayInputStream(excelData); Workbook workbook = new XSSFWorkbook(bis)) {
+
+                Sheet sheet = workbook.getSheetAt(0);
+                // "Contract Number" (15 chars) is longer than any contract number
+                assertThat(sheet.getColumnWidth(0)).isEqualTo((15 + 2) * 256);
+                // A 200-char customer name is capped
+                assertThat(sheet.getColumnWidth(1)).isEqualTo(60 * 256);
             }
         }
     }
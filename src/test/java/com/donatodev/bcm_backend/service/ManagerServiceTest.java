@@ -62,6 +62,12 @@ class ManagerServiceTest {
     @Mock
     private ManagerMapper managerMapper;
 
+    @Mock
+    private ContractAnalyticsCache analyticsCache;
+
+    @Mock
+    private ContractChangeLog changeLog;
+
     @InjectMocks
     private ManagerService managerService;
 
@@ -166,6 +172,8 @@ class ManagerServiceTest {
 
             assertEquals("Neri", result.lastName());
             assertEquals("Marketing", result.department());
+            verify(analyticsCache).invalidate(null);
+            verify(changeLog).recordListingChange(null);
         }
 
         /**
@@ -28,6 +28,7 @@ import org.springframework.test.context.ActiveProfiles;
 
 import ch.qos.logback.classic.Level;
 
+import com.donatodev.bcm_backend.dto.ContractStatsResponse;
 import com.donatodev.bcm_backend.entity.Managers;
 import com.donatodev.bcm_backend.entity.Organization;
 import com.donatodev.bcm_backend.entity.Roles;
@@ -47,6 +48,7 @@ class MonthlyReporterTest {
     @Mock private FinancialValuesRepository financialValuesRepository;
     @Mock private UsersRepository usersRepository;
     @Mock private IEmailService emailService;
+    @Mock private ContractStatsService contractStatsService;
 
     @InjectMocks private MonthlyReporter monthlyReporter;
 
@@ -71,9 +73,7 @@ class MonthlyReporterTest {
                     .manager(manager).organization(org).build();
 
             when(organizationRepository.findAll()).thenReturn(List.of(org));
-            when(contractsRepository.countAllContractsByOrg(1L)).thenReturn(10);
-            when(contractsRepository.countActiveContractsByOrg(1L)).thenReturn(7);
-            when(contractsRepository.countExpiredContractsByOrg(1L)).thenReturn(2);
+            when(contractStatsService.statsFor(1L)).thenReturn(new ContractStatsResponse(10, 7, 0, 2, 0));
             when(contractsRepository.countNewContractsByOrgAndYearMonth(eq(1L), any(Integer.class), any(Integer.class))).thenReturn(3L);
             when(financialValuesRepository.sumFinancialAmountByOrgAndYearMonth(eq(1L), any(Integer.class), any(Integer.class))).thenReturn(50000.0);
             when(usersRepository.findByOrganizationIdAndRoleRole(1L, "ADMIN")).thenReturn(List.of(admin));
@@ -91,9 +91,7 @@ class MonthlyReporterTest {
                     .subscriptionTier(SubscriptionTier.FREE).build();
 
             when(organizationRepository.findAll()).thenReturn(List.of(org));
-            when(contractsRepository.countAllContractsByOrg(1L)).thenReturn(5);
-            when(contractsRepository.countActiveContractsByOrg(1L)).thenReturn(3);
-            when(contractsRepository.countExpiredContractsByOrg(1L)).thenReturn(1);
+            when(contractStatsService.statsFor(1L)).thenReturn(new ContractStatsResponse(5, 3, 0, 1, 0));
             when(contractsRepository.countNewContractsByOrgAndYearMonth(eq(1L), any(Integer.class), any(Integer.class))).thenReturn(1L);
             when(financialValuesRepository.sumFinancialAmountByOrgAndYearMonth(eq(1L), any(Integer.class), any(Integer.class))).thenReturn(0.0);
             when(usersRepository.findByOrganizationIdAndRoleRole(1L, "ADMIN")).thenReturn(Collections.emptyList());
@@ -120,10 +118,8 @@ class MonthlyReporterTest {
                     .manager(manager2).organization(org2).build();
 
             when(organizationRepository.findAll()).thenReturn(List.of(org1, org2));
-            when(contractsRepository.countAllContractsByOrg(1L)).thenThrow(new RuntimeException("DB error"));
-            when(contractsRepository.countAllContractsByOrg(2L)).thenReturn(3);
-            when(contractsRepository.countActiveContractsByOrg(2L)).thenReturn(2);
-            when(contractsRepository.countExpiredContractsByOrg(2L)).thenReturn(1);
+            when(contractStatsService.statsFor(1L)).thenThrow(new RuntimeException("DB error"));
+            when(contractStatsService.statsFor(2L)).thenReturn(new ContractStatsResponse(3, 2, 0, 1, 0));
             when(contractsRepository.countNewContractsByOrgAndYearMonth(eq(2L), any(Integer.class), any(Integer.class))).thenReturn(1L);
             when(financialValuesRepository.sumFinancialAmountByOrgAndYearMonth(eq(2L), any(Integer.class), any(Integer.class))).thenReturn(1000.0);
             when(usersRepository.findByOrganizationIdAndRoleRole(2L, "ADMIN")).thenReturn(List.of(admin2));
@@ -145,9 +141,7 @@ class MonthlyReporterTest {
                     .manager(null).organization(org).build();
 
             when(organizationRepository.findAll()).thenReturn(List.of(org));
-            when(contractsRepository.countAllContractsByOrg(1L)).thenReturn(5);
-            when(contractsRepository.countActiveContractsByOrg(1L)).thenReturn(3);
-            when(contractsRepository.countExpiredContractsByOrg(1L)).thenReturn(1);
+            when(contractStatsService.statsFor(1L)).thenReturn(new ContractStatsResponse(5, 3, 0, 1, 0));
             when(contractsRepository.countNewContractsByOrgAndYearMonth(eq(1L), any(Integer.class), any(Integer.class))).thenReturn(1L);
             when(financialValuesRepository.sumFinancialAmountByOrgAndYearMonth(eq(1L), any(Integer.class), any(Integer.class))).thenReturn(0.0);
             when(usersRepository.findByOrganizationIdAndRoleRole(1L, "ADMIN")).thenReturn(List.of(adminNoEmail));
@@ -177,9 +171,7 @@ class MonthlyReporterTest {
                     .role(Roles.builder().role("ADMIN").build()).build();
 
             when(organizationRepository.findAll()).thenReturn(List.of(org));
-            when(contractsRepository.countAllContractsByOrg(1L)).thenReturn(5);
-            when(contractsRepository.countActiveContractsByOrg(1L)).thenReturn(3);
-            when(contractsRepository.countExpiredContractsByOrg(1L)).thenReturn(1);
+            when(contractStatsService.statsFor(1L)).thenReturn(new ContractStatsResponse(5, 3, 0, 1, 0));
             when(contractsRepository.countNewContractsByOrgAndYearMonth(eq(1L), any(Integer.class), any(Integer.class))).thenReturn(2L);
             when(financialValuesRepository.sumFinancialAmountByOrgAndYearMonth(eq(1L), any(Integer.class), any(Integer.class))).thenReturn(20000.0);
             when(usersRepository.findByOrganizationIdAndRoleRole(1L, "ADMIN")).thenReturn(List.of(admin1, admin2));
@@ -218,9 +210,7 @@ class MonthlyReporterTest {
                     .manager(managerNoEmail).organization(org).build();
 
             when(organizationRepository.findAll()).thenReturn(List.of(org));
-            when(contractsRepository.countAllContractsByOrg(1L)).thenReturn(5);
-            when(contractsRepository.countActiveContractsByOrg(1L)).thenReturn(3);
-            when(contractsRepository.countExpiredContractsByOrg(1L)).thenReturn(1);
+            when(contractStatsService.statsFor(1L)).thenReturn(new ContractStatsResponse(5, 3, 0, 1, 0));
             when(contractsRepository.countNewContractsByOrgAndYearMonth(eq(1L), any(Integer.class), any(Integer.class))).thenReturn(1L);
             when(financialValuesRepository.sumFinancialAmountByOrgAndYearMonth(eq(1L), any(Integer.class), any(Integer.class))).thenReturn(0.0);
             when(usersRepository.findByOrganizationIdAndRoleRole(1L, "ADMIN")).thenReturn(List.of(admin));
@@ -245,9 +235,7 @@ class MonthlyReporterTest {
                     .manager(manager).organization(org).build();
 
             when(organizationRepository.findAll()).thenReturn(List.of(org));
-            when(contractsRepository.countAllContractsByOrg(1L)).thenReturn(10);
-            when(contractsRepository.countActiveContractsByOrg(1L)).thenReturn(7);
-            when(contractsRepository.countExpiredContractsByOrg(1L)).thenReturn(2);
+            when(contractStatsService.statsFor(1L)).thenReturn(new ContractStatsResponse(10, 7, 0, 2, 0));
             when(contractsRepository.countNewContractsByOrgAndYearMonth(eq(1L), any(Integer.class), any(Integer.class))).thenReturn(3L);
             when(financialValuesRepository.sumFinancialAmountByOrgAndYearMonth(eq(1L), any(Integer.class), any(Integer.class))).thenReturn(50000.0);
             when(usersRepository.findByOrganizationIdAndRoleRole(1L, "ADMIN")).thenReturn(List.of(admin));
@@ -273,9 +261,7 @@ class MonthlyReporterTest {
                     .manager(manager).organization(org).build();
 
             when(organizationRepository.findAll()).thenReturn(List.of(org));
-            when(contractsRepository.countAllContractsByOrg(1L)).thenReturn(10);
-            when(contractsRepository.countActiveContractsByOrg(1L)).thenReturn(7);
-            when(contractsRepository.countExpiredContractsByOrg(1L)).thenReturn(2);
+            when(contractStatsService.statsFor(1L)).thenReturn(new ContractStatsResponse(10, 7, 0, 2, 0));
             when(contractsRepository.countNewContractsByOrgAndYearMonth(eq(1L), any(Integer.class), any(Integer.class))).thenReturn(3L);
             when(financialValuesRepository.sumFinancialAmountByOrgAndYearMonth(eq(1L), any(Integer.class), any(Integer.class))).thenReturn(50000.0);
             when(usersRepository.findByOrganizationIdAndRoleRole(1L, "ADMIN")).thenReturn(List.of(admin));
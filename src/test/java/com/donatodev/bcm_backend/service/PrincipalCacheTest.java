@@ -0,0 +1,84 @@
+package com.donatodev.bcm_backend.service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.donatodev.bcm_backend.entity.Organization;
+import com.donatodev.bcm_backend.entity.Users;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for {@link PrincipalCache}: keyed lookups, targeted eviction,
+ * the disabled mode used by the test profile, and Micrometer stats.
+ */
+class PrincipalCacheTest {
+
+    private static final PrincipalCache.CachedPrincipal PRINCIPAL =
+            new PrincipalCache.CachedPrincipal(1L, "mario", "hash", "MANAGER", 3L, 1L);
+
+    @Test
+    @DisplayName("Loader runs once per (organization, username) until the user is evicted")
+    void shouldCacheUntilEvicted() {
+        PrincipalCache cache = new PrincipalCache(new SimpleMeterRegistry(), true, 100, Duration.ofMinutes(5));
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(1L, "mario", () -> { loads.incrementAndGet(); return PRINCIPAL; });
+        cache.get(1L, "mario", () -> { loads.incrementAndGet(); return PRINCIPAL; });
+        cache.get(2L, "mario", () -> { loads.incrementAndGet(); return PRINCIPAL; });
+        assertEquals(2, loads.get());
+
+        Users user = Users.builder().username("mario")
+                .organization(Organization.builder().id(1L).build()).build();
+        cache.evict(user);
+
+        cache.get(1L, "mario", () -> { loads.incrementAndGet(); return PRINCIPAL; });
+        cache.get(2L, "mario", () -> { loads.incrementAndGet(); return PRINCIPAL; });
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    @DisplayName("evictAll drops every tenant's entries")
+    void shouldEvictAll() {
+        PrincipalCache cache = new PrincipalCache(new SimpleMeterRegistry(), true, 100, Duration.ofMinutes(5));
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(1L, "mario", () -> { loads.incrementAndGet(); return PRINCIPAL; });
+        cache.evictAll();
+        cache.get(1L, "mario", () -> { loads.incrementAndGet(); return PRINCIPAL; });
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Disabled cache always delegates to the loader")
+    void shouldBypassWhenDisabled() {
+        PrincipalCache cache = new PrincipalCache(new SimpleMeterRegistry(), false, 100, Duration.ofMinutes(5));
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(1L, "mario", () -> { loads.incrementAndGet(); return PRINCIPAL; });
+        cache.get(1L, "mario", () -> { loads.incrementAndGet(); return PRINCIPAL; });
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Hits and misses are published to the meter registry")
+    void shouldPublishHitMissMetrics() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PrincipalCache cache = new PrincipalCache(registry, true, 100, Duration.ofMinutes(5));
+
+        cache.get(1L, "mario", () -> PRINCIPAL);
+        cache.get(1L, "mario", () -> PRINCIPAL);
+        cache.get(1L, "mario", () -> PRINCIPAL);
+
+        assertEquals(1.0, registry.get("cache.gets")
+                .tags("cache", PrincipalCache.CACHE_NAME, "result", "miss").functionCounter().count());
+        assertEquals(2.0, registry.get("cache.gets")
+                .tags("cache", PrincipalCache.CACHE_NAME, "result", "hit").functionCounter().count());
+    }
+}
@@ -50,6 +50,9 @@ class RoleServiceTest {
     @Mock
     private RoleMapper roleMapper;
 
+    @Mock
+    private PrincipalCache principalCache;
+
     @InjectMocks
     private RoleService roleService;
 
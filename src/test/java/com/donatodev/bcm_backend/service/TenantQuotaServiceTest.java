@@ -0,0 +1,117 @@
+package com.donatodev.bcm_backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.donatodev.bcm_backend.entity.Organization;
+import com.donatodev.bcm_backend.entity.SubscriptionTier;
+import com.donatodev.bcm_backend.jwt.InMemoryRateLimitBucketSource;
+import com.donatodev.bcm_backend.repository.OrganizationRepository;
+import com.donatodev.bcm_backend.service.TenantQuotaService.QuotaClass;
+import com.donatodev.bcm_backend.service.TenantQuotaService.QuotaDecision;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TenantQuotaServiceTest {
+
+    private OrganizationRepository organizationRepository;
+    private SimpleMeterRegistry registry;
+    private TenantQuotaService service;
+
+    @BeforeEach
+    void setUp() {
+        organizationRepository = mock(OrganizationRepository.class);
+        registry = new SimpleMeterRegistry();
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("tenant-quota.limits.free.export", "2");
+        service = new TenantQuotaService(new InMemoryRateLimitBucketSource(), organizationRepository,
+                registry, environment, true, Duration.ofMinutes(1));
+    }
+
+    private void givenTier(Long orgId, SubscriptionTier tier) {
+        when(organizationRepository.findById(orgId))
+                .thenReturn(Optional.of(Organization.builder().id(orgId).subscriptionTier(tier).build()));
+    }
+
+    @Test
+    @DisplayName("Uses per-tier defaults and property overrides")
+    void shouldResolveLimits() {
+        assertEquals(2, service.limitFor(SubscriptionTier.FREE, QuotaClass.EXPORT));
+        assertEquals(30, service.limitFor(SubscriptionTier.PRO, QuotaClass.EXPORT));
+        assertEquals(6000, service.limitFor(SubscriptionTier.ENTERPRISE, QuotaClass.READ));
+    }
+
+    @Test
+    @DisplayName("Rejects once the organization's budget for a class is used up, without touching other classes")
+    void shouldEnforceBudgetPerClass() {
+        givenTier(1L, SubscriptionTier.FREE);
+
+        assertTrue(service.consume(1L, QuotaClass.EXPORT).probe().allowed());
+        QuotaDecision second = service.consume(1L, QuotaClass.EXPORT);
+        assertTrue(second.probe().allowed());
+        assertEquals(0, second.probe().remaining());
+        assertFalse(service.consume(1L, QuotaClass.EXPORT).probe().allowed());
+
+        assertTrue(service.consume(1L, QuotaClass.READ).probe().allowed());
+    }
+
+    @Test
+    @DisplayName("Budgets are separate per organization")
+    void shouldIsolateOrganizations() {
+        givenTier(1L, SubscriptionTier.FREE);
+        givenTier(2L, SubscriptionTier.FREE);
+
+        service.consume(1L, QuotaClass.EXPORT);
+        service.consume(1L, QuotaClass.EXPORT);
+
+        assertFalse(service.consume(1L, QuotaClass.EXPORT).probe().allowed());
+        assertTrue(service.consume(2L, QuotaClass.EXPORT).probe().allowed());
+    }
+
+    @Test
+    @DisplayName("Caches the organization's tier and records per-tenant outcome counters")
+    void shouldCacheTierAndRecordMetrics() {
+        givenTier(1L, SubscriptionTier.PRO);
+
+        QuotaDecision decision = service.consume(1L, QuotaClass.ML);
+        service.consume(1L, QuotaClass.ML);
+
+        assertEquals(60, decision.limit());
+        verify(organizationRepository, times(1)).findById(1L);
+        assertEquals(2.0, registry.get("bcm.tenant_quota.requests")
+                .tags("organization", "1", "class", "ml", "outcome", "allowed").counter().count());
+    }
+
+    @Test
+    @DisplayName("A tier change applies the new tier's limit once the cached tier expires")
+    void shouldApplyTierChange() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("tenant-quota.limits.free.export", "2");
+        TenantQuotaService uncachedService = new TenantQuotaService(new InMemoryRateLimitBucketSource(),
+                organizationRepository, registry, environment, true, Duration.ZERO);
+        givenTier(1L, SubscriptionTier.FREE);
+        uncachedService.consume(1L, QuotaClass.EXPORT);
+        uncachedService.consume(1L, QuotaClass.EXPORT);
+        assertFalse(uncachedService.consume(1L, QuotaClass.EXPORT).probe().allowed());
+
+        givenTier(1L, SubscriptionTier.PRO);
+        QuotaDecision upgraded = uncachedService.consume(1L, QuotaClass.EXPORT);
+
+        assertTrue(upgraded.probe().allowed());
+        assertEquals(30, upgraded.limit());
+        assertEquals(29, upgraded.probe().remaining());
+    }
+}
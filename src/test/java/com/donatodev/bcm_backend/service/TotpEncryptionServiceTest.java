@@ -2,31 +2,34 @@ package com.donatodev.bcm_backend.service;
 
 import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
+import java.util.List;
 
 import javax.crypto.Cipher;
+import javax.crypto.Mac;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.anyString;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
-import org.springframework.test.util.ReflectionTestUtils;
 
 class TotpEncryptionServiceTest {
 
     private static final String JWT_SECRET = Base64.getEncoder().encodeToString(
             "01234567890123456789012345678901".getBytes());
+    private static final String OTHER_SECRET = Base64.getEncoder().encodeToString(
+            "differentsecretdifferentsecret!!".getBytes());
 
     private TotpEncryptionService encryptionService;
 
     @BeforeEach
     void setup() {
-        encryptionService = new TotpEncryptionService();
-        ReflectionTestUtils.setField(encryptionService, "jwtSecret", JWT_SECRET);
+        encryptionService = new TotpEncryptionService(JWT_SECRET, 1, "");
     }
 
     @Test
@@ -50,9 +53,9 @@ class TotpEncryptionServiceTest {
     @DisplayName("decrypt fails on tampered ciphertext (GCM authentication)")
     void shouldRejectTamperedCiphertext() {
         String encrypted = encryptionService.encrypt("JBSWY3DPEHPK3PXP");
-        byte[] bytes = Base64.getDecoder().decode(encrypted);
+        byte[] bytes = Base64.getDecoder().decode(encrypted.substring("v1:".length()));
         bytes[bytes.length - 1] ^= 0x01; // flip a bit in the ciphertext
-        String tampered = Base64.getEncoder().encodeToString(bytes);
+        String tampered = "v1:" + Base64.getEncoder().encodeToString(bytes);
 
         assertThrows(IllegalStateException.class, () -> encryptionService.decrypt(tampered));
     }
@@ -62,13 +65,101 @@ class TotpEncryptionServiceTest {
     void shouldNotDecryptWithDifferentKey() {
         String encrypted = encryptionService.encrypt("JBSWY3DPEHPK3PXP");
 
-        TotpEncryptionService otherService = new TotpEncryptionService();
-        ReflectionTestUtils.setField(otherService, "jwtSecret",
-                Base64.getEncoder().encodeToString("differentsecretdifferentsecret!!".getBytes()));
+        TotpEncryptionService otherService = new TotpEncryptionService(OTHER_SECRET, 1, "");
 
         assertThrows(IllegalStateException.class, () -> otherService.decrypt(encrypted));
     }
 
+    @Test
+    @DisplayName("recovery code lookup key is deterministic, code-specific and key-dependent")
+    void shouldDeriveRecoveryCodeLookupKey() {
+        String key = encryptionService.recoveryCodeLookupKey("ABCD-EFGH");
+
+        assertEquals(64, key.length());
+        assertEquals(key, encryptionService.recoveryCodeLookupKey("ABCD-EFGH"));
+        assertNotEquals(key, encryptionService.recoveryCodeLookupKey("ABCD-EFGJ"));
+
+        TotpEncryptionService otherService = new TotpEncryptionService(OTHER_SECRET, 1, "");
+        assertNotEquals(key, otherService.recoveryCodeLookupKey("ABCD-EFGH"));
+    }
+
+    @Test
+    @DisplayName("ciphertext carries the key version")
+    void shouldPrefixKeyVersion() {
+        assertTrue(encryptionService.encrypt("JBSWY3DPEHPK3PXP").startsWith("v1:"));
+        assertTrue(new TotpEncryptionService(OTHER_SECRET, 2, "1:" + JWT_SECRET)
+                .encrypt("JBSWY3DPEHPK3PXP").startsWith("v2:"));
+    }
+
+    @Test
+    @DisplayName("unversioned ciphertext from before key versioning still decrypts as version 1")
+    void shouldDecryptLegacyCiphertext() {
+        String legacy = encryptionService.encrypt("JBSWY3DPEHPK3PXP").substring("v1:".length());
+
+        assertEquals("JBSWY3DPEHPK3PXP", encryptionService.decrypt(legacy));
+    }
+
+    @Test
+    @DisplayName("after rotating the secret, data encrypted with the previous one still decrypts")
+    void shouldDecryptWithPreviousKeyAfterRotation() {
+        String beforeRotation = encryptionService.encrypt("JBSWY3DPEHPK3PXP");
+        String legacy = beforeRotation.substring("v1:".length());
+
+        TotpEncryptionService rotated = new TotpEncryptionService(OTHER_SECRET, 2, "1:" + JWT_SECRET);
+
+        assertEquals("JBSWY3DPEHPK3PXP", rotated.decrypt(beforeRotation));
+        assertEquals("JBSWY3DPEHPK3PXP", rotated.decrypt(legacy));
+        assertEquals("JBSWY3DPEHPK3PXP", rotated.decrypt(rotated.encrypt("JBSWY3DPEHPK3PXP")));
+    }
+
+    @Test
+    @DisplayName("decrypt fails on an unknown key version")
+    void shouldRejectUnknownKeyVersion() {
+        String encrypted = encryptionService.encrypt("JBSWY3DPEHPK3PXP").replaceFirst("^v1:", "v7:");
+
+        assertThrows(IllegalStateException.class, () -> encryptionService.decrypt(encrypted));
+    }
+
+    @Test
+    @DisplayName("recovery code lookup keys cover previous key versions, current first")
+    void shouldDeriveLookupKeysForEveryVersion() {
+        String beforeRotation = encryptionService.recoveryCodeLookupKey("ABCD-EFGH");
+
+        TotpEncryptionService rotated = new TotpEncryptionService(OTHER_SECRET, 2, "1:" + JWT_SECRET);
+
+        assertEquals(List.of(rotated.recoveryCodeLookupKey("ABCD-EFGH"), beforeRotation),
+                rotated.recoveryCodeLookupKeys("ABCD-EFGH"));
+    }
+
+    @Test
+    @DisplayName("rejects malformed previous-secrets entries at startup")
+    void shouldRejectMalformedPreviousSecrets() {
+        assertThrows(IllegalArgumentException.class, () -> new TotpEncryptionService(JWT_SECRET, 2, JWT_SECRET));
+        assertThrows(IllegalArgumentException.class,
+                () -> new TotpEncryptionService(JWT_SECRET, 1, "1:" + OTHER_SECRET));
+    }
+
+    @Test
+    @DisplayName("cipher and MAC instances are reused per thread, not looked up on every call")
+    void shouldReuseCryptoPrimitivesPerThread() {
+        String encrypted = encryptionService.encrypt("JBSWY3DPEHPK3PXP");
+        encryptionService.recoveryCodeLookupKey("ABCD-EFGH");
+
+        try (MockedStatic<Cipher> mockedCipher = Mockito.mockStatic(Cipher.class);
+             MockedStatic<Mac> mockedMac = Mockito.mockStatic(Mac.class)) {
+            mockedCipher.when(() -> Cipher.getInstance(anyString()))
+                    .thenThrow(new NoSuchAlgorithmException("no such algorithm"));
+            mockedMac.when(() -> Mac.getInstance(anyString()))
+                    .thenThrow(new NoSuchAlgorithmException("no such algorithm"));
+
+            for (int i = 0; i < 100; i++) {
+                assertEquals("JBSWY3DPEHPK3PXP", encryptionService.decrypt(encryptionService.encrypt("JBSWY3DPEHPK3PXP")));
+            }
+            assertEquals("JBSWY3DPEHPK3PXP", encryptionService.decrypt(encrypted));
+            assertEquals(64, encryptionService.recoveryCodeLookupKey("ABCD-EFGH").length());
+        }
+    }
+
     @Test
     @DisplayName("encrypt wraps a GeneralSecurityException as IllegalStateException")
     void shouldWrapEncryptionFailure() {
@@ -23,6 +23,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -69,6 +70,10 @@ class TwoFactorAuthServiceTest {
             String value = inv.getArgument(0);
             return value.substring(4, value.length() - 1);
         });
+        lenient().when(totpEncryptionService.recoveryCodeLookupKey(anyString()))
+                .thenAnswer(inv -> "LK(" + inv.getArgument(0) + ")");
+        lenient().when(totpEncryptionService.recoveryCodeLookupKeys(anyString()))
+                .thenAnswer(inv -> List.of("LK(" + inv.getArgument(0) + ")"));
     }
 
     @AfterEach
@@ -137,6 +142,8 @@ class TwoFactorAuthServiceTest {
             ArgumentCaptor<List<TotpRecoveryCode>> captor = ArgumentCaptor.forClass(List.class);
             verify(recoveryCodeRepository).saveAll(captor.capture());
             assertEquals(10, captor.getValue().size());
+            assertEquals(response.recoveryCodes().stream().map(c -> "LK(" + c + ")").toList(),
+                    captor.getValue().stream().map(TotpRecoveryCode::getLookupKey).toList());
         }
 
         @Test
@@ -193,8 +200,10 @@ class TwoFactorAuthServiceTest {
                     .totpSecretEncrypted("ENC(" + secret + ")").build();
             when(usersRepository.findByUsername(USERNAME)).thenReturn(Optional.of(user));
 
-            TotpRecoveryCode recoveryCode = TotpRecoveryCode.builder().id(9L).user(user).codeHash("hash").build();
-            when(recoveryCodeRepository.findByUserIdAndUsedAtIsNull(1L)).thenReturn(List.of(recoveryCode));
+            TotpRecoveryCode recoveryCode = TotpRecoveryCode.builder().id(9L).user(user).codeHash("hash")
+                    .lookupKey("LK(ABCD-1234)").build();
+            when(recoveryCodeRepository.findFirstByUserIdAndLookupKeyInAndUsedAtIsNull(1L, List.of("LK(ABCD-1234)")))
+                    .thenReturn(Optional.of(recoveryCode));
             when(passwordEncoder.matches("ABCD-1234", "hash")).thenReturn(true);
 
             twoFactorAuthService.disable("ABCD-1234");
@@ -221,7 +230,7 @@ class TwoFactorAuthServiceTest {
             Users user = Users.builder().id(1L).username(USERNAME).totpEnabled(true)
                     .totpSecretEncrypted("ENC(" + secret + ")").build();
             when(usersRepository.findByUsername(USERNAME)).thenReturn(Optional.of(user));
-            when(recoveryCodeRepository.findByUserIdAndUsedAtIsNull(1L)).thenReturn(List.of());
+            when(recoveryCodeRepository.findByUserIdAndLookupKeyIsNullAndUsedAtIsNull(1L)).thenReturn(List.of());
 
             assertThrows(IllegalArgumentException.class, () -> twoFactorAuthService.disable("000000"));
             assertTrue(user.isTotpEnabled());
@@ -247,13 +256,76 @@ class TwoFactorAuthServiceTest {
             when(usersRepository.findByUsername(USERNAME)).thenReturn(Optional.of(user));
 
             TotpRecoveryCode recoveryCode = TotpRecoveryCode.builder().id(9L).user(user).codeHash("hash").build();
-            when(recoveryCodeRepository.findByUserIdAndUsedAtIsNull(1L)).thenReturn(List.of(recoveryCode));
+            when(recoveryCodeRepository.findByUserIdAndLookupKeyIsNullAndUsedAtIsNull(1L))
+                    .thenReturn(List.of(recoveryCode));
             when(passwordEncoder.matches("WRONG-CODE", "hash")).thenReturn(false);
 
             assertThrows(IllegalArgumentException.class, () -> twoFactorAuthService.disable("WRONG-CODE"));
             assertNull(recoveryCode.getUsedAt());
             assertTrue(user.isTotpEnabled());
         }
+
+        @Test
+        @DisplayName("an indexed recovery code is checked against exactly one hash")
+        void shouldVerifyIndexedRecoveryCodeWithSingleHashCheck() {
+            authenticateAs(USERNAME);
+            String secret = TotpUtil.generateSecret();
+            Users user = Users.builder().id(1L).username(USERNAME).totpEnabled(true)
+                    .totpSecretEncrypted("ENC(" + secret + ")").build();
+            when(usersRepository.findByUsername(USERNAME)).thenReturn(Optional.of(user));
+
+            TotpRecoveryCode recoveryCode = TotpRecoveryCode.builder().id(9L).user(user).codeHash("hash")
+                    .lookupKey("LK(ABCD-1234)").build();
+            when(recoveryCodeRepository.findFirstByUserIdAndLookupKeyInAndUsedAtIsNull(1L, List.of("LK(ABCD-1234)")))
+                    .thenReturn(Optional.of(recoveryCode));
+            when(passwordEncoder.matches("ABCD-1234", "hash")).thenReturn(true);
+
+            twoFactorAuthService.disable("ABCD-1234");
+
+            verify(passwordEncoder, times(1)).matches(anyString(), anyString());
+            verify(recoveryCodeRepository, never()).findByUserIdAndLookupKeyIsNullAndUsedAtIsNull(any());
+        }
+
+        @Test
+        @DisplayName("a wrong code costs no hash check once all codes are indexed")
+        void shouldRejectUnknownCodeWithoutHashing() {
+            authenticateAs(USERNAME);
+            String secret = TotpUtil.generateSecret();
+            Users user = Users.builder().id(1L).username(USERNAME).totpEnabled(true)
+                    .totpSecretEncrypted("ENC(" + secret + ")").build();
+            when(usersRepository.findByUsername(USERNAME)).thenReturn(Optional.of(user));
+            when(recoveryCodeRepository.findFirstByUserIdAndLookupKeyInAndUsedAtIsNull(1L, List.of("LK(WRONG-CODE)")))
+                    .thenReturn(Optional.empty());
+            when(recoveryCodeRepository.findByUserIdAndLookupKeyIsNullAndUsedAtIsNull(1L)).thenReturn(List.of());
+
+            assertThrows(IllegalArgumentException.class, () -> twoFactorAuthService.disable("WRONG-CODE"));
+            verify(passwordEncoder, never()).matches(anyString(), anyString());
+        }
+
+        @Test
+        @DisplayName("codes issued before the lookup index still work through the legacy scan")
+        void shouldFallBackToScanForLegacyCodes() {
+            authenticateAs(USERNAME);
+            String secret = TotpUtil.generateSecret();
+            Users user = Users.builder().id(1L).username(USERNAME).totpEnabled(true)
+                    .totpSecretEncrypted("ENC(" + secret + ")").build();
+            when(usersRepository.findByUsername(USERNAME)).thenReturn(Optional.of(user));
+
+            TotpRecoveryCode other = TotpRecoveryCode.builder().id(8L).user(user).codeHash("other").build();
+            TotpRecoveryCode legacy = TotpRecoveryCode.builder().id(9L).user(user).codeHash("hash").build();
+            when(recoveryCodeRepository.findFirstByUserIdAndLookupKeyInAndUsedAtIsNull(1L, List.of("LK(ABCD-1234)")))
+                    .thenReturn(Optional.empty());
+            when(recoveryCodeRepository.findByUserIdAndLookupKeyIsNullAndUsedAtIsNull(1L))
+                    .thenReturn(List.of(other, legacy));
+            when(passwordEncoder.matches("ABCD-1234", "other")).thenReturn(false);
+            when(passwordEncoder.matches("ABCD-1234", "hash")).thenReturn(true);
+
+            twoFactorAuthService.disable("ABCD-1234");
+
+            assertFalse(user.isTotpEnabled());
+            assertNull(other.getUsedAt());
+            assertNotNull(legacy.getUsedAt());
+        }
     }
 
     @Nested
@@ -307,8 +379,10 @@ class TwoFactorAuthServiceTest {
             when(jwtUtils.getOrganizationIdFromToken("pending-token")).thenReturn(ORG_ID);
             when(usersRepository.findByUsernameAndOrganizationId(USERNAME, ORG_ID)).thenReturn(Optional.of(user));
 
-            TotpRecoveryCode recoveryCode = TotpRecoveryCode.builder().id(9L).user(user).codeHash("hash").build();
-            when(recoveryCodeRepository.findByUserIdAndUsedAtIsNull(1L)).thenReturn(List.of(recoveryCode));
+            TotpRecoveryCode recoveryCode = TotpRecoveryCode.builder().id(9L).user(user).codeHash("hash")
+                    .lookupKey("LK(ABCD-1234)").build();
+            when(recoveryCodeRepository.findFirstByUserIdAndLookupKeyInAndUsedAtIsNull(1L, List.of("LK(ABCD-1234)")))
+                    .thenReturn(Optional.of(recoveryCode));
             when(passwordEncoder.matches("ABCD-1234", "hash")).thenReturn(true);
             when(jwtUtils.generateToken(user)).thenReturn("real-access-token");
             when(refreshTokenService.createRefreshToken(user)).thenReturn("real-refresh-token");
@@ -353,7 +427,7 @@ class TwoFactorAuthServiceTest {
             when(jwtUtils.getUsernameFromToken("pending-token")).thenReturn(USERNAME);
             when(jwtUtils.getOrganizationIdFromToken("pending-token")).thenReturn(ORG_ID);
             when(usersRepository.findByUsernameAndOrganizationId(USERNAME, ORG_ID)).thenReturn(Optional.of(user));
-            when(recoveryCodeRepository.findByUserIdAndUsedAtIsNull(1L)).thenReturn(List.of());
+            when(recoveryCodeRepository.findByUserIdAndLookupKeyIsNullAndUsedAtIsNull(1L)).thenReturn(List.of());
 
             assertThrows(BadCredentialsException.class,
                     () -> twoFactorAuthService.verifyLogin("pending-token", "000000"));
@@ -101,6 +101,9 @@ class UserServiceTest {
     @Mock
     private InviteTokenRepository inviteTokenRepository;
 
+    @Mock
+    private PrincipalCache principalCache;
+
     @Mock
     private PasswordResetTokenService passwordResetTokenService;
 
@@ -267,6 +270,7 @@ class UserServiceTest {
             userService.deleteUser(1L);
 
             verify(usersRepository).delete(user);
+            verify(principalCache).evict(user);
         }
 
         /**
@@ -366,6 +370,7 @@ class UserServiceTest {
 
             assertEquals("encodedSecret", user.getPasswordHash());
             verify(usersRepository).save(user);
+            verify(principalCache).evict(user);
         }
 
         /**